@@ -40,4 +40,24 @@ public interface IParserChangeLogContrib {
     String parseCurrentFunction(IEditorInput input, int offset)
             throws CoreException;
 
+    /**
+     * Used to determine the function names at several offsets of an editor
+     * input at once. Used by prepare changelog for the lines of each changed
+     * range, parsers should override it when setting up the input is costly.
+     *
+     * @param input The editor input.
+     * @param offsets The offsets at which to start.
+     * @return The name of the function at each offset.
+     * @throws CoreException If unexpected error happens in the underlying Eclipse APIs.
+     * @since 3.1.0
+     */
+    default String[] parseCurrentFunctions(IEditorInput input, int[] offsets)
+            throws CoreException {
+        String[] names = new String[offsets.length];
+        for (int i = 0; i < offsets.length; i++) {
+            names[i] = parseCurrentFunction(input, offsets[i]);
+        }
+        return names;
+    }
+
 }
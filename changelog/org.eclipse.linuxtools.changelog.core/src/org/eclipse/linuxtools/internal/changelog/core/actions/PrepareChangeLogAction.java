@@ -19,7 +19,13 @@ import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.Vector;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.eclipse.compare.rangedifferencer.RangeDifference;
 import org.eclipse.compare.rangedifferencer.RangeDifferencer;
@@ -35,6 +41,7 @@ import org.eclipse.core.runtime.IConfigurationElement;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.jface.dialogs.ProgressMonitorDialog;
@@ -74,6 +81,9 @@ import org.eclipse.ui.part.FileEditorInput;
  */
 public class PrepareChangeLogAction extends ChangeLogAction {
 
+    /** Maximum number of files whose diffs are computed at the same time */
+    private static final int MAX_DIFF_THREADS = 4;
+
     protected boolean changeLogModified = false;
     protected boolean newEntryWritten = false;
     protected boolean createChangeLog = true;
@@ -104,24 +114,24 @@ public class PrepareChangeLogAction extends ChangeLogAction {
         this.selected = selection;
     }
 
-    private String parseCurrentFunctionAtOffset(String editorName,
-            IEditorInput input, int offset) {
+    private String[] parseCurrentFunctionsAtOffsets(String editorName,
+            IEditorInput input, int[] offsets) {
 
         IParserChangeLogContrib parser = extensionManager
                 .getParserContributor(editorName);
 
         // return empty string if function parser for editorName is not present
         if (parser==null)
-            return "";
+            return new String[] { "" };
 
         try {
-            return parser.parseCurrentFunction(input, offset);
+            return parser.parseCurrentFunctions(input, offsets);
         } catch (CoreException e) {
             ChangelogPlugin.getDefault().getLog().log(
                     new Status(IStatus.ERROR, ChangelogPlugin.PLUGIN_ID, IStatus.ERROR, e
                             .getMessage(), e));
         }
-        return "";
+        return new String[] { "" };
     }
 
     /**
@@ -343,14 +353,21 @@ public class PrepareChangeLogAction extends ChangeLogAction {
         // We want removed files, then new files, then changed files.
         // To get this, we put them in the array in reverse order.
         int index = 0;
+        // The ancestor contents of the changed files are fetched and diffed in
+        // parallel, while the entries are written in order as soon as the
+        // diff of their file is ready.
+        Map<PatchFile, Future<?>> diffs = new IdentityHashMap<>();
+        ExecutorService executor = null;
         if (changeList.size() > 0) {
             // Get the repository provider so we can support multiple types of
             // code repositories without knowing exactly which (e.g. CVS, SVN, etc..).
             Collections.sort(changeList, new PatchFileComparator());
+            executor = Executors.newFixedThreadPool(Math.min(MAX_DIFF_THREADS,
+                    Runtime.getRuntime().availableProcessors()));
             int size = changeList.size();
             for (int i = 0; i < size; ++i) {
                 PatchFile p = changeList.get(i);
-                getChangedLines(s, p, monitor);
+                diffs.put(p, executor.submit(() -> getChangedLines(s, p, new NullProgressMonitor())));
                 patchFileInfoList[index+(size-i-1)] = p;
             }
             index += size;
@@ -377,13 +394,33 @@ public class PrepareChangeLogAction extends ChangeLogAction {
         // file.
         monitor.subTask(Messages.getString("ChangeLog.WritingMessage")); // $NON-NLS-1$
         int unitwork = 250 / patchFileInfoList.length;
-        for (PatchFile pf: patchFileInfoList) {
-            // for each file
-            if (pf != null) { // any ChangeLog changes will have null entries for them
-                String[] funcGuessList = guessFunctionNames(pf);
-                outputMultipleEntryChangeLog(pf, funcGuessList);
+        try {
+            for (PatchFile pf: patchFileInfoList) {
+                // for each file
+                if (pf != null) { // any ChangeLog changes will have null entries for them
+                    Future<?> diff = diffs.get(pf);
+                    if (diff != null)
+                        waitForDiff(diff);
+                    String[] funcGuessList = guessFunctionNames(pf);
+                    outputMultipleEntryChangeLog(pf, funcGuessList);
+                }
+                monitor.worked(unitwork);
             }
-            monitor.worked(unitwork);
+        } finally {
+            if (executor != null)
+                executor.shutdownNow();
+        }
+    }
+
+    private void waitForDiff(Future<?> diff) {
+        try {
+            diff.get();
+        } catch (ExecutionException e) {
+            ChangelogPlugin.getDefault().getLog().log(
+                    new Status(IStatus.ERROR, ChangelogPlugin.PLUGIN_ID, IStatus.ERROR, e
+                            .getMessage(), e.getCause()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
     }
 
@@ -557,22 +594,21 @@ public class PrepareChangeLogAction extends ChangeLogAction {
             // for all the ranges
             for (PatchRangeElement tpre: patchFileInfo.getRanges()) {
 
-                for (int j = tpre.fromLine; j <= tpre.toLine; j++) {
-
-                    String functionGuess = "";
-                    // add func that determines type of file.
-                    // right now it assumes it's java file.
-                    if (tpre.isLocalChange()) {
-                        if ((j < 0) || (j > doc.getNumberOfLines() - 1))
-                            continue; // ignore out of bound lines
-                        functionGuess = parseCurrentFunctionAtOffset(
-                                editorName, fei, doc.getLineOffset(j));
-                    } else {
-                        if ((j < 0) || (j > olddoc.getNumberOfLines() - 1))
-                            continue; // ignore out of bound lines
-                        functionGuess = parseCurrentFunctionAtOffset(
-                                editorName, sei, olddoc.getLineOffset(j));
-                    }
+                // the functions of all the lines of the range are guessed
+                // with a single call to the parser
+                IDocument rangeDoc = tpre.isLocalChange() ? doc : olddoc;
+                int fromLine = Math.max(tpre.fromLine, 0);
+                // ignore out of bound lines
+                int toLine = Math.min(tpre.toLine, rangeDoc.getNumberOfLines() - 1);
+                if (fromLine > toLine)
+                    continue;
+                int[] offsets = new int[toLine - fromLine + 1];
+                for (int j = fromLine; j <= toLine; j++)
+                    offsets[j - fromLine] = rangeDoc.getLineOffset(j);
+                String[] functionGuesses = parseCurrentFunctionsAtOffsets(
+                        editorName, tpre.isLocalChange() ? fei : sei, offsets);
+
+                for (String functionGuess : functionGuesses) {
 
                     // putting it in hashmap will eliminate duplicate
                     // guesses.  We use a list to keep track of ordering which
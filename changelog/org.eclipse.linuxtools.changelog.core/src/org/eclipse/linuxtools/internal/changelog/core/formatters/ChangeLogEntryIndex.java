@@ -0,0 +1,243 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Red Hat - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.linuxtools.internal.changelog.core.formatters;
+
+import java.text.ParsePosition;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
+import org.eclipse.jface.text.IRegion;
+
+/**
+ * Index of the lines of a ChangeLog document that start an entry (a date line)
+ * or that may name a file (a line containing "* "). The index is built once
+ * per document and is then updated from the document change events, only the
+ * changed lines being scanned again.
+ */
+public class ChangeLogEntryIndex implements IDocumentListener {
+
+    private static final String FILE_MARKER = "* "; //$NON-NLS-1$
+
+    private static final Map<IDocument, ChangeLogEntryIndex> indexes = new WeakHashMap<>();
+
+    // Offsets of the date lines
+    private final OffsetList entries = new OffsetList();
+    // Offsets of the lines containing a file marker
+    private final OffsetList files = new OffsetList();
+    private final SimpleDateFormat isoDate = new SimpleDateFormat("yyyy-MM-dd"); //$NON-NLS-1$
+    // Offsets of the lines touched by the pending change, before the change
+    private int changeStart;
+    private int changeEnd;
+
+    private ChangeLogEntryIndex(IDocument document) {
+        scan(document, 0, document.getLength());
+    }
+
+    /**
+     * Returns the index of the given document, building it if needed.
+     *
+     * @param document The ChangeLog document.
+     * @return The index, kept up to date until the document is garbage collected.
+     */
+    public static ChangeLogEntryIndex getIndex(IDocument document) {
+        synchronized (indexes) {
+            ChangeLogEntryIndex index = indexes.get(document);
+            if (index == null) {
+                index = new ChangeLogEntryIndex(document);
+                document.addDocumentListener(index);
+                indexes.put(document, index);
+            }
+            return index;
+        }
+    }
+
+    /**
+     * Returns the offset of the first entry starting at or after the given
+     * offset.
+     *
+     * @param document The indexed document.
+     * @param offset The offset to search from.
+     * @return The offset of the date line of the entry, or the length of the
+     * document if there is no such entry.
+     */
+    public int findNextEntry(IDocument document, int offset) {
+        int i = entries.lowerBound(offset);
+        return i < entries.size() ? entries.get(i) : document.getLength();
+    }
+
+    /**
+     * Returns the first line of a range of the document that contains the
+     * given text, among the lines containing a file marker.
+     *
+     * @param document The indexed document.
+     * @param start The start offset of the range.
+     * @param end The end offset of the range.
+     * @param text The searched text, starting with "* ".
+     * @return The offset of the line, or -1 if the text was not found.
+     */
+    public int findFileLine(IDocument document, int start, int end, String text) {
+        for (int i = files.lowerBound(start); i < files.size() && files.get(i) < end; i++) {
+            int offset = files.get(i);
+            try {
+                IRegion line = document.getLineInformationOfOffset(offset);
+                if (document.get(offset, line.getLength()).contains(text)) {
+                    return offset;
+                }
+            } catch (BadLocationException e) {
+                // the index is updated with the document, should never get here
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Tells whether the given line is the date line of an entry.
+     *
+     * @param text The line.
+     * @return <code>true</code> if the line starts with a date.
+     */
+    boolean matchDatePattern(String text) {
+        // cheap check of the first character, the date format skipping
+        // leading whitespace
+        int i = 0;
+        while (i < text.length() && Character.isWhitespace(text.charAt(i))) {
+            i++;
+        }
+        if (i == text.length()) {
+            return false;
+        }
+        char c = text.charAt(i);
+        if (!Character.isDigit(c) && c != '-' && c != '+') {
+            return false;
+        }
+        return isoDate.parse(text, new ParsePosition(0)) != null;
+    }
+
+    @Override
+    public void documentAboutToBeChanged(DocumentEvent event) {
+        try {
+            changeStart = event.getDocument().getLineInformationOfOffset(event.getOffset()).getOffset();
+        } catch (BadLocationException e) {
+            changeStart = event.getOffset();
+        }
+        changeEnd = event.getOffset() + event.getLength();
+    }
+
+    @Override
+    public void documentChanged(DocumentEvent event) {
+        int delta = (event.getText() == null ? 0 : event.getText().length()) - event.getLength();
+        entries.update(changeStart, changeEnd, delta);
+        files.update(changeStart, changeEnd, delta);
+        scan(event.getDocument(), changeStart, changeEnd + delta);
+    }
+
+    /**
+     * Adds the lines of the document between the given offsets, which must
+     * not be indexed yet.
+     */
+    private void scan(IDocument document, int start, int end) {
+        try {
+            int firstLine = document.getLineOfOffset(start);
+            int lastLine = document.getLineOfOffset(Math.min(end, document.getLength()));
+            OffsetList newEntries = new OffsetList();
+            OffsetList newFiles = new OffsetList();
+            for (int line = firstLine; line <= lastLine; line++) {
+                IRegion region = document.getLineInformation(line);
+                String text = document.get(region.getOffset(), region.getLength());
+                if (matchDatePattern(text)) {
+                    newEntries.add(region.getOffset());
+                }
+                if (text.contains(FILE_MARKER)) {
+                    newFiles.add(region.getOffset());
+                }
+            }
+            entries.insert(newEntries);
+            files.insert(newFiles);
+        } catch (BadLocationException e) {
+            // the offsets come from the document, should never get here
+        }
+    }
+
+    /**
+     * A sorted list of offsets.
+     */
+    private static class OffsetList {
+
+        private int[] offsets = new int[16];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        int get(int i) {
+            return offsets[i];
+        }
+
+        /** Returns the index of the first offset greater or equal to the given one */
+        int lowerBound(int offset) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (offsets[mid] < offset) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        void add(int offset) {
+            if (size == offsets.length) {
+                offsets = Arrays.copyOf(offsets, size * 2);
+            }
+            offsets[size++] = offset;
+        }
+
+        /** Inserts sorted offsets that all fall between two offsets of this list */
+        void insert(OffsetList list) {
+            if (list.size == 0) {
+                return;
+            }
+            if (size + list.size > offsets.length) {
+                offsets = Arrays.copyOf(offsets, Math.max(size * 2, size + list.size));
+            }
+            int at = lowerBound(list.offsets[0]);
+            System.arraycopy(offsets, at, offsets, at + list.size, size - at);
+            System.arraycopy(list.offsets, 0, offsets, at, list.size);
+            size += list.size;
+        }
+
+        /**
+         * Removes the offsets between start and end (inclusive), and shifts the
+         * offsets after end by delta.
+         */
+        void update(int start, int end, int delta) {
+            int from = lowerBound(start);
+            int to = lowerBound(end + 1);
+            System.arraycopy(offsets, to, offsets, from, size - to);
+            size -= to - from;
+            for (int i = from; i < size; i++) {
+                offsets[i] += delta;
+            }
+        }
+    }
+}
@@ -13,7 +13,6 @@
 package org.eclipse.linuxtools.internal.changelog.core.formatters;
 
 import java.io.File;
-import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.regex.Pattern;
@@ -23,9 +22,7 @@ import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.jface.text.BadLocationException;
-import org.eclipse.jface.text.FindReplaceDocumentAdapter;
 import org.eclipse.jface.text.IDocument;
-import org.eclipse.jface.text.IRegion;
 import org.eclipse.linuxtools.changelog.core.IFormatterChangeLogContrib;
 import org.eclipse.linuxtools.internal.changelog.core.ChangelogPlugin;
 import org.eclipse.linuxtools.internal.changelog.core.editors.ChangeLogEditor;
@@ -40,6 +37,8 @@ public class GNUFormat implements IFormatterChangeLogContrib {
 
     final static String TAB = "\t"; // $NON-NLS-1$
 
+    private static final Pattern FILE_LINE = Pattern.compile("\\s*\\* \\S+:.*"); // $NON-NLS-1$
+
     @Override
     public String formatDateLine(String authorName, String authorEmail) {
         String detail = returnDate() + "  " + //$NON-NLS-1$
@@ -84,9 +83,14 @@ public class GNUFormat implements IFormatterChangeLogContrib {
             }
 
             if (offset_start != -1) {
-                int nextChangeEntry = findChangeLogPattern(changelog_doc,
+                ChangeLogEntryIndex index = ChangeLogEntryIndex.getIndex(changelog_doc);
+                int nextChangeEntry = index.findNextEntry(changelog_doc,
                         offset_start + dateLine.length());
-                int functLogEntry = offset_start + dateLine.length();
+                // Skip the lines before the entry of the file, if any
+                int functLogEntry = index.findFileLine(changelog_doc,
+                        offset_start + dateLine.length(), nextChangeEntry, "* " + fileDetail); // $NON-NLS-1$
+                if (functLogEntry == -1)
+                    functLogEntry = nextChangeEntry;
                 final int numLines = changelog_doc.getNumberOfLines();
 
                 while (functLogEntry < nextChangeEntry) {
@@ -224,7 +228,7 @@ public class GNUFormat implements IFormatterChangeLogContrib {
     }
 
     private boolean isFileLine(String entry) {
-        return Pattern.matches("\\s*\\* \\S+:.*", entry.trim());
+        return FILE_LINE.matcher(entry.trim()).matches();
     }
 
     /**
@@ -317,62 +321,14 @@ public class GNUFormat implements IFormatterChangeLogContrib {
         return reversePathb;
     }
 
-    private int findChangeLogPattern(IDocument changelogDoc, int startOffset) {
-        // find the "pattern" of a changelog entry. Not a specific one,
-        // but one that "looks" like an entry
-        int nextEntry = startOffset;
-        int lineNum = 0;
-        String entry = ""; // $NON-NLS-1$
-        while (nextEntry < changelogDoc.getLength()) {
-            try {
-                // Get the line of interest in the changelog document
-                lineNum = changelogDoc.getLineOfOffset(nextEntry);
-                entry = changelogDoc.get(nextEntry, changelogDoc
-                        .getLineLength(lineNum));
-                // Attempt to find date pattern on line
-                if (matchDatePattern(entry)) {
-                    //nextDate -= entry.length()+1;
-                    break;
-                }
-                // If no date matches, move to the next line
-                nextEntry += changelogDoc.getLineLength(lineNum);
-            } catch (BadLocationException e) {
-                ChangelogPlugin.getDefault().getLog().log(
-                        new Status(IStatus.ERROR, ChangelogPlugin.PLUGIN_ID, IStatus.ERROR, e
-                                .getMessage(), e
-
-                        ));
-            }
-
-        }
-        return nextEntry;
-    }
-
-    private boolean matchDatePattern(String text) {
-
-        // Set up patterns for looking for the next date in the changelog
-        SimpleDateFormat isoDate = new SimpleDateFormat("yyyy-MM-dd"); // $NON-NLS-1$
-
-        // Try to find next Date bounded changelog entry by parsing date patterns
-        // First start with an ISO date
-        try {
-            Date ad = isoDate.parse(text);
-            if (ad != null) {
-                return true;
-            }
-        } catch (ParseException e) {
-            // We don't really care on exception; it just means it could not parse a date on that line
-        }
-
-        return false;
-    }
-
     private int findChangeLogEntry(IDocument changelogDoc, String entry) {
-        FindReplaceDocumentAdapter findDocumentAptd = new FindReplaceDocumentAdapter(
-                changelogDoc);
-        IRegion region = null;
+        // If the user's entry is not at the beginning of the file,
+        // make a new entry. Only the beginning is checked, rather
+        // than searching the whole file.
+        if (changelogDoc.getLength() < entry.length())
+            return -1;
         try {
-            region = findDocumentAptd.find(0, entry, true, false,/*whole world */ false, true);
+            return changelogDoc.get(0, entry.length()).equals(entry) ? 0 : -1;
         } catch (BadLocationException e) {
             ChangelogPlugin.getDefault().getLog().log(
                     new Status(IStatus.ERROR, ChangelogPlugin.PLUGIN_ID, IStatus.ERROR, e
@@ -381,13 +337,6 @@ public class GNUFormat implements IFormatterChangeLogContrib {
                     ));
             return -1;
         }
-        if (region != null) {
-            // If the user's entry is not at the beginning of the file,
-            // make a new entry.
-            return region.getOffset() > 0 ? -1 : 0;
-        }
-        else
-            return -1;
     }
 
     private String formatFunction(String function) {
@@ -13,7 +13,9 @@
 package org.eclipse.linuxtools.internal.changelog.parsers;
 
 import java.io.IOException;
-import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.Arrays;
 
 import org.eclipse.cdt.core.dom.ast.IASTFunctionDeclarator;
 import org.eclipse.cdt.core.dom.ast.IASTFunctionDefinition;
@@ -50,8 +52,15 @@ public class CParser implements IParserChangeLogContrib {
     @Override
     public String parseCurrentFunction(IEditorInput input, int offset)
             throws CoreException {
+        return parseCurrentFunctions(input, new int[] { offset })[0];
+    }
 
-        String currentElementName;
+    @Override
+    public String[] parseCurrentFunctions(IEditorInput input, int[] offsets)
+            throws CoreException {
+
+        String[] names = new String[offsets.length];
+        Arrays.fill(names, "");
 
         if (input instanceof IFileEditorInput) {
             // Get the working copy and connect to input.
@@ -59,74 +68,19 @@ public class CParser implements IParserChangeLogContrib {
             .getWorkingCopyManager();
             manager.connect(input);
 
-            // Retrieve the C/C++ Element in question.
-            IWorkingCopy workingCopy = manager.getWorkingCopy(input);
-            ICElement method = workingCopy.getElementAtOffset(offset);
-
-            manager.disconnect(input);
-
-            // no element selected
-            if (method == null)
-                return "";
-
-            // Get the current element name, to test it.
-            currentElementName = method.getElementName();
-
-            // Element doesn't have a name. Can go no further.
-            if (currentElementName == null) {
-                // element doesn't have a name
-                return "";
-            }
-
-            // Get the Element Type to test.
-            int elementType = method.getElementType();
-
-            switch (elementType) {
-            case ICElement.C_FIELD:
-            case ICElement.C_METHOD:
-            case ICElement.C_FUNCTION:
-                break;
-            case ICElement.C_MODEL:
-                return "";
-
-                // So it's not a method, field, function, or model. Where are we?
-            default:
-                ICElement tmpMethodType;
-                if (((tmpMethodType = method.getAncestor(ICElement.C_FUNCTION)) == null)
-                        && ((tmpMethodType = method.getAncestor(ICElement.C_METHOD)) == null)
-                        && ((tmpMethodType = method.getAncestor(ICElement.C_CLASS)) == null)) {
-                    return "";
-                } else {
-                    // In a class, but not in a method. Return class name instead.
-                    method = tmpMethodType;
-                    currentElementName = method.getElementName();
+            // Retrieve the C/C++ Elements in question.
+            try {
+                IWorkingCopy workingCopy = manager.getWorkingCopy(input);
+                for (int i = 0; i < offsets.length; i++) {
+                    names[i] = getFunctionName(workingCopy.getElementAtOffset(offsets[i]));
                 }
-
+            } finally {
+                manager.disconnect(input);
             }
-
-            // Build all ancestor classes.
-            // Append all ancestor class names to string
-            ICElement tmpParent = method.getParent();
-
-            while (tmpParent != null) {
-                ICElement tmpParentClass = tmpParent.getAncestor(ICElement.C_CLASS);
-                if (tmpParentClass != null) {
-                    String tmpParentClassName = tmpParentClass.getElementName();
-                    if (tmpParentClassName == null)
-                        return currentElementName;
-                    currentElementName = tmpParentClassName + "."
-                    + currentElementName;
-                } else
-                    return currentElementName;
-                tmpParent = tmpParentClass.getParent();
-
-            }
-            return currentElementName;
         }
         else if (input instanceof IStorageEditorInput) {
             // Get the working copy and connect to input.
             // don't follow inclusions
-            currentElementName = "";
             IStorageEditorInput sei = (IStorageEditorInput)input;
             // don't follow inclusions
             IncludeFileContentProvider contentProvider = IncludeFileContentProvider.getEmptyFilesProvider();
@@ -135,53 +89,110 @@ public class CParser implements IParserChangeLogContrib {
             IScannerInfo scanInfo= new ScannerInfo();
             IStorage ancestorStorage = sei.getStorage();
             if (ancestorStorage == null)
-                return "";
-            InputStream stream = ancestorStorage.getContents();
-            byte buffer[] = new byte[100];
-            String data = "";
-            int read = 0;
-            try {
-                do {
-                    read = stream.read(buffer);
-                    if (read > 0) {
-                        String tmp = new String(buffer, 0, read);
-                        data = data.concat(tmp);
-                    }
-                } while (read == 100);
-                stream.close();
+                return names;
+            StringBuilder data = new StringBuilder();
+            try (Reader reader = new InputStreamReader(ancestorStorage.getContents())) {
+                char buffer[] = new char[8192];
+                int read;
+                while ((read = reader.read(buffer)) > 0) {
+                    data.append(buffer, 0, read);
+                }
             } catch (IOException e) {
                 // do nothing
             }
 
-            FileContent content = FileContent.create("<text>", data.toCharArray()); //$NON-NLS-1$
+            FileContent content = FileContent.create("<text>", data.toString().toCharArray()); //$NON-NLS-1$
 
             // determine the language
             ILanguage language= GPPLanguage.getDefault();
 
             try {
+                // the storage is only parsed once for all the offsets
                 IASTTranslationUnit ast;
                 int options= 0;
                 ast= language.getASTTranslationUnit(content, scanInfo, contentProvider, null, options, ParserUtil.getParserLogService());
                 IASTNodeSelector n = ast.getNodeSelector(null);
-                IASTNode node = n.findFirstContainedNode(offset, 100);
-                while (node != null && !(node instanceof IASTTranslationUnit)) {
-                    if (node instanceof IASTFunctionDefinition) {
-                        IASTFunctionDefinition fd = (IASTFunctionDefinition)node;
-                        IASTFunctionDeclarator d = fd.getDeclarator();
-                        currentElementName = new String(d.getName().getSimpleID());
-                        break;
+                for (int i = 0; i < offsets.length; i++) {
+                    IASTNode node = n.findFirstContainedNode(offsets[i], 100);
+                    while (node != null && !(node instanceof IASTTranslationUnit)) {
+                        if (node instanceof IASTFunctionDefinition) {
+                            IASTFunctionDefinition fd = (IASTFunctionDefinition)node;
+                            IASTFunctionDeclarator d = fd.getDeclarator();
+                            names[i] = new String(d.getName().getSimpleID());
+                            break;
+                        }
+                        node = node.getParent();
                     }
-                    node = node.getParent();
                 }
             } catch (CoreException exc) {
-                currentElementName = "";
                 CUIPlugin.log(exc);
             }
+        }
+
+        return names;
+    }
+
+    private String getFunctionName(ICElement method) {
+
+        String currentElementName;
+
+        // no element selected
+        if (method == null)
+            return "";
+
+        // Get the current element name, to test it.
+        currentElementName = method.getElementName();
+
+        // Element doesn't have a name. Can go no further.
+        if (currentElementName == null) {
+            // element doesn't have a name
+            return "";
+        }
+
+        // Get the Element Type to test.
+        int elementType = method.getElementType();
+
+        switch (elementType) {
+        case ICElement.C_FIELD:
+        case ICElement.C_METHOD:
+        case ICElement.C_FUNCTION:
+            break;
+        case ICElement.C_MODEL:
+            return "";
+
+            // So it's not a method, field, function, or model. Where are we?
+        default:
+            ICElement tmpMethodType;
+            if (((tmpMethodType = method.getAncestor(ICElement.C_FUNCTION)) == null)
+                    && ((tmpMethodType = method.getAncestor(ICElement.C_METHOD)) == null)
+                    && ((tmpMethodType = method.getAncestor(ICElement.C_CLASS)) == null)) {
+                return "";
+            } else {
+                // In a class, but not in a method. Return class name instead.
+                method = tmpMethodType;
+                currentElementName = method.getElementName();
+            }
 
-            return currentElementName;
         }
 
-        return "";
+        // Build all ancestor classes.
+        // Append all ancestor class names to string
+        ICElement tmpParent = method.getParent();
+
+        while (tmpParent != null) {
+            ICElement tmpParentClass = tmpParent.getAncestor(ICElement.C_CLASS);
+            if (tmpParentClass != null) {
+                String tmpParentClassName = tmpParentClass.getElementName();
+                if (tmpParentClassName == null)
+                    return currentElementName;
+                currentElementName = tmpParentClassName + "."
+                + currentElementName;
+            } else
+                return currentElementName;
+            tmpParent = tmpParentClass.getParent();
+
+        }
+        return currentElementName;
     }
 
     @Override
@@ -34,9 +34,13 @@ public class JavaParser implements IParserChangeLogContrib {
     @Override
     public String parseCurrentFunction(IEditorInput input, int offset)
             throws CoreException {
+        return parseCurrentFunctions(input, new int[] { offset })[0];
+    }
 
-        String currentElementName;
-        int elementType;
+    @Override
+    public String[] parseCurrentFunctions(IEditorInput input, int[] offsets)
+            throws CoreException {
+        String[] names = new String[offsets.length];
 
         // Get the working copy and connect to input.
         IWorkingCopyManager manager = JavaUI.getWorkingCopyManager();
@@ -52,15 +56,23 @@ public class JavaParser implements IParserChangeLogContrib {
         ICompilationUnitDocumentProvider x = (ICompilationUnitDocumentProvider) JavaUI
                 .getDocumentProvider();
         // Retrieve the Java Element in question.
-        ICompilationUnit workingCopy = x.getWorkingCopy(input);
+        try {
+            ICompilationUnit workingCopy = x.getWorkingCopy(input);
 
-        if (workingCopy == null) {
-            return "";
+            // the working copy is only set up once for all the offsets
+            for (int i = 0; i < offsets.length; i++) {
+                names[i] = workingCopy == null ? ""
+                        : getFunctionName(workingCopy.getElementAt(offsets[i]));
+            }
+        } finally {
+            manager.disconnect(input);
         }
+        return names;
+    }
 
-        IJavaElement method = workingCopy.getElementAt(offset);
-
-        manager.disconnect(input);
+    private String getFunctionName(IJavaElement method) {
+        String currentElementName;
+        int elementType;
 
         // no element selected
         if (method == null) {
@@ -0,0 +1,66 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.linuxtools.changelog.core.formatters.tests;
+
+import static org.junit.Assert.assertEquals;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.linuxtools.internal.changelog.core.formatters.ChangeLogEntryIndex;
+import org.junit.Test;
+
+public class ChangeLogEntryIndexTest {
+
+    private static final String FIRST_ENTRY = "2026-10-19  Jane Doe  <jdoe@example.com>\n\n"
+            + "\t* src/a.c (main): Changed.\n"
+            + "\t* src/b.c: New file.\n\n";
+    private static final String SECOND_ENTRY = "2010-01-02  John Doe  <john@example.com>\n\n"
+            + "\t* src/a.c (init): Removed.\n";
+
+    @Test
+    public void testFind() {
+        IDocument doc = new Document(FIRST_ENTRY + SECOND_ENTRY);
+        ChangeLogEntryIndex index = ChangeLogEntryIndex.getIndex(doc);
+        int second = FIRST_ENTRY.length();
+        assertEquals(second, index.findNextEntry(doc, 1));
+        assertEquals(doc.getLength(), index.findNextEntry(doc, second + 1));
+
+        int bLine = FIRST_ENTRY.indexOf("\t* src/b.c");
+        assertEquals(bLine, index.findFileLine(doc, 0, second, "* src/b.c"));
+        assertEquals(FIRST_ENTRY.indexOf("\t* src/a.c"), index.findFileLine(doc, 0, second, "* src/a.c"));
+        // the file of the second entry is not found in the first one
+        assertEquals(-1, index.findFileLine(doc, bLine + 1, second, "* src/a.c"));
+    }
+
+    @Test
+    public void testUpdate() throws BadLocationException {
+        IDocument doc = new Document(SECOND_ENTRY);
+        ChangeLogEntryIndex index = ChangeLogEntryIndex.getIndex(doc);
+        assertEquals(doc.getLength(), index.findNextEntry(doc, 1));
+
+        // a new entry at the beginning shifts the existing one
+        doc.replace(0, 0, FIRST_ENTRY);
+        assertEquals(0, index.findNextEntry(doc, 0));
+        assertEquals(FIRST_ENTRY.length(), index.findNextEntry(doc, 1));
+        int cLine = FIRST_ENTRY.length() + SECOND_ENTRY.indexOf("\t* src/a.c");
+        assertEquals(cLine, index.findFileLine(doc, FIRST_ENTRY.length(), doc.getLength(), "* src/a.c"));
+
+        // a file entry added in the middle of a line
+        int bLine = FIRST_ENTRY.indexOf("\t* src/b.c");
+        doc.replace(bLine + 1, 0, "* src/c.c: New file.\n\t");
+        assertEquals(bLine, index.findFileLine(doc, 0, doc.getLength(), "* src/c.c"));
+        assertEquals(bLine + 22, index.findFileLine(doc, 0, doc.getLength(), "* src/b.c"));
+
+        // removing the date line merges the entries
+        doc.replace(0, FIRST_ENTRY.indexOf('\n') + 1, "");
+        assertEquals(doc.getLength() - SECOND_ENTRY.length(), index.findNextEntry(doc, 0));
+    }
+}
@@ -8,6 +8,7 @@
  * SPDX-License-Identifier: EPL-2.0
  *******************************************************************************/
 package org.eclipse.linuxtools.changelog.core.tests;
+import org.eclipse.linuxtools.changelog.core.formatters.tests.ChangeLogEntryIndexTest;
 import org.eclipse.linuxtools.changelog.core.formatters.tests.GNUFormatTest;
 import org.eclipse.linuxtools.changelog.parsers.tests.CParserTest;
 import org.eclipse.linuxtools.changelog.parsers.tests.JavaParserTest;
@@ -23,6 +24,7 @@ import org.junit.runners.Suite.SuiteClasses;
 @SuiteClasses({
     ChangeLogWriterTest.class,
     GNUFormatTest.class,
+    ChangeLogEntryIndexTest.class,
     JavaParserTest.class,
     CParserTest.class,
     // A small test for the fixture
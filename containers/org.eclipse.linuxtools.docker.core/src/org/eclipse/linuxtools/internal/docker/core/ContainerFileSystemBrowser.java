@@ -0,0 +1,420 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat - Initial Contribution
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.internal.docker.core;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.linuxtools.docker.core.DockerException;
+import org.eclipse.linuxtools.docker.core.EnumDockerStatus;
+import org.eclipse.linuxtools.docker.core.IDockerContainer;
+
+import com.spotify.docker.client.DockerClient;
+import com.spotify.docker.client.DockerClient.ExecCreateParam;
+import com.spotify.docker.client.LogMessage;
+import com.spotify.docker.client.LogStream;
+import com.spotify.docker.client.messages.ExecCreation;
+
+/**
+ * Reads the content of directories in running containers, e.g. to let users
+ * browse a container file system in the copy wizards.
+ * <p>
+ * A single {@code exec} lists the requested directory together with its
+ * sub-directories down to {@link #PREFETCH_DEPTH} levels, so expanding a tree
+ * is served from the cached listings after the first fetch. Listings are kept
+ * per container and dropped when the container stops, restarts, receives
+ * files or is removed, and after {@link #LISTING_TIMEOUT} in any case since
+ * processes may change the file system at any time.
+ */
+public class ContainerFileSystemBrowser {
+
+	/** number of sub-directory levels listed along with a directory. */
+	public static final int PREFETCH_DEPTH = 1;
+
+	/** time (in ms) after which a cached listing is fetched again. */
+	public static final long LISTING_TIMEOUT = 60_000;
+
+	/** prefix of the lines announcing the directory listed next. */
+	private static final char DIRECTORY_MARKER = '\u0001';
+
+	private final DockerConnection connection;
+
+	/** listings indexed by container id, then by directory path. */
+	private final Map<String, Map<String, Listing>> listings = new ConcurrentHashMap<>();
+
+	/**
+	 * @param connection
+	 *            the connection to the Docker daemon running the containers
+	 */
+	public ContainerFileSystemBrowser(final DockerConnection connection) {
+		this.connection = connection;
+	}
+
+	/**
+	 * Reads the content of a directory.
+	 *
+	 * @param id
+	 *            the container id
+	 * @param path
+	 *            the absolute path of the directory in the container
+	 * @return the files and directories in the given directory, or an empty
+	 *         list if it could not be read
+	 * @throws DockerException
+	 *             if no client could be obtained from the connection
+	 */
+	public List<ContainerFileProxy> readDirectory(final String id,
+			final String path) throws DockerException {
+		final String directory = normalize(path);
+		final Map<String, Listing> containerListings = listings.get(id);
+		if (containerListings != null) {
+			final Listing listing = containerListings.get(directory);
+			if (listing != null && !listing.isExpired()) {
+				return new ArrayList<>(listing.children);
+			}
+		}
+		final Map<String, List<ContainerFileProxy>> fetched = fetch(id,
+				directory);
+		final List<ContainerFileProxy> children = fetched.get(directory);
+		if (children == null) {
+			// not a (readable) directory
+			return new ArrayList<>();
+		}
+		final long now = System.currentTimeMillis();
+		final Map<String, Listing> updatedListings = listings
+				.computeIfAbsent(id, i -> new ConcurrentHashMap<>());
+		for (Map.Entry<String, List<ContainerFileProxy>> entry : fetched
+				.entrySet()) {
+			updatedListings.put(entry.getKey(),
+					new Listing(entry.getValue(), now));
+		}
+		return new ArrayList<>(children);
+	}
+
+	/**
+	 * Drops the cached listings of a container.
+	 *
+	 * @param id
+	 *            the container id
+	 */
+	public void invalidate(final String id) {
+		listings.remove(id);
+	}
+
+	/**
+	 * Drops all cached listings.
+	 */
+	public void invalidateAll() {
+		listings.clear();
+	}
+
+	/**
+	 * Drops the cached listings of the containers that no longer exist or
+	 * that are not running anymore.
+	 *
+	 * @param containersById
+	 *            the current containers, indexed by id
+	 */
+	public void retainRunningContainers(
+			final Map<String, IDockerContainer> containersById) {
+		listings.keySet().removeIf(id -> {
+			final IDockerContainer container = containersById.get(id);
+			if (container == null || container.status() == null) {
+				return true;
+			}
+			final EnumDockerStatus status = EnumDockerStatus
+					.fromStatusMessage(container.status());
+			return status != EnumDockerStatus.RUNNING
+					&& status != EnumDockerStatus.PAUSED;
+		});
+	}
+
+	private Map<String, List<ContainerFileProxy>> fetch(final String id,
+			final String directory) throws DockerException {
+		final ListingParser parser = new ListingParser();
+		try (DockerClient copyClient = connection.getClientCopy()) {
+			final ExecCreation execCreation = copyClient.execCreate(id,
+					new String[] { "/bin/sh", "-c", //$NON-NLS-1$ //$NON-NLS-2$
+							buildListCommand(directory, PREFETCH_DEPTH) },
+					ExecCreateParam.attachStdout(),
+					ExecCreateParam.attachStderr());
+			try (LogStream stream = copyClient.execStart(execCreation.id())) {
+				while (stream.hasNext()) {
+					final LogMessage message = stream.next();
+					// error messages (e.g. permission denied) are not part of
+					// the listings
+					if (message.stream() == LogMessage.Stream.STDOUT) {
+						parser.feed(message.content());
+					}
+				}
+			}
+			parser.finish();
+		} catch (com.spotify.docker.client.exceptions.DockerException
+				| InterruptedException | RuntimeException e) {
+			// the container may have stopped in the meantime: nothing to show
+			if (e instanceof InterruptedException) {
+				Thread.currentThread().interrupt();
+			}
+			return Collections.emptyMap();
+		}
+		return parser.getListings();
+	}
+
+	/**
+	 * Builds the shell command that lists the given directory and its
+	 * sub-directories down to the given depth. Each listing is preceded by a
+	 * line with the {@link #DIRECTORY_MARKER} and the listed directory.
+	 *
+	 * @param directory
+	 *            the normalized path of the directory
+	 * @param depth
+	 *            the number of sub-directory levels to list
+	 * @return the command
+	 */
+	static String buildListCommand(final String directory, final int depth) {
+		final String prefix = quote(
+				directory.endsWith("/") ? directory : directory + '/'); //$NON-NLS-1$
+		final StringBuilder command = new StringBuilder("for d in "); //$NON-NLS-1$
+		command.append(quote(directory));
+		final StringBuilder pattern = new StringBuilder();
+		for (int i = 0; i < depth; i++) {
+			pattern.append("*/"); //$NON-NLS-1$
+			command.append(' ').append(prefix).append(pattern);
+		}
+		command.append("; do [ -d \"$d\" ] && printf '\\001%s\\n' \"$d\"" //$NON-NLS-1$
+				+ " && ls -l -F -L -Q \"$d\" 2>/dev/null; done"); //$NON-NLS-1$
+		return command.toString();
+	}
+
+	/**
+	 * Quotes the given value for a POSIX shell.
+	 */
+	private static String quote(final String value) {
+		return '\'' + value.replace("'", "'\\''") + '\''; //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Removes the trailing separator of the given directory path, except for
+	 * the root directory.
+	 */
+	static String normalize(final String path) {
+		if (path == null || path.isEmpty()) {
+			return "/"; //$NON-NLS-1$
+		}
+		String directory = path;
+		while (directory.length() > 1 && directory.endsWith("/")) { //$NON-NLS-1$
+			directory = directory.substring(0, directory.length() - 1);
+		}
+		return directory;
+	}
+
+	private static class Listing {
+
+		private final List<ContainerFileProxy> children;
+		private final long fetchTime;
+
+		Listing(final List<ContainerFileProxy> children,
+				final long fetchTime) {
+			this.children = children;
+			this.fetchTime = fetchTime;
+		}
+
+		boolean isExpired() {
+			return System.currentTimeMillis() - fetchTime > LISTING_TIMEOUT;
+		}
+	}
+
+	/**
+	 * Parses the output of the command built by
+	 * {@link ContainerFileSystemBrowser#buildListCommand(String, int)} as it
+	 * is received. Lines are split on the raw bytes, so lines (and multi-byte
+	 * characters) spanning several frames are decoded correctly.
+	 */
+	static class ListingParser {
+
+		private final Map<String, List<ContainerFileProxy>> listings = new HashMap<>();
+		private final ByteArrayOutputStream line = new ByteArrayOutputStream(
+				256);
+		private String directory;
+		private List<ContainerFileProxy> children;
+
+		/**
+		 * Parses the given chunk of output.
+		 *
+		 * @param content
+		 *            the chunk
+		 */
+		void feed(final ByteBuffer content) {
+			while (content.hasRemaining()) {
+				final byte b = content.get();
+				if (b == '\n') {
+					parseLine(new String(line.toByteArray(),
+							StandardCharsets.UTF_8));
+					line.reset();
+				} else {
+					line.write(b);
+				}
+			}
+		}
+
+		/**
+		 * Parses the last line, if it was not terminated.
+		 */
+		void finish() {
+			if (line.size() > 0) {
+				parseLine(new String(line.toByteArray(),
+						StandardCharsets.UTF_8));
+				line.reset();
+			}
+		}
+
+		/**
+		 * @return the parsed listings, indexed by directory path
+		 */
+		Map<String, List<ContainerFileProxy>> getListings() {
+			return listings;
+		}
+
+		private void parseLine(final String rawLine) {
+			final String l = rawLine.endsWith("\r") //$NON-NLS-1$
+					? rawLine.substring(0, rawLine.length() - 1)
+					: rawLine;
+			if (!l.isEmpty() && l.charAt(0) == DIRECTORY_MARKER) {
+				directory = normalize(l.substring(1));
+				children = new ArrayList<>();
+				listings.put(directory, children);
+				return;
+			}
+			if (children == null || l.trim().startsWith("total")) { //$NON-NLS-1$
+				return; // ignore the total line
+			}
+			final ContainerFileProxy file = parseEntry(directory, l);
+			if (file != null) {
+				children.add(file);
+			}
+		}
+
+		/**
+		 * Parses a line of {@code ls -l -F -L -Q} output.
+		 *
+		 * @param directory
+		 *            the listed directory
+		 * @param l
+		 *            the line
+		 * @return the corresponding {@link ContainerFileProxy} or
+		 *         <code>null</code> if the line could not be parsed
+		 */
+		static ContainerFileProxy parseEntry(final String directory,
+				final String l) {
+			final int nameStart = l.indexOf('"');
+			if (nameStart < 0) {
+				return null;
+			}
+			boolean isDirectory = l.startsWith("d"); //$NON-NLS-1$
+			final boolean isLink = l.startsWith("l"); //$NON-NLS-1$
+			final StringBuilder name = new StringBuilder();
+			final int nameEnd = unquote(l, nameStart, name);
+			if (nameEnd < 0) {
+				return null;
+			}
+			if (!isLink) {
+				return new ContainerFileProxy(directory, name.toString(),
+						isDirectory);
+			}
+			// last token depends on whether we have a link or not
+			String link = null;
+			final int targetStart = l.indexOf('"', nameEnd);
+			if (targetStart > 0) {
+				final StringBuilder target = new StringBuilder();
+				final int targetEnd = unquote(l, targetStart, target);
+				if (targetEnd > 0 && l.startsWith("/", targetEnd)) { //$NON-NLS-1$
+					isDirectory = true;
+				}
+				final String linkname = target.toString();
+				link = linkname.startsWith("/") ? linkname //$NON-NLS-1$
+						: (directory.equals("/") ? "" : directory) + '/' //$NON-NLS-1$ //$NON-NLS-2$
+								+ linkname;
+			}
+			return new ContainerFileProxy(directory, name.toString(),
+					isDirectory, true, link);
+		}
+
+		/**
+		 * Decodes the quoted name starting at the given index, handling the C
+		 * style escapes used by {@code ls -Q}.
+		 *
+		 * @return the index following the closing quote, or <code>-1</code>
+		 *         if the name is not terminated
+		 */
+		private static int unquote(final String l, final int start,
+				final StringBuilder result) {
+			final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			int i = start + 1;
+			while (i < l.length()) {
+				final char c = l.charAt(i);
+				if (c == '"') {
+					result.append(
+							new String(bytes.toByteArray(),
+									StandardCharsets.UTF_8));
+					return i + 1;
+				}
+				if (c != '\\' || i + 1 >= l.length()) {
+					final int codePoint = l.codePointAt(i);
+					final byte[] encoded = new String(
+							Character.toChars(codePoint))
+									.getBytes(StandardCharsets.UTF_8);
+					bytes.write(encoded, 0, encoded.length);
+					i += Character.charCount(codePoint);
+					continue;
+				}
+				final char escaped = l.charAt(i + 1);
+				if (escaped >= '0' && escaped <= '7') {
+					// octal escape of a raw byte, e.g. \303\251
+					int value = 0;
+					int j = i + 1;
+					while (j < l.length() && j < i + 4 && l.charAt(j) >= '0'
+							&& l.charAt(j) <= '7') {
+						value = value * 8 + (l.charAt(j) - '0');
+						j++;
+					}
+					bytes.write(value);
+					i = j;
+					continue;
+				}
+				switch (escaped) {
+				case 'n':
+					bytes.write('\n');
+					break;
+				case 't':
+					bytes.write('\t');
+					break;
+				case 'r':
+					bytes.write('\r');
+					break;
+				default:
+					bytes.write(escaped);
+				}
+				i += 2;
+			}
+			return -1;
+		}
+	}
+
+}
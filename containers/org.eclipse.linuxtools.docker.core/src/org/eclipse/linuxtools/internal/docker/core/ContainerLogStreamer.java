@@ -0,0 +1,374 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat - Initial Contribution
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.internal.docker.core;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.preferences.IEclipsePreferences;
+import org.eclipse.core.runtime.preferences.InstanceScope;
+import org.eclipse.linuxtools.docker.core.Activator;
+import org.eclipse.linuxtools.docker.core.ILogger;
+
+import com.spotify.docker.client.DockerClient;
+import com.spotify.docker.client.DockerClient.LogsParam;
+import com.spotify.docker.client.LogStream;
+
+/**
+ * Streams the logs of containers to output streams (usually console streams).
+ * <p>
+ * All followed containers share a pool of worker threads: each
+ * {@link Follower} blocks on its {@link LogStream} until the next frame is
+ * available (instead of sleeping between drains), writes frames without
+ * copying them through a fixed-size buffer, and gives its worker back to the
+ * pool once the stream ends. A follower never waits for a worker: past
+ * {@link #MAX_WORKERS} open streams, more workers are still created and a
+ * warning is logged. Buffered output is
+ * flushed when the buffer is full, after a frame once the flush interval has
+ * elapsed, and by a shared flusher for streams that went quiet, so the console
+ * never lags by more than the flush interval.
+ */
+public class ContainerLogStreamer {
+
+	/** maximum delay (in ms) before buffered output reaches the console. */
+	public static final long FLUSH_INTERVAL = 50;
+
+	/** size of the buffer between a log stream and its output stream. */
+	public static final int BUFFER_SIZE = 8192;
+
+	/**
+	 * time (in ms) given to a follower to drain pending frames after a stop
+	 * was requested, before its stream is closed.
+	 */
+	public static final long STOP_GRACE_PERIOD = 1000;
+
+	/**
+	 * number of log streams followed at the same time, each one holding a
+	 * worker thread while it is open, past which a warning is logged.
+	 */
+	public static final int MAX_WORKERS = 64;
+
+	private static final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+			0, Integer.MAX_VALUE, 30, TimeUnit.SECONDS,
+			new SynchronousQueue<>(),
+			new DaemonThreadFactory("Docker Log Streamer")); //$NON-NLS-1$
+
+	/** number of started followers that did not end yet. */
+	private static final AtomicInteger startedFollowers = new AtomicInteger();
+
+	private static final ScheduledExecutorService flusher = new ScheduledThreadPoolExecutor(
+			1, new DaemonThreadFactory("Docker Log Flusher")); //$NON-NLS-1$
+
+	private static final Set<Follower> activeFollowers = ConcurrentHashMap
+			.newKeySet();
+
+	static {
+		flusher.scheduleWithFixedDelay(ContainerLogStreamer::flushIdle,
+				FLUSH_INTERVAL, FLUSH_INTERVAL, TimeUnit.MILLISECONDS);
+	}
+
+	private ContainerLogStreamer() {
+		// static service
+	}
+
+	/**
+	 * Creates a new (not yet started) {@link Follower} for the logs of the
+	 * given container.
+	 *
+	 * @param id
+	 *            the container id
+	 * @param client
+	 *            the client to read the logs with, closed when the follower
+	 *            is done
+	 * @param follow
+	 *            <code>true</code> if the container is running and its logs
+	 *            should be followed until it stops
+	 * @param onCompletion
+	 *            called once the log stream ended normally, may be
+	 *            <code>null</code>
+	 * @return the follower
+	 */
+	public static Follower newFollower(final String id,
+			final DockerClient client, final boolean follow,
+			final Runnable onCompletion) {
+		return new Follower(id, client, follow, onCompletion);
+	}
+
+	/**
+	 * @return the number of log streams currently being followed
+	 */
+	public static int getActiveFollowerCount() {
+		return activeFollowers.size();
+	}
+
+	private static void flushIdle() {
+		for (Follower follower : activeFollowers) {
+			follower.flushIfDirty();
+		}
+	}
+
+	/**
+	 * Follows the logs of a single container.
+	 */
+	public static class Follower implements ILogger {
+
+		private final String id;
+		private final DockerClient client;
+		private final boolean follow;
+		private final Runnable onCompletion;
+		private volatile OutputStream outputStream;
+		private volatile BufferedOutputStream bufferedStream;
+		private volatile LogStream stream;
+		private volatile Future<?> future;
+		private volatile boolean alive = false;
+		private final AtomicBoolean started = new AtomicBoolean();
+		private volatile boolean stop = false;
+		private volatile boolean kill = false;
+		private volatile boolean dirty = false;
+		private long lastFlush;
+		// reused when a frame is not backed by an accessible array
+		private byte[] chunk;
+
+		private Follower(final String id, final DockerClient client,
+				final boolean follow, final Runnable onCompletion) {
+			this.id = id;
+			this.client = client;
+			this.follow = follow;
+			this.onCompletion = onCompletion;
+		}
+
+		@Override
+		public void setOutputStream(final OutputStream stream) {
+			this.outputStream = stream;
+		}
+
+		/**
+		 * Submits this follower to the shared worker pool.
+		 */
+		public void start() {
+			alive = true;
+			if (startedFollowers.incrementAndGet() > MAX_WORKERS) {
+				Activator.logWarningMessage(ProcessMessages.getFormattedString(
+						"Monitor_Logs_Many", id, //$NON-NLS-1$
+						String.valueOf(MAX_WORKERS)));
+			}
+			future = executor.submit(this::run);
+		}
+
+		/**
+		 * @return <code>true</code> if this follower was started and the log
+		 *         stream did not end yet
+		 */
+		public boolean isAlive() {
+			return alive;
+		}
+
+		/**
+		 * Requests this follower to stop once the pending frames have been
+		 * drained. The stream is closed after {@link #STOP_GRACE_PERIOD} if
+		 * the container is still producing output.
+		 */
+		public void requestStop() {
+			stop = true;
+			if (alive) {
+				flusher.schedule(this::closeStream, STOP_GRACE_PERIOD,
+						TimeUnit.MILLISECONDS);
+			}
+		}
+
+		/**
+		 * Stops this follower immediately.
+		 */
+		public void kill() {
+			kill = true;
+			closeStream();
+			final Future<?> f = future;
+			if (f != null && f.cancel(true)
+					&& started.compareAndSet(false, true)) {
+				// the worker of the follower did not start yet
+				end();
+			}
+		}
+
+		private void closeStream() {
+			final LogStream s = stream;
+			if (s != null && alive) {
+				try {
+					s.close();
+				} catch (RuntimeException e) {
+					// ignore, the stream is being torn down
+				}
+			}
+		}
+
+		private void run() {
+			boolean completed = false;
+			if (!started.compareAndSet(false, true)) {
+				return; // killed before its worker started
+			}
+			try {
+				// Add timestamps to log based on user preference
+				IEclipsePreferences preferences = InstanceScope.INSTANCE
+						.getNode("org.eclipse.linuxtools.docker.ui"); //$NON-NLS-1$
+				boolean timestamps = preferences.getBoolean("logTimestamp", //$NON-NLS-1$
+						true);
+				final List<LogsParam> params = new ArrayList<>();
+				params.add(LogsParam.stdout());
+				params.add(LogsParam.stderr());
+				// only keep the stream open if the container is running, and
+				// no stop was requested before the worker started
+				if (follow && !stop)
+					params.add(LogsParam.follow());
+				if (timestamps)
+					params.add(LogsParam.timestamps());
+				stream = client.logs(id,
+						params.toArray(new LogsParam[params.size()]));
+				if (outputStream != null) {
+					bufferedStream = new BufferedOutputStream(outputStream,
+							BUFFER_SIZE);
+				}
+				activeFollowers.add(this);
+				lastFlush = System.currentTimeMillis();
+				// hasNext() blocks until the next frame is available or the
+				// stream ends (container stopped or stream closed)
+				while (!kill && stream.hasNext()) {
+					write(stream.next().content());
+				}
+				flush();
+				completed = !kill;
+			} catch (com.spotify.docker.client.exceptions.DockerException
+					| IOException | RuntimeException e) {
+				// closing the stream on stop/kill makes the blocked read fail
+				if (!kill && !stop) {
+					Activator.logErrorMessage(ProcessMessages
+							.getString("Monitor_Logs_Exception"), e); //$NON-NLS-1$
+				}
+			} catch (InterruptedException e) {
+				kill = true;
+				Thread.currentThread().interrupt();
+			} finally {
+				activeFollowers.remove(this);
+				client.close(); // we are done with the client
+				final LogStream s = stream;
+				if (s != null) {
+					try {
+						s.close();
+					} catch (RuntimeException e) {
+						// ignore
+					}
+				}
+				try {
+					if (bufferedStream != null)
+						bufferedStream.close();
+					else if (outputStream != null)
+						outputStream.close();
+				} catch (IOException e) {
+					// failed to close output stream..just ignore
+				}
+				alive = false;
+				startedFollowers.decrementAndGet();
+			}
+			if (completed && onCompletion != null) {
+				onCompletion.run();
+			}
+		}
+
+		private void end() {
+			client.close();
+			try {
+				if (outputStream != null)
+					outputStream.close();
+			} catch (IOException e) {
+				// ignore
+			}
+			alive = false;
+			startedFollowers.decrementAndGet();
+		}
+
+		private void write(final ByteBuffer b) throws IOException {
+			final BufferedOutputStream out = bufferedStream;
+			if (out == null) {
+				return;
+			}
+			final int length = b.remaining();
+			if (b.hasArray()) {
+				out.write(b.array(), b.arrayOffset() + b.position(), length);
+			} else {
+				if (chunk == null || chunk.length < length) {
+					chunk = new byte[Math.max(length, BUFFER_SIZE)];
+				}
+				b.get(chunk, 0, length);
+				out.write(chunk, 0, length);
+			}
+			dirty = true;
+			final long now = System.currentTimeMillis();
+			if (now - lastFlush >= FLUSH_INTERVAL) {
+				flush();
+				lastFlush = now;
+			}
+		}
+
+		private void flush() throws IOException {
+			final BufferedOutputStream out = bufferedStream;
+			if (out != null) {
+				dirty = false;
+				out.flush();
+			}
+		}
+
+		private void flushIfDirty() {
+			if (dirty) {
+				try {
+					flush();
+				} catch (IOException e) {
+					// the output stream was closed, the follower will stop
+				}
+			}
+		}
+	}
+
+	private static class DaemonThreadFactory implements ThreadFactory {
+
+		private final String name;
+		private final AtomicInteger count = new AtomicInteger();
+
+		DaemonThreadFactory(final String name) {
+			this.name = name;
+		}
+
+		@Override
+		public Thread newThread(final Runnable r) {
+			final Thread t = new Thread(r,
+					name + " " + count.incrementAndGet()); //$NON-NLS-1$
+			t.setDaemon(true);
+			return t;
+		}
+	}
+
+}
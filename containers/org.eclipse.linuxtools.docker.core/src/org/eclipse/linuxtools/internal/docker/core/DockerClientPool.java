@@ -0,0 +1,444 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat - Initial Contribution
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.internal.docker.core;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.linuxtools.docker.core.IDockerConnectionSettings;
+
+import com.spotify.docker.client.DockerClient;
+import com.spotify.docker.client.exceptions.DockerCertificateException;
+
+/**
+ * A bounded pool of {@link DockerClient}s sharing the same
+ * {@link IDockerConnectionSettings}. Building a {@link DockerClient} creates a
+ * new HTTP client with its own connection pool (and parses the TLS
+ * certificates for TCP connections), so clients used for short operations
+ * (exec, copy, wait, etc.) are leased from and returned to this pool instead
+ * of being built and disposed each time.
+ * <p>
+ * Leased clients are wrapped in a proxy whose {@link DockerClient#close()}
+ * method returns the underlying client to the pool, so callers keep the
+ * existing "close the copy when done" contract. Idle clients are validated
+ * with a ping before being handed out again if they have not been used for a
+ * while, and are evicted once they have been idle for too long. When all
+ * clients are leased, callers wait for a bounded amount of time and then get
+ * an overflow client that is disposed on close rather than pooled.
+ * Long-standing holders such as log followers should not lease from this
+ * pool, as each of them keeps a client for as long as it runs.
+ */
+public class DockerClientPool {
+
+	/** default maximum number of clients kept by the pool. */
+	public static final int DEFAULT_MAX_SIZE = 8;
+
+	/** default time after which an idle client is evicted (in ms). */
+	public static final long DEFAULT_IDLE_TIMEOUT = TimeUnit.SECONDS
+			.toMillis(60);
+
+	/** idle time after which a client is pinged before reuse (in ms). */
+	public static final long DEFAULT_VALIDATION_INTERVAL = TimeUnit.SECONDS
+			.toMillis(10);
+
+	/** maximum time spent waiting for a client to be returned (in ms). */
+	public static final long DEFAULT_MAX_LEASE_WAIT = 250;
+
+	private final DockerClientFactory dockerClientFactory;
+	private final IDockerConnectionSettings connectionSettings;
+	private final int maxSize;
+	private final long idleTimeout;
+	private final long validationInterval;
+	private final long maxLeaseWait;
+
+	private final Object poolLock = new Object();
+	// idle clients, most recently returned first
+	private final Deque<PooledClient> idleClients = new ArrayDeque<>();
+	private int leasedCount = 0;
+	private boolean closed = false;
+
+	// metrics
+	private long leaseCount = 0;
+	private long totalLeaseWaitNanos = 0;
+	private long maxLeaseWaitNanos = 0;
+	private long createdCount = 0;
+	private long overflowCount = 0;
+	private long evictedCount = 0;
+
+	private final Job evictionJob = new Job(
+			DockerMessages.getString("DockerClientPool.eviction")) { //$NON-NLS-1$
+		@Override
+		protected IStatus run(final IProgressMonitor monitor) {
+			final long remaining = evictIdleClients();
+			if (remaining > 0) {
+				schedule(remaining);
+			}
+			return Status.OK_STATUS;
+		}
+	};
+
+	/**
+	 * Creates a pool with the default sizing and eviction policy.
+	 *
+	 * @param dockerClientFactory
+	 *            the factory used to build new clients
+	 * @param connectionSettings
+	 *            the settings of the Docker daemon to connect to
+	 */
+	public DockerClientPool(final DockerClientFactory dockerClientFactory,
+			final IDockerConnectionSettings connectionSettings) {
+		this(dockerClientFactory, connectionSettings, DEFAULT_MAX_SIZE,
+				DEFAULT_IDLE_TIMEOUT, DEFAULT_VALIDATION_INTERVAL,
+				DEFAULT_MAX_LEASE_WAIT);
+	}
+
+	/**
+	 * Creates a pool.
+	 *
+	 * @param dockerClientFactory
+	 *            the factory used to build new clients
+	 * @param connectionSettings
+	 *            the settings of the Docker daemon to connect to
+	 * @param maxSize
+	 *            the maximum number of pooled clients (leased and idle)
+	 * @param idleTimeout
+	 *            the time (in ms) after which an idle client is evicted
+	 * @param validationInterval
+	 *            the idle time (in ms) after which a client is pinged before
+	 *            being leased again
+	 * @param maxLeaseWait
+	 *            the maximum time (in ms) to wait for a client to be returned
+	 *            when the pool is exhausted
+	 */
+	public DockerClientPool(final DockerClientFactory dockerClientFactory,
+			final IDockerConnectionSettings connectionSettings,
+			final int maxSize, final long idleTimeout,
+			final long validationInterval, final long maxLeaseWait) {
+		this.dockerClientFactory = dockerClientFactory;
+		this.connectionSettings = connectionSettings;
+		this.maxSize = maxSize;
+		this.idleTimeout = idleTimeout;
+		this.validationInterval = validationInterval;
+		this.maxLeaseWait = maxLeaseWait;
+		this.evictionJob.setSystem(true);
+	}
+
+	/**
+	 * Leases a client from the pool. The returned client must be closed by the
+	 * caller once the operation is complete, which returns it to the pool.
+	 *
+	 * @return a leased {@link DockerClient} or <code>null</code> if the
+	 *         connection settings have no URI
+	 * @throws DockerCertificateException
+	 *             if the path to Docker certificates is invalid
+	 * @throws InterruptedException
+	 *             if interrupted while waiting for a client
+	 */
+	public DockerClient lease()
+			throws DockerCertificateException, InterruptedException {
+		final long start = System.nanoTime();
+		PooledClient candidate = null;
+		boolean overflow = false;
+		synchronized (poolLock) {
+			if (closed) {
+				overflow = true;
+			} else {
+				final long deadline = start
+						+ TimeUnit.MILLISECONDS.toNanos(maxLeaseWait);
+				while (idleClients.isEmpty() && leasedCount >= maxSize) {
+					final long remaining = deadline - System.nanoTime();
+					if (remaining <= 0) {
+						overflow = true;
+						break;
+					}
+					TimeUnit.NANOSECONDS.timedWait(poolLock, remaining);
+				}
+				if (!overflow) {
+					candidate = idleClients.pollFirst();
+					leasedCount++;
+				}
+			}
+			recordLease(System.nanoTime() - start, overflow);
+		}
+		if (overflow) {
+			final DockerClient client = dockerClientFactory
+					.getClient(connectionSettings);
+			return client == null ? null : wrap(client, false);
+		}
+		try {
+			// validate clients that have been idle for a while, and replace
+			// them if the daemon does not answer anymore
+			if (candidate != null && System.currentTimeMillis()
+					- candidate.lastUsed > validationInterval
+					&& !isHealthy(candidate.client)) {
+				candidate.client.close();
+				synchronized (poolLock) {
+					evictedCount++;
+				}
+				candidate = null;
+			}
+			if (candidate == null) {
+				final DockerClient client = dockerClientFactory
+						.getClient(connectionSettings);
+				if (client == null) {
+					releaseSlot();
+					return null;
+				}
+				synchronized (poolLock) {
+					createdCount++;
+				}
+				candidate = new PooledClient(client);
+			}
+			return wrap(candidate.client, true);
+		} catch (DockerCertificateException | RuntimeException e) {
+			releaseSlot();
+			throw e;
+		}
+	}
+
+	private static boolean isHealthy(final DockerClient client) {
+		try {
+			client.ping();
+			return true;
+		} catch (com.spotify.docker.client.exceptions.DockerException
+				| RuntimeException e) {
+			return false;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	private void recordLease(final long waitNanos, final boolean overflow) {
+		leaseCount++;
+		totalLeaseWaitNanos += waitNanos;
+		maxLeaseWaitNanos = Math.max(maxLeaseWaitNanos, waitNanos);
+		if (overflow) {
+			overflowCount++;
+		}
+	}
+
+	private void releaseSlot() {
+		synchronized (poolLock) {
+			leasedCount--;
+			poolLock.notifyAll();
+		}
+	}
+
+	private void release(final DockerClient client) {
+		boolean dispose = false;
+		synchronized (poolLock) {
+			leasedCount--;
+			if (closed) {
+				dispose = true;
+			} else {
+				idleClients.addFirst(new PooledClient(client));
+				poolLock.notifyAll();
+			}
+		}
+		if (dispose) {
+			client.close();
+		} else if (evictionJob.getState() == Job.NONE) {
+			evictionJob.schedule(idleTimeout);
+		}
+	}
+
+	/**
+	 * Disposes all clients that have been idle longer than the idle timeout.
+	 *
+	 * @return the delay (in ms) until the next idle client expires, or
+	 *         <code>0</code> if no idle client remains
+	 */
+	long evictIdleClients() {
+		final Deque<PooledClient> expired = new ArrayDeque<>();
+		long nextExpiry = 0;
+		synchronized (poolLock) {
+			final long now = System.currentTimeMillis();
+			for (Iterator<PooledClient> iterator = idleClients
+					.iterator(); iterator.hasNext();) {
+				final PooledClient pooledClient = iterator.next();
+				final long idleTime = now - pooledClient.lastUsed;
+				if (idleTime >= idleTimeout) {
+					iterator.remove();
+					expired.add(pooledClient);
+				} else {
+					final long remaining = idleTimeout - idleTime;
+					nextExpiry = nextExpiry == 0 ? remaining
+							: Math.min(nextExpiry, remaining);
+				}
+			}
+			evictedCount += expired.size();
+		}
+		for (PooledClient pooledClient : expired) {
+			pooledClient.client.close();
+		}
+		return nextExpiry;
+	}
+
+	/**
+	 * Closes all idle clients. Clients that are currently leased are disposed
+	 * when they are returned.
+	 */
+	public void close() {
+		final Deque<PooledClient> toClose;
+		synchronized (poolLock) {
+			closed = true;
+			toClose = new ArrayDeque<>(idleClients);
+			idleClients.clear();
+			poolLock.notifyAll();
+		}
+		evictionJob.cancel();
+		for (PooledClient pooledClient : toClose) {
+			pooledClient.client.close();
+		}
+	}
+
+	/**
+	 * @return the number of clients currently held by the pool, leased or
+	 *         idle
+	 */
+	public int getPoolSize() {
+		synchronized (poolLock) {
+			return leasedCount + idleClients.size();
+		}
+	}
+
+	/**
+	 * @return the number of idle clients ready to be leased
+	 */
+	public int getIdleCount() {
+		synchronized (poolLock) {
+			return idleClients.size();
+		}
+	}
+
+	/**
+	 * @return the number of pooled clients currently leased
+	 */
+	public int getLeasedCount() {
+		synchronized (poolLock) {
+			return leasedCount;
+		}
+	}
+
+	/**
+	 * @return the total number of leases served by this pool
+	 */
+	public long getLeaseCount() {
+		synchronized (poolLock) {
+			return leaseCount;
+		}
+	}
+
+	/**
+	 * @return the average time (in ms) spent waiting for a lease
+	 */
+	public double getAverageLeaseWaitTime() {
+		synchronized (poolLock) {
+			return leaseCount == 0 ? 0
+					: totalLeaseWaitNanos / (double) leaseCount / 1_000_000;
+		}
+	}
+
+	/**
+	 * @return the longest time (in ms) spent waiting for a lease
+	 */
+	public double getMaxLeaseWaitTime() {
+		synchronized (poolLock) {
+			return maxLeaseWaitNanos / 1_000_000d;
+		}
+	}
+
+	/**
+	 * @return the number of pooled clients built so far
+	 */
+	public long getCreatedCount() {
+		synchronized (poolLock) {
+			return createdCount;
+		}
+	}
+
+	/**
+	 * @return the number of unpooled clients built because the pool was
+	 *         exhausted
+	 */
+	public long getOverflowCount() {
+		synchronized (poolLock) {
+			return overflowCount;
+		}
+	}
+
+	/**
+	 * @return the number of clients disposed because they were idle for too
+	 *         long or failed their health check
+	 */
+	public long getEvictedCount() {
+		synchronized (poolLock) {
+			return evictedCount;
+		}
+	}
+
+	private DockerClient wrap(final DockerClient client,
+			final boolean pooled) {
+		final AtomicBoolean released = new AtomicBoolean(false);
+		return (DockerClient) Proxy.newProxyInstance(
+				DockerClient.class.getClassLoader(),
+				new Class<?>[] { DockerClient.class },
+				(proxy, method, args) -> {
+					if (isCloseMethod(method)) {
+						// closing more than once is a no-op
+						if (released.compareAndSet(false, true)) {
+							if (pooled) {
+								release(client);
+							} else {
+								client.close();
+							}
+						}
+						return null;
+					}
+					try {
+						return method.invoke(client, args);
+					} catch (InvocationTargetException e) {
+						throw e.getCause();
+					}
+				});
+	}
+
+	private static boolean isCloseMethod(final Method method) {
+		return "close".equals(method.getName()) //$NON-NLS-1$
+				&& method.getParameterCount() == 0;
+	}
+
+	private static class PooledClient {
+
+		private final DockerClient client;
+		private final long lastUsed;
+
+		PooledClient(final DockerClient client) {
+			this.client = client;
+			this.lastUsed = System.currentTimeMillis();
+		}
+	}
+
+}
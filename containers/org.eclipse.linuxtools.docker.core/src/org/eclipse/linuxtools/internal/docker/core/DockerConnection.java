@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2014, 2018 Red Hat Inc. and others.
+ * Copyright (c) 2014, 2026 Red Hat Inc. and others.
  * 
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -41,7 +41,6 @@ import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.ListenerList;
-import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.core.runtime.preferences.IEclipsePreferences;
@@ -86,7 +85,6 @@ import org.eclipse.linuxtools.docker.core.IDockerPortBinding;
 import org.eclipse.linuxtools.docker.core.IDockerProgressHandler;
 import org.eclipse.linuxtools.docker.core.IDockerVersion;
 import org.eclipse.linuxtools.docker.core.IDockerVolume;
-import org.eclipse.linuxtools.docker.core.ILogger;
 import org.eclipse.linuxtools.docker.core.IRegistryAccount;
 import org.eclipse.linuxtools.docker.core.Messages;
 import org.eclipse.linuxtools.internal.docker.core.DockerImage.DockerImageQualifier;
@@ -187,18 +185,24 @@ public class DockerConnection
 	private final Object clientLock = new Object();
 	private DockerClientFactory dockerClientFactory = new DockerClientFactory();
 	private DockerClient client;
+	private DockerClientPool clientPool;
 
 	private Map<String, Job> actionJobs;
 
-	private Map<String, LogThread> loggingThreads = new HashMap<>();
+	private Map<String, ContainerLogStreamer.Follower> loggingThreads = new HashMap<>();
 
 	// containers sorted by name
 	private List<IDockerContainer> containers;
 	// containers indexed by id
 	private Map<String, IDockerContainer> containersById = new HashMap<>();
+	// cached directory listings of the running containers
+	private final ContainerFileSystemBrowser fileSystemBrowser = new ContainerFileSystemBrowser(
+			this);
 	// flag to indicate if the state of the connection to the Docker daemon
 	private EnumDockerConnectionState state = EnumDockerConnectionState.UNKNOWN;
 	private List<IDockerImage> images;
+	// images indexed by id, repo tag and parent id
+	private volatile DockerImageGraph imageGraph = DockerImageGraph.EMPTY;
 	private Boolean isLocalConnection;
 
 	ListenerList<IDockerContainerListener> containerListeners;
@@ -311,7 +315,10 @@ public class DockerConnection
 	 */
 	public void setDockerClientFactory(
 			final DockerClientFactory dockerClientFactory) {
-		this.dockerClientFactory = dockerClientFactory;
+		synchronized (clientLock) {
+			this.dockerClientFactory = dockerClientFactory;
+			disposeClientPool();
+		}
 	}
 
 	@Override
@@ -326,7 +333,7 @@ public class DockerConnection
 		case UNKNOWN:
 		case CLOSED:
 			synchronized (imageLock) {
-				this.images = Collections.emptyList();
+				setImages(Collections.emptyList());
 			}
 			synchronized (containerLock) {
 				this.containers = Collections.emptyList();
@@ -399,7 +406,7 @@ public class DockerConnection
 	public void close() {
 		// stop and remove all logging threads
 		for (String key : loggingThreads.keySet().toArray(new String[0])) {
-			LogThread t = loggingThreads.get(key);
+			ContainerLogStreamer.Follower t = loggingThreads.get(key);
 			if (t != null) {
 				t.kill();
 			}
@@ -410,6 +417,7 @@ public class DockerConnection
 				this.client.close();
 				this.client = null;
 			}
+			disposeClientPool();
 		}
 		setState(EnumDockerConnectionState.CLOSED);
 	}
@@ -475,6 +483,7 @@ public class DockerConnection
 				if (this.client != null) {
 					this.client.close();
 				}
+				disposeClientPool();
 				this.state = EnumDockerConnectionState.UNKNOWN;
 				this.client = null;
 				new Job(NLS.bind(Messages.Open_Connection, this.getUri())) {
@@ -555,15 +564,39 @@ public class DockerConnection
 
 	/**
 	 * Get a copy of the client to use in parallel threads for long-standing
-	 * operations such as logging or waiting until finished. The user of the
-	 * copy should close it when the operation is complete.
+	 * operations such as logging or waiting until finished. The copy is leased
+	 * from the {@link DockerClientPool} of this connection and the user of the
+	 * copy should close it when the operation is complete, which returns it to
+	 * the pool.
 	 * 
 	 * @return copy of client
 	 * @throws DockerException
 	 *             - general Docker client exception
 	 * @see DockerConnection#open(boolean)
 	 */
-	private DockerClient getClientCopy() throws DockerException {
+	DockerClient getClientCopy() throws DockerException {
+		try {
+			return getClientPool().lease();
+		} catch (DockerCertificateException e) {
+			throw new DockerException(NLS.bind(Messages.Open_Connection_Failure,
+					this.name, this.getUri()));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DockerException(NLS.bind(Messages.Open_Connection_Failure,
+					this.name, this.getUri()), e);
+		}
+	}
+
+	/**
+	 * Get a new client that is not managed by the {@link DockerClientPool},
+	 * for operations whose result outlives the call (e.g. a returned stream)
+	 * and that cannot give the client back once done.
+	 * 
+	 * @return a new client
+	 * @throws DockerException
+	 *             - general Docker client exception
+	 */
+	private DockerClient getUnpooledClient() throws DockerException {
 		try {
 			return dockerClientFactory.getClient(this.connectionSettings);
 		} catch (DockerCertificateException e) {
@@ -572,10 +605,56 @@ public class DockerConnection
 		}
 	}
 
+	/**
+	 * @return the {@link DockerClientPool} from which the client copies of
+	 *         this connection are leased, created on first use.
+	 */
+	public DockerClientPool getClientPool() {
+		synchronized (clientLock) {
+			if (this.clientPool == null) {
+				this.clientPool = new DockerClientPool(
+						this.dockerClientFactory, this.connectionSettings);
+			}
+			return this.clientPool;
+		}
+	}
+
+	private void disposeClientPool() {
+		synchronized (clientLock) {
+			if (this.clientPool != null) {
+				this.clientPool.close();
+				this.clientPool = null;
+			}
+		}
+	}
+
+	/**
+	 * Leases a client from the pool for a sequence of operations. The token
+	 * must be closed (or passed to {@link #closeOperationToken(Object)}) once
+	 * the operations are complete so the client can be reused.
+	 * 
+	 * @return a token to pass to the token-based operations
+	 * @throws DockerException
+	 *             - general Docker client exception
+	 */
 	public Closeable getOperationToken() throws DockerException {
 		return getClientCopy();
 	}
 
+	/**
+	 * Gets a client that is not taken from the pool, for token-based
+	 * operations that last as long as a container runs (e.g.
+	 * {@link #attachLog(Closeable, String, OutputStream, OutputStream)}).
+	 * Closing the token closes the client, which ends these operations.
+	 * 
+	 * @return a token to pass to the token-based operations
+	 * @throws DockerException
+	 *             - general Docker client exception
+	 */
+	public Closeable getUnpooledOperationToken() throws DockerException {
+		return getUnpooledClient();
+	}
+
 	public void closeOperationToken(Object token) {
 		DockerClient client = (DockerClient) token;
 		client.close();
@@ -668,93 +747,22 @@ public class DockerConnection
 	}
 
 	/**
-	 * Class to perform logging of a container run to a given output stream
-	 * (usually a console stream).
-	 *
+	 * Creates a {@link ContainerLogStreamer.Follower} to log a container run to
+	 * a given output stream (usually a console stream). The container list is
+	 * refreshed once the log stream ends. Followers hold their client for as
+	 * long as the container runs, so they do not take it from the
+	 * {@link DockerClientPool}, which is left to short operations.
 	 */
-	private class LogThread extends AbstractKillableThread implements ILogger {
-		private String id;
-		private DockerClient copyClient;
-		private OutputStream outputStream;
-		private boolean follow;
-
-		public LogThread(String id, DockerClient copyClient, boolean follow) {
-			this.id = id;
-			this.copyClient = copyClient;
-			this.follow = follow;
-		}
-
-		@Override
-		public LogThread clone() {
-			return new LogThread(id, copyClient, follow);
-		}
-
-		@Override
-		public void setOutputStream(OutputStream stream) {
-			outputStream = stream;
-		}
-
-		@Override
-		public void execute() throws InterruptedException, IOException {
-			LogStream stream = null;
-			try {
-				// Add timestamps to log based on user preference
-				IEclipsePreferences preferences = InstanceScope.INSTANCE
-						.getNode("org.eclipse.linuxtools.docker.ui"); //$NON-NLS-1$
-
-				boolean timestamps = preferences.getBoolean(
-						"logTimestamp", true); //$NON-NLS-1$
-
-
-				if (timestamps)
-					stream = copyClient.logs(id, LogsParam.follow(),
-							LogsParam.stdout(), LogsParam.stderr(),
-							LogsParam.timestamps());
-				else
-					stream = copyClient.logs(id, LogsParam.follow(),
-							LogsParam.stdout(), LogsParam.stderr());
-
-				// First time through, don't sleep before showing log data
-				int delayTime = 100;
-
-				do {
-					Thread.sleep(delayTime);
-					// Second time in loop and following, pause a second to
-					// allow other threads to do meaningful work
-					delayTime = 500;
-					while (stream.hasNext()) {
-						ByteBuffer b = stream.next().content();
-						byte[] bytes = new byte[b.remaining()];
-						b.get(bytes);
-						if (outputStream != null)
-							outputStream.write(bytes);
+	private ContainerLogStreamer.Follower newLogFollower(final String id,
+			final boolean follow) throws DockerException {
+		return ContainerLogStreamer.newFollower(id, getUnpooledClient(), follow,
+				() -> {
+					try {
+						listContainers();
+					} catch (DockerException e) {
+						Activator.log(e);
 					}
-				} while (follow && !stop);
-				listContainers();
-			} catch (com.spotify.docker.client.exceptions.DockerRequestException e) {
-				Activator.logErrorMessage(
-						ProcessMessages.getString("Monitor_Logs_Exception"), e); //$NON-NLS-1$
-				throw new InterruptedException();
-			} catch (com.spotify.docker.client.exceptions.DockerException
-					| IOException e) {
-				Activator.logErrorMessage(
-						ProcessMessages.getString("Monitor_Logs_Exception"), e); //$NON-NLS-1$
-				throw new InterruptedException();
-			} catch (InterruptedException e) {
-				kill = true;
-				Thread.currentThread().interrupt();
-			} catch (Exception e) {
-				Activator.logErrorMessage(
-						ProcessMessages.getString("Monitor_Logs_Exception"), e); //$NON-NLS-1$
-			} finally {
-				follow = false;
-				copyClient.close(); // we are done with copyClient..dispose
-				if (stream != null)
-					stream.close();
-				if (outputStream != null)
-					outputStream.close();
-			}
-		}
+				});
 	}
 
 	private List<IDockerContainer> listContainers()
@@ -832,6 +840,7 @@ public class DockerConnection
 				}
 			} finally {
 				this.containersById = updatedContainersById;
+				fileSystemBrowser.retainRunningContainers(updatedContainersById);
 				sortedContainers = sort(
 						updatedContainersById.values(),
 						(container, otherContainer) -> container.name()
@@ -882,7 +891,11 @@ public class DockerConnection
 				}
 				parms[1] = DockerClient.ListContainersParam
 						.withLabel(labelString.toString());
-				nativeContainers.addAll(clientCopy.listContainers(parms));
+				try {
+					nativeContainers.addAll(clientCopy.listContainers(parms));
+				} finally {
+					clientCopy.close();
+				}
 			}
 			// We have a list of containers with labels. Now, we create a Set of
 			// ids which contain those labels to use in filtering a list of
@@ -1032,13 +1045,30 @@ public class DockerConnection
 	 */
 	@Override
 	public IDockerImage getImage(String id) {
-		List<IDockerImage> images = getImages();
-		for (IDockerImage image : images) {
-			if (image.id().equals(id)) {
-				return image;
-			}
-		}
-		return null;
+		return getImageGraph().getImage(id);
+	}
+
+	/**
+	 * @return the {@link DockerImageGraph} of the current images, loading the
+	 *         images first if needed
+	 */
+	private DockerImageGraph getImageGraph() {
+		getImages();
+		return this.imageGraph;
+	}
+
+	/**
+	 * Replaces the current images and rebuilds their
+	 * {@link DockerImageGraph}. Must be called while holding the
+	 * {@code imageLock}.
+	 * 
+	 * @param images
+	 *            the new images
+	 */
+	private void setImages(final List<IDockerImage> images) {
+		this.imageGraph = images.isEmpty() ? DockerImageGraph.EMPTY
+				: new DockerImageGraph(images);
+		this.images = images;
 	}
 
 	@Override
@@ -1062,7 +1092,7 @@ public class DockerConnection
 				latestImages = listImages();
 			} catch (DockerException e) {
 				synchronized (imageLock) {
-					this.images = Collections.emptyList();
+					setImages(Collections.emptyList());
 				}
 				Activator.log(e);
 			}
@@ -1097,10 +1127,16 @@ public class DockerConnection
 				// We have a list of images. Now, we translate them to our own
 				// core format in case we decide to change the underlying engine
 				// in the future. We also look for intermediate and dangling
-				// images.
+				// images, using the set of ids of all images that have a child.
+				final Set<String> parentIds = new HashSet<>();
+				for (Image nativeImage : nativeImages) {
+					if (nativeImage.parentId() != null) {
+						parentIds.add(nativeImage.parentId());
+					}
+				}
 				for (Image nativeImage : nativeImages) {
 					final DockerImageQualifier imageQualifier = resolveQualifier(
-							nativeImage, nativeImages);
+							nativeImage, parentIds);
 					// return one IDockerImage per raw image
 					final List<String> repoTags = (nativeImage
 							.repoTags() != null)
@@ -1141,7 +1177,7 @@ public class DockerConnection
 							e);
 				}
 			} finally {
-				this.images = tempImages;
+				setImages(tempImages);
 			}
 		}
 		// Perform notification outside of lock so that listener doesn't cause a
@@ -1152,21 +1188,21 @@ public class DockerConnection
 
 	/**
 	 * Resolves the {@link DockerImageQualifier} for the given
-	 * {@code nativeImage} in the context of all {@code nativeImages}
+	 * {@code nativeImage} in the context of all known images
 	 * 
 	 * @param nativeImage
 	 *            the image to analyze
-	 * @param nativeImages
-	 *            all known images
+	 * @param parentIds
+	 *            the ids of all known images that have at least one child
+	 *            image
 	 * @return the corresponding {@link DockerImageQualifier}
 	 */
 	private static DockerImageQualifier resolveQualifier(
-			final Image nativeImage, final List<Image> nativeImages) {
+			final Image nativeImage, final Set<String> parentIds) {
 		final boolean hasTag = !(nativeImage.repoTags() == null
 				|| (nativeImage.repoTags().size() == 1
 						&& nativeImage.repoTags().contains("<none>:<none>"))); //$NON-NLS-1$
-		final boolean hasChildImage = nativeImages.stream()
-				.anyMatch(i -> nativeImage.id().equals(i.parentId()));
+		final boolean hasChildImage = parentIds.contains(nativeImage.id());
 		// imtermediate image
 		if (!hasTag && hasChildImage) {
 			return DockerImageQualifier.INTERMEDIATE;
@@ -1180,27 +1216,13 @@ public class DockerConnection
 
 	@Override
 	public boolean hasImage(final String repository, final String tag) {
-		for (IDockerImage image : getImages()) {
-			for (String repoTag : image.repoTags()) {
-				String tagExpr = (tag != null && !tag.isEmpty()) ? ":" + tag //$NON-NLS-1$
-						: ""; //$NON-NLS-1$
-				if (repoTag.equals(repository + tagExpr)) {
-					return true;
-				}
-			}
-		}
-		return false;
+		final String tagExpr = (tag != null && !tag.isEmpty()) ? ":" + tag //$NON-NLS-1$
+				: ""; //$NON-NLS-1$
+		return getImageGraph().hasRepoTag(repository + tagExpr);
 	}
 
 	public IDockerImage getImageByTag(final String tag) {
-		for (IDockerImage image : getImages()) {
-			for (String repoTag : image.repoTags()) {
-				if (repoTag.equals(tag)) {
-					return image;
-				}
-			}
-		}
-		return null;
+		return getImageGraph().getImageByRepoTag(tag);
 	}
 
 	@Override
@@ -1372,9 +1394,10 @@ public class DockerConnection
 			final DockerProgressHandler d = new DockerProgressHandler(handler);
 			final java.nio.file.Path p = FileSystems.getDefault()
 					.getPath(path.makeAbsolute().toOSString());
-			String res = getClientCopy().build(p, d,
-					BuildParam.create("forcerm", "true")); //$NON-NLS-1$ //$NON-NLS-2$
-			return res;
+			try (DockerClient copy = getClientCopy()) {
+				return copy.build(p, d,
+						BuildParam.create("forcerm", "true")); //$NON-NLS-1$ //$NON-NLS-2$
+			}
 		} catch (com.spotify.docker.client.exceptions.DockerRequestException e) {
 			throw new DockerException(e.getResponseBody());
 		} catch (com.spotify.docker.client.exceptions.DockerException
@@ -1392,9 +1415,10 @@ public class DockerConnection
 			DockerProgressHandler d = new DockerProgressHandler(handler);
 			java.nio.file.Path p = FileSystems.getDefault().getPath(
 					path.makeAbsolute().toOSString());
-			String res = getClientCopy().build(p, name, d,
-					BuildParam.create("forcerm", "true")); //$NON-NLS-1$ $NON-NLS-2$
-			return res;
+			try (DockerClient copy = getClientCopy()) {
+				return copy.build(p, name, d,
+						BuildParam.create("forcerm", "true")); //$NON-NLS-1$ $NON-NLS-2$
+			}
 		} catch (com.spotify.docker.client.exceptions.DockerRequestException e) {
 			throw new DockerException(e.getResponseBody());
 		} catch (com.spotify.docker.client.exceptions.DockerException
@@ -1430,9 +1454,10 @@ public class DockerConnection
 			final DockerProgressHandler d = new DockerProgressHandler(handler);
 			final java.nio.file.Path p = FileSystems.getDefault()
 					.getPath(path.makeAbsolute().toOSString());
-			String res = getClientCopy().build(p, name, d,
-					getBuildParameters(buildOptions));
-			return res;
+			try (DockerClient copy = getClientCopy()) {
+				return copy.build(p, name, d,
+						getBuildParameters(buildOptions));
+			}
 		} catch (com.spotify.docker.client.exceptions.DockerRequestException e) {
 			throw new DockerException(e.getResponseBody());
 		} catch (com.spotify.docker.client.exceptions.DockerException
@@ -1470,9 +1495,10 @@ public class DockerConnection
 			final DockerProgressHandler d = new DockerProgressHandler(handler);
 			final java.nio.file.Path p = FileSystems.getDefault()
 					.getPath(path.makeAbsolute().toOSString());
-			String res = getClientCopy().build(p, name, dockerFileName, d,
-					getBuildParameters(buildOptions));
-			return res;
+			try (DockerClient copy = getClientCopy()) {
+				return copy.build(p, name, dockerFileName, d,
+						getBuildParameters(buildOptions));
+			}
 		} catch (com.spotify.docker.client.exceptions.DockerRequestException e) {
 			throw new DockerException(e.getResponseBody());
 		} catch (com.spotify.docker.client.exceptions.DockerException
@@ -1729,9 +1755,9 @@ public class DockerConnection
 			client.unpauseContainer(id);
 			if (stream != null) {
 				synchronized (loggingThreads) {
-					LogThread t = loggingThreads.get(id);
+					ContainerLogStreamer.Follower t = loggingThreads.get(id);
 					if (t == null || !t.isAlive()) {
-						t = new LogThread(id, getClientCopy(), true);
+						t = newLogFollower(id, true);
 						loggingThreads.put(id, t);
 						t.setOutputStream(stream);
 						t.start();
@@ -1799,15 +1825,16 @@ public class DockerConnection
 		try {
 			// start container
 			((DockerClient) token).startContainer(id);
+			fileSystemBrowser.invalidate(id);
 			// Log the started container if a stream is provided
 			if (stream != null && containerInfo != null
 					&& containerInfo.config() != null
 					&& !containerInfo.config().tty()) {
 				// display logs for container
 				synchronized (loggingThreads) {
-					LogThread t = loggingThreads.get(id);
+					ContainerLogStreamer.Follower t = loggingThreads.get(id);
 					if (t == null || !t.isAlive()) {
-						t = new LogThread(id, getClientCopy(), true);
+						t = newLogFollower(id, true);
 						loggingThreads.put(id, t);
 						t.setOutputStream(stream);
 						t.start();
@@ -1842,6 +1869,7 @@ public class DockerConnection
 		try {
 			// start container with host config
 			client.startContainer(id);
+			fileSystemBrowser.invalidate(id);
 			// Log the started container based on user preference
 			// Log the started container based on user preference
 			// Log the started container based on user preference
@@ -1852,9 +1880,9 @@ public class DockerConnection
 
 			if (autoLog && !containerInfo.config().tty()) {
 				synchronized (loggingThreads) {
-					LogThread t = loggingThreads.get(loggingId);
+					ContainerLogStreamer.Follower t = loggingThreads.get(loggingId);
 					if (t == null || !t.isAlive()) {
-						t = new LogThread(id, getClientCopy(), true);
+						t = newLogFollower(id, true);
 						loggingThreads.put(loggingId, t);
 						t.setOutputStream(stream);
 						t.start();
@@ -1890,6 +1918,7 @@ public class DockerConnection
 		try {
 			// restart container
 			client.restartContainer(id, secondsToWait);
+			fileSystemBrowser.invalidate(id);
 			// Log the started container if a stream is provided
 			final IDockerContainerInfo containerInfo = getContainerInfo(id);
 			if (stream != null && containerInfo != null
@@ -1897,9 +1926,9 @@ public class DockerConnection
 					&& !containerInfo.config().tty()) {
 				// display logs for container
 				synchronized (loggingThreads) {
-					LogThread t = loggingThreads.get(id);
+					ContainerLogStreamer.Follower t = loggingThreads.get(id);
 					if (t == null || !t.isAlive()) {
-						t = new LogThread(id, getClientCopy(), true);
+						t = newLogFollower(id, true);
 						loggingThreads.put(id, t);
 						t.setOutputStream(stream);
 						t.start();
@@ -1944,7 +1973,9 @@ public class DockerConnection
 			throws DockerException, InterruptedException {
 		InputStream stream;
 		try {
-			DockerClient copy = getClientCopy();
+			// the returned stream outlives this call, so use a client that
+			// does not need to be given back to the pool
+			DockerClient copy = getUnpooledClient();
 			stream = copy.archiveContainer(id, path);
 		} catch (com.spotify.docker.client.exceptions.DockerException e) {
 			throw new DockerException(e.getMessage(), e.getCause());
@@ -1970,8 +2001,10 @@ public class DockerConnection
 			throws DockerException, InterruptedException {
 		List<IDockerContainerChange> containerChanges = new ArrayList<>();
 		try {
-			DockerClient copy = getClientCopy();
-			List<ContainerChange> changes = copy.inspectContainerChanges(id);
+			final List<ContainerChange> changes;
+			try (DockerClient copy = getClientCopy()) {
+				changes = copy.inspectContainerChanges(id);
+			}
 			for (ContainerChange change : changes) {
 				containerChanges.add(new DockerContainerChange(change.path(),
 						change.kind()));
@@ -2022,6 +2055,7 @@ public class DockerConnection
 					.getPath(directory);
 			copy.copyToContainer(dirPath, id, path);
 			copy.close(); /* dispose of client copy now that we are done */
+			fileSystemBrowser.invalidate(id);
 		} catch (com.spotify.docker.client.exceptions.DockerException e) {
 			throw new DockerException(e.getMessage(), e.getCause());
 		}
@@ -2036,6 +2070,7 @@ public class DockerConnection
 					.getPath(directory);
 			copy.copyToContainer(dirPath, id, path);
 			copy.close(); /* dispose of client copy now that we are done */
+			fileSystemBrowser.invalidate(id);
 		} catch (com.spotify.docker.client.exceptions.DockerException e) {
 			throw new DockerException(e.getMessage(), e.getCause());
 		}
@@ -2059,7 +2094,7 @@ public class DockerConnection
 
 	public EnumDockerLoggingStatus loggingStatus(final String id) {
 		synchronized (loggingThreads) {
-			LogThread t = loggingThreads.get(id);
+			ContainerLogStreamer.Follower t = loggingThreads.get(id);
 			if (t == null)
 				return EnumDockerLoggingStatus.LOGGING_NONE;
 			if (t.isAlive())
@@ -2071,7 +2106,7 @@ public class DockerConnection
 	@Override
 	public void stopLoggingThread(final String id) {
 		synchronized (loggingThreads) {
-			LogThread t = loggingThreads.get(id);
+			ContainerLogStreamer.Follower t = loggingThreads.get(id);
 			if (t != null)
 				t.requestStop();
 		}
@@ -2089,14 +2124,13 @@ public class DockerConnection
 			throws DockerException, InterruptedException {
 		try {
 			// Figure out if we are logging a running container or not
-			// Pass that info to see whether the LogThread should just terminate
+			// Pass that info to see whether the log follower should just terminate
 			// or keep running
 			synchronized (loggingThreads) {
 				ContainerInfo info = client.inspectContainer(id);
-				LogThread t = loggingThreads.get(id);
+				ContainerLogStreamer.Follower t = loggingThreads.get(id);
 				if (t == null || !t.isAlive()) {
-					t = new LogThread(id, getClientCopy(), info.state()
-							.running());
+					t = newLogFollower(id, info.state().running());
 					loggingThreads.put(id, t);
 					t.setOutputStream(stream);
 					t.start();
@@ -2122,9 +2156,9 @@ public class DockerConnection
 	public void attachLog(final String id, final OutputStream out,
 			final OutputStream err)
 			throws DockerException, InterruptedException, IOException {
-		DockerClient copyClient;
-		try {
-			copyClient = getClientCopy();
+		// the logs are followed as long as the container runs, so the client
+		// is not leased from the pool
+		try (DockerClient copyClient = getUnpooledClient()) {
 			LogStream stream = copyClient.logs(id, LogsParam.follow(),
 					LogsParam.stdout(), LogsParam.stderr());
 			stream.attach(out, err);
@@ -2134,6 +2168,13 @@ public class DockerConnection
 		}
 	}
 
+	/**
+	 * Attaches to the logs of a container until it stops.
+	 * 
+	 * @param token
+	 *            a token from {@link #getUnpooledOperationToken()}, as the
+	 *            logs are followed as long as the container runs
+	 */
 	public void attachLog(final Closeable token, final String id,
 			final OutputStream out, final OutputStream err)
 			throws DockerException, InterruptedException, IOException {
@@ -2152,11 +2193,12 @@ public class DockerConnection
 			throws DockerException, InterruptedException {
 		try {
 			// wait for container to exit
-			DockerClient copy = getClientCopy();
-			ContainerExit x = copy.waitContainer(id);
+			final ContainerExit x;
+			try (DockerClient copy = getClientCopy()) {
+				x = copy.waitContainer(id);
+			} // give copy back to the pool now we are finished
 			DockerContainerExit exit = new DockerContainerExit(x.statusCode());
 			listContainers(); // update container list
-			copy.close(); // dispose of copy now we are finished
 			return exit;
 		} catch (ContainerNotFoundException e) {
 			throw new DockerContainerNotFoundException(e);
@@ -2235,67 +2277,29 @@ public class DockerConnection
 		}
 	}
 
-	@SuppressWarnings("unused")
+	/**
+	 * Reads the content of a directory in a running container. Listings are
+	 * cached, see {@link ContainerFileSystemBrowser}.
+	 * 
+	 * @param id
+	 *            the container id
+	 * @param path
+	 *            the absolute path of the directory
+	 * @return the files and directories in the given directory
+	 * @throws DockerException
+	 *             if no client could be obtained
+	 */
 	public List<ContainerFileProxy> readContainerDirectory(final String id,
 			final String path) throws DockerException {
-		List<ContainerFileProxy> childList = new ArrayList<>();
-		try {
-			DockerClient copyClient = getClientCopy();
-			final ExecCreation execCreation = copyClient.execCreate(id,
-					new String[] { "/bin/sh", "-c", "ls -l -F -L -Q " + path }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
-					ExecCreateParam.attachStdout(),
-					ExecCreateParam.attachStderr());
-			final String execId = execCreation.id();
-			final LogStream pty_stream = copyClient.execStart(execId);
-			try {
-				while (pty_stream.hasNext()) {
-					ByteBuffer b = pty_stream.next().content();
-					byte[] buffer = new byte[b.remaining()];
-					b.get(buffer);
-					String s = new String(buffer);
-					String[] lines = s.split("\\r?\\n"); //$NON-NLS-1$
-					for (String line : lines) {
-						if (line.trim().startsWith("total")) //$NON-NLS-1$
-							continue; // ignore the total line
-						String[] token = line.split("\\s+"); //$NON-NLS-1$
-						boolean isDirectory = token[0].startsWith("d"); //$NON-NLS-1$
-						boolean isLink = token[0].startsWith("l"); //$NON-NLS-1$
-						if (token.length > 8) {
-							// last token depends on whether we have a link or not
-							String link = null;
-							if (isLink) {
-								String linkname = token[token.length - 1];
-								if (linkname.endsWith("/")) { //$NON-NLS-1$
-									linkname = linkname.substring(0, linkname.length() - 1);
-									isDirectory = true;
-								}
-								IPath linkPath = new Path(path);
-								linkPath = linkPath.append(linkname);
-								link = linkPath.toString();
-								String name = token[token.length - 3];
-								childList.add(new ContainerFileProxy(path, name,
-										isDirectory, isLink, link));
-							} else {
-								String name = token[token.length - 1];
-								// remove quotes and any indicator char
-								name = name.substring(1, name.length()
-										- (name.endsWith("\"") ? 1 : 2));
-								childList.add(new ContainerFileProxy(path, name,
-										isDirectory));
-							}
-						}
-					}
-				}
-			} finally {
-				if (pty_stream != null)
-					pty_stream.close();
-				if (copyClient != null)
-					copyClient.close();
-			}
-		} catch (Exception e) {
-			// e.printStackTrace();
-		}
-		return childList;
+		return fileSystemBrowser.readDirectory(id, path);
+	}
+
+	/**
+	 * @return the {@link ContainerFileSystemBrowser} holding the cached
+	 *         directory listings of the containers of this connection
+	 */
+	public ContainerFileSystemBrowser getFileSystemBrowser() {
+		return fileSystemBrowser;
 	}
 
 	public void execShell(final String id) throws DockerException {
@@ -2525,15 +2529,15 @@ public class DockerConnection
 	@Override
 	public IDockerImageHierarchyNode resolveImageHierarchy(
 			final IDockerImage selectedImage) {
-		return DockerImageHierarchyNodeUtils.resolveImageHierarchy(this.images,
-				this.containers, selectedImage);
+		return DockerImageHierarchyNodeUtils.resolveImageHierarchy(
+				this.imageGraph, this.containers, selectedImage);
 	}
 
 	@Override
 	public IDockerImageHierarchyNode resolveImageHierarchy(
 			final IDockerContainer selectedContainer) {
-		return DockerImageHierarchyNodeUtils.resolveImageHierarchy(this.images,
-				selectedContainer);
+		return DockerImageHierarchyNodeUtils.resolveImageHierarchy(
+				this.imageGraph, selectedContainer);
 	}
 
 }
@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat - Initial Contribution
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.internal.docker.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.linuxtools.docker.core.IDockerImage;
+
+/**
+ * Immutable index of the {@link IDockerImage}s of a connection, built once
+ * each time the images are (re)loaded so that look-ups by id or by repo tag,
+ * and the navigation between parent and children images, do not need to scan
+ * the whole list of images.
+ * <p>
+ * When several images share an id or a repo tag, the first one in the list
+ * wins, which matches the behaviour of a sequential scan.
+ */
+public class DockerImageGraph {
+
+	/** an empty graph, for connections whose images are not loaded. */
+	public static final DockerImageGraph EMPTY = new DockerImageGraph(
+			Collections.emptyList());
+
+	private final List<IDockerImage> images;
+	private final Map<String, IDockerImage> imagesById;
+	private final Map<String, IDockerImage> imagesByRepoTag;
+	private final Map<String, List<IDockerImage>> childrenByParentId;
+
+	/**
+	 * Builds the graph of the given images.
+	 *
+	 * @param images
+	 *            all images of the connection
+	 */
+	public DockerImageGraph(final List<IDockerImage> images) {
+		this.images = images;
+		this.imagesById = new HashMap<>(images.size() * 2);
+		this.imagesByRepoTag = new HashMap<>(images.size() * 2);
+		this.childrenByParentId = new HashMap<>();
+		for (IDockerImage image : images) {
+			imagesById.putIfAbsent(image.id(), image);
+			if (image.repoTags() != null) {
+				for (String repoTag : image.repoTags()) {
+					imagesByRepoTag.putIfAbsent(repoTag, image);
+				}
+			}
+			final String parentId = image.parentId();
+			if (parentId != null && !parentId.isEmpty()) {
+				childrenByParentId
+						.computeIfAbsent(parentId, id -> new ArrayList<>())
+						.add(image);
+			}
+		}
+	}
+
+	/**
+	 * @return all images, in the order they were given
+	 */
+	public List<IDockerImage> getImages() {
+		return this.images;
+	}
+
+	/**
+	 * @param id
+	 *            the image id
+	 * @return the {@link IDockerImage} with the given id or <code>null</code>
+	 *         if none was found
+	 */
+	public IDockerImage getImage(final String id) {
+		return id == null ? null : this.imagesById.get(id);
+	}
+
+	/**
+	 * @param repoTag
+	 *            the image repo tag (e.g. <code>fedora:latest</code>)
+	 * @return the {@link IDockerImage} with the given repo tag or
+	 *         <code>null</code> if none was found
+	 */
+	public IDockerImage getImageByRepoTag(final String repoTag) {
+		return repoTag == null ? null : this.imagesByRepoTag.get(repoTag);
+	}
+
+	/**
+	 * @param repoTag
+	 *            the image repo tag
+	 * @return <code>true</code> if an image has the given repo tag
+	 */
+	public boolean hasRepoTag(final String repoTag) {
+		return repoTag != null && this.imagesByRepoTag.containsKey(repoTag);
+	}
+
+	/**
+	 * @param image
+	 *            the image whose parent should be returned
+	 * @return the parent {@link IDockerImage} or <code>null</code> if the
+	 *         image has no parent or if its parent is not known
+	 */
+	public IDockerImage getParent(final IDockerImage image) {
+		return getImage(image.parentId());
+	}
+
+	/**
+	 * @param imageId
+	 *            the id of the parent image
+	 * @return the images whose parent has the given id, never
+	 *         <code>null</code>
+	 */
+	public List<IDockerImage> getChildren(final String imageId) {
+		final List<IDockerImage> children = imageId == null ? null
+				: this.childrenByParentId.get(imageId);
+		return children != null ? Collections.unmodifiableList(children)
+				: Collections.emptyList();
+	}
+
+}
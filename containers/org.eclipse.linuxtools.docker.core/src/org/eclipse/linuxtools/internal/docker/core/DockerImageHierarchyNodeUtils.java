@@ -13,7 +13,11 @@
 
 package org.eclipse.linuxtools.internal.docker.core;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.linuxtools.docker.core.IDockerContainer;
 import org.eclipse.linuxtools.docker.core.IDockerImage;
@@ -27,19 +31,32 @@ public class DockerImageHierarchyNodeUtils {
 	public static IDockerImageHierarchyNode resolveImageHierarchy(
 			final List<IDockerImage> images,
 			final List<IDockerContainer> containers, final IDockerImage image) {
+		return resolveImageHierarchy(new DockerImageGraph(images), containers,
+				image);
+	}
+
+	public static IDockerImageHierarchyNode resolveImageHierarchy(
+			final DockerImageGraph imageGraph,
+			final List<IDockerContainer> containers, final IDockerImage image) {
 		// recursively find all parents and build associated
 		// IDockerImageHierarchyNode instances
 		final IDockerImageHierarchyNode parentImageNode = getImageParentImageNode(
-				images, image.parentId());
-		return getDockerImageHierarchyNode(images, containers, image,
-				parentImageNode);
+				imageGraph, image.parentId());
+		return getDockerImageHierarchyNode(imageGraph,
+				indexContainersByImage(containers), image, parentImageNode);
 	}
 
 	public static IDockerImageHierarchyNode resolveImageHierarchy(
 			final List<IDockerImage> images,
 			final IDockerContainer container) {
+		return resolveImageHierarchy(new DockerImageGraph(images), container);
+	}
+
+	public static IDockerImageHierarchyNode resolveImageHierarchy(
+			final DockerImageGraph imageGraph,
+			final IDockerContainer container) {
 		final IDockerImageHierarchyNode parentImageNode = getContainerParentImageNode(
-				images, container.image());
+				imageGraph, container.image());
 		final DockerImageHierarchyNode dockerImageHierarchyNode = getDockerImageHierarchyNode(
 				container, parentImageNode);
 		return dockerImageHierarchyNode;
@@ -49,8 +66,8 @@ public class DockerImageHierarchyNodeUtils {
 	 * Resolves the parent {@link IDockerImageHierarchyNode} for an
 	 * {@link IDockerImage}.
 	 * 
-	 * @param images
-	 *            all existing {@link IDockerImage}
+	 * @param imageGraph
+	 *            the graph of all existing {@link IDockerImage}
 	 * @param parentImageId
 	 *            the id of the parent {@link IDockerImage} to look-up
 	 * @return the {@link IDockerImageHierarchyNode} corresponding to the parent
@@ -58,26 +75,23 @@ public class DockerImageHierarchyNodeUtils {
 	 *         found.
 	 */
 	private static IDockerImageHierarchyNode getImageParentImageNode(
-			final List<IDockerImage> images, final String parentImageId) {
-		// recursively find all parents and build associated
-		// IDockerImageHierarchyNode instances
-		return images.stream().filter(image -> image.id().equals(parentImageId))
-				// parent image found: get its own parent image hierarchy
-				.map(parentImage -> new DockerImageHierarchyImageNode(
-						parentImage,
-						getImageParentImageNode(images,
-								parentImage.parentId())))
-				.findFirst()
-				// no parent image found: stop here.
-				.orElse(null);
+			final DockerImageGraph imageGraph, final String parentImageId) {
+		final IDockerImage parentImage = imageGraph.getImage(parentImageId);
+		// no parent image found: stop here.
+		if (parentImage == null) {
+			return null;
+		}
+		// parent image found: get its own parent image hierarchy
+		return new DockerImageHierarchyImageNode(parentImage,
+				getImageParentImageNode(imageGraph, parentImage.parentId()));
 	}
 
 	/**
 	 * Resolves the parent {@link IDockerImageHierarchyNode} for an
 	 * {@link IDockerContainer}.
 	 * 
-	 * @param images
-	 *            all existing {@link IDockerImage}
+	 * @param imageGraph
+	 *            the graph of all existing {@link IDockerImage}
 	 * @param parentImageName
 	 *            the name of the parent {@link IDockerImage} to look-up
 	 * @return the {@link IDockerImageHierarchyNode} corresponding to the parent
@@ -85,56 +99,80 @@ public class DockerImageHierarchyNodeUtils {
 	 *         found.
 	 */
 	private static IDockerImageHierarchyNode getContainerParentImageNode(
-			final List<IDockerImage> images, final String parentImageName) {
-		// recursively find all parents and build associated
-		// IDockerImageHierarchyNode instances
-		return images.stream()
-				.filter(image -> image.repoTags().contains(parentImageName))
-				// parent image found: get its own parent image hierarchy
-				.map(parentImage -> new DockerImageHierarchyImageNode(
-						parentImage,
-						getImageParentImageNode(images, parentImage.parentId())))
-				.findFirst()
-				// no parent image found: stop here.
-				.orElse(null);
+			final DockerImageGraph imageGraph, final String parentImageName) {
+		final IDockerImage parentImage = imageGraph
+				.getImageByRepoTag(parentImageName);
+		// no parent image found: stop here.
+		if (parentImage == null) {
+			return null;
+		}
+		// parent image found: get its own parent image hierarchy
+		return new DockerImageHierarchyImageNode(parentImage,
+				getImageParentImageNode(imageGraph, parentImage.parentId()));
+	}
+
+	/**
+	 * Indexes the given containers by the name of their image, so that the
+	 * containers of each image in the hierarchy can be found without scanning
+	 * all containers.
+	 */
+	private static Map<String, List<IDockerContainer>> indexContainersByImage(
+			final List<IDockerContainer> containers) {
+		if (containers == null || containers.isEmpty()) {
+			return Collections.emptyMap();
+		}
+		final Map<String, List<IDockerContainer>> containersByImage = new HashMap<>();
+		for (IDockerContainer container : containers) {
+			if (container.image() != null) {
+				containersByImage
+						.computeIfAbsent(container.image(),
+								i -> new ArrayList<>())
+						.add(container);
+			}
+		}
+		return containersByImage;
 	}
 
 	private static DockerImageHierarchyNode getDockerImageHierarchyNode(
-			final List<IDockerImage> images,
-			final List<IDockerContainer> containers, final IDockerImage image,
+			final DockerImageGraph imageGraph,
+			final Map<String, List<IDockerContainer>> containersByImage,
+			final IDockerImage image,
 			final IDockerImageHierarchyNode parentImageNode) {
 		final DockerImageHierarchyNode imageNode = new DockerImageHierarchyImageNode(
 				image, parentImageNode);
 		// also includes all children images/containers, recursively
-		resolveChildrenImageNodes(images, containers, image.id(),
+		resolveChildrenImageNodes(imageGraph, containersByImage, image.id(),
 				image.repoTags(), imageNode);
 		return imageNode;
 	}
 
 	private static void resolveChildrenImageNodes(
-			final List<IDockerImage> images,
-			final List<IDockerContainer> containers, final String imageId,
-			final List<String> imageRepoTags,
+			final DockerImageGraph imageGraph,
+			final Map<String, List<IDockerContainer>> containersByImage,
+			final String imageId, final List<String> imageRepoTags,
 			final IDockerImageHierarchyNode parentNode) {
-		// recursively find all parents and build associated
+		// recursively find all children and build associated
 		// IDockerImageHierarchyNode instances
-		images.stream().filter(image -> image.parentId() != null
-				&& image.parentId().equals(imageId))
-				// use the flatMap below to duplicate images that have multiple repos
-				//.flatMap(image -> DockerImage.duplicateImageByRepo(image))
-				.forEach(image -> {
-					final DockerImageHierarchyNode childNode = new DockerImageHierarchyImageNode(
-							image, parentNode);
-					resolveChildrenImageNodes(images, containers, image.id(),
-							image.repoTags(),
-							childNode);
-				});
-		containers.stream()
-				.filter(container -> container.image() != null
-						&& imageRepoTags.contains(container.image()))
-				.forEach(container -> new DockerImageHierarchyContainerNode(
-						container,
-						parentNode));
+		for (IDockerImage image : imageGraph.getChildren(imageId)) {
+			final DockerImageHierarchyNode childNode = new DockerImageHierarchyImageNode(
+					image, parentNode);
+			resolveChildrenImageNodes(imageGraph, containersByImage,
+					image.id(), image.repoTags(), childNode);
+		}
+		if (imageRepoTags == null || containersByImage.isEmpty()) {
+			return;
+		}
+		// containers created from any of the repo tags of this image
+		for (String repoTag : imageRepoTags) {
+			final List<IDockerContainer> imageContainers = containersByImage
+					.get(repoTag);
+			if (imageContainers != null) {
+				for (IDockerContainer container : imageContainers) {
+					new DockerImageHierarchyContainerNode(container,
+							parentNode);
+				}
+			}
+		}
 	}
 
 	private static DockerImageHierarchyNode getDockerImageHierarchyNode(
@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat - Initial Contribution
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.internal.docker.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * Testing the {@link ContainerFileSystemBrowser} listing command and parser.
+ */
+public class ContainerFileSystemBrowserTest {
+
+	private static final String OUTPUT = "\u0001/usr\n" //$NON-NLS-1$
+			+ "total 8\n" //$NON-NLS-1$
+			+ "drwxr-xr-x 2 root root 4096 Jan  1 00:00 \"bin\"/\n" //$NON-NLS-1$
+			+ "-rw-r--r-- 1 root root   12 Jan  1 00:00 \"read me.txt\"\n" //$NON-NLS-1$
+			+ "-rw-r--r-- 1 root root   12 Jan  1 00:00 \"caf\u00e9\"\n" //$NON-NLS-1$
+			+ "lrwxrwxrwx 1 root root    3 Jan  1 00:00 \"lib64\" -> \"lib\"/\n" //$NON-NLS-1$
+			+ "\u0001/usr/bin/\n" //$NON-NLS-1$
+			+ "total 4\n" //$NON-NLS-1$
+			+ "-rwxr-xr-x 1 root root   12 Jan  1 00:00 \"sh\"*\n"; //$NON-NLS-1$
+
+	private static Map<String, List<ContainerFileProxy>> parse(
+			final byte[] output, final int chunkSize) {
+		final ContainerFileSystemBrowser.ListingParser parser = new ContainerFileSystemBrowser.ListingParser();
+		for (int i = 0; i < output.length; i += chunkSize) {
+			parser.feed(ByteBuffer.wrap(Arrays.copyOfRange(output, i,
+					Math.min(output.length, i + chunkSize))));
+		}
+		parser.finish();
+		return parser.getListings();
+	}
+
+	@Test
+	public void shouldParseListingsAcrossChunks() {
+		// given
+		final byte[] output = OUTPUT.getBytes(StandardCharsets.UTF_8);
+		// when: chunks split lines and multi-byte characters
+		final Map<String, List<ContainerFileProxy>> listings = parse(output,
+				7);
+		// then
+		assertThat(listings).containsOnlyKeys("/usr", "/usr/bin"); //$NON-NLS-1$ //$NON-NLS-2$
+		final List<ContainerFileProxy> usr = listings.get("/usr"); //$NON-NLS-1$
+		assertThat(usr).extracting(ContainerFileProxy::getName)
+				.containsExactly("bin", "read me.txt", "caf\u00e9", "lib64"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		assertThat(usr).extracting(ContainerFileProxy::isFolder)
+				.containsExactly(true, false, false, true);
+		assertThat(usr.get(1).getFullPath()).isEqualTo("/usr/read me.txt"); //$NON-NLS-1$
+		assertThat(usr.get(3).isLink()).isTrue();
+		assertThat(usr.get(3).getLink()).isEqualTo("/usr/lib"); //$NON-NLS-1$
+		assertThat(listings.get("/usr/bin")) //$NON-NLS-1$
+				.extracting(ContainerFileProxy::getFullPath)
+				.containsExactly("/usr/bin/sh"); //$NON-NLS-1$
+	}
+
+	@Test
+	public void shouldDecodeEscapedNames() {
+		// when
+		final ContainerFileProxy file = ContainerFileSystemBrowser.ListingParser
+				.parseEntry("/", //$NON-NLS-1$
+						"-rw-r--r-- 1 root root 0 Jan  1 00:00 \"a\\\"b\\303\\251\""); //$NON-NLS-1$
+		// then
+		assertThat(file.getName()).isEqualTo("a\"b\u00e9"); //$NON-NLS-1$
+		assertThat(file.getFullPath()).isEqualTo("/a\"b\u00e9"); //$NON-NLS-1$
+	}
+
+	@Test
+	public void shouldBuildPrefetchCommand() {
+		// when
+		final String command = ContainerFileSystemBrowser
+				.buildListCommand("/it's", 1); //$NON-NLS-1$
+		// then
+		assertThat(command).startsWith("for d in '/it'\\''s' '/it'\\''s/'*/;"); //$NON-NLS-1$
+		assertThat(command).contains("ls -l -F -L -Q \"$d\""); //$NON-NLS-1$
+	}
+
+	@Test
+	public void shouldNormalizePaths() {
+		assertThat(ContainerFileSystemBrowser.normalize("/usr/")) //$NON-NLS-1$
+				.isEqualTo("/usr"); //$NON-NLS-1$
+		assertThat(ContainerFileSystemBrowser.normalize("/")).isEqualTo("/"); //$NON-NLS-1$ //$NON-NLS-2$
+		assertThat(ContainerFileSystemBrowser.normalize("")).isEqualTo("/"); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+}
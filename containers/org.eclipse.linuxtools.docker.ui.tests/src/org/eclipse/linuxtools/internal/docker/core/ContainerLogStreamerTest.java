@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat - Initial Contribution
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.internal.docker.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.spotify.docker.client.DockerClient;
+import com.spotify.docker.client.LogStream;
+
+/**
+ * Testing the {@link ContainerLogStreamer}
+ */
+public class ContainerLogStreamerTest {
+
+	@Test
+	public void shouldFollowMoreContainersThanWorkers() throws Exception {
+		// given
+		final int count = ContainerLogStreamer.MAX_WORKERS + 2;
+		final CountDownLatch opened = new CountDownLatch(count);
+		final CountDownLatch stopContainers = new CountDownLatch(1);
+		final CountDownLatch completed = new CountDownLatch(count);
+		// the log stream of each container blocks until the containers stop
+		final LogStream stream = Mockito.mock(LogStream.class);
+		Mockito.when(stream.hasNext()).thenAnswer(invocation -> {
+			stopContainers.await();
+			return false;
+		});
+		final DockerClient client = Mockito.mock(DockerClient.class,
+				invocation -> {
+					if (invocation.getMethod().getName().equals("logs")) { //$NON-NLS-1$
+						opened.countDown();
+						return stream;
+					}
+					return null;
+				});
+		// when
+		for (int i = 0; i < count; i++) {
+			final ContainerLogStreamer.Follower follower = ContainerLogStreamer
+					.newFollower("container" + i, client, true, //$NON-NLS-1$
+							completed::countDown);
+			follower.setOutputStream(new ByteArrayOutputStream());
+			follower.start();
+		}
+		// then all the log streams are open at the same time
+		try {
+			assertThat(opened.await(10, TimeUnit.SECONDS)).isTrue();
+			assertThat(ContainerLogStreamer.getActiveFollowerCount())
+					.isEqualTo(count);
+		} finally {
+			stopContainers.countDown();
+		}
+		assertThat(completed.await(10, TimeUnit.SECONDS)).isTrue();
+	}
+
+}
@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat - Initial Contribution
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.internal.docker.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+import com.spotify.docker.client.DockerClient;
+import com.spotify.docker.client.exceptions.DockerCertificateException;
+
+/**
+ * Testing the {@link DockerClientPool}
+ */
+public class DockerClientPoolTest {
+
+	private DockerClientFactory dockerClientFactory;
+
+	@Before
+	public void setupFactory() throws DockerCertificateException {
+		this.dockerClientFactory = Mockito.mock(DockerClientFactory.class);
+		Mockito.when(dockerClientFactory.getClient(ArgumentMatchers.any()))
+				.thenAnswer(invocation -> Mockito.mock(DockerClient.class));
+	}
+
+	private DockerClientPool createPool(final int maxSize,
+			final long idleTimeout) {
+		return new DockerClientPool(dockerClientFactory,
+				new TCPConnectionSettings("tcp://1.2.3.4:2375", null), //$NON-NLS-1$
+				maxSize, idleTimeout, 60_000, 10);
+	}
+
+	@Test
+	public void shouldReuseReturnedClient() throws Exception {
+		// given
+		final DockerClientPool pool = createPool(2, 60_000);
+		// when
+		pool.lease().close();
+		pool.lease().close();
+		// then
+		Mockito.verify(dockerClientFactory, Mockito.times(1))
+				.getClient(ArgumentMatchers.any());
+		assertThat(pool.getPoolSize()).isEqualTo(1);
+		assertThat(pool.getLeaseCount()).isEqualTo(2);
+	}
+
+	@Test
+	public void shouldReturnClientOnlyOnceWhenClosedTwice() throws Exception {
+		// given
+		final DockerClientPool pool = createPool(2, 60_000);
+		final DockerClient client = pool.lease();
+		// when
+		client.close();
+		client.close();
+		// then
+		assertThat(pool.getIdleCount()).isEqualTo(1);
+		assertThat(pool.getLeasedCount()).isEqualTo(0);
+	}
+
+	@Test
+	public void shouldOverflowWhenExhausted() throws Exception {
+		// given
+		final DockerClientPool pool = createPool(1, 60_000);
+		final DockerClient first = pool.lease();
+		// when
+		final DockerClient second = pool.lease();
+		second.close();
+		// then
+		assertThat(pool.getOverflowCount()).isEqualTo(1);
+		assertThat(pool.getPoolSize()).isEqualTo(1);
+		first.close();
+		assertThat(pool.getIdleCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void shouldEvictIdleClients() throws Exception {
+		// given
+		final DockerClientPool pool = createPool(2, 0);
+		pool.lease().close();
+		// when
+		pool.evictIdleClients();
+		// then
+		assertThat(pool.getIdleCount()).isEqualTo(0);
+		assertThat(pool.getEvictedCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void shouldReturnNullWithoutHost() throws Exception {
+		// given
+		final DockerClientPool pool = new DockerClientPool(
+				new DockerClientFactory(), new TCPConnectionSettings(null, null));
+		// when
+		final DockerClient client = pool.lease();
+		// then
+		assertThat(client).isNull();
+		assertThat(pool.getPoolSize()).isEqualTo(0);
+	}
+}
@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat - Initial Contribution
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.internal.docker.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+
+import org.eclipse.linuxtools.docker.core.IDockerContainer;
+import org.eclipse.linuxtools.docker.core.IDockerImage;
+import org.eclipse.linuxtools.docker.core.IDockerImageHierarchyNode;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+/**
+ * Testing the {@link DockerImageGraph} and the hierarchy resolved from it.
+ */
+public class DockerImageGraphTest {
+
+	private IDockerImage rootImage;
+	private IDockerImage fooImage;
+	private IDockerImage barImage;
+	private IDockerImage otherFooImage;
+	private DockerImageGraph graph;
+
+	private static IDockerImage image(final String id, final String parentId,
+			final String... repoTags) {
+		final IDockerImage image = Mockito.mock(IDockerImage.class);
+		Mockito.when(image.id()).thenReturn(id);
+		Mockito.when(image.parentId()).thenReturn(parentId);
+		Mockito.when(image.repoTags()).thenReturn(Arrays.asList(repoTags));
+		return image;
+	}
+
+	@Before
+	public void buildGraph() {
+		rootImage = image("sha256:root", "", "<none>:<none>"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		fooImage = image("sha256:foo", "sha256:root", "foo:latest", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				"foo:1.0"); //$NON-NLS-1$
+		barImage = image("sha256:bar", "sha256:foo", "bar:latest"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		// same tag as an earlier image: the first one wins
+		otherFooImage = image("sha256:foo2", "sha256:root", "foo:latest"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		graph = new DockerImageGraph(
+				Arrays.asList(rootImage, fooImage, barImage, otherFooImage));
+	}
+
+	@Test
+	public void shouldFindImageById() {
+		assertThat(graph.getImage("sha256:bar")).isSameAs(barImage); //$NON-NLS-1$
+		assertThat(graph.getImage("sha256:unknown")).isNull(); //$NON-NLS-1$
+		assertThat(graph.getImage(null)).isNull();
+	}
+
+	@Test
+	public void shouldFindFirstImageByRepoTag() {
+		assertThat(graph.getImageByRepoTag("foo:latest")).isSameAs(fooImage); //$NON-NLS-1$
+		assertThat(graph.getImageByRepoTag("foo:1.0")).isSameAs(fooImage); //$NON-NLS-1$
+		assertThat(graph.hasRepoTag("bar:latest")).isTrue(); //$NON-NLS-1$
+		assertThat(graph.hasRepoTag("bar:1.0")).isFalse(); //$NON-NLS-1$
+	}
+
+	@Test
+	public void shouldFindParentAndChildren() {
+		assertThat(graph.getParent(barImage)).isSameAs(fooImage);
+		assertThat(graph.getParent(rootImage)).isNull();
+		assertThat(graph.getChildren("sha256:root")).containsExactly(fooImage, //$NON-NLS-1$
+				otherFooImage);
+		assertThat(graph.getChildren("sha256:bar")).isEmpty(); //$NON-NLS-1$
+	}
+
+	@Test
+	public void shouldResolveImageHierarchy() {
+		// given
+		final IDockerContainer container = Mockito
+				.mock(IDockerContainer.class);
+		Mockito.when(container.image()).thenReturn("foo:1.0"); //$NON-NLS-1$
+		// when
+		final IDockerImageHierarchyNode node = DockerImageHierarchyNodeUtils
+				.resolveImageHierarchy(graph, Arrays.asList(container),
+						fooImage);
+		// then
+		assertThat(node.getElement()).isSameAs(fooImage);
+		assertThat(node.getParent().getElement()).isSameAs(rootImage);
+		assertThat(node.getParent().getParent()).isNull();
+		assertThat(node.getChildren()).hasSize(2);
+		assertThat(node.getChildren().get(0).getElement()).isSameAs(barImage);
+		assertThat(node.getChildren().get(1).getElement())
+				.isSameAs(container);
+	}
+
+	@Test
+	public void shouldResolveContainerHierarchy() {
+		// given
+		final IDockerContainer container = Mockito
+				.mock(IDockerContainer.class);
+		Mockito.when(container.image()).thenReturn("bar:latest"); //$NON-NLS-1$
+		// when
+		final IDockerImageHierarchyNode node = DockerImageHierarchyNodeUtils
+				.resolveImageHierarchy(graph, container);
+		// then
+		assertThat(node.getElement()).isSameAs(container);
+		assertThat(node.getParent().getElement()).isSameAs(barImage);
+		assertThat(node.getParent().getParent().getElement())
+				.isSameAs(fooImage);
+	}
+}
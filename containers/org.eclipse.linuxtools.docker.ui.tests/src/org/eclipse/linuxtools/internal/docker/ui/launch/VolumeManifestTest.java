@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat - Initial Contribution
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.internal.docker.ui.launch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Testing the {@link VolumeManifest} class.
+ */
+public class VolumeManifestTest {
+
+	private static final long MTIME = 1500000000000L;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private File baseDir;
+
+	@Before
+	public void createLocalCopy() throws IOException {
+		baseDir = folder.newFolder("usr");
+		final File includeDir = new File(baseDir, "include");
+		includeDir.mkdir();
+		final File header = new File(includeDir, "stdio.h");
+		Files.write(header.toPath(),
+				"int printf(const char *, ...);".getBytes(StandardCharsets.UTF_8));
+		header.setLastModified(MTIME);
+	}
+
+	private VolumeManifest createManifest(final String imageId) {
+		final VolumeManifest manifest = new VolumeManifest(imageId,
+				"/usr/include");
+		manifest.add(new VolumeManifest.Entry("include", true, 0, MTIME));
+		manifest.add(new VolumeManifest.Entry("include/stdio.h", false,
+				new File(baseDir, "include/stdio.h").length(), MTIME));
+		return manifest;
+	}
+
+	@Test
+	public void shouldBeUpToDateWithSameImage() {
+		// given
+		final VolumeManifest manifest = createManifest("sha256:foo");
+		// when
+		final boolean upToDate = manifest.isUpToDate("sha256:foo", baseDir);
+		// then
+		assertThat(upToDate).isTrue();
+	}
+
+	@Test
+	public void shouldNotBeUpToDateWithOtherImage() {
+		// given
+		final VolumeManifest manifest = createManifest("sha256:foo");
+		// when
+		final boolean upToDate = manifest.isUpToDate("sha256:bar", baseDir);
+		// then
+		assertThat(upToDate).isFalse();
+	}
+
+	@Test
+	public void shouldNotBeUpToDateWhenFileChanged() throws IOException {
+		// given
+		final VolumeManifest manifest = createManifest("sha256:foo");
+		Files.write(new File(baseDir, "include/stdio.h").toPath(),
+				"changed".getBytes(StandardCharsets.UTF_8));
+		// when
+		final boolean upToDate = manifest.isUpToDate("sha256:foo", baseDir);
+		// then
+		assertThat(upToDate).isFalse();
+	}
+
+	@Test
+	public void shouldSaveAndLoadManifest() throws IOException {
+		// given
+		final VolumeManifest manifest = createManifest("sha256:foo");
+		final File manifestFile = VolumeManifest
+				.getManifestFile(folder.getRoot(), "/usr/include");
+		// when
+		manifest.save(manifestFile);
+		final VolumeManifest loaded = VolumeManifest.load(manifestFile);
+		// then
+		assertThat(loaded).isNotNull();
+		assertThat(loaded.getImageId()).isEqualTo("sha256:foo");
+		assertThat(loaded.getVolume()).isEqualTo("/usr/include");
+		assertThat(loaded.getEntries()).hasSize(2);
+		assertThat(loaded.isUpToDate("sha256:foo", baseDir)).isTrue();
+	}
+
+	@Test
+	public void shouldNotLoadMissingManifest() {
+		// when
+		final VolumeManifest loaded = VolumeManifest.load(VolumeManifest
+				.getManifestFile(folder.getRoot(), "/usr/lib/include"));
+		// then
+		assertThat(loaded).isNull();
+	}
+}
@@ -27,8 +27,6 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.OutputStream;
 import java.nio.file.Files;
-import java.nio.file.Paths;
-import java.nio.file.attribute.PosixFilePermission;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -41,12 +39,11 @@ import java.util.Properties;
 import java.util.Set;
 import java.util.TreeSet;
 
-import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
-import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
@@ -74,6 +71,8 @@ import org.eclipse.linuxtools.internal.docker.ui.consoles.ConsoleOutputStream;
 import org.eclipse.linuxtools.internal.docker.ui.consoles.RunConsole;
 import org.eclipse.linuxtools.internal.docker.ui.launch.ContainerCommandProcess;
 import org.eclipse.linuxtools.internal.docker.ui.launch.LaunchConfigurationUtils;
+import org.eclipse.linuxtools.internal.docker.ui.launch.VolumeArchiveExtractor;
+import org.eclipse.linuxtools.internal.docker.ui.launch.VolumeManifest;
 import org.eclipse.linuxtools.internal.docker.ui.views.DVMessages;
 import org.eclipse.linuxtools.internal.docker.ui.wizards.DataVolumeModel;
 import org.eclipse.swt.custom.CTabFolder;
@@ -100,38 +99,6 @@ public class ContainerLauncher {
 	private static Map<String, Map<String, Set<String>>> copiedVolumesMap = null;
 	private static Map<String, Map<String, Set<String>>> copyingVolumesMap = null;
 
-	private static Set<PosixFilePermission> toPerms(int mode) {
-		Set<PosixFilePermission> perms = new HashSet<>();
-		if ((mode & 0400) != 0) {
-			perms.add(PosixFilePermission.OWNER_READ);
-		}
-		if ((mode & 0200) != 0) {
-			perms.add(PosixFilePermission.OWNER_WRITE);
-		}
-		if ((mode & 0100) != 0) {
-			perms.add(PosixFilePermission.OWNER_EXECUTE);
-		}
-		if ((mode & 0040) != 0) {
-			perms.add(PosixFilePermission.GROUP_READ);
-		}
-		if ((mode & 0020) != 0) {
-			perms.add(PosixFilePermission.GROUP_WRITE);
-		}
-		if ((mode & 0010) != 0) {
-			perms.add(PosixFilePermission.GROUP_EXECUTE);
-		}
-		if ((mode & 0004) != 0) {
-			perms.add(PosixFilePermission.OTHERS_READ);
-		}
-		if ((mode & 0002) != 0) {
-			perms.add(PosixFilePermission.OTHERS_WRITE);
-		}
-		if ((mode & 0001) != 0) {
-			perms.add(PosixFilePermission.OTHERS_EXECUTE);
-		}
-		return perms;
-	}
-
 	private class CopyVolumesJob extends Job {
 
 		private static final String COPY_VOLUMES_JOB_TITLE = "ContainerLaunch.copyVolumesJob.title"; //$NON-NLS-1$
@@ -214,6 +181,24 @@ public class ContainerLauncher {
 		public int read() throws IOException {
 			return in.read();
 		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			if (len == 0) {
+				return 0;
+			}
+			int n = in.read(b, off, len);
+			if (n == 0) {
+				// nothing available yet: block on the next byte
+				int c = in.read();
+				if (c == -1) {
+					return -1;
+				}
+				b[off] = (byte) c;
+				n = 1;
+			}
+			return n;
+		}
 	}
 
 	private class CopyVolumesFromImageJob extends Job {
@@ -272,7 +257,6 @@ public class ContainerLauncher {
 			monitor.beginTask(Messages.getFormattedString(COPY_VOLUMES_FROM_DESC, image), volumes.size());
 			String containerId = null;
 			String currentVolume = null;
-			boolean isWin = Platform.getOS().equals(Platform.OS_WIN32);
 
 			// keep a list of already copied/being copied volumes so we can skip them and
 			// wait at the end to
@@ -318,6 +302,27 @@ public class ContainerLauncher {
 					}
 				}
 
+				// volumes whose local copy still matches the manifest recorded
+				// for this image don't need to be copied again
+				for (String volume : volumes) {
+					if (volume.contains("${ProjName}")) { //$NON-NLS-1$
+						continue;
+					}
+					VolumeManifest manifest = VolumeManifest
+							.load(VolumeManifest.getManifestFile(
+									target.toFile(), volume));
+					if (manifest != null && manifest.isUpToDate(
+							dockerImage.id(),
+							target.append(volume).removeLastSegments(1)
+									.toFile())) {
+						synchronized (lockObject) {
+							if (!copyingList.contains(volume)) {
+								dirList.add(volume);
+							}
+						}
+					}
+				}
+
 				// check if we have anything to copy
 				boolean somethingToCopy = false;
 				synchronized (lockObject) {
@@ -436,50 +441,24 @@ public class ContainerLauncher {
 							/*
 							 * The input stream from copyContainer might be incomplete or non-blocking so we
 							 * should wrap it in a stream that is guaranteed to block until data is
-							 * available.
+							 * available. Files left unchanged by a previous copy are not rewritten.
 							 */
-							try (TarArchiveInputStream k = new TarArchiveInputStream(new BlockingInputStream(in))) {
-								TarArchiveEntry te = null;
-								target.toFile().mkdirs();
-								IPath currDir = target.append(volume).removeLastSegments(1);
-								currDir.toFile().mkdirs();
-								while ((te = k.getNextTarEntry()) != null) {
-									long size = te.getSize();
-									IPath path = currDir;
-									path = path.append(te.getName());
-									File f = new File(path.toOSString());
-									int mode = te.getMode();
-									if (te.isDirectory()) {
-										f.mkdir();
-										if (!isWin && !te.isSymbolicLink()) {
-											Files.setPosixFilePermissions(Paths.get(path.toOSString()), toPerms(mode));
-										}
-										continue;
-									} else {
-										if (".project".equals(te.getName())) { //$NON-NLS-1$
-											continue;
-										}
-										f.createNewFile();
-										if (!isWin && !te.isSymbolicLink()) {
-											Files.setPosixFilePermissions(Paths.get(path.toOSString()), toPerms(mode));
-										}
-									}
-									try (FileOutputStream os = new FileOutputStream(f)) {
-										int bufferSize = ((int) size > 4096 ? 4096 : (int) size);
-										byte[] barray = new byte[bufferSize];
-										int result = -1;
-										while ((result = k.read(barray, 0, bufferSize)) > -1) {
-											if (monitor.isCanceled()) {
-												monitor.done();
-												k.close();
-												os.close();
-												return Status.CANCEL_STATUS;
-											}
-											os.write(barray, 0, result);
-										}
-									}
-								}
+							File manifestFile = VolumeManifest
+									.getManifestFile(target.toFile(), volume);
+							VolumeManifest.delete(manifestFile);
+							VolumeManifest manifest = new VolumeManifest(
+									dockerImage.id(), volume);
+							target.toFile().mkdirs();
+							IPath currDir = target.append(volume).removeLastSegments(1);
+							try {
+								new VolumeArchiveExtractor().extract(
+										new BlockingInputStream(in),
+										currDir.toFile(), manifest, monitor);
+							} catch (OperationCanceledException e) {
+								monitor.done();
+								return Status.CANCEL_STATUS;
 							}
+							manifest.save(manifestFile);
 							// remove from copying list so subsequent jobs might
 							// know that the volume
 							// is fully copied
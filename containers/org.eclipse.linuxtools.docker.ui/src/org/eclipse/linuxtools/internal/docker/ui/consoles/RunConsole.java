@@ -16,10 +16,13 @@ package org.eclipse.linuxtools.internal.docker.ui.consoles;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.linuxtools.docker.core.IDockerConnection;
 import org.eclipse.linuxtools.docker.core.IDockerContainer;
 import org.eclipse.linuxtools.docker.core.IDockerContainerInfo;
+import org.eclipse.linuxtools.docker.core.IDockerContainerListener;
 import org.eclipse.linuxtools.docker.core.IDockerContainerState;
 import org.eclipse.linuxtools.docker.ui.Activator;
 import org.eclipse.linuxtools.internal.docker.core.DockerConnection;
@@ -40,6 +43,9 @@ public class RunConsole extends IOConsole {
 	public static final String CONTAINER_LOG_TITLE = "ContainerLog.title"; //$NON-NLS-1$
 	public static final String DEFAULT_ID = "__DEFAULT_ID__"; //$NON-NLS-1$
 
+	/** maximum time (in ms) between two checks of a container state. */
+	private static final long STATE_CHECK_INTERVAL = 300;
+
 	private String containerId;
 	private String id;
 
@@ -151,36 +157,14 @@ public class RunConsole extends IOConsole {
 			try {
 				DockerConnection conn = (DockerConnection) connection;
 				if (conn.getContainerInfo(containerId).config().openStdin()) {
-					IDockerContainerInfo info = conn.getContainerInfo(containerId);
-					IDockerContainerState state = null;
-					if (info != null) {
-						state = info.state();
-					}
-					int sleepCounter = 0;
-					do {
-						if (state == null || (!state.running() && (state.finishDate() == null
-								|| state.finishDate()
-										.before(state.startDate())))) {
-							Thread.sleep(300);
-							++sleepCounter;
-						}
-						state = null;
-						info = conn.getContainerInfo(containerId);
-						if (info != null) {
-							state = info.state();
-						} else {
-							if (sleepCounter > 2) {
-								break;
-							}
-						}
-					} while (state == null || (!state.running()
-							&& (state.finishDate() == null || state.finishDate().before(state.startDate()))));
+					waitForContainerStart(conn, containerId);
 					Thread.sleep(300);
-					info = conn.getContainerInfo(containerId);
+					IDockerContainerInfo info = conn
+							.getContainerInfo(containerId);
 					if (info == null) {
 						return;
 					}
-					state = info.state();
+					IDockerContainerState state = info.state();
 					if (state.running()) {
 						conn.attachCommand(containerId, in, null);
 					}
@@ -198,33 +182,13 @@ public class RunConsole extends IOConsole {
 		Thread t = new Thread(() -> {
 			try {
 				DockerConnection conn = (DockerConnection) connection;
-				IDockerContainerInfo info = conn.getContainerInfo(containerId);
-				IDockerContainerState state = null;
-				if (info != null) {
-					state = info.state();
-				}
-				int sleepCounter = 0;
-				do {
-					if (state == null || (!state.running()
-							&& (state.finishDate() == null || state.finishDate().before(state.startDate())))) {
-						Thread.sleep(300);
-						++sleepCounter;
-					}
-					state = null;
-					info = conn.getContainerInfo(containerId);
-					if (info != null) {
-						state = info.state();
-					} else if (sleepCounter > 2) {
-						break;
-					}
-				} while (state == null || (!state.running()
-						&& (state.finishDate() == null || state.finishDate().before(state.startDate()))));
+				waitForContainerStart(conn, containerId);
 				// Pause as there appears to be some timing issue with regards
 				// to the Container saying it is running, but an exception
 				// thrown when we try and attach.
 				Thread.sleep(300);
-				state = null;
-				info = conn.getContainerInfo(containerId);
+				IDockerContainerState state = null;
+				IDockerContainerInfo info = conn.getContainerInfo(containerId);
 				if (info != null) {
 					state = info.state();
 				}
@@ -250,6 +214,52 @@ public class RunConsole extends IOConsole {
 		t.start();
 	}
 
+	/**
+	 * Waits until the given container has been started, i.e., until it is
+	 * running or has finished after its last start. Rather than polling on a
+	 * fixed interval, the container state is checked again as soon as the
+	 * connection reports a change in its list of containers, with
+	 * {@link #STATE_CHECK_INTERVAL} as an upper bound between two checks.
+	 * 
+	 * @param conn
+	 *            the connection of the container
+	 * @param containerId
+	 *            the id of the container
+	 * @throws InterruptedException
+	 *             if interrupted while waiting
+	 */
+	private static void waitForContainerStart(final DockerConnection conn,
+			final String containerId) throws InterruptedException {
+		final Semaphore changed = new Semaphore(0);
+		final IDockerContainerListener listener = (connection,
+				containers) -> changed.release();
+		conn.addContainerListener(listener);
+		try {
+			int checkCounter = 0;
+			while (true) {
+				final IDockerContainerInfo info = conn
+						.getContainerInfo(containerId);
+				if (info == null) {
+					if (checkCounter > 2) {
+						return;
+					}
+				} else if (isStarted(info.state())) {
+					return;
+				}
+				changed.tryAcquire(STATE_CHECK_INTERVAL, TimeUnit.MILLISECONDS);
+				changed.drainPermits();
+				++checkCounter;
+			}
+		} finally {
+			conn.removeContainerListener(listener);
+		}
+	}
+
+	private static boolean isStarted(final IDockerContainerState state) {
+		return state != null && (state.running() || (state.finishDate() != null
+				&& !state.finishDate().before(state.startDate())));
+	}
+
 	public void attachToConsole(final IDockerConnection connection,
 			String containerId) {
 		this.containerId = containerId;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2017, 2019 Red Hat Inc. and others.
+ * Copyright (c) 2017, 2026 Red Hat Inc. and others.
  * 
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -104,9 +104,12 @@ public class ContainerCommandProcess extends Process {
 			try (PipedOutputStream pipedStdout = new PipedOutputStream(stdout);
 					PipedOutputStream pipedStderr = new PipedOutputStream(
 							stderr);
-					Closeable inputToken = ((DockerConnection) connection).getOperationToken();
+					// the tokens are held while the container runs, and closed
+					// to end the attaches
+					Closeable inputToken = ((DockerConnection) connection)
+							.getUnpooledOperationToken();
 					Closeable token = ((DockerConnection) connection)
-							.getOperationToken()) {
+							.getUnpooledOperationToken()) {
 				this.token = token;
 				pipedOut = pipedStdout;
 				pipedErr = pipedStderr;
@@ -0,0 +1,276 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat - Initial Contribution
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.internal.docker.ui.launch;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.apache.commons.compress.utils.IOUtils;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Platform;
+
+/**
+ * Extracts a volume archive (as returned by
+ * {@code DockerConnection#copyContainer}) into a local directory.
+ * <p>
+ * Entries whose local file already matches their size and modification time
+ * are skipped, so re-copying a volume after an image update only rewrites the
+ * files that changed. Small files are read into memory and written by a shared
+ * pool of writer threads while the archive keeps being read, with a bounded
+ * number of pending writes. Every extracted entry is recorded in a
+ * {@link VolumeManifest}.
+ */
+public class VolumeArchiveExtractor {
+
+	/** files up to this size are written asynchronously. */
+	private static final int MAX_ASYNC_FILE_SIZE = 1024 * 1024;
+
+	/** maximum number of files read into memory and waiting to be written. */
+	private static final int MAX_PENDING_WRITES = 64;
+
+	private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+	private static final ExecutorService writers = Executors.newFixedThreadPool(
+			Math.max(2,
+					Math.min(4, Runtime.getRuntime().availableProcessors())),
+			new ThreadFactory() {
+				private final AtomicInteger count = new AtomicInteger();
+
+				@Override
+				public Thread newThread(final Runnable r) {
+					final Thread t = new Thread(r, "Docker Volume Writer " //$NON-NLS-1$
+							+ count.incrementAndGet());
+					t.setDaemon(true);
+					return t;
+				}
+			});
+
+	private final boolean setPermissions = !Platform.getOS()
+			.equals(Platform.OS_WIN32);
+	private final byte[] buffer = new byte[COPY_BUFFER_SIZE];
+	private final Semaphore pendingWrites = new Semaphore(MAX_PENDING_WRITES);
+	private final List<Future<?>> writes = new ArrayList<>();
+	private int skippedCount = 0;
+	private int writtenCount = 0;
+
+	/**
+	 * Extracts the given archive.
+	 *
+	 * @param in
+	 *            the archive stream
+	 * @param baseDir
+	 *            the local directory to extract to
+	 * @param manifest
+	 *            the manifest recording the extracted entries
+	 * @param monitor
+	 *            the progress monitor, checked for cancellation
+	 * @throws IOException
+	 *             if the archive could not be read or a file written
+	 * @throws OperationCanceledException
+	 *             if the monitor was canceled
+	 */
+	public void extract(final InputStream in, final File baseDir,
+			final VolumeManifest manifest, final IProgressMonitor monitor)
+			throws IOException {
+		baseDir.mkdirs();
+		try (TarArchiveInputStream k = new TarArchiveInputStream(in)) {
+			TarArchiveEntry te = null;
+			while ((te = k.getNextTarEntry()) != null) {
+				if (monitor.isCanceled()) {
+					throw new OperationCanceledException();
+				}
+				final File f = new File(baseDir, te.getName());
+				final long modTime = te.getModTime().getTime();
+				if (te.isDirectory()) {
+					f.mkdirs();
+					if (setPermissions && !te.isSymbolicLink()) {
+						Files.setPosixFilePermissions(f.toPath(),
+								toPerms(te.getMode()));
+					}
+					manifest.add(new VolumeManifest.Entry(te.getName(), true,
+							0, modTime));
+					continue;
+				}
+				if (".project".equals(te.getName())) { //$NON-NLS-1$
+					continue;
+				}
+				final VolumeManifest.Entry entry = new VolumeManifest.Entry(
+						te.getName(), false, te.getSize(), modTime);
+				manifest.add(entry);
+				if (entry.matches(f)) {
+					// unchanged since the last copy, the archive reader skips
+					// the content of the entry
+					skippedCount++;
+					continue;
+				}
+				writtenCount++;
+				final int mode = te.getMode();
+				final boolean symlink = te.isSymbolicLink();
+				if (te.getSize() <= MAX_ASYNC_FILE_SIZE) {
+					final byte[] content = IOUtils.toByteArray(k);
+					pendingWrites.acquireUninterruptibly();
+					writes.add(writers.submit(() -> {
+						try {
+							writeFile(f, content, mode, symlink, modTime);
+						} finally {
+							pendingWrites.release();
+						}
+						return null;
+					}));
+				} else {
+					prepareFile(f);
+					try (OutputStream os = new FileOutputStream(f)) {
+						int result;
+						while ((result = k.read(buffer)) > -1) {
+							if (monitor.isCanceled()) {
+								throw new OperationCanceledException();
+							}
+							os.write(buffer, 0, result);
+						}
+					}
+					finishFile(f, mode, symlink, modTime);
+				}
+			}
+		} finally {
+			awaitWrites();
+		}
+	}
+
+	/**
+	 * @return the number of files that were unchanged and not rewritten
+	 */
+	public int getSkippedCount() {
+		return skippedCount;
+	}
+
+	/**
+	 * @return the number of files that were (re)written
+	 */
+	public int getWrittenCount() {
+		return writtenCount;
+	}
+
+	private void awaitWrites() throws IOException {
+		IOException failure = null;
+		for (Future<?> write : writes) {
+			try {
+				write.get();
+			} catch (ExecutionException e) {
+				if (failure == null) {
+					failure = e.getCause() instanceof IOException
+							? (IOException) e.getCause()
+							: new IOException(e.getCause());
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				if (failure == null) {
+					failure = new IOException(e);
+				}
+			}
+		}
+		writes.clear();
+		if (failure != null) {
+			throw failure;
+		}
+	}
+
+	private void writeFile(final File f, final byte[] content,
+			final int mode, final boolean symlink, final long modTime)
+			throws IOException {
+		prepareFile(f);
+		try (OutputStream os = new FileOutputStream(f)) {
+			os.write(content);
+		}
+		finishFile(f, mode, symlink, modTime);
+	}
+
+	private static void prepareFile(final File f) {
+		final File parent = f.getParentFile();
+		if (parent != null && !parent.isDirectory()) {
+			parent.mkdirs();
+		}
+		// a previous copy may have left a read-only file
+		if (f.exists() && !f.canWrite()) {
+			f.setWritable(true, true);
+		}
+	}
+
+	private void finishFile(final File f, final int mode,
+			final boolean symlink, final long modTime) throws IOException {
+		if (setPermissions && !symlink) {
+			Files.setPosixFilePermissions(f.toPath(), toPerms(mode));
+		}
+		// keep the archive modification time so unchanged files can be
+		// recognized on the next copy
+		f.setLastModified(modTime);
+	}
+
+	/**
+	 * Converts a Unix file mode into POSIX file permissions.
+	 *
+	 * @param mode
+	 *            the file mode
+	 * @return the permissions
+	 */
+	public static Set<PosixFilePermission> toPerms(int mode) {
+		Set<PosixFilePermission> perms = new HashSet<>();
+		if ((mode & 0400) != 0) {
+			perms.add(PosixFilePermission.OWNER_READ);
+		}
+		if ((mode & 0200) != 0) {
+			perms.add(PosixFilePermission.OWNER_WRITE);
+		}
+		if ((mode & 0100) != 0) {
+			perms.add(PosixFilePermission.OWNER_EXECUTE);
+		}
+		if ((mode & 0040) != 0) {
+			perms.add(PosixFilePermission.GROUP_READ);
+		}
+		if ((mode & 0020) != 0) {
+			perms.add(PosixFilePermission.GROUP_WRITE);
+		}
+		if ((mode & 0010) != 0) {
+			perms.add(PosixFilePermission.GROUP_EXECUTE);
+		}
+		if ((mode & 0004) != 0) {
+			perms.add(PosixFilePermission.OTHERS_READ);
+		}
+		if ((mode & 0002) != 0) {
+			perms.add(PosixFilePermission.OTHERS_WRITE);
+		}
+		if ((mode & 0001) != 0) {
+			perms.add(PosixFilePermission.OTHERS_EXECUTE);
+		}
+		return perms;
+	}
+}
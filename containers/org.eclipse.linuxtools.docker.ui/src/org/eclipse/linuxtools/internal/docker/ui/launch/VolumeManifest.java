@@ -0,0 +1,287 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat - Initial Contribution
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.internal.docker.ui.launch;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Manifest of a volume (typically an include directory) copied from a Docker
+ * image to a local directory. It records the id of the image the volume was
+ * copied from, and the path, size and modification time of every entry that
+ * was extracted, so that later launches against the same image can verify the
+ * local copy with a few file system checks instead of copying the volume out
+ * of a container again.
+ * <p>
+ * Manifests are stored as small text files in the {@value #MANIFEST_DIR}
+ * sub-directory of the local copy.
+ */
+public class VolumeManifest {
+
+	/** name of the directory holding the manifests of a local copy. */
+	public static final String MANIFEST_DIR = ".manifests"; //$NON-NLS-1$
+
+	/**
+	 * tolerance (in ms) when comparing modification times, as tar archives
+	 * only keep them with a one second precision.
+	 */
+	private static final long MTIME_TOLERANCE = 1000;
+
+	private static final char SEPARATOR = '\t';
+
+	/**
+	 * An entry extracted from the volume archive.
+	 */
+	public static class Entry {
+
+		private final String path;
+		private final boolean directory;
+		private final long size;
+		private final long modTime;
+
+		/**
+		 * @param path
+		 *            path of the entry, relative to the parent of the volume
+		 * @param directory
+		 *            <code>true</code> if the entry is a directory
+		 * @param size
+		 *            size of the entry in bytes
+		 * @param modTime
+		 *            modification time of the entry (in ms)
+		 */
+		public Entry(final String path, final boolean directory,
+				final long size, final long modTime) {
+			this.path = path;
+			this.directory = directory;
+			this.size = size;
+			this.modTime = modTime;
+		}
+
+		public String getPath() {
+			return path;
+		}
+
+		public boolean isDirectory() {
+			return directory;
+		}
+
+		public long getSize() {
+			return size;
+		}
+
+		public long getModTime() {
+			return modTime;
+		}
+
+		/**
+		 * @param file
+		 *            the local file for this entry
+		 * @return <code>true</code> if the local file exists and matches the
+		 *         size and modification time of this entry
+		 */
+		public boolean matches(final File file) {
+			if (directory) {
+				return file.isDirectory();
+			}
+			return file.isFile() && file.length() == size && Math
+					.abs(file.lastModified() - modTime) < MTIME_TOLERANCE;
+		}
+	}
+
+	private final String imageId;
+	private final String volume;
+	private final List<Entry> entries = Collections
+			.synchronizedList(new ArrayList<>());
+
+	/**
+	 * Creates an empty manifest.
+	 *
+	 * @param imageId
+	 *            the id of the image the volume is copied from
+	 * @param volume
+	 *            the path of the volume in the image
+	 */
+	public VolumeManifest(final String imageId, final String volume) {
+		this.imageId = imageId;
+		this.volume = volume;
+	}
+
+	public String getImageId() {
+		return imageId;
+	}
+
+	public String getVolume() {
+		return volume;
+	}
+
+	/**
+	 * Records an extracted entry. May be called from several threads.
+	 *
+	 * @param entry
+	 *            the extracted entry
+	 */
+	public void add(final Entry entry) {
+		entries.add(entry);
+	}
+
+	/**
+	 * @return the recorded entries
+	 */
+	public List<Entry> getEntries() {
+		synchronized (entries) {
+			return new ArrayList<>(entries);
+		}
+	}
+
+	/**
+	 * Checks whether the local copy still matches this manifest.
+	 *
+	 * @param imageId
+	 *            the id of the image the volume would be copied from
+	 * @param baseDir
+	 *            the local directory the entries were extracted to (the
+	 *            parent of the volume)
+	 * @return <code>true</code> if the manifest was recorded for the given
+	 *         image and every entry exists locally unchanged
+	 */
+	public boolean isUpToDate(final String imageId, final File baseDir) {
+		if (this.imageId == null || !this.imageId.equals(imageId)) {
+			return false;
+		}
+		synchronized (entries) {
+			if (entries.isEmpty()) {
+				return false;
+			}
+			for (Entry entry : entries) {
+				if (!entry.matches(new File(baseDir, entry.getPath()))) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @param target
+	 *            the local copy directory
+	 * @param volume
+	 *            the path of the volume in the image
+	 * @return the file holding the manifest of the given volume
+	 */
+	public static File getManifestFile(final File target,
+			final String volume) {
+		String name;
+		try {
+			name = URLEncoder.encode(volume, StandardCharsets.UTF_8.name());
+		} catch (UnsupportedEncodingException e) {
+			// UTF-8 is always supported
+			name = volume.replace('/', '_');
+		}
+		return new File(new File(target, MANIFEST_DIR), name);
+	}
+
+	/**
+	 * Loads the manifest of a volume.
+	 *
+	 * @param file
+	 *            the manifest file
+	 * @return the manifest or <code>null</code> if it does not exist or cannot
+	 *         be read
+	 */
+	public static VolumeManifest load(final File file) {
+		if (!file.isFile()) {
+			return null;
+		}
+		try (BufferedReader reader = Files.newBufferedReader(file.toPath(),
+				StandardCharsets.UTF_8)) {
+			final String imageId = reader.readLine();
+			final String volume = reader.readLine();
+			if (imageId == null || volume == null) {
+				return null;
+			}
+			final VolumeManifest manifest = new VolumeManifest(imageId,
+					volume);
+			String line;
+			while ((line = reader.readLine()) != null) {
+				// <d|f> TAB size TAB mtime TAB path
+				final int first = line.indexOf(SEPARATOR);
+				final int second = line.indexOf(SEPARATOR, first + 1);
+				final int third = line.indexOf(SEPARATOR, second + 1);
+				if (first != 1 || second < 0 || third < 0) {
+					return null;
+				}
+				manifest.add(new Entry(line.substring(third + 1),
+						line.charAt(0) == 'd',
+						Long.parseLong(line.substring(first + 1, second)),
+						Long.parseLong(line.substring(second + 1, third))));
+			}
+			return manifest;
+		} catch (IOException | NumberFormatException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Saves this manifest.
+	 *
+	 * @param file
+	 *            the manifest file
+	 * @throws IOException
+	 *             if the manifest could not be written
+	 */
+	public void save(final File file) throws IOException {
+		file.getParentFile().mkdirs();
+		final File tmpFile = new File(file.getPath() + ".tmp"); //$NON-NLS-1$
+		try (BufferedWriter writer = Files.newBufferedWriter(tmpFile.toPath(),
+				StandardCharsets.UTF_8)) {
+			writer.write(imageId);
+			writer.newLine();
+			writer.write(volume);
+			writer.newLine();
+			for (Entry entry : getEntries()) {
+				writer.write(entry.isDirectory() ? 'd' : 'f');
+				writer.write(SEPARATOR);
+				writer.write(Long.toString(entry.getSize()));
+				writer.write(SEPARATOR);
+				writer.write(Long.toString(entry.getModTime()));
+				writer.write(SEPARATOR);
+				writer.write(entry.getPath());
+				writer.newLine();
+			}
+		}
+		Files.move(tmpFile.toPath(), file.toPath(),
+				StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	/**
+	 * Deletes the manifest of a volume, e.g. because its local copy is being
+	 * replaced.
+	 *
+	 * @param file
+	 *            the manifest file
+	 */
+	public static void delete(final File file) {
+		file.delete();
+	}
+}
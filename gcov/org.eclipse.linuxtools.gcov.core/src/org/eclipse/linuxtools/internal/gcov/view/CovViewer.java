@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2018 STMicroelectronics and others.
+ * Copyright (c) 2009, 2026 STMicroelectronics and others.
  * 
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -45,8 +45,9 @@ public class CovViewer extends AbstractSTTreeViewer {
      * @param parent
      */
     public CovViewer(Composite parent) {
+        // Virtual, so that only the visible items of large reports are created
         super(parent, SWT.BORDER | SWT.H_SCROLL| SWT.V_SCROLL | SWT.MULTI |
-                SWT.FULL_SELECTION);
+                SWT.FULL_SELECTION | SWT.VIRTUAL);
     }
 
     @Override
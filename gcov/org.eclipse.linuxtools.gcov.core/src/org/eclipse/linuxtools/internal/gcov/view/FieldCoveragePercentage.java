@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2018 STMicroelectronics and others.
+ * Copyright (c) 2009, 2026 STMicroelectronics and others.
  * 
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -16,12 +16,13 @@ import java.text.DecimalFormat;
 import java.text.NumberFormat;
 
 import org.eclipse.linuxtools.dataviewers.abstractviewers.AbstractPercentageDrawerField;
+import org.eclipse.linuxtools.dataviewers.abstractviewers.ISTDataViewersSortKeyField;
 import org.eclipse.linuxtools.dataviewers.charts.provider.IChartField;
 import org.eclipse.linuxtools.internal.gcov.model.CovRootTreeElement;
 import org.eclipse.linuxtools.internal.gcov.model.TreeElement;
 import org.eclipse.osgi.util.NLS;
 
-public class FieldCoveragePercentage extends AbstractPercentageDrawerField implements IChartField {
+public class FieldCoveragePercentage extends AbstractPercentageDrawerField implements IChartField, ISTDataViewersSortKeyField {
 
     public final static NumberFormat nf = new DecimalFormat("##0.0#"); //$NON-NLS-1$
 
@@ -77,6 +78,11 @@ public class FieldCoveragePercentage extends AbstractPercentageDrawerField imple
         return Float.compare(f1, f2);
     }
 
+    @Override
+    public Comparable<?> getSortKey(Object obj) {
+        return ((TreeElement) obj).getCoveragePercentage();
+    }
+
     @Override
     public Number getNumber(Object obj) {
         TreeElement e = (TreeElement) obj;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2018 STMicroelectronics and others.
+ * Copyright (c) 2009, 2026 STMicroelectronics and others.
  * 
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -15,10 +15,11 @@ package org.eclipse.linuxtools.internal.gcov.view;
 import java.text.NumberFormat;
 
 import org.eclipse.linuxtools.dataviewers.abstractviewers.AbstractSTDataViewersField;
+import org.eclipse.linuxtools.dataviewers.abstractviewers.ISTDataViewersSortKeyField;
 import org.eclipse.linuxtools.dataviewers.charts.provider.IChartField;
 import org.eclipse.linuxtools.internal.gcov.model.TreeElement;
 
-public class FieldExecutedLines extends AbstractSTDataViewersField implements IChartField {
+public class FieldExecutedLines extends AbstractSTDataViewersField implements IChartField, ISTDataViewersSortKeyField {
 
     @Override
     public String getColumnHeaderText() {
@@ -55,6 +56,11 @@ public class FieldExecutedLines extends AbstractSTDataViewersField implements IC
         return 0;
     }
 
+    @Override
+    public Comparable<?> getSortKey(Object obj) {
+        return getExecutedLines(obj);
+    }
+
     private int getExecutedLines(Object o) {
         if (o instanceof TreeElement) {
             return ((TreeElement) o).getExecutedLines();
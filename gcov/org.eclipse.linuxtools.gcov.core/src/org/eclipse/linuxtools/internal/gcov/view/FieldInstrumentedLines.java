@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2018 STMicroelectronics and others.
+ * Copyright (c) 2009, 2026 STMicroelectronics and others.
  * 
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -15,10 +15,11 @@ package org.eclipse.linuxtools.internal.gcov.view;
 import java.text.NumberFormat;
 
 import org.eclipse.linuxtools.dataviewers.abstractviewers.AbstractSTDataViewersField;
+import org.eclipse.linuxtools.dataviewers.abstractviewers.ISTDataViewersSortKeyField;
 import org.eclipse.linuxtools.dataviewers.charts.provider.IChartField;
 import org.eclipse.linuxtools.internal.gcov.model.TreeElement;
 
-public class FieldInstrumentedLines extends AbstractSTDataViewersField implements IChartField {
+public class FieldInstrumentedLines extends AbstractSTDataViewersField implements IChartField, ISTDataViewersSortKeyField {
 
     @Override
     public String getColumnHeaderText() {
@@ -54,6 +55,11 @@ public class FieldInstrumentedLines extends AbstractSTDataViewersField implement
         return 0;
     }
 
+    @Override
+    public Comparable<?> getSortKey(Object obj) {
+        return getInstrumentedLines(obj);
+    }
+
     private int getInstrumentedLines(Object o) {
         if (o instanceof TreeElement) {
             return ((TreeElement) o).getInstrumentedLines();
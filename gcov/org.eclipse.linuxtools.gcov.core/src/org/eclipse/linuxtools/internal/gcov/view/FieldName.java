@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2018 STMicroelectronics and others.
+ * Copyright (c) 2009, 2026 STMicroelectronics and others.
  * 
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -13,9 +13,10 @@
 package org.eclipse.linuxtools.internal.gcov.view;
 
 import org.eclipse.linuxtools.dataviewers.abstractviewers.AbstractSTDataViewersField;
+import org.eclipse.linuxtools.dataviewers.abstractviewers.ISTDataViewersSortKeyField;
 import org.eclipse.linuxtools.internal.gcov.model.TreeElement;
 
-public class FieldName extends AbstractSTDataViewersField {
+public class FieldName extends AbstractSTDataViewersField implements ISTDataViewersSortKeyField {
 
     @Override
     public String getColumnHeaderText() {
@@ -58,4 +59,9 @@ public class FieldName extends AbstractSTDataViewersField {
         }
         return s1.compareTo(s2);
     }
+
+    @Override
+    public Comparable<?> getSortKey(Object obj) {
+        return getValue(obj);
+    }
 }
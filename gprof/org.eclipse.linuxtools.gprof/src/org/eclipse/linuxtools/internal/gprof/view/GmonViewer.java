@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2018 STMicroelectronics and others.
+ * Copyright (c) 2009, 2026 STMicroelectronics and others.
  * 
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -29,6 +29,7 @@ import org.eclipse.linuxtools.internal.gprof.view.fields.SamplePerCallField;
 import org.eclipse.linuxtools.internal.gprof.view.fields.SampleProfField;
 import org.eclipse.linuxtools.internal.gprof.view.histogram.HistRoot;
 import org.eclipse.linuxtools.internal.gprof.view.histogram.TreeElement;
+import org.eclipse.swt.SWT;
 import org.eclipse.swt.widgets.Composite;
 
 /**
@@ -45,7 +46,9 @@ public class GmonViewer extends AbstractSTTreeViewer {
      * @param parent
      */
     public GmonViewer(Composite parent) {
-        super(parent);
+        // Virtual, so that only the visible items of large histograms are created
+        super(parent, SWT.BORDER | SWT.H_SCROLL | SWT.V_SCROLL | SWT.MULTI
+                | SWT.FULL_SELECTION | SWT.VIRTUAL);
     }
 
     @Override
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2018 STMicroelectronics and others.
+ * Copyright (c) 2009, 2026 STMicroelectronics and others.
  * 
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -13,6 +13,7 @@
 package org.eclipse.linuxtools.internal.gprof.view.fields;
 
 import org.eclipse.linuxtools.dataviewers.abstractviewers.AbstractSTDataViewersField;
+import org.eclipse.linuxtools.dataviewers.abstractviewers.ISTDataViewersSortKeyField;
 import org.eclipse.linuxtools.internal.gprof.Messages;
 import org.eclipse.linuxtools.internal.gprof.view.GmonView;
 import org.eclipse.linuxtools.internal.gprof.view.histogram.TreeElement;
@@ -23,7 +24,7 @@ import org.eclipse.swt.graphics.Color;
  *
  * @author Xavier Raynaud <xavier.raynaud@st.com>
  */
-public class NameProfField extends AbstractSTDataViewersField {
+public class NameProfField extends AbstractSTDataViewersField implements ISTDataViewersSortKeyField {
 
     @Override
     public int compare(Object obj1, Object obj2) {
@@ -39,6 +40,11 @@ public class NameProfField extends AbstractSTDataViewersField {
         return s1.compareTo(s2);
     }
 
+    @Override
+    public Comparable<?> getSortKey(Object obj) {
+        return ((TreeElement) obj).getName();
+    }
+
     @Override
     public String getColumnHeaderText() {
         return Messages.NameProfField_NAME_AND_LOCATION;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2018 STMicroelectronics and others.
+ * Copyright (c) 2009, 2026 STMicroelectronics and others.
  * 
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -17,6 +17,7 @@ import java.text.DecimalFormat;
 import java.text.NumberFormat;
 
 import org.eclipse.linuxtools.dataviewers.abstractviewers.AbstractPercentageDrawerField;
+import org.eclipse.linuxtools.dataviewers.abstractviewers.ISTDataViewersSortKeyField;
 import org.eclipse.linuxtools.dataviewers.charts.provider.IChartField;
 import org.eclipse.linuxtools.internal.gprof.Messages;
 import org.eclipse.linuxtools.internal.gprof.view.histogram.TreeElement;
@@ -25,7 +26,7 @@ import org.eclipse.linuxtools.internal.gprof.view.histogram.TreeElement;
 /**
  * Column "sample ratio" of the displayed element
  */
-public class RatioProfField extends AbstractPercentageDrawerField implements IChartField{
+public class RatioProfField extends AbstractPercentageDrawerField implements IChartField, ISTDataViewersSortKeyField {
 
     /** Format to use to display percentages */
     public final static NumberFormat nf = new DecimalFormat("##0.0#"); //$NON-NLS-1$
@@ -54,6 +55,11 @@ public class RatioProfField extends AbstractPercentageDrawerField implements ICh
         return s1 - s2;
     }
 
+    @Override
+    public Comparable<?> getSortKey(Object obj) {
+        return ((TreeElement) obj).getSamples();
+    }
+
     @Override
     public String getColumnHeaderText() {
         return Messages.RatioProfField_TIME_PERCENTAGE;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2018 STMicroelectronics and others.
+ * Copyright (c) 2009, 2026 STMicroelectronics and others.
  * 
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -54,6 +54,17 @@ public class SamplePerCallField extends SampleProfField {
         return Float.compare(f1, f2);
     }
 
+    @Override
+    public Comparable<?> getSortKey(Object obj) {
+        TreeElement e = (TreeElement) obj;
+        int c = e.getCalls();
+        // elements without calls are lower than any other, as in compare()
+        if (c == 0 || c == -1) {
+            return null;
+        }
+        return (float)e.getSamples()/(float)c;
+    }
+
     @Override
     public String getColumnHeaderText() {
         return Messages.SamplePerCallField_TIME_CALL;
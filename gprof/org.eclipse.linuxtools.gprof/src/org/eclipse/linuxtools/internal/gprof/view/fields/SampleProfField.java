@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2018 STMicroelectronics and others.
+ * Copyright (c) 2009, 2026 STMicroelectronics and others.
  * 
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,7 @@ package org.eclipse.linuxtools.internal.gprof.view.fields;
 
 import org.eclipse.linuxtools.dataviewers.abstractviewers.AbstractSTDataViewersField;
 import org.eclipse.linuxtools.dataviewers.abstractviewers.AbstractSTTreeViewer;
+import org.eclipse.linuxtools.dataviewers.abstractviewers.ISTDataViewersSortKeyField;
 import org.eclipse.linuxtools.dataviewers.charts.provider.IChartField;
 import org.eclipse.linuxtools.internal.gprof.Messages;
 import org.eclipse.linuxtools.internal.gprof.parser.GmonDecoder;
@@ -32,7 +33,7 @@ import org.eclipse.swt.graphics.Color;
  *
  * @author Xavier Raynaud <xavier.raynaud@st.com>
  */
-public class SampleProfField extends AbstractSTDataViewersField implements IChartField{
+public class SampleProfField extends AbstractSTDataViewersField implements IChartField, ISTDataViewersSortKeyField {
 
     private boolean samples = true;
     protected final AbstractSTTreeViewer viewer;
@@ -55,6 +56,11 @@ public class SampleProfField extends AbstractSTDataViewersField implements IChar
         return s1 - s2;
     }
 
+    @Override
+    public Comparable<?> getSortKey(Object obj) {
+        return ((TreeElement) obj).getSamples();
+    }
+
     @Override
     public String getColumnHeaderText() {
         if (samples) {
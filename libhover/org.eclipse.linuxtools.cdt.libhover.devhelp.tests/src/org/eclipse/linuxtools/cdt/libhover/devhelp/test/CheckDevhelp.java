@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2018 Red Hat Inc. and others.
+ * Copyright (c) 2011, 2026 Red Hat Inc. and others.
  * 
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -19,6 +19,7 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
@@ -46,7 +47,9 @@ import org.eclipse.linuxtools.internal.cdt.libhover.devhelp.DevHelpTocProvider;
 import org.eclipse.linuxtools.internal.cdt.libhover.devhelp.ParseDevHelp;
 import org.eclipse.linuxtools.internal.cdt.libhover.devhelp.preferences.PreferenceConstants;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.osgi.framework.Bundle;
 import org.osgi.framework.BundleReference;
 
@@ -54,6 +57,9 @@ public class CheckDevhelp {
 
     public final static String CACHE_EXT_LIBHOVER = "org.eclipse.linuxtools.cdt.libhover.testCacheExtLibhover"; //$NON-NLS-1$
 
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
     @Before
     public void setUp() {
         IPath p = LibhoverPlugin.getDefault().getStateLocation().append("C"); //$NON-NLS-1$
@@ -157,6 +163,67 @@ public class CheckDevhelp {
         assertNotNull(g);
     }
 
+    @Test
+    public void testUpdateBooks() throws IOException {
+        // Index three books in parallel, each one a copy of the myapp book
+        // with its own functions, the index of the "broken" one not being
+        // writable
+        ClassLoader cl = getClass().getClassLoader();
+        Bundle bundle = null;
+        if (cl instanceof BundleReference) {
+            bundle = ((BundleReference) cl).getBundle();
+        }
+        File x = tmp.newFolder("html"); //$NON-NLS-1$
+        File indexDir = tmp.newFolder("index"); //$NON-NLS-1$
+        String[] books = {"myapp", "other", "broken"}; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        for (String book : books) {
+            File bookDir = new File(x, book);
+            assertTrue(bookDir.mkdir());
+            for (String name : new String[] {"myapp.devhelp2", "myapp.html", "myapp2.html"}) { //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+                String target = name.equals("myapp.devhelp2") ? book + ".devhelp2" : name; //$NON-NLS-1$ //$NON-NLS-2$
+                java.nio.file.Path file = new File(bookDir, target).toPath();
+                try (InputStream in = FileLocator.openStream(bundle, new Path(
+                        "devhelp/html2/myapp/" + name), false)) { //$NON-NLS-1$
+                    Files.copy(in, file);
+                }
+                // ISO-8859-1 keeps the bytes that are not replaced as they are
+                String content = new String(Files.readAllBytes(file), StandardCharsets.ISO_8859_1);
+                Files.write(file, content.replace("myapp_init", book + "_init") //$NON-NLS-1$ //$NON-NLS-2$
+                        .getBytes(StandardCharsets.ISO_8859_1));
+            }
+        }
+        // the book index is named after the modification time of the book
+        long stamp = 1000000000000L;
+        assertTrue(new File(x, "broken").setLastModified(stamp)); //$NON-NLS-1$
+        assertTrue(new File(x, "broken/broken.devhelp2").setLastModified(stamp)); //$NON-NLS-1$
+        File brokenIndex = new File(indexDir, "broken-" + Long.toHexString(stamp) + ".libhover"); //$NON-NLS-1$ //$NON-NLS-2$
+        File blocker = new File(brokenIndex.getPath() + ".tmp"); //$NON-NLS-1$
+        assertTrue(blocker.mkdir());
+
+        ParseDevHelp.DevHelpParser p = new ParseDevHelp.DevHelpParser(x.getAbsolutePath());
+        assertTrue(p.update(new NullProgressMonitor(), indexDir, false));
+        // the book whose index could not be written is still merged
+        Map<String, FunctionInfo> functions = p.getLibHoverInfo().functions;
+        for (String book : books) {
+            assertNotNull(book, functions.get(book + "_init")); //$NON-NLS-1$
+        }
+        String[] indexes = indexDir.list((dir, name) -> name.endsWith(".libhover")); //$NON-NLS-1$
+        assertEquals(2, indexes.length);
+        assertFalse(brokenIndex.exists());
+
+        // the broken book is indexed again on the next update, the other
+        // books being read from their indexes
+        assertTrue(blocker.delete());
+        p = new ParseDevHelp.DevHelpParser(x.getAbsolutePath());
+        assertTrue(p.update(new NullProgressMonitor(), indexDir, false));
+        functions = p.getLibHoverInfo().functions;
+        for (String book : books) {
+            assertNotNull(book, functions.get(book + "_init")); //$NON-NLS-1$
+        }
+        assertTrue(brokenIndex.exists());
+        assertEquals(3, indexDir.list((dir, name) -> name.endsWith(".libhover")).length); //$NON-NLS-1$
+    }
+
     @Test
     public void testTocProvider() {
         DevHelpTocProvider provider = new DevHelpTocProvider();
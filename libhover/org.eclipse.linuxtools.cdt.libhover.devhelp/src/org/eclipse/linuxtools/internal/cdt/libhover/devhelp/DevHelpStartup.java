@@ -12,10 +12,13 @@
  *******************************************************************************/
 package org.eclipse.linuxtools.internal.cdt.libhover.devhelp;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.Collection;
 
 import org.eclipse.core.runtime.IPath;
@@ -28,6 +31,7 @@ import org.eclipse.jface.preference.IPreferenceStore;
 import org.eclipse.linuxtools.cdt.libhover.LibHoverInfo;
 import org.eclipse.linuxtools.cdt.libhover.LibhoverPlugin;
 import org.eclipse.linuxtools.internal.cdt.libhover.LibHover;
+import org.eclipse.linuxtools.internal.cdt.libhover.LibHoverIndex;
 import org.eclipse.linuxtools.internal.cdt.libhover.LibHoverLibrary;
 import org.eclipse.linuxtools.internal.cdt.libhover.devhelp.preferences.LibHoverMessages;
 import org.eclipse.linuxtools.internal.cdt.libhover.devhelp.preferences.PreferenceConstants;
@@ -79,24 +83,17 @@ public class DevHelpStartup implements IStartup {
                 monitor.done();
                 return Status.OK_STATUS;
             }
-            long ltime = devhelp.lastModified();
-            IPath libhoverPath = LibhoverPlugin.getDefault()
-                    .getStateLocation().append("C").append("devhelp.libhover"); //$NON-NLS-1$ //$NON-NLS-2$
-            File libhoverDir = new File(libhoverPath.toOSString());
-            if (libhoverDir.exists()) {
-                long ltime2 = libhoverDir.lastModified();
-                // Check the last modified time of the devhelp libhover file compared to the
-                // devhelp directory we use to parse the data
-                if (ltime < ltime2) {
-                    // Our devhelp info is up to date and is older than the last modification to
-                    // the devhelp input data so stop now
-                    monitor.done();
-                    return Status.OK_STATUS;
-                }
+            IPath stateLocation = LibhoverPlugin.getDefault().getStateLocation();
+            File libhoverFile = stateLocation.append("C").append("devhelp.libhover").toFile(); //$NON-NLS-1$ //$NON-NLS-2$
+            File bookIndexDir = stateLocation.append("devhelp").toFile(); //$NON-NLS-1$
+            ParseDevHelp.DevHelpParser p = new ParseDevHelp.DevHelpParser(devhelpDir);
+            // Only the books which were added or changed since the last run are
+            // parsed, if none were our devhelp info is up to date so stop now
+            if (!p.update(monitor, bookIndexDir, !libhoverFile.exists())) {
+                monitor.done();
+                return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
             }
-            ParseDevHelp.DevHelpParser p = new ParseDevHelp.DevHelpParser(
-                    ps.getString(PreferenceConstants.DEVHELP_DIRECTORY));
-            LibHoverInfo hover = p.parse(monitor);
+            LibHoverInfo hover = p.getLibHoverInfo();
             if (monitor.isCanceled())
                 return Status.CANCEL_STATUS;
             // Update the devhelp library info if it is on library list
@@ -112,17 +109,14 @@ public class DevHelpStartup implements IStartup {
             try {
                 if (monitor.isCanceled())
                     return Status.CANCEL_STATUS;
-                // Now, output the LibHoverInfo for caching later
-                IPath location = LibhoverPlugin.getDefault()
-                        .getStateLocation().append("C"); //$NON-NLS-1$
-                File ldir = new File(location.toOSString());
-                ldir.mkdir();
-                location = location.append("devhelp.libhover"); //$NON-NLS-1$
-                try (FileOutputStream f = new FileOutputStream(
-                        location.toOSString());
-                        ObjectOutputStream out = new ObjectOutputStream(f)) {
-                    out.writeObject(hover);
+                // Now, output the LibHoverInfo for caching later.  The previous
+                // file may be mapped by the library so it is replaced, not rewritten.
+                libhoverFile.getParentFile().mkdir();
+                File tmp = new File(libhoverFile.getPath() + ".tmp"); //$NON-NLS-1$
+                try (OutputStream out = new BufferedOutputStream(new FileOutputStream(tmp))) {
+                    LibHoverIndex.write(hover, out);
                 }
+                Files.move(tmp.toPath(), libhoverFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
                 monitor.done();
             } catch (NullPointerException e) {
                 monitor.done();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2018 Red Hat Inc. and others.
+ * Copyright (c) 2011, 2026 Red Hat Inc. and others.
  * 
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -12,19 +12,29 @@
  *******************************************************************************/
 package org.eclipse.linuxtools.internal.cdt.libhover.devhelp;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.ObjectOutputStream;
+import java.io.OutputStream;
 import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
@@ -42,10 +52,13 @@ import org.eclipse.core.filesystem.IFileSystem;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.Status;
 import org.eclipse.linuxtools.cdt.libhover.FunctionInfo;
 import org.eclipse.linuxtools.cdt.libhover.LibHoverInfo;
+import org.eclipse.linuxtools.internal.cdt.libhover.LibHoverIndex;
 import org.eclipse.linuxtools.internal.cdt.libhover.devhelp.preferences.FuncFoundSaxException;
 import org.eclipse.linuxtools.internal.cdt.libhover.devhelp.preferences.LibHoverMessages;
 import org.w3c.dom.Document;
@@ -60,6 +73,7 @@ public class ParseDevHelp {
 
     private final static String PARSING_MSG = "Libhover.Devhelp.Parsing.msg"; //$NON-NLS-1$
     private final static String PARSING_FMT_MSG = "Libhover.Devhelp.Parsing.fmt.msg"; //$NON-NLS-1$
+    private final static String BOOK_ERROR_FMT_MSG = "Libhover.Devhelp.Book.error.fmt.msg"; //$NON-NLS-1$
     private static class HTMLSaxParser extends AbstractSAXParser {
 
         private boolean begin;
@@ -339,6 +353,8 @@ public class ParseDevHelp {
             }
         }
 
+        private static final String BOOK_INDEX_SUFFIX = ".libhover"; //$NON-NLS-1$
+
         private String dirName;
         private LibHoverInfo libhover;
         private boolean debug;
@@ -395,6 +411,150 @@ public class ParseDevHelp {
             return libhover;
         }
 
+        /**
+         * Bring the hover info up to date with the books of the devhelp directory.
+         * <p>
+         * Each book is indexed separately in the given index directory, the index
+         * being named after the last modification time of the book. Only the
+         * books which were added or changed since their index was written are
+         * parsed, in parallel, and the hover info is then merged from the book
+         * indexes. Nothing is merged if no book was added, changed or removed,
+         * unless forced.
+         *
+         * @param monitor the progress monitor
+         * @param indexDir the directory of the book indexes
+         * @param force true to merge the hover info even if no book changed
+         * @return true if the hover info was merged, in which case it is
+         *         available from {@link #getLibHoverInfo()}
+         */
+        public boolean update(IProgressMonitor monitor, File indexDir, boolean force) {
+            File[] bookDirs = new File(dirName).listFiles(File::isDirectory);
+            if (bookDirs == null || (!indexDir.isDirectory() && !indexDir.mkdirs())) {
+                return false;
+            }
+            Arrays.sort(bookDirs, (f1, f2) -> f1.getName().compareToIgnoreCase(f2.getName()));
+            Map<String, File> bookFiles = new HashMap<>();
+            Map<String, File> bookIndexes = new HashMap<>();
+            List<String> changed = new ArrayList<>();
+            for (File bookDir : bookDirs) {
+                String name = bookDir.getName();
+                File bookFile = new File(bookDir, name + ".devhelp2"); //$NON-NLS-1$
+                if (!bookFile.exists()) {
+                    bookFile = new File(bookDir, name + ".devhelp"); //$NON-NLS-1$
+                }
+                long stamp = Math.max(bookDir.lastModified(), bookFile.lastModified());
+                File bookIndex = new File(indexDir, name + '-' + Long.toHexString(stamp) + BOOK_INDEX_SUFFIX);
+                bookFiles.put(name, bookFile);
+                bookIndexes.put(name, bookIndex);
+                if (!bookIndex.exists()) {
+                    changed.add(name);
+                }
+            }
+            // Remove the indexes of the books which changed or are gone
+            boolean removed = false;
+            File[] indexes = indexDir.listFiles((dir, fileName) -> fileName.endsWith(BOOK_INDEX_SUFFIX));
+            if (indexes != null) {
+                for (File index : indexes) {
+                    if (!bookIndexes.containsValue(index)) {
+                        index.delete();
+                        removed = true;
+                    }
+                }
+            }
+            if (changed.isEmpty() && !removed && !force) {
+                return false;
+            }
+
+            monitor.beginTask(LibHoverMessages.getString(PARSING_MSG), changed.size() + bookDirs.length);
+            Map<String, LibHoverInfo> parsed = parseBooks(changed, bookFiles, bookIndexes, monitor);
+            if (parsed == null) {
+                return false;
+            }
+            libhover = new LibHoverInfo();
+            for (File bookDir : bookDirs) {
+                if (monitor.isCanceled()) {
+                    return false;
+                }
+                String name = bookDir.getName();
+                LibHoverInfo info = parsed.get(name);
+                if (info == null) {
+                    try {
+                        info = LibHoverIndex.open(bookIndexes.get(name)).toHoverInfo();
+                    } catch (IOException e) {
+                        continue;
+                    }
+                }
+                libhover.functions.putAll(info.functions);
+                monitor.worked(1);
+            }
+            return true;
+        }
+
+        private Map<String, LibHoverInfo> parseBooks(List<String> names, Map<String, File> bookFiles,
+                Map<String, File> bookIndexes, IProgressMonitor monitor) {
+            Map<String, LibHoverInfo> parsed = new HashMap<>();
+            if (names.isEmpty()) {
+                return parsed;
+            }
+            ExecutorService executor = Executors.newFixedThreadPool(
+                    Math.min(names.size(), Runtime.getRuntime().availableProcessors()));
+            try {
+                Map<String, Future<LibHoverInfo>> results = new LinkedHashMap<>();
+                for (String name : names) {
+                    results.put(name, executor.submit(() -> {
+                        LibHoverInfo info = new LibHoverInfo();
+                        parse(bookFiles.get(name).getAbsolutePath(), monitor, info);
+                        if (!monitor.isCanceled()) {
+                            try {
+                                writeBookIndex(info, bookIndexes.get(name));
+                            } catch (IOException e) {
+                                // the book is still merged, and parsed again on the next update
+                                logBookError(name, e);
+                            }
+                        }
+                        return info;
+                    }));
+                }
+                for (Map.Entry<String, Future<LibHoverInfo>> result : results.entrySet()) {
+                    // the monitor is only updated from this thread
+                    monitor.setTaskName(LibHoverMessages.getFormattedString(PARSING_FMT_MSG,
+                            new String[]{result.getKey()}));
+                    try {
+                        parsed.put(result.getKey(), result.getValue().get());
+                    } catch (ExecutionException e) {
+                        // the other books are still indexed and merged
+                        logBookError(result.getKey(), e.getCause());
+                    }
+                    if (monitor.isCanceled()) {
+                        return null;
+                    }
+                    monitor.worked(1);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            } finally {
+                executor.shutdownNow();
+            }
+            return parsed;
+        }
+
+        private static void logBookError(String name, Throwable e) {
+            DevHelpPlugin plugin = DevHelpPlugin.getDefault();
+            if (plugin != null) {
+                plugin.getLog().log(new Status(IStatus.ERROR, DevHelpPlugin.PLUGIN_ID,
+                        LibHoverMessages.getFormattedString(BOOK_ERROR_FMT_MSG, new String[]{name}), e));
+            }
+        }
+
+        private static void writeBookIndex(LibHoverInfo info, File bookIndex) throws IOException {
+            File tmp = new File(bookIndex.getPath() + ".tmp"); //$NON-NLS-1$
+            try (OutputStream out = new BufferedOutputStream(new FileOutputStream(tmp))) {
+                LibHoverIndex.write(info, out);
+            }
+            Files.move(tmp.toPath(), bookIndex.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+
         private void parseLinks(HashMap<String, String> funcMap, String fileName, IPath path, LibHoverInfo libhover) {
             InputStream reader = null;
             HTMLSaxParser parser = null;
@@ -423,14 +583,24 @@ public class ParseDevHelp {
         }
 
         private void parse(String fileName, IProgressMonitor monitor) {
+            parse(fileName, monitor, libhover);
+        }
+
+        private void parse(String fileName, IProgressMonitor monitor, LibHoverInfo libhover) {
             try {
                 HashMap<String, HashMap<String,String>> files = new HashMap<>();
                 Path path = new Path(fileName);
                 File f = new File(fileName);
-                FileInputStream stream = new FileInputStream(f);
-                DocumentBuilder builder = factory.newDocumentBuilder();
+                DocumentBuilder builder;
+                // the books may be parsed in parallel and the factory is not thread-safe
+                synchronized (factory) {
+                    builder = factory.newDocumentBuilder();
+                }
                 builder.setEntityResolver(entityResolver);
-                Document doc = builder.parse(stream);
+                Document doc;
+                try (FileInputStream stream = new FileInputStream(f)) {
+                    doc = builder.parse(stream);
+                }
                 NodeList bookNodes = doc.getElementsByTagName("book"); //$NON-NLS-1$
                 for (int x = 0; x < bookNodes.getLength(); ++x) {
                     Node n = bookNodes.item(x);
@@ -545,10 +715,8 @@ public class ParseDevHelp {
             File ldir = new File(location.toOSString());
             ldir.mkdir();
             location = location.append("devhelp.libhover"); //$NON-NLS-1$
-            try (FileOutputStream f = new FileOutputStream(
-                    location.toOSString());
-                    ObjectOutputStream out = new ObjectOutputStream(f)) {
-                out.writeObject(hover);
+            try (OutputStream out = new BufferedOutputStream(new FileOutputStream(location.toOSString()))) {
+                LibHoverIndex.write(hover, out);
             }
         } catch(IOException e) {
         }
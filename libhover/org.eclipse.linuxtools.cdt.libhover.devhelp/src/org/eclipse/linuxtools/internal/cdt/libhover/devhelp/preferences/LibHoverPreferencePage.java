@@ -12,10 +12,13 @@
  *******************************************************************************/
 package org.eclipse.linuxtools.internal.cdt.libhover.devhelp.preferences;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.Collection;
 
 import org.eclipse.core.runtime.IPath;
@@ -32,6 +35,7 @@ import org.eclipse.jface.preference.IPreferenceStore;
 import org.eclipse.linuxtools.cdt.libhover.LibHoverInfo;
 import org.eclipse.linuxtools.cdt.libhover.LibhoverPlugin;
 import org.eclipse.linuxtools.internal.cdt.libhover.LibHover;
+import org.eclipse.linuxtools.internal.cdt.libhover.LibHoverIndex;
 import org.eclipse.linuxtools.internal.cdt.libhover.LibHoverLibrary;
 import org.eclipse.linuxtools.internal.cdt.libhover.devhelp.DevHelpPlugin;
 import org.eclipse.linuxtools.internal.cdt.libhover.devhelp.ParseDevHelp;
@@ -92,7 +96,21 @@ public class LibHoverPreferencePage extends FieldEditorPreferencePage implements
                 IPreferenceStore ps = DevHelpPlugin.getDefault().getPreferenceStore();
                 ParseDevHelp.DevHelpParser p =
                     new ParseDevHelp.DevHelpParser(ps.getString(PreferenceConstants.DEVHELP_DIRECTORY));
-                LibHoverInfo hover = p.parse(monitor);
+                IPath stateLocation = LibhoverPlugin.getDefault().getStateLocation();
+                File libhoverFile = stateLocation.append("C").append("devhelp.libhover").toFile(); //$NON-NLS-1$ //$NON-NLS-2$
+                File bookIndexDir = stateLocation.append("devhelp").toFile(); //$NON-NLS-1$
+                // Drop the book indexes so that all the books get parsed again
+                File[] bookIndexes = bookIndexDir.listFiles();
+                if (bookIndexes != null) {
+                    for (File bookIndex : bookIndexes) {
+                        bookIndex.delete();
+                    }
+                }
+                if (!p.update(monitor, bookIndexDir, true)) {
+                    monitor.done();
+                    return Status.CANCEL_STATUS;
+                }
+                LibHoverInfo hover = p.getLibHoverInfo();
                 // Update the devhelp library info if it is on library list
                 Collection<LibHoverLibrary> libs = LibHover.getLibraries();
                 for (LibHoverLibrary l : libs) {
@@ -102,16 +120,14 @@ public class LibHoverPreferencePage extends FieldEditorPreferencePage implements
                     }
                 }
                 try {
-                    // Now, output the LibHoverInfo for caching later
-                    IPath location = LibhoverPlugin.getDefault().getStateLocation().append("C"); //$NON-NLS-1$
-                    File ldir = new File(location.toOSString());
-                    ldir.mkdir();
-                    location = location.append("devhelp.libhover"); //$NON-NLS-1$
-                    try (FileOutputStream f = new FileOutputStream(
-                            location.toOSString());
-                            ObjectOutputStream out = new ObjectOutputStream(f)) {
-                        out.writeObject(hover);
+                    // Now, output the LibHoverInfo for caching later.  The previous
+                    // file may be mapped by the library so it is replaced, not rewritten.
+                    libhoverFile.getParentFile().mkdir();
+                    File tmp = new File(libhoverFile.getPath() + ".tmp"); //$NON-NLS-1$
+                    try (OutputStream out = new BufferedOutputStream(new FileOutputStream(tmp))) {
+                        LibHoverIndex.write(hover, out);
                     }
+                    Files.move(tmp.toPath(), libhoverFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
                     monitor.done();
                 } catch(IOException e) {
                     monitor.done();
@@ -12,11 +12,12 @@
  *******************************************************************************/
 package org.eclipse.linuxtools.internal.cdt.libhover.libstdcxx;
 
+import java.io.BufferedOutputStream;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.ObjectOutputStream;
+import java.io.OutputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
@@ -34,6 +35,7 @@ import org.eclipse.linuxtools.cdt.libhover.ClassInfo;
 import org.eclipse.linuxtools.cdt.libhover.LibHoverInfo;
 import org.eclipse.linuxtools.cdt.libhover.MemberInfo;
 import org.eclipse.linuxtools.cdt.libhover.TypedefInfo;
+import org.eclipse.linuxtools.internal.cdt.libhover.LibHoverIndex;
 import org.w3c.dom.Document;
 import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
@@ -413,9 +415,8 @@ public class DoxygenCPPInfo {
                 }
             }
             // Now, output the LibHoverInfo for caching later
-            try (FileOutputStream f = new FileOutputStream(fileName);
-                    ObjectOutputStream out = new ObjectOutputStream(f)) {
-                out.writeObject(cppInfo);
+            try (OutputStream out = new BufferedOutputStream(new FileOutputStream(fileName))) {
+                LibHoverIndex.write(cppInfo, out);
             }
         } catch (IOException e) {
             e.printStackTrace();
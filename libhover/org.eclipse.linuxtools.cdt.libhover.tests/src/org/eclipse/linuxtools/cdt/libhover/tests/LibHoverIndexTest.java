@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Incorporated - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.linuxtools.cdt.libhover.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+
+import org.eclipse.linuxtools.cdt.libhover.ClassInfo;
+import org.eclipse.linuxtools.cdt.libhover.FunctionInfo;
+import org.eclipse.linuxtools.cdt.libhover.LibHoverInfo;
+import org.eclipse.linuxtools.cdt.libhover.TypedefInfo;
+import org.eclipse.linuxtools.internal.cdt.libhover.LibHoverIndex;
+import org.junit.Test;
+
+public class LibHoverIndexTest {
+
+    private static LibHoverInfo createHoverInfo() {
+        LibHoverInfo info = new LibHoverInfo();
+        for (String name : new String[] { "strcpy", "abs", "strcat", "printf" }) { //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+            FunctionInfo f = new FunctionInfo(name);
+            f.setPrototype("const char *s"); //$NON-NLS-1$
+            f.setDescription("<p>" + name + " \u00e9</p>"); //$NON-NLS-1$ //$NON-NLS-2$
+            f.setReturnType("int"); //$NON-NLS-1$
+            f.addHeader("string.h"); //$NON-NLS-1$
+            info.functions.put(name, f);
+        }
+        info.functions.put("abort", new FunctionInfo("abort")); //$NON-NLS-1$ //$NON-NLS-2$
+        return info;
+    }
+
+    private static LibHoverIndex createIndex(LibHoverInfo info) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        LibHoverIndex.write(info, out);
+        return LibHoverIndex.open(out.toByteArray());
+    }
+
+    @Test
+    public void testFunctions() throws IOException {
+        LibHoverIndex index = createIndex(createHoverInfo());
+        assertEquals(5, index.getFunctionCount());
+        assertEquals("abort", index.getFunctionName(0)); //$NON-NLS-1$
+        assertEquals("strcpy", index.getFunctionName(4)); //$NON-NLS-1$
+
+        FunctionInfo f = index.getFunction("strcat"); //$NON-NLS-1$
+        assertNotNull(f);
+        assertEquals("strcat", f.getName()); //$NON-NLS-1$
+        assertEquals("const char *s", f.getPrototype()); //$NON-NLS-1$
+        assertEquals("<p>strcat \u00e9</p>", f.getDescription()); //$NON-NLS-1$
+        assertEquals("int", f.getReturnType()); //$NON-NLS-1$
+        assertEquals(1, f.getHeaders().size());
+        assertEquals("string.h", f.getHeaders().get(0)); //$NON-NLS-1$
+
+        FunctionInfo abort = index.getFunction("abort"); //$NON-NLS-1$
+        assertNull(abort.getPrototype());
+        assertTrue(abort.getHeaders().isEmpty());
+
+        assertNull(index.getFunction("strlen")); //$NON-NLS-1$
+        assertEquals(-5, index.findFunction("strcb")); //$NON-NLS-1$
+        assertTrue(index.getClasses().isEmpty());
+    }
+
+    @Test
+    public void testConvert() throws IOException {
+        LibHoverInfo info = createHoverInfo();
+        info.classes.put("vector", new ClassInfo("vector", null)); //$NON-NLS-1$ //$NON-NLS-2$
+        info.typedefs.put("string", new TypedefInfo("string", "basic_string<char>")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(serialized)) {
+            out.writeObject(info);
+        }
+        assertFalse(LibHoverIndex.isIndex(serialized.toByteArray()));
+
+        ByteArrayOutputStream converted = new ByteArrayOutputStream();
+        LibHoverIndex.convert(new ByteArrayInputStream(serialized.toByteArray()), converted);
+        assertTrue(LibHoverIndex.isIndex(converted.toByteArray()));
+
+        LibHoverIndex index = LibHoverIndex.open(converted.toByteArray());
+        assertEquals(info.functions.keySet(), index.toHoverInfo().functions.keySet());
+        assertEquals("vector", index.getClasses().get("vector").getClassName()); //$NON-NLS-1$ //$NON-NLS-2$
+        assertEquals("basic_string<char>", //$NON-NLS-1$
+                index.getTypedefs().get("string").getTransformedType("string")); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+}
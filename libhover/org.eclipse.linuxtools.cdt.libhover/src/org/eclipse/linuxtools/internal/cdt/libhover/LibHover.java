@@ -12,17 +12,19 @@
  *******************************************************************************/
 package org.eclipse.linuxtools.internal.cdt.libhover;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
-import java.io.ObjectOutputStream;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
-import java.util.Set;
-import java.util.SortedMap;
+import java.util.PriorityQueue;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.cdt.core.dom.ast.DOMException;
@@ -66,7 +68,6 @@ import org.eclipse.jface.text.IRegion;
 import org.eclipse.linuxtools.cdt.libhover.ClassInfo;
 import org.eclipse.linuxtools.cdt.libhover.FunctionInfo;
 import org.eclipse.linuxtools.cdt.libhover.HelpBook;
-import org.eclipse.linuxtools.cdt.libhover.LibHoverInfo;
 import org.eclipse.linuxtools.cdt.libhover.LibhoverPlugin;
 import org.eclipse.linuxtools.cdt.libhover.MemberInfo;
 import org.eclipse.linuxtools.internal.cdt.libhover.preferences.PreferenceConstants;
@@ -103,6 +104,10 @@ public class LibHover implements ICHelpProvider {
     private static Map<String, ICHelpBook> helpBooksMap = new HashMap<>();
     public static boolean docsFetched = false;
 
+    private static final int MAX_CACHED_PREFIXES = 16;
+    // functions matching the last prefixes, the most recently used last
+    private static final LinkedList<MatchingFunctions> matchingFunctionsCache = new LinkedList<>();
+
     public static Collection<LibHoverLibrary> getLibraries() {
         return libraries.values();
     }
@@ -125,9 +130,9 @@ public class LibHover implements ICHelpProvider {
                     IPath location = locationDir.append(getTransformedName(l.getName()) + ".libhover"); //$NON-NLS-1$
                     File target = new File(location.toOSString());
                     if (!target.exists()) {
-                        try (FileOutputStream f = new FileOutputStream(locationDir.append("tmpFile").toOSString()); //$NON-NLS-1$
-                                ObjectOutputStream out = new ObjectOutputStream(f)) {
-                            out.writeObject(l.getHoverInfo());
+                        try (OutputStream out = new BufferedOutputStream(
+                                new FileOutputStream(locationDir.append("tmpFile").toOSString()))) { //$NON-NLS-1$
+                            l.save(out);
                             out.close();
                             File tmp = new File(locationDir.append("tmpFile").toOSString()); //$NON-NLS-1$
                             tmp.renameTo(target);
@@ -147,6 +152,7 @@ public class LibHover implements ICHelpProvider {
         libraries.clear();
         helpBooks.clear();
         helpBooksMap.clear();
+        clearMatchingFunctionsCache();
         // Check if caching of library info is enabled and if so, get any
         // cached library hover info.
         IPreferenceStore ps = LibhoverPlugin.getDefault().getPreferenceStore();
@@ -654,35 +660,7 @@ public class LibHover implements ICHelpProvider {
         }
 
         if (!qualifiedCPP) {
-            for (int di = 0; di < helpBooks.length; ++di) {
-                LibHoverLibrary l = libraries.get(helpBooks[di]);
-                LibHoverInfo cppInfo = l.getHoverInfo();
-                SortedMap<String, FunctionInfo> map = cppInfo.functions.tailMap(prefix);
-                Set<Map.Entry<String, FunctionInfo>> c = map.entrySet();
-                for (Entry<String, FunctionInfo> e : c) {
-                    FunctionInfo x = e.getValue();
-                    String name = x.getName();
-                    // Look for names that start with prefix, but ignore names that
-                    // start with "0" which is used to import text data that cannot
-                    // be omitted from the binary version of the document (e.g. invariant
-                    // sections of a GFDL licensed document).  This data is given a
-                    // function name that starts with the character "0" which is not
-                    // valid for the start of a C/C++ function name.  As such, it should
-                    // never be offered as a choice for an empty prefix.
-                    if (name.startsWith(prefix) && !name.startsWith("0")) { //$NON-NLS-1$
-                        FunctionSummary f = new FunctionSummary();
-                        f.ReturnType = x.getReturnType();
-                        f.Prototype = x.getPrototype();
-                        f.Summary = x.getDescription();
-                        f.Name = x.getName();
-                        ArrayList<String> headers = x.getHeaders();
-                        for (int i1 = 0; i1 < headers.size(); ++i1) {
-                            f.setIncludeName(headers.get(i1));
-                        }
-                        fList.add(f);
-                    }
-                }
-            }
+            fList.addAll(getMatchingFunctions(helpBooks, prefix));
         }
         IFunctionSummary[] summaries = new IFunctionSummary[fList.size()];
         for (int k = 0; k < summaries.length; k++) {
@@ -691,6 +669,150 @@ public class LibHover implements ICHelpProvider {
         return summaries;
     }
 
+    /**
+     * Get the functions of the given help books whose name starts with the
+     * given prefix, sorted by name.
+     * <p>
+     * The results of the last prefixes are kept so that, as the user types
+     * more characters, the functions are filtered from the results of the
+     * shorter prefix rather than looked up again in the libraries.
+     */
+    private static List<FunctionSummary> getMatchingFunctions(ICHelpBook[] helpBooks, String prefix) {
+        MatchingFunctions cached = null;
+        synchronized (matchingFunctionsCache) {
+            for (MatchingFunctions m : matchingFunctionsCache) {
+                if (prefix.startsWith(m.prefix) && Arrays.equals(helpBooks, m.helpBooks)
+                        && (cached == null || m.prefix.length() > cached.prefix.length())) {
+                    cached = m;
+                }
+            }
+            if (cached != null && cached.prefix.equals(prefix)) {
+                matchingFunctionsCache.remove(cached);
+                matchingFunctionsCache.addLast(cached);
+                return cached.functions;
+            }
+        }
+        List<FunctionSummary> functions = cached != null ? filterMatchingFunctions(cached.functions, prefix)
+                : findMatchingFunctions(helpBooks, prefix);
+        synchronized (matchingFunctionsCache) {
+            matchingFunctionsCache.addLast(new MatchingFunctions(helpBooks.clone(), prefix, functions));
+            if (matchingFunctionsCache.size() > MAX_CACHED_PREFIXES) {
+                matchingFunctionsCache.removeFirst();
+            }
+        }
+        return functions;
+    }
+
+    private static List<FunctionSummary> findMatchingFunctions(ICHelpBook[] helpBooks, String prefix) {
+        // The functions of each library are sorted, merge them in a single pass.
+        PriorityQueue<FunctionCursor> cursors = new PriorityQueue<>();
+        for (int di = 0; di < helpBooks.length; ++di) {
+            LibHoverLibrary l = libraries.get(helpBooks[di]);
+            if (l != null) {
+                List<FunctionInfo> functions = l.getMatchingFunctions(prefix);
+                if (!functions.isEmpty()) {
+                    cursors.add(new FunctionCursor(di, functions));
+                }
+            }
+        }
+        ArrayList<FunctionSummary> fList = new ArrayList<>();
+        while (!cursors.isEmpty()) {
+            FunctionCursor cursor = cursors.poll();
+            FunctionInfo x = cursor.current();
+            String name = x.getName();
+            // Ignore names that start with "0" which is used to import text data
+            // that cannot be omitted from the binary version of the document (e.g.
+            // invariant sections of a GFDL licensed document).  This data is given
+            // a function name that starts with the character "0" which is not
+            // valid for the start of a C/C++ function name.  As such, it should
+            // never be offered as a choice for an empty prefix.
+            if (!name.startsWith("0")) { //$NON-NLS-1$
+                FunctionSummary f = new FunctionSummary();
+                f.ReturnType = x.getReturnType();
+                f.Prototype = x.getPrototype();
+                f.Summary = x.getDescription();
+                f.Name = name;
+                ArrayList<String> headers = x.getHeaders();
+                for (int i1 = 0; i1 < headers.size(); ++i1) {
+                    f.setIncludeName(headers.get(i1));
+                }
+                fList.add(f);
+            }
+            if (cursor.next()) {
+                cursors.add(cursor);
+            }
+        }
+        return Collections.unmodifiableList(fList);
+    }
+
+    private static List<FunctionSummary> filterMatchingFunctions(List<FunctionSummary> functions, String prefix) {
+        // functions is sorted by name so the names starting with prefix are
+        // a contiguous range
+        int low = 0;
+        int high = functions.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (functions.get(mid).getName().compareTo(prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        int end = low;
+        while (end < functions.size() && functions.get(end).getName().startsWith(prefix)) {
+            ++end;
+        }
+        return Collections.unmodifiableList(new ArrayList<>(functions.subList(low, end)));
+    }
+
+    /**
+     * Forget the functions matching the last prefixes, when the libraries
+     * change.
+     */
+    static void clearMatchingFunctionsCache() {
+        synchronized (matchingFunctionsCache) {
+            matchingFunctionsCache.clear();
+        }
+    }
+
+    private static class MatchingFunctions {
+        private final ICHelpBook[] helpBooks;
+        private final String prefix;
+        private final List<FunctionSummary> functions;
+
+        public MatchingFunctions(ICHelpBook[] helpBooks, String prefix, List<FunctionSummary> functions) {
+            this.helpBooks = helpBooks;
+            this.prefix = prefix;
+            this.functions = functions;
+        }
+    }
+
+    private static class FunctionCursor implements Comparable<FunctionCursor> {
+        private final int book;
+        private final List<FunctionInfo> functions;
+        private int index;
+
+        public FunctionCursor(int book, List<FunctionInfo> functions) {
+            this.book = book;
+            this.functions = functions;
+        }
+
+        public FunctionInfo current() {
+            return functions.get(index);
+        }
+
+        public boolean next() {
+            return ++index < functions.size();
+        }
+
+        @Override
+        public int compareTo(FunctionCursor x) {
+            int result = current().getName().compareTo(x.current().getName());
+            // keep the order of the help books for functions with the same name
+            return result != 0 ? result : Integer.compare(book, x.book);
+        }
+    }
+
     private static class HelpResource implements IHelpResource {
         private final String href;
         private final String label;
@@ -0,0 +1,404 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Incorporated - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.linuxtools.internal.cdt.libhover;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.linuxtools.cdt.libhover.ClassInfo;
+import org.eclipse.linuxtools.cdt.libhover.FunctionInfo;
+import org.eclipse.linuxtools.cdt.libhover.LibHoverInfo;
+import org.eclipse.linuxtools.cdt.libhover.TypedefInfo;
+
+/**
+ * Compact, read-only index of the hover info of a library.
+ * <p>
+ * The index starts with a header, followed by the function records, a table
+ * of the record offsets sorted by function name and a section holding the
+ * classes and typedefs. It is read through a (memory-mapped) buffer and the
+ * function records are only decoded when they are looked up, so opening a
+ * library does not cost more than mapping its file.
+ * <p>
+ * Classes and typedefs reference each other, so they are kept serialized in
+ * their own section which is only read the first time a class is looked up.
+ * C libraries do not have any.
+ */
+public class LibHoverIndex {
+
+    /** "LHIX", can't be confused with the header of a serialized stream. */
+    private static final int MAGIC = 0x4C484958;
+    private static final int VERSION = 1;
+    // magic, version, function count, table offset, types offset, types length
+    private static final int HEADER_SIZE = 6 * Integer.BYTES;
+    private static final int NULL_STRING = -1;
+
+    private final ByteBuffer buffer;
+    private final int functionCount;
+    private final int tableOffset;
+    private final int typesOffset;
+    private final int typesLength;
+    private Map<String, ClassInfo> classes;
+    private Map<String, TypedefInfo> typedefs;
+
+    private LibHoverIndex(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a libhover index"); //$NON-NLS-1$
+        }
+        if (buffer.getInt(Integer.BYTES) != VERSION) {
+            throw new IOException("Unsupported libhover index version"); //$NON-NLS-1$
+        }
+        functionCount = buffer.getInt(2 * Integer.BYTES);
+        tableOffset = buffer.getInt(3 * Integer.BYTES);
+        typesOffset = buffer.getInt(4 * Integer.BYTES);
+        typesLength = buffer.getInt(5 * Integer.BYTES);
+    }
+
+    /**
+     * Open the index stored in the given file by mapping it in memory.
+     *
+     * @param file the index file
+     * @return the index
+     * @throws IOException if the file can't be read or is not an index
+     */
+    public static LibHoverIndex open(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            return new LibHoverIndex(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Open the index held by the given bytes.
+     *
+     * @param bytes the bytes of an index
+     * @return the index
+     * @throws IOException if the bytes are not an index
+     */
+    public static LibHoverIndex open(byte[] bytes) throws IOException {
+        return new LibHoverIndex(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Check whether the given bytes are the start of an index rather than of
+     * a serialized {@link LibHoverInfo}.
+     *
+     * @param header at least the first 4 bytes of a libhover file
+     * @return true if the bytes start an index
+     */
+    public static boolean isIndex(byte[] header) {
+        return header.length >= Integer.BYTES && ByteBuffer.wrap(header).getInt() == MAGIC;
+    }
+
+    /**
+     * Write the index of the given hover info.
+     *
+     * @param info the hover info
+     * @param out the stream to write the index to, left open
+     * @throws IOException if the index can't be written
+     */
+    public static void write(LibHoverInfo info, OutputStream out) throws IOException {
+        ByteArrayOutputStream records = new ByteArrayOutputStream();
+        DataOutputStream data = new DataOutputStream(records);
+        // the functions are a TreeMap so the records are sorted by name
+        int[] offsets = new int[info.functions.size()];
+        int i = 0;
+        for (FunctionInfo f : info.functions.values()) {
+            offsets[i++] = HEADER_SIZE + data.size();
+            writeString(data, f.getName());
+            writeString(data, f.getPrototype());
+            writeString(data, f.getDescription());
+            writeString(data, f.getReturnType());
+            data.writeInt(f.getHeaders().size());
+            for (String header : f.getHeaders()) {
+                writeString(data, header);
+            }
+        }
+        int tableOffset = HEADER_SIZE + data.size();
+        for (int offset : offsets) {
+            data.writeInt(offset);
+        }
+        int typesOffset = HEADER_SIZE + data.size();
+        if (!info.classes.isEmpty() || !info.typedefs.isEmpty()) {
+            try (ObjectOutputStream types = new ObjectOutputStream(new NonClosingOutputStream(data))) {
+                types.writeObject(info.classes);
+                types.writeObject(info.typedefs);
+            }
+        }
+        data.flush();
+
+        DataOutputStream header = new DataOutputStream(out);
+        header.writeInt(MAGIC);
+        header.writeInt(VERSION);
+        header.writeInt(offsets.length);
+        header.writeInt(tableOffset);
+        header.writeInt(typesOffset);
+        header.writeInt(HEADER_SIZE + data.size() - typesOffset);
+        header.flush();
+        records.writeTo(out);
+        out.flush();
+    }
+
+    /**
+     * Convert a serialized {@link LibHoverInfo}, as written by the previous
+     * versions of the generators, to an index.
+     *
+     * @param in the serialized hover info
+     * @param out the stream to write the index to, left open
+     * @throws IOException if the hover info can't be read or the index written
+     */
+    public static void convert(InputStream in, OutputStream out) throws IOException {
+        try (ObjectInputStream input = new ObjectInputStream(in)) {
+            write((LibHoverInfo) input.readObject(), out);
+        } catch (ClassNotFoundException | ClassCastException e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Get the number of functions in the index.
+     *
+     * @return the number of functions
+     */
+    public int getFunctionCount() {
+        return functionCount;
+    }
+
+    /**
+     * Find a function by name.
+     *
+     * @param name the function name
+     * @return the position of the function in the sorted function table or,
+     *         as for {@link java.util.Arrays#binarySearch(Object[], Object)},
+     *         <code>(-(insertion point) - 1)</code> if there is no such
+     *         function
+     */
+    public int findFunction(String name) {
+        int low = 0;
+        int high = functionCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = getFunctionName(mid).compareTo(name);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * Get the name of a function without decoding the rest of its record.
+     *
+     * @param position the position of the function in the sorted table
+     * @return the function name
+     */
+    public String getFunctionName(int position) {
+        return readString(getRecordOffset(position));
+    }
+
+    /**
+     * Decode a function.
+     *
+     * @param position the position of the function in the sorted table
+     * @return the function info
+     */
+    public FunctionInfo getFunction(int position) {
+        int offset = getRecordOffset(position);
+        FunctionInfo info = new FunctionInfo(readString(offset));
+        offset = skipString(offset);
+        info.setPrototype(readString(offset));
+        offset = skipString(offset);
+        info.setDescription(readString(offset));
+        offset = skipString(offset);
+        info.setReturnType(readString(offset));
+        offset = skipString(offset);
+        int headerCount = buffer.getInt(offset);
+        offset += Integer.BYTES;
+        for (int i = 0; i < headerCount; ++i) {
+            info.addHeader(readString(offset));
+            offset = skipString(offset);
+        }
+        return info;
+    }
+
+    /**
+     * Find and decode a function.
+     *
+     * @param name the function name
+     * @return the function info or null if there is no such function
+     */
+    public FunctionInfo getFunction(String name) {
+        int position = findFunction(name);
+        return position >= 0 ? getFunction(position) : null;
+    }
+
+    /**
+     * Get the classes, which are decoded on first use.
+     *
+     * @return the classes by name
+     * @throws IOException if the classes can't be decoded
+     */
+    public synchronized Map<String, ClassInfo> getClasses() throws IOException {
+        readTypes();
+        return classes;
+    }
+
+    /**
+     * Get the typedefs, which are decoded on first use.
+     *
+     * @return the typedefs by name
+     * @throws IOException if the typedefs can't be decoded
+     */
+    public synchronized Map<String, TypedefInfo> getTypedefs() throws IOException {
+        readTypes();
+        return typedefs;
+    }
+
+    /**
+     * Decode the whole index.
+     *
+     * @return the hover info held by the index
+     * @throws IOException if the classes and typedefs can't be decoded
+     */
+    public LibHoverInfo toHoverInfo() throws IOException {
+        LibHoverInfo info = new LibHoverInfo();
+        for (int i = 0; i < functionCount; ++i) {
+            FunctionInfo f = getFunction(i);
+            info.functions.put(f.getName(), f);
+        }
+        info.classes.putAll(getClasses());
+        info.typedefs.putAll(getTypedefs());
+        return info;
+    }
+
+    /**
+     * Write the index as is.
+     *
+     * @param out the stream to write to, left open
+     * @throws IOException if the index can't be written
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        ByteBuffer b = buffer.duplicate();
+        b.clear();
+        byte[] chunk = new byte[8192];
+        while (b.hasRemaining()) {
+            int length = Math.min(chunk.length, b.remaining());
+            b.get(chunk, 0, length);
+            out.write(chunk, 0, length);
+        }
+        out.flush();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readTypes() throws IOException {
+        if (classes != null) {
+            return;
+        }
+        if (typesLength == 0) {
+            classes = new HashMap<>();
+            typedefs = new HashMap<>();
+            return;
+        }
+        try (ObjectInputStream input = new ObjectInputStream(
+                new ByteArrayInputStream(readBytes(typesOffset, typesLength)))) {
+            HashMap<String, ClassInfo> c = (HashMap<String, ClassInfo>) input.readObject();
+            typedefs = (HashMap<String, TypedefInfo>) input.readObject();
+            classes = c;
+        } catch (ClassNotFoundException | ClassCastException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private int getRecordOffset(int position) {
+        if (position < 0 || position >= functionCount) {
+            throw new IndexOutOfBoundsException(Integer.toString(position));
+        }
+        return buffer.getInt(tableOffset + position * Integer.BYTES);
+    }
+
+    private String readString(int offset) {
+        int length = buffer.getInt(offset);
+        if (length == NULL_STRING) {
+            return null;
+        }
+        return new String(readBytes(offset + Integer.BYTES, length), StandardCharsets.UTF_8);
+    }
+
+    private int skipString(int offset) {
+        int length = buffer.getInt(offset);
+        return offset + Integer.BYTES + (length == NULL_STRING ? 0 : length);
+    }
+
+    private byte[] readBytes(int offset, int length) {
+        // duplicate so that concurrent readers do not share the position
+        ByteBuffer b = buffer.duplicate();
+        b.position(offset);
+        byte[] bytes = new byte[length];
+        b.get(bytes);
+        return bytes;
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        if (s == null) {
+            out.writeInt(NULL_STRING);
+        } else {
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static class NonClosingOutputStream extends OutputStream {
+        private final OutputStream out;
+
+        public NonClosingOutputStream(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
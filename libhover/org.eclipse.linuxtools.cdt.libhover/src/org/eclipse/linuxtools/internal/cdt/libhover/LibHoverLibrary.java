@@ -12,16 +12,28 @@
  *******************************************************************************/
 package org.eclipse.linuxtools.internal.cdt.libhover;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.ObjectInputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 
 import org.eclipse.cdt.utils.Platform;
 import org.eclipse.core.filesystem.URIUtil;
@@ -35,12 +47,14 @@ import org.eclipse.linuxtools.cdt.libhover.TypedefInfo;
 import org.osgi.framework.Bundle;
 
 public class LibHoverLibrary {
+    private static final String INDEX_SUFFIX = ".idx"; //$NON-NLS-1$
     private String name;
     private String location;
     private String docs;
     private String nameSpace;
     private boolean isCPP;
-    private LibHoverInfo hoverInfo = new LibHoverInfo();
+    private LibHoverInfo hoverInfo;
+    private LibHoverIndex index;
     private boolean haveReadHoverInfo = false;
 
     public LibHoverLibrary(String name, String location, String docs,
@@ -107,51 +121,179 @@ public class LibHoverLibrary {
     }
 
     /**
-     * Get the library hover info for this library
+     * Get the library hover info for this library.
+     * <p>
+     * This decodes the whole index of the library, use
+     * {@link #getFunctionInfo(String)} and
+     * {@link #getClassInfo(String, ArrayList)} to look up single entries.
      *
      * @return the library hover info for this library
      */
     public synchronized LibHoverInfo getHoverInfo() {
+        loadHoverInfo();
+        if (hoverInfo == null) {
+            hoverInfo = new LibHoverInfo();
+            if (index != null) {
+                try {
+                    hoverInfo = index.toHoverInfo();
+                    index = null;
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+        return hoverInfo;
+    }
+
+    /**
+     * Open the index of the library hover info, if not done yet.
+     * <p>
+     * A library shipped as a serialized {@link LibHoverInfo} is converted
+     * the first time it is opened, and the index is cached in the plug-in
+     * state location. Indexes are memory-mapped and only the entries that
+     * are looked up get decoded.
+     */
+    public synchronized void loadHoverInfo() {
         // We lazily get the hover info for this library since it is possible
         // the user will never access or ultimately need it if another library
         // supplies the information first.
         if (!haveReadHoverInfo) {
-            try (InputStream docStream = getDocStreamForHoverInfo();
-                    ObjectInputStream input = new ObjectInputStream(docStream)) {
-                hoverInfo = (LibHoverInfo)input.readObject();
+            try {
+                index = openIndex();
                 haveReadHoverInfo = true;
-            } catch (URISyntaxException|MalformedURLException|ClassNotFoundException e) {
+            } catch (URISyntaxException|MalformedURLException e) {
                 e.printStackTrace();
             } catch (IOException e) {
                 // Do nothing as empty devhelp causes this
             }
         }
-        return hoverInfo;
     }
 
-    private InputStream getDocStreamForHoverInfo() throws URISyntaxException, IOException {
+    private LibHoverIndex openIndex() throws URISyntaxException, IOException {
         URI acDoc = new URI(location);
         IPath p = URIUtil.toPath(acDoc);
         if (p == null) {
             URL url = acDoc.toURL();
             URLConnection c = url.openConnection();
             c.setReadTimeout(5000); // pick a timeout value less than 15s (default)
-            return c.getInputStream();
-        } else {
-            // Try to open the file local to the plug-in declaring the
-            // extension...or fall back to the libhover plug-in itself
-            // if no name space for the plug-in is stored.
-            Bundle bundle = LibhoverPlugin.getDefault().getBundle();
-            String nameSpace = getNameSpace();
-            if (nameSpace != null) {
-                bundle = Platform.getBundle(nameSpace);
+            long lastModified = c.getLastModified();
+            File cache = getIndexCacheFile(location + ':' + lastModified + ':' + c.getContentLengthLong());
+            if (lastModified != 0 && cache != null && cache.exists()) {
+                if (c instanceof HttpURLConnection) {
+                    ((HttpURLConnection) c).disconnect();
+                }
+                return LibHoverIndex.open(cache);
             }
-            try {
-                return FileLocator.openStream(bundle, p, false);
-            } catch (IOException e) {
-                // File is not local to plug-in, try file system.
-                return new FileInputStream(p.toFile());
+            try (InputStream docStream = c.getInputStream()) {
+                return createIndex(docStream, cache);
+            }
+        }
+        File file = getLocalFile(p);
+        if (isIndexFile(file)) {
+            return LibHoverIndex.open(file);
+        }
+        File cache = getIndexCacheFile(file.getAbsolutePath() + ':' + file.lastModified() + ':' + file.length());
+        if (cache != null && cache.exists()) {
+            return LibHoverIndex.open(cache);
+        }
+        try (InputStream docStream = new FileInputStream(file)) {
+            return createIndex(docStream, cache);
+        }
+    }
+
+    private File getLocalFile(IPath p) throws IOException {
+        // Try to find the file local to the plug-in declaring the
+        // extension...or fall back to the libhover plug-in itself
+        // if no name space for the plug-in is stored.
+        Bundle bundle = LibhoverPlugin.getDefault().getBundle();
+        String nameSpace = getNameSpace();
+        if (nameSpace != null) {
+            bundle = Platform.getBundle(nameSpace);
+        }
+        URL url = bundle != null ? FileLocator.find(bundle, p, null) : null;
+        if (url != null) {
+            return new File(FileLocator.toFileURL(url).getPath());
+        }
+        // File is not local to plug-in, try file system.
+        return p.toFile();
+    }
+
+    private static boolean isIndexFile(File file) throws IOException {
+        if (!file.isFile()) {
+            return false;
+        }
+        try (InputStream in = new FileInputStream(file)) {
+            return LibHoverIndex.isIndex(readHeader(in));
+        }
+    }
+
+    private static byte[] readHeader(InputStream in) throws IOException {
+        byte[] header = new byte[Integer.BYTES];
+        int length = 0;
+        while (length < header.length) {
+            int n = in.read(header, length, header.length - length);
+            if (n < 0) {
+                return Arrays.copyOf(header, length);
+            }
+            length += n;
+        }
+        return header;
+    }
+
+    private File getIndexCacheFile(String stamp) {
+        File dir;
+        try {
+            dir = LibhoverPlugin.getDefault().getStateLocation().append("index").toFile(); //$NON-NLS-1$
+        } catch (IllegalStateException e) {
+            // not running in a workspace, the index is kept in memory
+            return null;
+        }
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            return null;
+        }
+        String prefix = name.replaceAll("\\W", "_") + (isCPP ? "-cpp-" : "-c-"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+        return new File(dir, prefix + Integer.toHexString(stamp.hashCode()) + INDEX_SUFFIX);
+    }
+
+    private static LibHoverIndex createIndex(InputStream docStream, File cache) throws IOException {
+        BufferedInputStream in = new BufferedInputStream(docStream);
+        in.mark(Integer.BYTES);
+        boolean isIndex = LibHoverIndex.isIndex(readHeader(in));
+        in.reset();
+        if (cache == null) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            writeIndex(in, out, isIndex);
+            return LibHoverIndex.open(out.toByteArray());
+        }
+        File tmp = new File(cache.getPath() + ".tmp"); //$NON-NLS-1$
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(tmp))) {
+            writeIndex(in, out, isIndex);
+        } catch (IOException e) {
+            tmp.delete();
+            throw e;
+        }
+        Files.move(tmp.toPath(), cache.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        // remove the indexes of previous versions of the library
+        String prefix = cache.getName().substring(0, cache.getName().lastIndexOf('-') + 1);
+        File[] stale = cache.getParentFile().listFiles((dir, fileName) -> fileName.startsWith(prefix)
+                && fileName.endsWith(INDEX_SUFFIX) && !fileName.equals(cache.getName()));
+        if (stale != null) {
+            for (File f : stale) {
+                f.delete();
+            }
+        }
+        return LibHoverIndex.open(cache);
+    }
+
+    private static void writeIndex(InputStream in, OutputStream out, boolean isIndex) throws IOException {
+        if (isIndex) {
+            byte[] buffer = new byte[8192];
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                out.write(buffer, 0, n);
             }
+        } else {
+            LibHoverIndex.convert(in, out);
         }
     }
 
@@ -162,6 +304,54 @@ public class LibHoverLibrary {
      */
     public synchronized void setHoverinfo(LibHoverInfo hoverInfo) {
         this.hoverInfo = hoverInfo;
+        this.index = null;
+        this.haveReadHoverInfo = true;
+        LibHover.clearMatchingFunctionsCache();
+    }
+
+    /**
+     * Save the library hover info as an index.
+     *
+     * @param out the stream to write to, left open
+     * @throws IOException if the index can't be written
+     */
+    public synchronized void save(OutputStream out) throws IOException {
+        loadHoverInfo();
+        if (hoverInfo == null && index != null) {
+            index.writeTo(out);
+        } else {
+            LibHoverIndex.write(hoverInfo != null ? hoverInfo : new LibHoverInfo(), out);
+        }
+    }
+
+    private synchronized Map<String, ClassInfo> getClasses() {
+        loadHoverInfo();
+        if (hoverInfo != null) {
+            return hoverInfo.classes;
+        }
+        if (index != null) {
+            try {
+                return index.getClasses();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+        return Collections.emptyMap();
+    }
+
+    private synchronized Map<String, TypedefInfo> getTypedefs() {
+        loadHoverInfo();
+        if (hoverInfo != null) {
+            return hoverInfo.typedefs;
+        }
+        if (index != null) {
+            try {
+                return index.getTypedefs();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+        return Collections.emptyMap();
     }
 
     /**
@@ -172,7 +362,7 @@ public class LibHoverLibrary {
      */
     public ClassInfo getClassInfo(String className, ArrayList<String> templateTypes) {
         String typedefName = className.replaceAll("<.*>", "<>"); //$NON-NLS-1$ //$NON-NLS-2$
-        TypedefInfo typedef = getHoverInfo().typedefs.get(typedefName);
+        TypedefInfo typedef = getTypedefs().get(typedefName);
         if (typedef != null) {
             className = typedef.getTransformedType(className);  // Reset class name to typedef transformation
         }
@@ -183,7 +373,7 @@ public class LibHoverLibrary {
             // It is.  We want to see if there are partial specific templates
             // and we choose the first match.  If nothing matches our particular
             // case, we fall back on the initial generic template.
-            ClassInfo info = getHoverInfo().classes.get(className.substring(0, index));
+            ClassInfo info = getClasses().get(className.substring(0, index));
             if (info != null) {
                 ArrayList<ClassInfo> children = info.getChildren();
                 if (children != null && children.size() > 0) {
@@ -199,7 +389,7 @@ public class LibHoverLibrary {
             return info;
         }
         // Otherwise no template, just fetch the class info directly.
-        return getHoverInfo().classes.get(className);
+        return getClasses().get(className);
     }
 
     private void resolveTemplateTypes(String className,
@@ -238,7 +428,43 @@ public class LibHoverLibrary {
      * @return FunctionInfo or null if no function info exists
      */
     public FunctionInfo getFunctionInfo(String name) {
-        return getHoverInfo().functions.get(name);
+        LibHoverIndex libIndex;
+        synchronized (this) {
+            loadHoverInfo();
+            if (hoverInfo != null) {
+                return hoverInfo.functions.get(name);
+            }
+            libIndex = index;
+        }
+        // the index can be read without holding the library lock
+        return libIndex != null ? libIndex.getFunction(name) : null;
     }
-}
 
+    /**
+     * Fetch the functions whose name starts with the given prefix.
+     *
+     * @param prefix the prefix of the function names
+     * @return the matching functions, sorted by name
+     */
+    public List<FunctionInfo> getMatchingFunctions(String prefix) {
+        LibHoverIndex libIndex;
+        synchronized (this) {
+            loadHoverInfo();
+            if (hoverInfo != null) {
+                return new ArrayList<>(hoverInfo.functions.subMap(prefix, prefix + Character.MAX_VALUE).values());
+            }
+            libIndex = index;
+        }
+        List<FunctionInfo> result = new ArrayList<>();
+        if (libIndex != null) {
+            int position = libIndex.findFunction(prefix);
+            for (int i = position >= 0 ? position : -position - 1; i < libIndex.getFunctionCount(); ++i) {
+                if (!libIndex.getFunctionName(i).startsWith(prefix)) {
+                    break;
+                }
+                result.add(libIndex.getFunction(i));
+            }
+        }
+        return result;
+    }
+}
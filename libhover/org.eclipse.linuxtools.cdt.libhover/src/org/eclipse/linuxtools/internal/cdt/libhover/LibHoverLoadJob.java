@@ -35,7 +35,7 @@ public class LibHoverLoadJob extends Job {
         LibHover.getLibHoverDocs();
         Collection<LibHoverLibrary> c = LibHover.getLibraries();
         for (LibHoverLibrary l : c) {
-            l.getHoverInfo();
+            l.loadHoverInfo();
         }
         monitor.done();
         return Status.OK_STATUS;
@@ -12,11 +12,13 @@
  *******************************************************************************/
 package org.eclipse.linuxtools.internal.cdt.libhover.utils;
 
+import java.io.BufferedOutputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.ObjectOutputStream;
+import java.io.OutputStream;
 
 import org.eclipse.linuxtools.cdt.libhover.LibHoverInfo;
+import org.eclipse.linuxtools.internal.cdt.libhover.LibHoverIndex;
 import org.w3c.dom.Document;
 
 public abstract class LibhoverInfoGenerator {
@@ -31,9 +33,8 @@ public abstract class LibhoverInfoGenerator {
 	protected abstract LibHoverInfo doGenerate();
 
 	protected void save(LibHoverInfo hoverInfo, String fileName){
-		try (FileOutputStream f = new FileOutputStream(fileName);
-				ObjectOutputStream out = new ObjectOutputStream(f)) {
-			out.writeObject(hoverInfo);
+		try (OutputStream out = new BufferedOutputStream(new FileOutputStream(fileName))) {
+			LibHoverIndex.write(hoverInfo, out);
 		}catch(IOException ioException){
 			ioException.printStackTrace();
 		}
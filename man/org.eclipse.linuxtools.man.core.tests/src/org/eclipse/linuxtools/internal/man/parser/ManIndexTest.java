@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.linuxtools.internal.man.parser;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ManIndexTest {
+
+	private static final String[] SECTION_ORDER = { "3", "1" }; //$NON-NLS-1$ //$NON-NLS-2$
+
+	@Rule
+	public TemporaryFolder tmp = new TemporaryFolder();
+
+	private Path manPath;
+
+	@Before
+	public void setUp() throws IOException {
+		manPath = tmp.newFolder("man").toPath(); //$NON-NLS-1$
+	}
+
+	private Path addPage(String path) throws IOException {
+		Path page = manPath.resolve(path);
+		Files.createDirectories(page.getParent());
+		return Files.createFile(page);
+	}
+
+	private ManIndex newIndex(List<String> localeDirs, long refreshInterval) {
+		return new ManIndex(null, () -> Collections.singletonList(manPath),
+				SECTION_ORDER, localeDirs, refreshInterval);
+	}
+
+	@Test
+	public void testFindPageSectionOrder() throws IOException {
+		Path foo1 = addPage("man1/foo.1"); //$NON-NLS-1$
+		Path foo3 = addPage("man3/foo.3"); //$NON-NLS-1$
+		Path bar8 = addPage("man8/bar.8.gz"); //$NON-NLS-1$
+		ManIndex index = newIndex(Collections.emptyList(), 0);
+
+		// the sections are searched in the configured order
+		assertEquals(foo3, index.findPage("foo")); //$NON-NLS-1$
+		assertEquals(foo1, index.findPage("foo", "1")); //$NON-NLS-1$ //$NON-NLS-2$
+		// pages of the other sections are still found when no section is given
+		assertEquals(bar8, index.findPage("bar")); //$NON-NLS-1$
+		assertNull(index.findPage("bar", "1")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertNull(index.findPage("baz")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testFindPageTranslated() throws IOException {
+		addPage("man1/foo.1"); //$NON-NLS-1$
+		Path translated = addPage("de/man1/foo.1"); //$NON-NLS-1$
+		// pages in other languages are ignored
+		addPage("fr/man1/foo.1"); //$NON-NLS-1$
+		ManIndex index = newIndex(ManIndex.getLocaleDirs("de_DE.UTF-8"), 0); //$NON-NLS-1$
+
+		assertEquals(translated, index.findPage("foo")); //$NON-NLS-1$
+		assertEquals(translated, index.findPage("foo", "1")); //$NON-NLS-1$ //$NON-NLS-2$
+		// the translated page replaces the page of the same section
+		assertEquals(1, index.getPages().size());
+		assertEquals(translated, index.getPages().get(0).getPath());
+	}
+
+	@Test
+	public void testFindPageStale() throws IOException {
+		addPage("man1/foo.1"); //$NON-NLS-1$
+		ManIndex index = newIndex(Collections.emptyList(), 0);
+		ManIndex throttled = newIndex(Collections.emptyList(), 3600000);
+		assertNull(index.findPage("bar")); //$NON-NLS-1$
+		assertNull(throttled.findPage("bar")); //$NON-NLS-1$
+
+		Path bar = addPage("man1/bar.1"); //$NON-NLS-1$
+		// make sure the modification time of the directory changed
+		Files.setLastModifiedTime(bar.getParent(), FileTime.fromMillis(0));
+		assertEquals(bar, index.findPage("bar")); //$NON-NLS-1$
+		// the directories are not checked again until the interval elapsed
+		assertNull(throttled.findPage("bar")); //$NON-NLS-1$
+		throttled.refresh();
+		assertEquals(bar, throttled.findPage("bar")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testGetSectionOrder() throws IOException {
+		Path config = tmp.newFile("man_db.conf").toPath(); //$NON-NLS-1$
+		Files.write(config, Arrays.asList("# SECTION 9", //$NON-NLS-1$
+				"MANDATORY_MANPATH /usr/man", //$NON-NLS-1$
+				"SECTION 1 8 2 3")); //$NON-NLS-1$
+		Path missing = tmp.getRoot().toPath().resolve("manpath.config"); //$NON-NLS-1$
+		List<Path> configs = Arrays.asList(missing, config);
+
+		assertArrayEquals(new String[] { "1", "8", "2", "3" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+				ManIndex.getSectionOrder(null, configs));
+		// MANSECT takes precedence over the configuration
+		assertArrayEquals(new String[] { "3", "1" }, //$NON-NLS-1$ //$NON-NLS-2$
+				ManIndex.getSectionOrder("3:1", configs)); //$NON-NLS-1$
+		assertEquals("1", ManIndex.getSectionOrder(null, //$NON-NLS-1$
+				Collections.singletonList(missing))[0]);
+	}
+
+	@Test
+	public void testGetLocaleDirs() {
+		assertEquals(Arrays.asList("de_DE.UTF-8@euro", "de_DE.UTF-8", "de_DE", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				"de"), ManIndex.getLocaleDirs("de_DE.UTF-8@euro")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(Arrays.asList("pt_BR", "pt"), //$NON-NLS-1$ //$NON-NLS-2$
+				ManIndex.getLocaleDirs("pt_BR")); //$NON-NLS-1$
+		assertEquals(Collections.emptyList(), ManIndex.getLocaleDirs("C.UTF-8")); //$NON-NLS-1$
+		assertEquals(Collections.emptyList(), ManIndex.getLocaleDirs(null));
+	}
+}
@@ -0,0 +1,537 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.linuxtools.internal.man.parser;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.Status;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.FrameworkUtil;
+
+/**
+ * An index of the installed manual pages, kept in the state location of the
+ * plug-in between sessions. The index is refreshed when it is used, at most
+ * every few seconds, and the pages of each manual section directory are
+ * listed again only when the modification time of the directory changed.
+ */
+public class ManIndex {
+
+	private static final String INDEX_FILE = "man.index"; //$NON-NLS-1$
+	private static final int INDEX_VERSION = 1;
+	private static final int MAX_SCAN_THREADS = 4;
+	private static final String GZ = ".gz"; //$NON-NLS-1$
+	private static final long REFRESH_INTERVAL = TimeUnit.SECONDS.toMillis(10);
+
+	// Order in which man looks for a page in the sections when none is given,
+	// unless MANSECT is set or the configuration of man gives another one
+	private static final String[] DEFAULT_SECTION_ORDER = { "1", "n", "l", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			"8", "3", "2", "3posix", "3pm", "3perl", "3am", "5", "4", "9", "6", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$ //$NON-NLS-8$ //$NON-NLS-9$ //$NON-NLS-10$ //$NON-NLS-11$
+			"7" }; //$NON-NLS-1$
+	private static final String MANSECT = "MANSECT"; //$NON-NLS-1$
+	// Configuration files of man-db, which may give the section order
+	private static final List<Path> MAN_CONFIGS = Arrays.asList(
+			Paths.get("/etc/man_db.conf"), //$NON-NLS-1$
+			Paths.get("/etc/manpath.config")); //$NON-NLS-1$
+	private static final Pattern WHITESPACE = Pattern.compile("\\s+"); //$NON-NLS-1$
+	// Locale variables man uses to find translated pages, by precedence
+	private static final String[] LOCALE_VARIABLES = { "LC_ALL", //$NON-NLS-1$
+			"LC_MESSAGES", "LANG" }; //$NON-NLS-1$ //$NON-NLS-2$
+
+	// Only manual section directories are indexed
+	private static final Pattern SECTION_DIR = Pattern
+			.compile("^man\\d[xp]?"); //$NON-NLS-1$
+
+	private static ManIndex instance;
+
+	/**
+	 * A manual page.
+	 */
+	public static final class Page {
+
+		private final String name;
+		private final String sectionId;
+		private final Path path;
+
+		private Page(String name, String sectionId, Path path) {
+			this.name = name;
+			this.sectionId = sectionId;
+			this.path = path;
+		}
+
+		/**
+		 * @return the name of the page, e.g.: "ls"
+		 */
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * @return the section identifier of the page, e.g.: "1" or "3pm"
+		 */
+		public String getSectionId() {
+			return sectionId;
+		}
+
+		/**
+		 * @return the source file of the page
+		 */
+		public Path getPath() {
+			return path;
+		}
+	}
+
+	/**
+	 * The file names of a section directory at a given modification time.
+	 */
+	private static final class SectionDir {
+
+		private final long modified;
+		private final List<String> fileNames;
+
+		private SectionDir(long modified, List<String> fileNames) {
+			this.modified = modified;
+			this.fileNames = fileNames;
+		}
+	}
+
+	private final File indexFile;
+	private final Supplier<List<Path>> manPathsSupplier;
+	private final String[] sectionOrder;
+	private final List<String> localeDirs;
+	private final long refreshInterval;
+	// Section directories by man path, in the order man searches them
+	private Map<Path, List<Path>> manPaths = new LinkedHashMap<>();
+	private Map<Path, SectionDir> sectionDirs = new HashMap<>();
+	private volatile List<Page> pages = Collections.emptyList();
+	private volatile Map<String, List<Page>> pagesByName = Collections
+			.emptyMap();
+	private boolean refreshed;
+	private long refreshTime;
+
+	private ManIndex(File indexFile) {
+		this(indexFile, ManParser::getManPaths,
+				getSectionOrder(System.getenv(MANSECT), MAN_CONFIGS),
+				getLocaleDirs(getLocale()), REFRESH_INTERVAL);
+	}
+
+	/**
+	 * @param indexFile
+	 *            the file in which the index is saved, or <code>null</code>
+	 * @param manPathsSupplier
+	 *            the man paths, in the order man searches them
+	 * @param sectionOrder
+	 *            the order in which man searches the sections
+	 * @param localeDirs
+	 *            the subdirectories of the man paths holding the translated
+	 *            pages, by precedence
+	 * @param refreshInterval
+	 *            the minimum time between two refreshes, in milliseconds
+	 */
+	ManIndex(File indexFile, Supplier<List<Path>> manPathsSupplier,
+			String[] sectionOrder, List<String> localeDirs,
+			long refreshInterval) {
+		this.indexFile = indexFile;
+		this.manPathsSupplier = manPathsSupplier;
+		this.sectionOrder = sectionOrder;
+		this.localeDirs = localeDirs;
+		this.refreshInterval = TimeUnit.MILLISECONDS.toNanos(refreshInterval);
+		load();
+	}
+
+	/**
+	 * @return the index of the manual pages, loaded from the state location
+	 *         of the plug-in if it was saved by a previous session
+	 */
+	public static synchronized ManIndex getInstance() {
+		if (instance == null) {
+			File indexFile = null;
+			try {
+				Bundle bundle = FrameworkUtil.getBundle(ManIndex.class);
+				indexFile = Platform.getStateLocation(bundle)
+						.append(INDEX_FILE).toFile();
+			} catch (IllegalStateException e) {
+				// no instance location, the index is not saved
+			}
+			instance = new ManIndex(indexFile);
+		}
+		return instance;
+	}
+
+	/**
+	 * Returns all the installed manual pages, refreshing the index if it was
+	 * not refreshed recently. A page translated in the language of the user
+	 * replaces the page of the same name and section.
+	 *
+	 * @return the pages in the order man searches them
+	 */
+	public List<Page> getPages() {
+		ensureRefreshed();
+		return pages;
+	}
+
+	/**
+	 * Looks up a manual page the way man would, without running man.
+	 *
+	 * @param name
+	 *            the name of the page
+	 * @param sections
+	 *            the sections in which to look for the page, in order, or
+	 *            none to look in all sections in the order man uses
+	 * @return the source file of the page, or <code>null</code> if the page is
+	 *         not in the index
+	 */
+	public Path findPage(String name, String... sections) {
+		ensureRefreshed();
+		List<Page> candidates = pagesByName.get(name);
+		if (candidates == null) {
+			return null;
+		}
+		boolean anySection = sections == null || sections.length == 0;
+		if (anySection) {
+			sections = sectionOrder;
+		}
+		for (String section : sections) {
+			for (Page page : candidates) {
+				String dirSection = page.getPath().getParent().getFileName()
+						.toString().substring(3);
+				if (page.getSectionId().equals(section)
+						|| dirSection.equals(section)) {
+					return page.getPath();
+				}
+			}
+		}
+		// pages of the sections man does not search first are found in the
+		// order of the man paths
+		return anySection ? candidates.get(0).getPath() : null;
+	}
+
+	/**
+	 * Returns the order in which man searches the sections: the one given by
+	 * MANSECT, else the one of the SECTION line of the first configuration
+	 * file having one, else the default order of man-db.
+	 */
+	static String[] getSectionOrder(String mansect, List<Path> configs) {
+		if (mansect != null && !mansect.trim().isEmpty()) {
+			return mansect.trim().split(":"); //$NON-NLS-1$
+		}
+		for (Path config : configs) {
+			if (!Files.isReadable(config)) {
+				continue;
+			}
+			try {
+				for (String line : Files.readAllLines(config)) {
+					String[] fields = WHITESPACE.split(line.trim());
+					if (fields.length > 1 && (fields[0].equals("SECTION") //$NON-NLS-1$
+							|| fields[0].equals("SECTIONS"))) { //$NON-NLS-1$
+						return Arrays.copyOfRange(fields, 1, fields.length);
+					}
+				}
+			} catch (IOException e) {
+				log(e);
+			}
+		}
+		return DEFAULT_SECTION_ORDER;
+	}
+
+	private static String getLocale() {
+		for (String variable : LOCALE_VARIABLES) {
+			String value = System.getenv(variable);
+			if (value != null && !value.isEmpty()) {
+				return value;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the directories in which man looks for the pages translated in
+	 * the given locale, e.g.: "de_DE.UTF-8", "de_DE" and "de".
+	 */
+	static List<String> getLocaleDirs(String locale) {
+		List<String> dirs = new ArrayList<>();
+		if (locale == null || locale.isEmpty() || locale.equals("C") //$NON-NLS-1$
+				|| locale.startsWith("C.") || locale.equals("POSIX")) { //$NON-NLS-1$ //$NON-NLS-2$
+			return dirs;
+		}
+		dirs.add(locale);
+		String dir = locale;
+		for (char separator : new char[] { '@', '.', '_' }) {
+			int index = dir.indexOf(separator);
+			if (index > 0) {
+				dir = dir.substring(0, index);
+				if (!dirs.contains(dir)) {
+					dirs.add(dir);
+				}
+			}
+		}
+		return dirs;
+	}
+
+	private void ensureRefreshed() {
+		synchronized (this) {
+			if (refreshed
+					&& System.nanoTime() - refreshTime < refreshInterval) {
+				return;
+			}
+		}
+		refresh();
+	}
+
+	/**
+	 * Brings the index up to date with the man paths. Only the section
+	 * directories that were added or modified since the last refresh are
+	 * listed, in parallel. The translated pages of a man path come before its
+	 * other pages, as man searches them first.
+	 */
+	public synchronized void refresh() {
+		refreshed = true;
+		refreshTime = System.nanoTime();
+		List<Path> searchPaths = new ArrayList<>();
+		for (Path manPath : manPathsSupplier.get()) {
+			for (String localeDir : localeDirs) {
+				Path localePath = manPath.resolve(localeDir);
+				if (Files.isDirectory(localePath)) {
+					searchPaths.add(localePath);
+				}
+			}
+			searchPaths.add(manPath);
+		}
+		Map<Path, List<Path>> newManPaths = new LinkedHashMap<>();
+		Map<Path, SectionDir> newSectionDirs = new HashMap<>();
+		Map<Path, Long> changed = new HashMap<>();
+		for (Path manPath : searchPaths) {
+			if (Files.notExists(manPath) || newManPaths.containsKey(manPath)) {
+				continue;
+			}
+			List<Path> dirs = new ArrayList<>();
+			try (DirectoryStream<Path> manPathStream = Files.newDirectoryStream(
+					manPath,
+					path -> Files.isDirectory(path) && SECTION_DIR
+							.matcher(path.getFileName().toString())
+							.matches())) {
+				for (Path sectionPath : manPathStream) {
+					dirs.add(sectionPath);
+					long modified = Files.getLastModifiedTime(sectionPath)
+							.toMillis();
+					SectionDir known = sectionDirs.get(sectionPath);
+					if (known != null && known.modified == modified) {
+						newSectionDirs.put(sectionPath, known);
+					} else {
+						changed.put(sectionPath, modified);
+					}
+				}
+			} catch (IOException e) {
+				log(e);
+			}
+			Collections.sort(dirs);
+			newManPaths.put(manPath, dirs);
+		}
+		boolean modified = !changed.isEmpty()
+				|| !newManPaths.equals(manPaths)
+				|| newSectionDirs.size() != sectionDirs.size();
+		newSectionDirs.putAll(scan(changed));
+		manPaths = newManPaths;
+		sectionDirs = newSectionDirs;
+		if (modified || pagesByName.isEmpty()) {
+			buildPages();
+		}
+		if (modified) {
+			save();
+		}
+	}
+
+	private Map<Path, SectionDir> scan(Map<Path, Long> dirs) {
+		Map<Path, SectionDir> result = new HashMap<>();
+		if (dirs.isEmpty()) {
+			return result;
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(
+				Math.min(dirs.size(), MAX_SCAN_THREADS));
+		try {
+			Map<Path, Future<List<String>>> futures = new HashMap<>();
+			for (Path dir : dirs.keySet()) {
+				futures.put(dir, executor.submit(() -> list(dir)));
+			}
+			for (Map.Entry<Path, Future<List<String>>> entry : futures
+					.entrySet()) {
+				try {
+					result.put(entry.getKey(), new SectionDir(
+							dirs.get(entry.getKey()), entry.getValue().get()));
+				} catch (ExecutionException e) {
+					log(e.getCause());
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			executor.shutdownNow();
+		}
+		return result;
+	}
+
+	private static List<String> list(Path dir) throws IOException {
+		List<String> fileNames = new ArrayList<>();
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+			for (Path path : stream) {
+				fileNames.add(path.getFileName().toString());
+			}
+		}
+		Collections.sort(fileNames);
+		return fileNames;
+	}
+
+	private void buildPages() {
+		List<Page> newPages = new ArrayList<>();
+		Map<String, List<Page>> newPagesByName = new HashMap<>();
+		// names and sections of the pages listed, a translated page hiding
+		// the pages that follow it
+		Set<String> listed = new HashSet<>();
+		for (List<Path> dirs : manPaths.values()) {
+			for (Path dir : dirs) {
+				SectionDir sectionDir = sectionDirs.get(dir);
+				if (sectionDir == null) {
+					continue;
+				}
+				for (String fileName : sectionDir.fileNames) {
+					String pageName = fileName;
+					if (pageName.endsWith(GZ)) {
+						pageName = pageName.substring(0,
+								pageName.length() - GZ.length());
+					}
+					int dot = pageName.lastIndexOf('.');
+					if (dot <= 0 || dot == pageName.length() - 1) {
+						continue;
+					}
+					Page page = new Page(pageName.substring(0, dot),
+							pageName.substring(dot + 1), dir.resolve(fileName));
+					if (listed.add(pageName)) {
+						newPages.add(page);
+					}
+					newPagesByName
+							.computeIfAbsent(page.getName(),
+									k -> new ArrayList<>(1))
+							.add(page);
+				}
+			}
+		}
+		pages = Collections.unmodifiableList(newPages);
+		pagesByName = newPagesByName;
+	}
+
+	private void load() {
+		if (indexFile == null || !indexFile.isFile()) {
+			return;
+		}
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+				new FileInputStream(indexFile)))) {
+			if (in.readInt() != INDEX_VERSION) {
+				return;
+			}
+			Map<Path, List<Path>> loadedManPaths = new LinkedHashMap<>();
+			Map<Path, SectionDir> loadedSectionDirs = new HashMap<>();
+			int manPathCount = in.readInt();
+			for (int i = 0; i < manPathCount; i++) {
+				Path manPath = Paths.get(in.readUTF());
+				int dirCount = in.readInt();
+				List<Path> dirs = new ArrayList<>(dirCount);
+				for (int j = 0; j < dirCount; j++) {
+					Path dir = manPath.resolve(in.readUTF());
+					long modified = in.readLong();
+					int fileCount = in.readInt();
+					List<String> fileNames = new ArrayList<>(fileCount);
+					for (int k = 0; k < fileCount; k++) {
+						fileNames.add(in.readUTF());
+					}
+					dirs.add(dir);
+					loadedSectionDirs.put(dir,
+							new SectionDir(modified, fileNames));
+				}
+				loadedManPaths.put(manPath, dirs);
+			}
+			manPaths = loadedManPaths;
+			sectionDirs = loadedSectionDirs;
+			buildPages();
+		} catch (IOException e) {
+			// a corrupted index is rebuilt by the next refresh
+			log(e);
+		}
+	}
+
+	private void save() {
+		if (indexFile == null) {
+			return;
+		}
+		try (DataOutputStream out = new DataOutputStream(
+				new BufferedOutputStream(new FileOutputStream(indexFile)))) {
+			out.writeInt(INDEX_VERSION);
+			out.writeInt(manPaths.size());
+			for (Map.Entry<Path, List<Path>> entry : manPaths.entrySet()) {
+				out.writeUTF(entry.getKey().toString());
+				List<Path> dirs = new ArrayList<>();
+				for (Path dir : entry.getValue()) {
+					if (sectionDirs.containsKey(dir)) {
+						dirs.add(dir);
+					}
+				}
+				out.writeInt(dirs.size());
+				for (Path dir : dirs) {
+					SectionDir sectionDir = sectionDirs.get(dir);
+					out.writeUTF(dir.getFileName().toString());
+					out.writeLong(sectionDir.modified);
+					out.writeInt(sectionDir.fileNames.size());
+					for (String fileName : sectionDir.fileNames) {
+						out.writeUTF(fileName);
+					}
+				}
+			}
+		} catch (IOException e) {
+			log(e);
+		}
+	}
+
+	private static void log(Throwable e) {
+		Bundle bundle = FrameworkUtil.getBundle(ManIndex.class);
+		Status status = new Status(IStatus.ERROR, bundle.getSymbolicName(),
+				e.getMessage(), e);
+		Platform.getLog(bundle).log(status);
+	}
+}
@@ -0,0 +1,198 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.linuxtools.internal.man.parser;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.core.runtime.Platform;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.FrameworkUtil;
+
+/**
+ * A cache of formatted manual pages, kept in the state location of the plug-in
+ * between sessions. The pages are keyed by their source file, its
+ * modification time and the output format, so that a page is formatted again
+ * when its source is updated. The least recently used pages are removed when
+ * the size of the cache goes over {@link #MAX_SIZE}.
+ */
+public class ManPageCache {
+
+	/** Maximum total size of the cached pages, in bytes. */
+	private static final long MAX_SIZE = 32 * 1024 * 1024;
+	private static final String CACHE_DIR = "pages"; //$NON-NLS-1$
+	private static final String TMP_SUFFIX = ".tmp"; //$NON-NLS-1$
+
+	private static ManPageCache instance;
+
+	private final File cacheDir;
+	// Sizes of the cached pages by file name, least recently used first
+	private final Map<String, Long> entries = new LinkedHashMap<>(16, 0.75f,
+			true);
+	private long size;
+
+	private ManPageCache(File cacheDir) {
+		this.cacheDir = cacheDir;
+		if (cacheDir != null) {
+			load();
+		}
+	}
+
+	/**
+	 * @return the cache of formatted manual pages
+	 */
+	public static synchronized ManPageCache getInstance() {
+		if (instance == null) {
+			File cacheDir = null;
+			try {
+				Bundle bundle = FrameworkUtil.getBundle(ManPageCache.class);
+				cacheDir = Platform.getStateLocation(bundle).append(CACHE_DIR)
+						.toFile();
+				if (!cacheDir.isDirectory() && !cacheDir.mkdirs()) {
+					cacheDir = null;
+				}
+			} catch (IllegalStateException e) {
+				// no instance location, nothing is cached
+			}
+			instance = new ManPageCache(cacheDir);
+		}
+		return instance;
+	}
+
+	/**
+	 * Returns a formatted page.
+	 *
+	 * @param source
+	 *            the source file of the page
+	 * @param modified
+	 *            the modification time of the source file
+	 * @param format
+	 *            the output format, e.g.: "html"
+	 * @return the formatted page, or <code>null</code> if it is not cached
+	 */
+	public synchronized byte[] get(Path source, long modified, String format) {
+		if (cacheDir == null) {
+			return null;
+		}
+		String name = getName(source, modified, format);
+		if (entries.get(name) == null) {
+			return null;
+		}
+		File file = new File(cacheDir, name);
+		try {
+			byte[] content = Files.readAllBytes(file.toPath());
+			// the modification time orders the entries in the next session
+			file.setLastModified(System.currentTimeMillis());
+			return content;
+		} catch (IOException e) {
+			remove(name);
+			return null;
+		}
+	}
+
+	/**
+	 * Adds a formatted page, removing the least recently used ones if the
+	 * cache is full.
+	 *
+	 * @param source
+	 *            the source file of the page
+	 * @param modified
+	 *            the modification time of the source file
+	 * @param format
+	 *            the output format, e.g.: "html"
+	 * @param content
+	 *            the formatted page
+	 */
+	public synchronized void put(Path source, long modified, String format,
+			byte[] content) {
+		if (cacheDir == null || content.length > MAX_SIZE) {
+			return;
+		}
+		String name = getName(source, modified, format);
+		Path file = new File(cacheDir, name).toPath();
+		Path tmp = new File(cacheDir, name + TMP_SUFFIX).toPath();
+		try {
+			Files.write(tmp, content);
+			Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			tmp.toFile().delete();
+			return;
+		}
+		Long previous = entries.put(name, Long.valueOf(content.length));
+		if (previous != null) {
+			size -= previous.longValue();
+		}
+		size += content.length;
+		Iterator<Map.Entry<String, Long>> it = entries.entrySet().iterator();
+		while (size > MAX_SIZE && it.hasNext()) {
+			Map.Entry<String, Long> entry = it.next();
+			if (entry.getKey().equals(name)) {
+				continue;
+			}
+			new File(cacheDir, entry.getKey()).delete();
+			size -= entry.getValue().longValue();
+			it.remove();
+		}
+	}
+
+	private void remove(String name) {
+		Long length = entries.remove(name);
+		if (length != null) {
+			size -= length.longValue();
+		}
+		new File(cacheDir, name).delete();
+	}
+
+	private void load() {
+		File[] files = cacheDir.listFiles();
+		if (files == null) {
+			return;
+		}
+		Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+		for (File file : files) {
+			if (file.getName().endsWith(TMP_SUFFIX)) {
+				file.delete();
+			} else if (file.isFile()) {
+				entries.put(file.getName(), Long.valueOf(file.length()));
+				size += file.length();
+			}
+		}
+	}
+
+	private static String getName(Path source, long modified, String format) {
+		String key = source.toAbsolutePath() + "\n" + modified + "\n" + format; //$NON-NLS-1$ //$NON-NLS-2$
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-1"); //$NON-NLS-1$
+			StringBuilder name = new StringBuilder();
+			for (byte b : digest.digest(key.getBytes(StandardCharsets.UTF_8))) {
+				name.append(String.format("%02x", Byte.valueOf(b))); //$NON-NLS-1$
+			}
+			return name.append('.').append(format).toString();
+		} catch (NoSuchAlgorithmException e) {
+			// every Java platform supports SHA-1
+			return Integer.toHexString(key.hashCode()) + '.' + format;
+		}
+	}
+}
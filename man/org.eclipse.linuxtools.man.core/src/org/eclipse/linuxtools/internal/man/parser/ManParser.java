@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2018 Red Hat Inc. and others.
+ * Copyright (c) 2009, 2026 Red Hat Inc. and others.
  * 
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -12,19 +12,25 @@
  *******************************************************************************/
 package org.eclipse.linuxtools.internal.man.parser;
 
+import java.io.BufferedInputStream;
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
 
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Platform;
@@ -35,9 +41,7 @@ import org.eclipse.linuxtools.internal.man.preferences.PreferenceConstants;
 import org.osgi.framework.Bundle;
 import org.osgi.framework.FrameworkUtil;
 
-import com.jcraft.jsch.Channel;
 import com.jcraft.jsch.ChannelExec;
-import com.jcraft.jsch.JSch;
 import com.jcraft.jsch.JSchException;
 import com.jcraft.jsch.Session;
 
@@ -47,6 +51,13 @@ import com.jcraft.jsch.Session;
 public class ManParser {
 
 	private static final int DEFAULT_SSH_PORT = 22;
+	/** time (in seconds) given to man on a remote machine. */
+	private static final long REMOTE_TIMEOUT = 60;
+	private static final int BUFFER_SIZE = 8192;
+	private static final String MAN_DIR_PREFIX = "man"; //$NON-NLS-1$
+	private static final String GZ = ".gz"; //$NON-NLS-1$
+	private static final String HTML_FORMAT = "html"; //$NON-NLS-1$
+	private static final String TEXT_FORMAT = "txt"; //$NON-NLS-1$
 
 	/**
 	 * Gets the list of paths returned when one runs "man -w" with no other
@@ -65,12 +76,7 @@ public class ManParser {
 		List<Path> manPaths = new ArrayList<>();
 		ProcessBuilder builder = new ProcessBuilder(params);
 		try (InputStream stdout = builder.start().getInputStream()) {
-			ByteArrayOutputStream bos = new ByteArrayOutputStream();
-			int x;
-			while ((x = stdout.read()) != -1) {
-				bos.write(x);
-			}
-			for (String path : bos.toString().trim()
+			for (String path : new String(readAll(stdout)).trim()
 					.split(File.pathSeparator)) {
 				manPaths.add(Paths.get(path));
 			}
@@ -99,6 +105,23 @@ public class ManParser {
 	 */
 	public InputStream getManPage(String page, boolean html,
 			String... sections) {
+		// Pages found in the index are formatted directly, man does not need
+		// to search for them
+		Path path = null;
+		if (page != null && !page.isEmpty()) {
+			path = ManIndex.getInstance().findPage(page, sections);
+		}
+		if (path != null && !Files.isRegularFile(path)) {
+			// the index is out of date, let man search for the page
+			path = null;
+		}
+		if (path != null) {
+			InputStream formatted = getFormattedPage(path, html);
+			if (formatted != null) {
+				return formatted;
+			}
+		}
+
 		StringBuilder sectionParam = new StringBuilder();
 		for (String section : sections) {
 			if (sectionParam.length() > 0) {
@@ -110,14 +133,20 @@ public class ManParser {
 		// Build param list
 		List<String> params = new ArrayList<>();
 		params.add(getManExecutable());
-		if (page != null && !page.isEmpty() && sectionParam.length() > 0) {
+		if (path == null && page != null && !page.isEmpty()
+				&& sectionParam.length() > 0) {
 			params.add("-S"); //$NON-NLS-1$
 			params.add(sectionParam.toString());
 		}
 		if (html) {
 			params.add("-Thtml"); //$NON-NLS-1$
 		}
-		params.add(page);
+		if (path != null) {
+			params.add("-l"); //$NON-NLS-1$
+			params.add(path.toString());
+		} else {
+			params.add(page);
+		}
 
 		ProcessBuilder builder = new ProcessBuilder(params);
 		InputStream stdout = null;
@@ -133,6 +162,133 @@ public class ManParser {
 		return stdout;
 	}
 
+	/**
+	 * Returns a page found in the index from the cache of formatted pages, or
+	 * from its pre-formatted cat page, formatting it with man otherwise.
+	 */
+	private InputStream getFormattedPage(Path path, boolean html) {
+		long modified;
+		try {
+			modified = Files.getLastModifiedTime(path).toMillis();
+		} catch (IOException e) {
+			// the index is out of date, let man search for the page
+			return null;
+		}
+		String format = html ? HTML_FORMAT : TEXT_FORMAT;
+		ManPageCache cache = ManPageCache.getInstance();
+		byte[] content = cache.get(path, modified, format);
+		if (content == null) {
+			if (!html) {
+				InputStream catPage = getCatPage(path, modified);
+				if (catPage != null) {
+					return catPage;
+				}
+			}
+			content = format(path, html);
+			if (content == null) {
+				return null;
+			}
+			cache.put(path, modified, format, content);
+		}
+		return new ByteArrayInputStream(content);
+	}
+
+	/**
+	 * Returns the pre-formatted page kept by man in the cat directory next to
+	 * the manual section directory of the given page, if it is up to date. The
+	 * overstrikes of the cat page are removed, as man does when its output is
+	 * not a terminal.
+	 */
+	private static InputStream getCatPage(Path path, long modified) {
+		Path sectionDir = path.getParent();
+		String sectionDirName = sectionDir.getFileName().toString();
+		Path catDir = sectionDir.resolveSibling(
+				"cat" + sectionDirName.substring(MAN_DIR_PREFIX.length())); //$NON-NLS-1$
+		String pageName = path.getFileName().toString();
+		if (!pageName.endsWith(GZ)) {
+			pageName += GZ;
+		}
+		Path catPage = catDir.resolve(pageName);
+		try {
+			if (Files.getLastModifiedTime(catPage).toMillis() < modified) {
+				return null;
+			}
+			try (InputStream in = new GZIPInputStream(
+					new BufferedInputStream(Files.newInputStream(catPage)),
+					BUFFER_SIZE)) {
+				return new ByteArrayInputStream(stripOverstrikes(readAll(in)));
+			}
+		} catch (IOException e) {
+			// no cat page, or not readable
+			return null;
+		}
+	}
+
+	/**
+	 * Removes the bold and underline overstrikes ("c\bc" and "_\bc") of a
+	 * formatted page, keeping the last character written at each position
+	 * like <code>col -b</code>.
+	 */
+	private static byte[] stripOverstrikes(byte[] content) {
+		byte[] stripped = new byte[content.length];
+		int length = 0;
+		for (byte b : content) {
+			if (b != '\b') {
+				stripped[length++] = b;
+				continue;
+			}
+			// remove the previous character, with all the bytes of its UTF-8
+			// encoding
+			while (length > 0 && (stripped[length - 1] & 0xC0) == 0x80) {
+				length--;
+			}
+			if (length > 0 && stripped[length - 1] != '\n') {
+				length--;
+			}
+		}
+		return Arrays.copyOf(stripped, length);
+	}
+
+	private static byte[] format(Path path, boolean html) {
+		List<String> params = new ArrayList<>();
+		params.add(getManExecutable());
+		if (html) {
+			params.add("-Thtml"); //$NON-NLS-1$
+		}
+		params.add("-l"); //$NON-NLS-1$
+		params.add(path.toString());
+
+		try {
+			Process process = new ProcessBuilder(params).start();
+			byte[] content;
+			try (InputStream stdout = process.getInputStream()) {
+				content = readAll(stdout);
+			}
+			if (process.waitFor() != 0 || content.length == 0) {
+				return null;
+			}
+			return content;
+		} catch (IOException e) {
+			Bundle bundle = FrameworkUtil.getBundle(ManParser.class);
+			Status status = new Status(IStatus.ERROR, bundle.getSymbolicName(),
+					e.getMessage());
+			Platform.getLog(bundle).log(status);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		return null;
+	}
+
+	private static byte[] readAll(InputStream in) throws IOException {
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		byte[] buffer = new byte[BUFFER_SIZE];
+		int n;
+		while ((n = in.read(buffer)) != -1) {
+			bos.write(buffer, 0, n);
+		}
+		return bos.toByteArray();
+	}
+
 	/**
 	 * Returns the raw representation of the man executable for a given man page
 	 * i.e. `man ls`.
@@ -176,64 +332,75 @@ public class ManParser {
 	public StringBuilder getRemoteRawManPage(String manPage, String user,
 			String host, String password) {
 		final StringBuilder sb = new StringBuilder();
+		final CountDownLatch eof = new CountDownLatch(1);
 		OutputStream out = new OutputStream() {
 			@Override
 			public void write(int b) throws IOException {
 				sb.append((char) b);
 			}
+
+			@Override
+			public void close() {
+				// called by JSch at the end of the output of the command
+				eof.countDown();
+			}
 		};
 		try {
-			execRemoteAndWait(new String[] { getManExecutable(), manPage }, out,
-					out, user, host, password);
+			if (!execRemoteAndWait(new String[] { getManExecutable(), manPage },
+					out, eof, user, host, password)) {
+				sb.setLength(0);
+				sb.append(Messages.ManParser_RemoteAccessError);
+			}
 		} catch (JSchException e) {
 			sb.setLength(0);
 			sb.append(Messages.ManParser_RemoteAccessError);
 		}
+		if (Thread.currentThread().isInterrupted()) {
+			// the page may have been cut short
+			sb.setLength(0);
+			sb.append(Messages.ManParser_RemoteAccessError);
+		}
 		return sb;
 	}
 
-	private static Channel execRemoteAndWait(String[] args, OutputStream out,
-			OutputStream err, String user, String host, String password)
+	/**
+	 * @return <code>false</code> if the command did not complete before
+	 *         {@link #REMOTE_TIMEOUT}, in which case its channel is
+	 *         disconnected
+	 */
+	private static boolean execRemoteAndWait(String[] args, OutputStream out,
+			CountDownLatch eof, String user, String host, String password)
 			throws JSchException {
-		Channel channel = execRemote(args, out, err, user, host, password);
-
-		while (!channel.isClosed()) {
-			try {
-				Thread.sleep(250);
-			} catch (InterruptedException e) {
-				// Thread was interrupted just return.
-				return channel;
+		Session session = SshSessionPool.acquire(user, host, DEFAULT_SSH_PORT,
+				password);
+		ChannelExec channel = null;
+		try {
+			StringBuilder command = new StringBuilder();
+			for (int i = 0; i < args.length; i++) {
+				command.append(args[i] + ' ');
 			}
-		}
 
-		return channel;
-	}
+			channel = (ChannelExec) session.openChannel("exec"); //$NON-NLS-1$
+			channel.setPty(true);
+			channel.setCommand(command.toString());
+			channel.setInputStream(null, true);
+			// the output stream is closed when the command is done, the
+			// error stream is merged by the pty
+			channel.setOutputStream(out, false);
+			channel.setExtOutputStream(out, true);
+			channel.connect();
 
-	private static Channel execRemote(String[] args, OutputStream out,
-			OutputStream err, String user, String host, String password)
-			throws JSchException {
-		JSch jsch = new JSch();
-		Session session = jsch.getSession(user, host, DEFAULT_SSH_PORT);
-		session.setPassword(password);
-		Properties config = new Properties();
-		config.put("StrictHostKeyChecking", "no"); //$NON-NLS-1$//$NON-NLS-2$
-		session.setConfig(config);
-		session.connect();
-
-		StringBuilder command = new StringBuilder();
-		for (int i = 0; i < args.length; i++) {
-			command.append(args[i] + ' ');
-		}
-
-		ChannelExec channel = (ChannelExec) session.openChannel("exec"); //$NON-NLS-1$
-		channel.setPty(true);
-		channel.setCommand(command.toString());
-		channel.setInputStream(null, true);
-		channel.setOutputStream(out, true);
-		channel.setExtOutputStream(err, true);
-		channel.connect();
-
-		return channel;
+			return eof.await(REMOTE_TIMEOUT, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			// Thread was interrupted just return.
+			Thread.currentThread().interrupt();
+			return false;
+		} finally {
+			if (channel != null) {
+				channel.disconnect();
+			}
+			SshSessionPool.release(session);
+		}
 	}
 
 	private static String getManExecutable() {
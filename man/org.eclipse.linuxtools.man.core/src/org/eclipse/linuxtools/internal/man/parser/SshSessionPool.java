@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.linuxtools.internal.man.parser;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.jcraft.jsch.JSch;
+import com.jcraft.jsch.JSchException;
+import com.jcraft.jsch.Session;
+
+/**
+ * Connected SSH sessions, kept by user, host and port so that remote commands
+ * do not each pay for a handshake and an authentication. Commands run on
+ * their own exec channel, so that several of them can share a session at the
+ * same time.
+ */
+class SshSessionPool {
+
+	/** Sessions unused for this long are disconnected, in milliseconds. */
+	private static final long IDLE_TIMEOUT = 5 * 60 * 1000;
+
+	private static final Map<String, PooledSession> sessions = new ConcurrentHashMap<>();
+
+	private SshSessionPool() {
+	}
+
+	/**
+	 * Returns a connected session, connecting it if needed. The session must
+	 * be given back with {@link #release(Session)}.
+	 *
+	 * @param user
+	 *            the name of the user
+	 * @param host
+	 *            the host to connect to
+	 * @param port
+	 *            the SSH port of the host
+	 * @param password
+	 *            the password of the user
+	 * @return a connected session
+	 * @throws JSchException
+	 *             if the connection failed
+	 */
+	static Session acquire(String user, String host, int port,
+			String password) throws JSchException {
+		closeIdleSessions();
+		PooledSession pooled = sessions.computeIfAbsent(
+				user + '@' + host + ':' + port, k -> new PooledSession());
+		synchronized (pooled) {
+			// a session in use is not disconnected for a new password
+			if (pooled.session == null || !pooled.session.isConnected()
+					|| (pooled.users == 0
+							&& !Objects.equals(pooled.password, password))) {
+				if (pooled.session != null) {
+					pooled.session.disconnect();
+				}
+				pooled.session = null;
+				pooled.session = connect(user, host, port, password);
+				pooled.password = password;
+			}
+			pooled.users++;
+			return pooled.session;
+		}
+	}
+
+	/**
+	 * Gives back a session obtained from {@link #acquire}.
+	 *
+	 * @param session
+	 *            the session
+	 */
+	static void release(Session session) {
+		for (PooledSession pooled : sessions.values()) {
+			synchronized (pooled) {
+				if (pooled.session == session) {
+					pooled.users--;
+					pooled.lastUsed = System.currentTimeMillis();
+					return;
+				}
+			}
+		}
+	}
+
+	private static Session connect(String user, String host, int port,
+			String password) throws JSchException {
+		JSch jsch = new JSch();
+		Session session = jsch.getSession(user, host, port);
+		session.setPassword(password);
+		Properties config = new Properties();
+		config.put("StrictHostKeyChecking", "no"); //$NON-NLS-1$//$NON-NLS-2$
+		session.setConfig(config);
+		// pooled sessions must not keep the workbench from exiting
+		session.setDaemonThread(true);
+		session.connect();
+		return session;
+	}
+
+	private static void closeIdleSessions() {
+		long now = System.currentTimeMillis();
+		Iterator<PooledSession> it = sessions.values().iterator();
+		while (it.hasNext()) {
+			PooledSession pooled = it.next();
+			synchronized (pooled) {
+				if (pooled.session != null && pooled.users == 0
+						&& now - pooled.lastUsed > IDLE_TIMEOUT) {
+					pooled.session.disconnect();
+					pooled.session = null;
+				}
+			}
+		}
+	}
+
+	private static class PooledSession {
+
+		private Session session;
+		private String password;
+		private int users;
+		private long lastUsed;
+	}
+}
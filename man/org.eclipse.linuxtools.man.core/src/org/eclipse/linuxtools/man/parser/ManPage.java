@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2018 Red Hat Inc. and others.
+ * Copyright (c) 2009, 2026 Red Hat Inc. and others.
  * 
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -13,6 +13,7 @@
 package org.eclipse.linuxtools.man.parser;
 
 import org.eclipse.linuxtools.internal.man.parser.ManParser;
+import org.eclipse.linuxtools.internal.man.parser.Messages;
 
 /**
  * Man page bean to ease fetching html-preformatted different parts of a man
@@ -22,6 +23,7 @@ public class ManPage {
 
 	private StringBuilder rawContent;
 	private StringBuilder strippedTextPage;
+	private boolean fetchFailed;
 
 	/**
 	 * Creates the man page which includes retrieving the raw content and
@@ -49,8 +51,23 @@ public class ManPage {
 	 * @since 1.2
 	 */
 	public ManPage(String manPage, String user, String host, String password) {
-		parse(new ManParser().getRemoteRawManPage(manPage, user, host,
-				password));
+		StringBuilder rawManPage = new ManParser().getRemoteRawManPage(manPage,
+				user, host, password);
+		fetchFailed = Messages.ManParser_RemoteAccessError
+				.contentEquals(rawManPage);
+		parse(rawManPage);
+	}
+
+	/**
+	 * Returns whether the page could not be fetched, e.g.: because the remote
+	 * host could not be reached or the fetch was interrupted. The content of
+	 * the page is then an error message rather than the man page.
+	 *
+	 * @return <code>true</code> if the page could not be fetched
+	 * @since 1.6
+	 */
+	public boolean isFetchFailed() {
+		return fetchFailed;
 	}
 
 	// TODO make bold and underline be ranges instead of separate symbols.
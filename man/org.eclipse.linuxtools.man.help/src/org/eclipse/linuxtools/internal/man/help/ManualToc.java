@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2015, 2018 Red Hat Inc. and others.
+ * Copyright (c) 2015, 2026 Red Hat Inc. and others.
  * 
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -12,28 +12,17 @@
  *******************************************************************************/
 package org.eclipse.linuxtools.internal.man.help;
 
-import java.io.IOException;
-import java.nio.file.DirectoryStream;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.eclipse.core.expressions.IEvaluationContext;
-import org.eclipse.core.runtime.IStatus;
-import org.eclipse.core.runtime.Platform;
-import org.eclipse.core.runtime.Status;
 import org.eclipse.help.IToc;
 import org.eclipse.help.ITopic;
 import org.eclipse.help.IUAElement;
-import org.eclipse.linuxtools.internal.man.parser.ManParser;
-import org.osgi.framework.Bundle;
-import org.osgi.framework.FrameworkUtil;
+import org.eclipse.linuxtools.internal.man.parser.ManIndex;
 
 /**
  * A table of contents that will have one topic for every manual section that
@@ -56,51 +45,10 @@ public class ManualToc implements IToc {
 	}
 
 	private void generateSections() {
-		// Filter to make sure we only get manual section directories
-		DirectoryStream.Filter<Path> filter = new DirectoryStream.Filter<Path>() {
-			private final Pattern p = Pattern.compile("^man\\d[xp]?"); //$NON-NLS-1$
-
-			@Override
-			public boolean accept(Path path) throws IOException {
-				Matcher m = p.matcher(path.getFileName().toString());
-				return Files.isDirectory(path) && m.matches();
-			}
-		};
-
-		// Search all man paths in the order that man would, adding sections and
-		// pages as we encounter them
-		List<Path> manPaths = ManParser.getManPaths();
-		for (Path manPath : manPaths) {
-			if (Files.notExists(manPath)) {
-				continue;
-			}
-			try (DirectoryStream<Path> manPathStream = Files
-					.newDirectoryStream(manPath, filter)) {
-				for (Path sectionPath : manPathStream) {
-					try (DirectoryStream<Path> sectionPathStream = Files
-							.newDirectoryStream(sectionPath)) {
-						for (Path pagePath : sectionPathStream) {
-							String pageName = pagePath.getFileName().toString();
-							if (pageName.endsWith(".gz")) { //$NON-NLS-1$
-								pageName = pageName.substring(0,
-										pageName.length() - 3);
-							}
-
-							// Add page to section
-							int dot = pageName.lastIndexOf('.');
-							String sectionId = pageName.substring(dot + 1,
-									pageName.length());
-							String pageId = pageName.substring(0, dot);
-							addSectionPage(sectionId, pageId);
-						}
-					}
-				}
-			} catch (IOException e) {
-				Bundle bundle = FrameworkUtil.getBundle(this.getClass());
-				Status status = new Status(IStatus.ERROR, e.getMessage(),
-						bundle.getSymbolicName());
-				Platform.getLog(bundle).log(status);
-			}
+		// The index lists the pages in the order that man would search them,
+		// adding sections and pages as we encounter them
+		for (ManIndex.Page page : ManIndex.getInstance().getPages()) {
+			addSectionPage(page.getSectionId(), page.getName());
 		}
 	}
 
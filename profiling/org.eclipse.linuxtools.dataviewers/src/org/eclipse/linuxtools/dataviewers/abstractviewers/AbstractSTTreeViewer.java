@@ -12,6 +12,9 @@
  *******************************************************************************/
 package org.eclipse.linuxtools.dataviewers.abstractviewers;
 
+import org.eclipse.jface.viewers.IContentProvider;
+import org.eclipse.jface.viewers.ILazyTreeContentProvider;
+import org.eclipse.jface.viewers.ITreeContentProvider;
 import org.eclipse.jface.viewers.TableLayout;
 import org.eclipse.jface.viewers.TreeViewer;
 import org.eclipse.jface.viewers.TreeViewerColumn;
@@ -26,10 +29,16 @@ import org.eclipse.swt.widgets.TreeItem;
 /**
  * This wrapper extends AbstractSTViewer {@link AbstractSTViewer} It is designed to be instantiated with a TreeViewer
  * JFace control
+ * <p>
+ * When created with the {@link SWT#VIRTUAL} style, the tree content provider is adapted to a lazy content provider
+ * and the elements are sorted and filtered outside of the JFace viewer, large lists being sorted in background.
+ * </p>
  *
  */
 public abstract class AbstractSTTreeViewer extends AbstractSTViewer {
 
+    private STLazyTreeContentProvider lazyContentProvider;
+
     public AbstractSTTreeViewer(Composite parent) {
         super(parent, SWT.BORDER | SWT.H_SCROLL | SWT.V_SCROLL | SWT.MULTI | SWT.FULL_SELECTION);
     }
@@ -51,7 +60,44 @@ public abstract class AbstractSTTreeViewer extends AbstractSTViewer {
     @Override
     protected TreeViewer createViewer(Composite parent, int style) {
         Tree t = createTree(parent, style);
-        return new TreeViewer(t);
+        if ((style & SWT.VIRTUAL) == 0) {
+            return new TreeViewer(t);
+        }
+        return new TreeViewer(t) {
+            @Override
+            public void setContentProvider(IContentProvider provider) {
+                if (provider instanceof ITreeContentProvider && !(provider instanceof ILazyTreeContentProvider)) {
+                    lazyContentProvider = new STLazyTreeContentProvider(this, (ITreeContentProvider) provider);
+                    if (getTableSorter() != null) {
+                        lazyContentProvider.setComparator(getTableSorter().detach());
+                    }
+                    provider = lazyContentProvider;
+                }
+                super.setContentProvider(provider);
+            }
+
+            @Override
+            protected void internalRefresh(Object element, boolean updateLabels) {
+                if (lazyContentProvider != null) {
+                    lazyContentProvider.invalidate(element);
+                }
+                super.internalRefresh(element, updateLabels);
+            }
+        };
+    }
+
+    /**
+     * In virtual mode, sorts the elements in background with a detached copy of the comparator.
+     *
+     * @since 6.1
+     */
+    @Override
+    public void refreshSorting() {
+        if (lazyContentProvider != null && getViewer().getContentProvider() == lazyContentProvider) {
+            lazyContentProvider.setComparator(getTableSorter().detach());
+        } else {
+            super.refreshSorting();
+        }
     }
 
     /**
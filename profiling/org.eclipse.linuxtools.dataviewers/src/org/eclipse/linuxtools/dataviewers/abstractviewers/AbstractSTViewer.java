@@ -170,7 +170,9 @@ public abstract class AbstractSTViewer {
      */
     public void setComparator(STDataViewersComparator comparator) {
         this.comparator = comparator;
-        viewer.setComparator(comparator);
+        if (!isVirtual()) {
+            viewer.setComparator(comparator);
+        }
         updateForNewComparator(comparator);
     }
 
@@ -181,10 +183,33 @@ public abstract class AbstractSTViewer {
      */
     private void updateForNewComparator(STDataViewersComparator comparator) {
         comparator.saveState(viewerSettings);
-        viewer.refresh();
+        refreshSorting();
         setSortIndicators();
     }
 
+    /**
+     * Sorts the elements of the viewer again, after the priorities or directions of the comparator changed.
+     * <p>
+     * Virtual viewers, which do not sort through the JFace viewer, override it.
+     * </p>
+     *
+     * @since 6.1
+     */
+    public void refreshSorting() {
+        viewer.refresh();
+    }
+
+    /**
+     * Tells whether the wrapped control was created with the {@link SWT#VIRTUAL} style, in which case the items are
+     * only created when they become visible.
+     *
+     * @return <code>true</code> if the viewer is virtual
+     * @since 6.1
+     */
+    public boolean isVirtual() {
+        return (viewer.getControl().getStyle() & SWT.VIRTUAL) != 0;
+    }
+
     /**
      * Sets the sort indicator on top of target column
      */
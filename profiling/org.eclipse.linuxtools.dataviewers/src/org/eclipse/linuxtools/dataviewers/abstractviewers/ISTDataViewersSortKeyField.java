@@ -0,0 +1,31 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Red Hat - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.linuxtools.dataviewers.abstractviewers;
+
+/**
+ * A field whose order can be computed from a single key per object. When a large number of objects is sorted by
+ * {@link STDataViewersComparator}, the keys are computed once per object instead of once per comparison.
+ *
+ * @since 6.1
+ */
+public interface ISTDataViewersSortKeyField extends ISTDataViewersField {
+
+    /**
+     * Returns the key of the given object. The natural order of the keys must be the order defined by
+     * {@link #compare(Object, Object)}, <code>null</code> keys being lower than any other key.
+     *
+     * @param obj The object whose key is asked for.
+     * @return The sort key of the object for this field, or <code>null</code>.
+     */
+    Comparable<?> getSortKey(Object obj);
+}
@@ -12,21 +12,24 @@
  *******************************************************************************/
 package org.eclipse.linuxtools.dataviewers.abstractviewers;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.PrintStream;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Comparator;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.jface.dialogs.IDialogSettings;
@@ -41,6 +44,10 @@ import org.eclipse.swt.widgets.Item;
 
 /**
  * This comparator is used to export the data of a STViewer to CSV format file
+ * <p>
+ * The data is read from the content provider of the viewer, not from its widget, so the export works the same way for
+ * virtual viewers and should be run outside of the UI thread.
+ * </p>
  */
 
 public class STDataViewersCSVExporter {
@@ -51,9 +58,9 @@ public class STDataViewersCSVExporter {
 
     private ISTDataViewersField[] fields = null;
 
-    private List<Object> expandedElts = null;
+    private Set<Object> expandedElts = null;
 
-    private Comparator<Object> comparator;
+    private STDataViewersComparator comparator;
 
     private Object input = null;
 
@@ -287,13 +294,7 @@ public class STDataViewersCSVExporter {
                 if (topElements != null) {
 
                     // monitoring
-                    int work = topElements.length;
-                    for (Object element : topElements) {
-                        if (treeContentProvider.hasChildren(element)) {
-                            work += treeContentProvider.getChildren(element).length;
-                        }
-                    }
-                    monitor.beginTask("Exporting to CSV (file: " + getFilePath() + ")", work);
+                    monitor.beginTask("Exporting to CSV (file: " + getFilePath() + ")", topElements.length);
                     monitor.subTask("exporting tree data...");
 
                     // monitoring stuff
@@ -304,9 +305,11 @@ public class STDataViewersCSVExporter {
                     }
 
                     // exporting tree
-                    Arrays.sort(topElements, comparator);
+                    if (!sort(topElements)) {
+                        return;
+                    }
                     for (int i = 0; i < topElements.length; i++) {
-                        dumpTreeData(treeContentProvider, topElements[i], "", i == topElements.length - 1, true);
+                        dumpTreeData(treeContentProvider, topElements[i], "", i == topElements.length - 1);
 
                         // monitoring
                         tempWork++;
@@ -342,7 +345,9 @@ public class STDataViewersCSVExporter {
                     }
 
                     // exporting table
-                    Arrays.sort(topElements, comparator);
+                    if (!sort(topElements)) {
+                        return;
+                    }
                     for (int n = 0; n < topElements.length; n++) {
                         if (n < topElements.length - 1) {
                             dumpNodeData(topElements[n], csvChildMarker);
@@ -386,6 +391,21 @@ public class STDataViewersCSVExporter {
 
     }
 
+    /**
+     * Sorts the given elements, closing the stream if the export is canceled.
+     *
+     * @return <code>false</code> if the export was canceled
+     */
+    private boolean sort(Object[] elements) {
+        try {
+            comparator.sort(elements, monitor);
+            return true;
+        } catch (OperationCanceledException e) {
+            ps.close();
+            return false;
+        }
+    }
+
     private void initPrintStream(String filePath) {
         try {
             File outputFile = new File(filePath);
@@ -395,7 +415,7 @@ public class STDataViewersCSVExporter {
 
             outputFile.createNewFile();
 
-            this.ps = new PrintStream(outputFile);
+            this.ps = new PrintStream(new BufferedOutputStream(new FileOutputStream(outputFile)));
 
         } catch (IOException e) {
             Status s = new Status(IStatus.ERROR, STDataViewersActivator.PLUGIN_ID,
@@ -420,15 +440,8 @@ public class STDataViewersCSVExporter {
 		        columns[i1] = unOrdColumns[columnOrder[i1]];
 		    }
 
-		    // getting fields mapping
-		    // (before removing hidden columns)
-		    Map<Item, ISTDataViewersField> fieldsMap = new HashMap<>();
-		    for (Item column : columns) {
-		        fieldsMap.put(column, (ISTDataViewersField) column.getData());
-		    }
-
 		    // creating a GUI-thread-independent comparator
-		    comparator = new CSVDataComparator(stViewer.getTableSorter(), fieldsMap);
+		    comparator = stViewer.getTableSorter().detach();
 
 		    // getting only visible columns, using the column order
 		    if (!showHiddenColumns) {
@@ -455,10 +468,10 @@ public class STDataViewersCSVExporter {
 		    contentProvider = stViewer.getViewer().getContentProvider();
 
 		    // getting expanded elements if necessary
-		    expandedElts = new ArrayList<>();
+		    expandedElts = Collections.emptySet();
 		    if (!expandAll && stViewer.getViewer() instanceof TreeViewer) {
 		        TreeViewer tv = (TreeViewer) stViewer.getViewer();
-		        expandedElts = Arrays.asList(tv.getExpandedElements());
+		        expandedElts = new HashSet<>(Arrays.asList(tv.getExpandedElements()));
 		    }
 		});
     }
@@ -471,8 +484,7 @@ public class STDataViewersCSVExporter {
         }
     }
 
-    private void dumpTreeData(ITreeContentProvider tcp, Object element, String prefix, boolean isLastChild,
-            boolean monitoring) {
+    private void dumpTreeData(ITreeContentProvider tcp, Object element, String prefix, boolean isLastChild) {
         String childMarker = isLastChild ? csvLastChildMarker : csvChildMarker;
 
         boolean isLeaf = !tcp.hasChildren(element);
@@ -482,33 +494,12 @@ public class STDataViewersCSVExporter {
         if ((expandAll || expandedElts.contains(element)) && !isLeaf) {
             Object[] children = tcp.getChildren(element);
             if (children != null) {
-
-                // monitoring stuff
-                int tempWork = 0;
-                int workFloor = children.length / 100;
-                if (workFloor == 0) {
-                    workFloor = 1;
-                }
-
                 // exporting children
-                Arrays.sort(children, comparator);
+                children = children.clone();
+                comparator.sort(children, null);
                 for (int i = 0; i < children.length; i++) {
                     String prefixAdd = isLastChild ? csvNoChildLink : csvChildLink;
-                    dumpTreeData(tcp, children[i], prefix + prefixAdd, i == children.length - 1, false);
-
-                    // monitoring
-                    if (monitor != null && monitoring) {
-                        tempWork++;
-                        if (tempWork >= workFloor) {
-                            monitor.worked(tempWork);
-                            tempWork = 0;
-                        }
-                    }
-                }
-
-                // monitoring
-                if (monitor != null && monitoring && tempWork > 0) {
-                    monitor.worked(tempWork);
+                    dumpTreeData(tcp, children[i], prefix + prefixAdd, i == children.length - 1);
                 }
             }
         }
@@ -639,22 +630,6 @@ public class STDataViewersCSVExporter {
         }
     }
 
-    private static class CSVDataComparator extends STDataViewersComparator {
-
-        private final Map<Item, ISTDataViewersField> fieldsMap;
-
-        public CSVDataComparator(STDataViewersComparator other, Map<Item, ISTDataViewersField> fieldsMap) {
-            super(other);
-            this.fieldsMap = fieldsMap;
-        }
-
-        @Override
-        protected ISTDataViewersField getField(Item column) {
-            return fieldsMap.get(column);
-        }
-
-    }
-
     public boolean isTreeViewerExporter() {
         return stViewer instanceof AbstractSTTreeViewer;
     }
@@ -12,9 +12,12 @@
  *******************************************************************************/
 package org.eclipse.linuxtools.dataviewers.abstractviewers;
 
+import java.util.Arrays;
 import java.util.Comparator;
 
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.jface.dialogs.IDialogSettings;
 import org.eclipse.jface.viewers.Viewer;
@@ -42,6 +45,9 @@ public class STDataViewersComparator extends ViewerComparator implements Compara
 
     protected int[] directions;
 
+    /** The fields of the columns, only set in detached comparators */
+    private final ISTDataViewersField[] detachedFields;
+
     /**
      * Copy Constructor
      *
@@ -69,6 +75,7 @@ public class STDataViewersComparator extends ViewerComparator implements Compara
      */
     private STDataViewersComparator(Item[] columns, int[] priorities, int[] directions) {
         this.columns = columns;
+        this.detachedFields = null;
         if (priorities == null || directions == null) {
             this.priorities = new int[columns.length];
             this.directions = new int[columns.length];
@@ -89,6 +96,37 @@ public class STDataViewersComparator extends ViewerComparator implements Compara
         }
     }
 
+    /**
+     * Constructor of a detached comparator
+     *
+     * @param other
+     * @param fields
+     */
+    private STDataViewersComparator(STDataViewersComparator other, ISTDataViewersField[] fields) {
+        this.columns = other.getColumns();
+        this.priorities = other.getPriorities();
+        this.directions = other.getDirections();
+        this.detachedFields = fields;
+    }
+
+    /**
+     * Creates a copy of this comparator which does not access the columns when comparing elements, so that it can be
+     * used outside of the UI thread. Later changes of this comparator are not reflected in the copy.
+     * <p>
+     * This method must be called in the UI thread.
+     * </p>
+     *
+     * @return a detached copy of this comparator
+     * @since 6.1
+     */
+    public STDataViewersComparator detach() {
+        ISTDataViewersField[] fields = new ISTDataViewersField[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            fields[i] = getField(columns[i]);
+        }
+        return new STDataViewersComparator(this, fields);
+    }
+
     /**
      * Reset the priorities to the default ones
      */
@@ -103,7 +141,7 @@ public class STDataViewersComparator extends ViewerComparator implements Compara
      */
     private void resetDirections() {
         for (int i = 0; i < this.directions.length; i++) {
-            this.directions[i] = getField(this.columns[i]).getDefaultDirection();
+            this.directions[i] = getField(i).getDefaultDirection();
         }
     }
 
@@ -238,7 +276,7 @@ public class STDataViewersComparator extends ViewerComparator implements Compara
         }
 
         int column = priorities[depth];
-        ISTDataViewersField property = getField(columns[column]);
+        ISTDataViewersField property = getField(column);
 
         int result;
         if (directions[column] >= 0) {
@@ -254,6 +292,95 @@ public class STDataViewersComparator extends ViewerComparator implements Compara
         return result;
     }
 
+    @Override
+    public void sort(Viewer viewer, Object[] elements) {
+        sort(elements, null);
+    }
+
+    /**
+     * Sorts the given elements. For the fields implementing {@link ISTDataViewersSortKeyField}, the sort keys are
+     * computed once per element before sorting.
+     * <p>
+     * Unless this comparator is {@link #detach() detached}, this method must be called in the UI thread.
+     * </p>
+     *
+     * @param elements The elements to sort.
+     * @param monitor A progress monitor checked for cancellation, or <code>null</code>.
+     * @throws OperationCanceledException if the monitor is canceled
+     * @since 6.1
+     */
+    public void sort(Object[] elements, IProgressMonitor monitor) {
+        if (elements.length < 2) {
+            return;
+        }
+        final ISTDataViewersField[] sortFields = new ISTDataViewersField[priorities.length];
+        final Comparable<?>[][] keys = new Comparable<?>[priorities.length][];
+        for (int depth = 0; depth < priorities.length; depth++) {
+            sortFields[depth] = getField(priorities[depth]);
+            if (sortFields[depth] instanceof ISTDataViewersSortKeyField) {
+                ISTDataViewersSortKeyField field = (ISTDataViewersSortKeyField) sortFields[depth];
+                keys[depth] = new Comparable<?>[elements.length];
+                for (int i = 0; i < elements.length; i++) {
+                    if (monitor != null && (i & 0x3ff) == 0 && monitor.isCanceled()) {
+                        throw new OperationCanceledException();
+                    }
+                    keys[depth][i] = field.getSortKey(elements[i]);
+                }
+            }
+        }
+
+        // sort the indexes of the elements, so that the keys can be looked up
+        final Object[] values = elements.clone();
+        Integer[] indexes = new Integer[elements.length];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = i;
+        }
+        Arrays.sort(indexes, (i1, i2) -> {
+            for (int depth = 0; depth < sortFields.length; depth++) {
+                int a = i1;
+                int b = i2;
+                if (directions[priorities[depth]] < 0) {
+                    a = i2;
+                    b = i1;
+                }
+                int result;
+                if (keys[depth] != null) {
+                    result = compareKeys(keys[depth][a], keys[depth][b]);
+                } else {
+                    result = sortFields[depth].compare(values[a], values[b]);
+                }
+                if (result != 0) {
+                    return result;
+                }
+            }
+            return 0;
+        });
+        if (monitor != null && monitor.isCanceled()) {
+            throw new OperationCanceledException();
+        }
+        for (int i = 0; i < indexes.length; i++) {
+            elements[i] = values[indexes[i]];
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int compareKeys(Comparable<?> key1, Comparable<?> key2) {
+        if (key1 == null) {
+            return key2 == null ? 0 : -1;
+        }
+        if (key2 == null) {
+            return 1;
+        }
+        return ((Comparable<Object>) key1).compareTo(key2);
+    }
+
+    private ISTDataViewersField getField(int column) {
+        if (detachedFields != null) {
+            return detachedFields[column];
+        }
+        return getField(columns[column]);
+    }
+
     protected ISTDataViewersField getField(Item column) {
         return (ISTDataViewersField) column.getData();
     }
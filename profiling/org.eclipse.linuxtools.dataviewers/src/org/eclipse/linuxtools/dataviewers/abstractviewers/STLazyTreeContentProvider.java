@@ -0,0 +1,276 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Red Hat - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.linuxtools.dataviewers.abstractviewers;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jface.viewers.ILazyTreeContentProvider;
+import org.eclipse.jface.viewers.ITreeContentProvider;
+import org.eclipse.jface.viewers.TreeViewer;
+import org.eclipse.jface.viewers.Viewer;
+import org.eclipse.jface.viewers.ViewerFilter;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Display;
+
+/**
+ * Adapts the {@link ITreeContentProvider} of a virtual {@link AbstractSTTreeViewer} to an
+ * {@link ILazyTreeContentProvider}, so that tree items are only created when they become visible.
+ * <p>
+ * JFace neither sorts nor filters lazy viewers: the children of each parent are filtered with the filters of the
+ * viewer and sorted with a {@link STDataViewersComparator#detach() detached} copy of the comparator of the
+ * {@link AbstractSTViewer}. Small lists of children are sorted right away, larger ones are sorted by a background job
+ * and shown unsorted until it completes.
+ * </p>
+ * <p>
+ * The adapter still implements {@link ITreeContentProvider} by delegating to the model content provider, so that
+ * clients of the content provider (e.g. {@link TreeColumnViewerFilter}, {@link STDataViewersCSVExporter}) keep
+ * working with virtual viewers.
+ * </p>
+ */
+class STLazyTreeContentProvider implements ILazyTreeContentProvider, ITreeContentProvider {
+
+    /** Lists of children up to this size are sorted in the UI thread */
+    private static final int SYNC_SORT_LIMIT = 1000;
+
+    private final TreeViewer viewer;
+
+    private final ITreeContentProvider provider;
+
+    /** The filtered and sorted children by parent, the input being the parent of the top elements */
+    private final Map<Object, Object[]> children = new HashMap<>();
+
+    private STDataViewersComparator comparator;
+
+    private Job sortJob;
+
+    private Object input;
+
+    private boolean keepChildren = false;
+
+    /**
+     * Constructor
+     *
+     * @param viewer The virtual tree viewer.
+     * @param provider The content provider of the model.
+     */
+    STLazyTreeContentProvider(TreeViewer viewer, ITreeContentProvider provider) {
+        this.viewer = viewer;
+        this.provider = provider;
+    }
+
+    /**
+     * Sets the comparator used to sort the children, and sorts again in background the children already computed.
+     *
+     * @param comparator A detached comparator, or <code>null</code> to keep the order of the model.
+     */
+    void setComparator(STDataViewersComparator comparator) {
+        this.comparator = comparator;
+        if (sortJob != null) {
+            sortJob.cancel();
+            sortJob = null;
+        }
+        if (comparator != null && !children.isEmpty()) {
+            sortJob = scheduleSort(new HashMap<>(children));
+        }
+    }
+
+    /**
+     * Forgets the children of the given element and of its descendants, called when the viewer is refreshed.
+     *
+     * @param element The refreshed element, <code>null</code> or the input for the whole tree.
+     */
+    void invalidate(Object element) {
+        if (keepChildren) {
+            return;
+        }
+        if (element == null || element.equals(input)) {
+            children.clear();
+            return;
+        }
+        Iterator<Object> it = children.keySet().iterator();
+        while (it.hasNext()) {
+            Object parent = it.next();
+            while (parent != null && parent != input) {
+                if (parent.equals(element)) {
+                    it.remove();
+                    break;
+                }
+                parent = provider.getParent(parent);
+            }
+        }
+    }
+
+    @Override
+    public void updateElement(Object parent, int index) {
+        Object[] elements = getSortedChildren(parent);
+        if (index < elements.length) {
+            Object element = elements[index];
+            viewer.replace(parent, index, element);
+            viewer.setHasChildren(element, provider.hasChildren(element));
+        }
+    }
+
+    @Override
+    public void updateChildCount(Object element, int currentChildCount) {
+        int count = getSortedChildren(element).length;
+        if (count != currentChildCount) {
+            viewer.setChildCount(element, count);
+        }
+    }
+
+    private Object[] getSortedChildren(Object parent) {
+        Object[] elements = children.get(parent);
+        if (elements != null) {
+            return elements;
+        }
+        elements = getFilteredChildren(parent);
+        children.put(parent, elements);
+        if (comparator != null) {
+            if (elements.length <= SYNC_SORT_LIMIT) {
+                comparator.sort(elements, null);
+            } else {
+                Map<Object, Object[]> lists = new HashMap<>();
+                lists.put(parent, elements);
+                scheduleSort(lists);
+            }
+        }
+        return elements;
+    }
+
+    private Object[] getFilteredChildren(Object parent) {
+        Object[] elements;
+        if (parent == input) {
+            elements = provider.getElements(parent);
+        } else {
+            elements = provider.getChildren(parent);
+        }
+        if (elements == null) {
+            return new Object[0];
+        }
+        ViewerFilter[] filters = viewer.getFilters();
+        if (filters.length == 0) {
+            return elements.clone();
+        }
+        List<Object> filtered = new ArrayList<>(elements.length);
+        for (Object element : elements) {
+            boolean selected = true;
+            for (ViewerFilter filter : filters) {
+                if (!filter.select(viewer, parent, element)) {
+                    selected = false;
+                    break;
+                }
+            }
+            if (selected) {
+                filtered.add(element);
+            }
+        }
+        return filtered.toArray();
+    }
+
+    /**
+     * Sorts copies of the given lists of children in a background job, and shows them if the lists did not change in
+     * the meantime.
+     */
+    private Job scheduleSort(final Map<Object, Object[]> lists) {
+        final STDataViewersComparator sorter = comparator;
+        final Display display = viewer.getControl().getDisplay();
+        Job job = new Job("Sorting") { //$NON-NLS-1$
+            @Override
+            protected IStatus run(IProgressMonitor monitor) {
+                final Map<Object, Object[]> sorted = new HashMap<>();
+                try {
+                    for (Map.Entry<Object, Object[]> entry : lists.entrySet()) {
+                        Object[] elements = entry.getValue().clone();
+                        sorter.sort(elements, monitor);
+                        sorted.put(entry.getKey(), elements);
+                    }
+                } catch (OperationCanceledException e) {
+                    return Status.CANCEL_STATUS;
+                }
+                display.asyncExec(() -> showSorted(sorter, lists, sorted));
+                return Status.OK_STATUS;
+            }
+        };
+        job.setSystem(true);
+        job.schedule();
+        return job;
+    }
+
+    private void showSorted(STDataViewersComparator sorter, Map<Object, Object[]> lists,
+            Map<Object, Object[]> sorted) {
+        Control control = viewer.getControl();
+        if (control.isDisposed() || sorter != comparator) {
+            return;
+        }
+        boolean changed = false;
+        for (Map.Entry<Object, Object[]> entry : sorted.entrySet()) {
+            if (children.get(entry.getKey()) == lists.get(entry.getKey())) {
+                children.put(entry.getKey(), entry.getValue());
+                changed = true;
+            }
+        }
+        if (changed) {
+            keepChildren = true;
+            try {
+                viewer.refresh();
+            } finally {
+                keepChildren = false;
+            }
+        }
+    }
+
+    @Override
+    public Object getParent(Object element) {
+        return provider.getParent(element);
+    }
+
+    @Override
+    public Object[] getElements(Object inputElement) {
+        return provider.getElements(inputElement);
+    }
+
+    @Override
+    public Object[] getChildren(Object parentElement) {
+        return provider.getChildren(parentElement);
+    }
+
+    @Override
+    public boolean hasChildren(Object element) {
+        return provider.hasChildren(element);
+    }
+
+    @Override
+    public void inputChanged(Viewer viewer, Object oldInput, Object newInput) {
+        provider.inputChanged(viewer, oldInput, newInput);
+        input = newInput;
+        children.clear();
+    }
+
+    @Override
+    public void dispose() {
+        if (sortJob != null) {
+            sortJob.cancel();
+        }
+        children.clear();
+        provider.dispose();
+    }
+}
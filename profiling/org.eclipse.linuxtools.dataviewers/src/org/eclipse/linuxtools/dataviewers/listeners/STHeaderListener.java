@@ -60,7 +60,7 @@ public class STHeaderListener implements SelectionListener {
         }
 
         BusyIndicator.showWhile(null, () -> {
-		    stViewer.getViewer().refresh();
+		    stViewer.refreshSorting();
 		    stViewer.updateDirectionIndicator(column);
 		});
     }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2018 IBM Corporation and others.
+ * Copyright (c) 2012, 2026 IBM Corporation and others.
  * 
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,8 @@ package org.eclipse.linuxtools.internal.ssh.proxy;
 
 import java.net.URI;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
 import java.util.Map;
 import java.util.Properties;
 
@@ -29,20 +31,53 @@ import com.jcraft.jsch.ChannelSftp;
 import com.jcraft.jsch.JSch;
 import com.jcraft.jsch.JSchException;
 import com.jcraft.jsch.Session;
+import com.jcraft.jsch.SftpATTRS;
 
 public class SSHBase {
+    /** Maximum number of sftp channels opened at the same time on the session */
+    private static final int MAX_SFTP_CHANNELS = 4;
+    /**
+     * Time to wait for a pooled sftp channel before opening one more, in
+     * milliseconds, as open streams keep their channel until they are closed
+     */
+    private static final long SFTP_CHANNEL_WAIT = 2000;
+    /** Number of read requests sent ahead when reading a file */
+    private static final int SFTP_BULK_REQUESTS = 64;
+    /** Time during which the attributes of a file are reused, in milliseconds */
+    private static final long ATTRS_TTL = 5000;
+    private static final int MAX_CACHED_ATTRS = 4096;
+
     private URI uri;
     private JSch jsch;
     private Session session;
-    private ChannelSftp channelSftp;
+    private final LinkedList<ChannelSftp> idleChannels = new LinkedList<>();
+    private int sftpChannels = 0;
+    private final Map<String, CachedAttrs> attrsCache = new LinkedHashMap<String, CachedAttrs>() {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedAttrs> eldest) {
+            return size() > MAX_CACHED_ATTRS;
+        }
+    };
     private static Map<String, String> passwords = new HashMap<>();
 
+    private static class CachedAttrs {
+        final SftpATTRS attrs;
+        final long time;
+
+        CachedAttrs(SftpATTRS attrs) {
+            this.attrs = attrs;
+            this.time = System.currentTimeMillis();
+        }
+    }
+
     public SSHBase(URI uri) {
         this.uri = uri;
         jsch=new JSch();
     }
 
-    private Session loadSession() throws CoreException {
+    private synchronized Session loadSession() throws CoreException {
         if (session == null || !session.isConnected()) {
             try {
                 session=jsch.getSession(uri.getUserInfo(), uri.getHost());
@@ -90,17 +125,117 @@ public class SSHBase {
         }
     }
 
-    protected ChannelSftp getChannelSftp() throws CoreException {
-        loadSession();
-        if (channelSftp == null || !channelSftp.isConnected()) {
-            try {
-                channelSftp = (ChannelSftp)session.openChannel("sftp"); //$NON-NLS-1$
-                channelSftp.connect();
-            } catch (JSchException e) {
-                throw new CoreException(new Status(IStatus.ERROR, Activator.PLUGIN_ID, Messages.SSHBase_CreateSessionFailed + e.getMessage()));
+    /**
+     * Takes a sftp channel from the pool of the session, opening one if all of
+     * them are in use. If the maximum number of channels is reached, waits a
+     * little for one to be released and then opens an extra channel, which is
+     * closed when it is given back. The channel must be given back with
+     * {@link #releaseChannelSftp(ChannelSftp)}.
+     *
+     * @return a connected sftp channel
+     * @throws CoreException if the channel could not be opened
+     */
+    protected ChannelSftp acquireChannelSftp() throws CoreException {
+        Session s = loadSession();
+        synchronized (idleChannels) {
+            long deadline = System.currentTimeMillis() + SFTP_CHANNEL_WAIT;
+            while (true) {
+                while (!idleChannels.isEmpty()) {
+                    ChannelSftp channel = idleChannels.removeFirst();
+                    if (channel.isConnected()) {
+                        return channel;
+                    }
+                    channel.disconnect();
+                    sftpChannels--;
+                }
+                long remaining = deadline - System.currentTimeMillis();
+                if (sftpChannels < MAX_SFTP_CHANNELS || remaining <= 0) {
+                    sftpChannels++;
+                    break;
+                }
+                try {
+                    idleChannels.wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new CoreException(new Status(IStatus.ERROR, Activator.PLUGIN_ID, Messages.SSHBase_CreateSessionCancelled));
+                }
             }
         }
-        return channelSftp;
+        // connecting needs a round trip, the other threads may meanwhile use
+        // the idle channels
+        try {
+            ChannelSftp channel = (ChannelSftp) s.openChannel("sftp"); //$NON-NLS-1$
+            channel.connect();
+            channel.setBulkRequests(SFTP_BULK_REQUESTS);
+            return channel;
+        } catch (JSchException e) {
+            synchronized (idleChannels) {
+                sftpChannels--;
+                idleChannels.notifyAll();
+            }
+            throw new CoreException(new Status(IStatus.ERROR, Activator.PLUGIN_ID, Messages.SSHBase_CreateSessionFailed + e.getMessage()));
+        }
+    }
+
+    /**
+     * Gives back a channel taken with {@link #acquireChannelSftp()}.
+     *
+     * @param channel the channel, which must not be used anymore
+     */
+    protected void releaseChannelSftp(ChannelSftp channel) {
+        synchronized (idleChannels) {
+            if (channel.isConnected() && sftpChannels <= MAX_SFTP_CHANNELS) {
+                idleChannels.addFirst(channel);
+            } else {
+                // extra channels are not kept
+                channel.disconnect();
+                sftpChannels--;
+            }
+            idleChannels.notifyAll();
+        }
+    }
+
+    /**
+     * @param path the remote path
+     * @return the attributes of the path fetched less than a few seconds ago,
+     *         or <code>null</code>
+     */
+    protected SftpATTRS getCachedAttrs(String path) {
+        synchronized (attrsCache) {
+            CachedAttrs cached = attrsCache.get(path);
+            if (cached == null) {
+                return null;
+            }
+            if (System.currentTimeMillis() - cached.time > ATTRS_TTL) {
+                attrsCache.remove(path);
+                return null;
+            }
+            return cached.attrs;
+        }
+    }
+
+    /**
+     * Keeps the attributes of a path for a few seconds, so that they are not
+     * fetched again by the next operations.
+     *
+     * @param path the remote path
+     * @param attrs the attributes of the file the path points to
+     */
+    protected void cacheAttrs(String path, SftpATTRS attrs) {
+        synchronized (attrsCache) {
+            attrsCache.put(path, new CachedAttrs(attrs));
+        }
+    }
+
+    /**
+     * Forgets the attributes of a path, after it was modified.
+     *
+     * @param path the remote path
+     */
+    protected void forgetAttrs(String path) {
+        synchronized (attrsCache) {
+            attrsCache.remove(path);
+        }
     }
 
     protected ChannelExec createChannelExec() throws CoreException {
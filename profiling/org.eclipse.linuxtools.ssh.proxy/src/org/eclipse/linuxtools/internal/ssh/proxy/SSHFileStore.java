@@ -12,6 +12,9 @@
  *******************************************************************************/
 package org.eclipse.linuxtools.internal.ssh.proxy;
 
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URI;
@@ -65,10 +68,7 @@ public class SSHFileStore extends FileStore {
         }
         try {
             monitor.beginTask(Messages.SSHFileStore_childNamesMonitor, 100);
-            ChannelSftp channel = proxy.getChannelSftp();
-            monitor.worked(25);
-            Vector<?> v = channel.ls(uri.getPath());
-            monitor.worked(50);
+            Vector<?> v = ls(monitor);
             LinkedList<String> childs = new LinkedList<>();
 
             boolean isDir = false;
@@ -102,17 +102,15 @@ public class SSHFileStore extends FileStore {
         }
         try {
             monitor.beginTask(Messages.SSHFileStore_childInfoMonitor, 100);
-            ChannelSftp channel = proxy.getChannelSftp();
-            monitor.worked(25);
-            Vector<?> v = channel.ls(uri.getPath());
-            monitor.worked(50);
+            Vector<?> v = ls(monitor);
             LinkedList<IFileInfo> childs = new LinkedList<>();
 
             boolean isDir = false;
             for (int i=0; i < v.size(); i++) {
                 ChannelSftp.LsEntry entry  = (ChannelSftp.LsEntry) v.get(i);
                 if (!entry.getFilename().equals(".") && !entry.getFilename().equals("..")) { //$NON-NLS-1$ //$NON-NLS-2$
-                    childs.add(createFileInfo(entry.getAttrs()));
+                    cacheChildAttrs(entry);
+                    childs.add(createFileInfo(entry.getFilename(), entry.getAttrs()));
                 } else {
                     isDir = true;
                 }
@@ -146,18 +144,18 @@ public class SSHFileStore extends FileStore {
             monitor = new NullProgressMonitor();
         try {
             monitor.beginTask(Messages.SSHFileStore_childStoresMonitor, 100);
-            ChannelSftp channel = proxy.getChannelSftp();
-            monitor.worked(25);
-            Vector<?> v = channel.ls(uri.getPath());
-            monitor.worked(50);
+            Vector<?> v = ls(monitor);
             LinkedList<IFileStore> childs = new LinkedList<>();
 
             boolean isDir = false;
             for (int i=0; i < v.size(); i++) {
                 ChannelSftp.LsEntry entry  = (ChannelSftp.LsEntry) v.get(i);
-                if (!entry.getFilename().equals(".") && !entry.getFilename().equals("..")) //$NON-NLS-1$ //$NON-NLS-2$
+                if (!entry.getFilename().equals(".") && !entry.getFilename().equals("..")) { //$NON-NLS-1$ //$NON-NLS-2$
+                    // the child stores do not fetch again the attributes
+                    // returned by the listing
+                    cacheChildAttrs(entry);
                     childs.add(createFileStore(path.append(entry.getFilename()).toString()));
-                else
+                } else
                     isDir = true;
             }
             if (!isDir)
@@ -179,13 +177,18 @@ public class SSHFileStore extends FileStore {
             monitor = new NullProgressMonitor();
         try {
             monitor.beginTask(Messages.SSHFileStore_rmMonitor, 100);
-            ChannelSftp channel = proxy.getChannelSftp();
-            monitor.worked(25);
+            ChannelSftp channel = proxy.acquireChannelSftp();
+            try {
+                monitor.worked(25);
 
-            if (channel.lstat(uri.getPath()).isDir())
-                channel.rmdir(uri.getPath());
-            else
-                channel.rm(uri.getPath());
+                proxy.forgetAttrs(uri.getPath());
+                if (channel.lstat(uri.getPath()).isDir())
+                    channel.rmdir(uri.getPath());
+                else
+                    channel.rm(uri.getPath());
+            } finally {
+                proxy.releaseChannelSftp(channel);
+            }
             monitor.worked(100);
             monitor.done();
         } catch (SftpException e) {
@@ -200,13 +203,20 @@ public class SSHFileStore extends FileStore {
             monitor = new NullProgressMonitor();
         try {
             monitor.beginTask(Messages.SSHFileStore_attrMonitor, 100);
-            ChannelSftp channel = proxy.getChannelSftp();
-            monitor.worked(25);
-
-            SftpATTRS attrs = channel.stat(uri.getPath());
+            SftpATTRS attrs = proxy.getCachedAttrs(uri.getPath());
+            if (attrs == null) {
+                ChannelSftp channel = proxy.acquireChannelSftp();
+                try {
+                    monitor.worked(25);
+                    attrs = channel.stat(uri.getPath());
+                } finally {
+                    proxy.releaseChannelSftp(channel);
+                }
+                proxy.cacheAttrs(uri.getPath(), attrs);
+            }
             monitor.worked(100);
             monitor.done();
-            return createFileInfo(attrs);
+            return createFileInfo(getName(), attrs);
         } catch (SftpException e) {
             throw new CoreException(new Status(IStatus.ERROR, Activator.PLUGIN_ID, Messages.SSHFileStore_attrFailed + e.getMessage()));
         }
@@ -240,22 +250,26 @@ public class SSHFileStore extends FileStore {
         if (monitor == null)
             monitor = new NullProgressMonitor();
         monitor.beginTask(Messages.SSHFileStore_mkdirMonitor, 100);
-        ChannelSftp channel = proxy.getChannelSftp();
-        monitor.worked(25);
+        ChannelSftp channel = proxy.acquireChannelSftp();
+        try {
+            monitor.worked(25);
 
-        IPath new_path = Path.ROOT;
-        if ((options & EFS.SHALLOW) == 0) {
-            for (String segment : path.segments()) {
-                new_path = new_path.append(segment);
-                try {
-                    channel.stat(new_path.toString());
-                } catch (SftpException e) {
-                    //Path doesn't exist
-                    createDir(channel, new_path.toString());
+            IPath new_path = Path.ROOT;
+            if ((options & EFS.SHALLOW) == 0) {
+                for (String segment : path.segments()) {
+                    new_path = new_path.append(segment);
+                    try {
+                        channel.stat(new_path.toString());
+                    } catch (SftpException e) {
+                        //Path doesn't exist
+                        createDir(channel, new_path.toString());
+                    }
                 }
-            }
-        } else
-            createDir(channel, uri.getPath());
+            } else
+                createDir(channel, uri.getPath());
+        } finally {
+            proxy.releaseChannelSftp(channel);
+        }
 
         monitor.worked(100);
         monitor.done();
@@ -264,6 +278,7 @@ public class SSHFileStore extends FileStore {
 
     private void createDir(ChannelSftp channel, String dir) throws CoreException {
         try {
+            proxy.forgetAttrs(dir);
             channel.mkdir(dir);
         } catch (SftpException e) {
             throw new CoreException(new Status(IStatus.ERROR, Activator.PLUGIN_ID, Messages.SSHFileStore_mkdirFailed + e.getMessage()));
@@ -273,10 +288,28 @@ public class SSHFileStore extends FileStore {
     @Override
     public InputStream openInputStream(int options, IProgressMonitor monitor)
             throws CoreException {
+        final ChannelSftp channel = proxy.acquireChannelSftp();
         try {
-            ChannelSftp channel = proxy.getChannelSftp();
-            return channel.get(uri.getPath(), new ProgressMonitor(monitor, Messages.SSHFileStore_getInputStreamMonitor));
+            // the channel sends several read requests ahead, and is given back
+            // to the pool when the stream is closed
+            InputStream stream = channel.get(uri.getPath(), new ProgressMonitor(monitor, Messages.SSHFileStore_getInputStreamMonitor));
+            return new FilterInputStream(stream) {
+                private boolean closed = false;
+
+                @Override
+                public void close() throws IOException {
+                    if (!closed) {
+                        closed = true;
+                        try {
+                            super.close();
+                        } finally {
+                            proxy.releaseChannelSftp(channel);
+                        }
+                    }
+                }
+            };
         } catch (SftpException e) {
+            proxy.releaseChannelSftp(channel);
             throw new CoreException(new Status(IStatus.ERROR, Activator.PLUGIN_ID, Messages.SSHFileStore_getInputStreamFailed + e.getMessage()));
         }
     }
@@ -284,13 +317,36 @@ public class SSHFileStore extends FileStore {
     @Override
     public OutputStream openOutputStream(int options, IProgressMonitor monitor)
             throws CoreException {
+        final ChannelSftp channel = proxy.acquireChannelSftp();
         try {
-            ChannelSftp channel = proxy.getChannelSftp();
             int mode = ChannelSftp.OVERWRITE;
             if ((options & EFS.APPEND) != 0)
                 mode = ChannelSftp.APPEND;
-            return channel.put(uri.getPath(), new ProgressMonitor(monitor, Messages.SSHFileStore_getOutputStreamMonitor), mode);
+            proxy.forgetAttrs(uri.getPath());
+            OutputStream stream = channel.put(uri.getPath(), new ProgressMonitor(monitor, Messages.SSHFileStore_getOutputStreamMonitor), mode);
+            return new FilterOutputStream(stream) {
+                private boolean closed = false;
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    out.write(b, off, len);
+                }
+
+                @Override
+                public void close() throws IOException {
+                    if (!closed) {
+                        closed = true;
+                        try {
+                            super.close();
+                        } finally {
+                            proxy.forgetAttrs(uri.getPath());
+                            proxy.releaseChannelSftp(channel);
+                        }
+                    }
+                }
+            };
         } catch (SftpException e) {
+            proxy.releaseChannelSftp(channel);
             throw new CoreException(new Status(IStatus.ERROR, Activator.PLUGIN_ID, Messages.SSHFileStore_getOutputStreamFailed + e.getMessage()));
         }
 
@@ -304,11 +360,16 @@ public class SSHFileStore extends FileStore {
         }
         try {
             monitor.beginTask(Messages.SSHFileStore_putInfoMonitor, 100);
-            ChannelSftp channel = proxy.getChannelSftp();
-            monitor.worked(25);
-            SftpATTRS attrs = channel.stat(uri.getPath());
-            updateSftpATTRS(info);
-            channel.setStat(uri.getPath(), attrs);
+            ChannelSftp channel = proxy.acquireChannelSftp();
+            try {
+                monitor.worked(25);
+                proxy.forgetAttrs(uri.getPath());
+                SftpATTRS attrs = channel.stat(uri.getPath());
+                updateSftpATTRS(info);
+                channel.setStat(uri.getPath(), attrs);
+            } finally {
+                proxy.releaseChannelSftp(channel);
+            }
             monitor.worked(100);
             monitor.done();
         } catch (SftpException e) {
@@ -331,12 +392,31 @@ public class SSHFileStore extends FileStore {
         }
     }
 
-    private IFileInfo createFileInfo(SftpATTRS attrs) {
+    private Vector<?> ls(IProgressMonitor monitor) throws CoreException, SftpException {
+        ChannelSftp channel = proxy.acquireChannelSftp();
+        try {
+            monitor.worked(25);
+            Vector<?> v = channel.ls(uri.getPath());
+            monitor.worked(50);
+            return v;
+        } finally {
+            proxy.releaseChannelSftp(channel);
+        }
+    }
+
+    private void cacheChildAttrs(ChannelSftp.LsEntry entry) {
+        // the listing does not follow symbolic links, unlike stat
+        if (!entry.getAttrs().isLink()) {
+            proxy.cacheAttrs(path.append(entry.getFilename()).toString(), entry.getAttrs());
+        }
+    }
+
+    private IFileInfo createFileInfo(String name, SftpATTRS attrs) {
         FileInfo f = new FileInfo();
         f.setExists(true);
         f.setLastModified(attrs.getMTime());
         f.setLength(attrs.getSize());
-        f.setName(getName());
+        f.setName(name);
         f.setDirectory(attrs.isDir());
 
         int p = attrs.getPermissions();
@@ -12,6 +12,7 @@
  *******************************************************************************/
 package org.eclipse.linuxtools.tools.launch.core.tests;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
@@ -64,4 +65,26 @@ public class RuntimeProcessFactoryTest extends AbstractProxyTest {
 			}
 		}
 	}
+
+	@Test
+	public void whichCommandCacheTest() throws IOException {
+		RuntimeProcessFactory factory = RuntimeProcessFactory.getFactory();
+		IProject project = localProject.getProject();
+		String first = factory.whichCommand("ls", project);
+		long hits = factory.getCommandCacheHits();
+		long misses = factory.getCommandCacheMisses();
+
+		assertEquals(first, factory.whichCommand("ls", project));
+		assertEquals(hits + 1, factory.getCommandCacheHits());
+		assertEquals(misses, factory.getCommandCacheMisses());
+
+		// commands that are not found are not cached
+		factory.whichCommand("notexistcmd", project);
+		factory.whichCommand("notexistcmd", project);
+		assertEquals(misses + 2, factory.getCommandCacheMisses());
+
+		factory.clearCommandCache();
+		assertEquals(first, factory.whichCommand("ls", project));
+		assertEquals(misses + 3, factory.getCommandCacheMisses());
+	}
 }
@@ -20,9 +20,13 @@ import java.net.URI;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.StringTokenizer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.cdt.utils.pty.PTY;
+import org.eclipse.core.filesystem.EFS;
 import org.eclipse.core.filesystem.IFileStore;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.CoreException;
@@ -40,11 +44,22 @@ import org.eclipse.linuxtools.profiling.launch.RemoteProxyManager;
  * Use this factory instead of Runtime.getRuntime().exec if the command you
  * are running may be in the linux tools path selected in the project property
  * page.
+ *
+ * The full paths of the commands are resolved with 'which' (or 'where') once
+ * per project, command and PATH, and cached until the path is found to be
+ * stale or the cache is cleared.
  */
 public class RuntimeProcessFactory extends LinuxtoolsProcessFactory {
     private static RuntimeProcessFactory instance = null;
     private static final String WHICH_CMD = "which"; //$NON-NLS-1$
     private static final String WHERE_CMD = "where"; //$NON-NLS-1$
+    private static final String PATH_EQUAL = "PATH="; //$NON-NLS-1$
+    private static final String LOCAL_SCHEME = "file"; //$NON-NLS-1$
+
+    /** Full command paths by project, command and PATH */
+    private final Map<String, String> resolvedCommands = new ConcurrentHashMap<>();
+    private final AtomicLong resolvedCommandHits = new AtomicLong();
+    private final AtomicLong resolvedCommandMisses = new AtomicLong();
 
     private String[] tokenizeCommand(String command) {
         StringTokenizer tokenizer = new StringTokenizer(command);
@@ -56,8 +71,8 @@ public class RuntimeProcessFactory extends LinuxtoolsProcessFactory {
         return cmdarray;
     }
 
-    private String[] fillPathCommand(String[] cmdarray, IProject project) throws IOException {
-        cmdarray[0] = whichCommand(cmdarray[0], project);
+    private String[] fillPathCommand(String[] cmdarray, String[] envp, IProject project) throws IOException {
+        cmdarray[0] = whichCommand(cmdarray[0], project, envp);
         return cmdarray;
     }
 
@@ -82,7 +97,92 @@ public class RuntimeProcessFactory extends LinuxtoolsProcessFactory {
      * @since 1.1
      */
     public String whichCommand(String command, IProject project) throws IOException {
-        String[] envp = updateEnvironment(null, project);
+        return whichCommand(command, project, updateEnvironment(null, project));
+    }
+
+    private String whichCommand(String command, IProject project, String[] envp) throws IOException {
+        String key = getResolvedCommandKey(command, project, envp);
+        String resolved = resolvedCommands.get(key);
+        if (resolved != null) {
+            if (!isStale(resolved, project)) {
+                resolvedCommandHits.incrementAndGet();
+                return resolved;
+            }
+            resolvedCommands.remove(key, resolved);
+        }
+        resolvedCommandMisses.incrementAndGet();
+        resolved = runWhichCommand(command, project, envp);
+        // commands that were not found are looked up again next time
+        if (!resolved.equals(command)) {
+            resolvedCommands.put(key, resolved);
+        }
+        return resolved;
+    }
+
+    private static String getResolvedCommandKey(String command, IProject project, String[] envp) {
+        String path = ""; //$NON-NLS-1$
+        for (String env : envp) {
+            if (env != null && env.startsWith(PATH_EQUAL)) {
+                path = env.substring(PATH_EQUAL.length());
+                break;
+            }
+        }
+        // project names are unique in the workspace, and a project is bound
+        // to one host
+        String projectName = project != null ? project.getName() : ""; //$NON-NLS-1$
+        return projectName + '\0' + command + '\0' + path;
+    }
+
+    /**
+     * Tells whether a cached command path no longer exists. Only local paths
+     * are checked, checking remote paths would cost as much as resolving them
+     * again; they are dropped from the cache when they fail to launch.
+     */
+    private static boolean isStale(String resolved, IProject project) {
+        try {
+            IRemoteFileProxy proxy = RemoteProxyManager.getInstance().getFileProxy(project);
+            URI uri = proxy.toURI(resolved);
+            if (uri == null || (uri.getScheme() != null && !LOCAL_SCHEME.equals(uri.getScheme()))) {
+                return false;
+            }
+            return !EFS.getLocalFileSystem().getStore(uri).fetchInfo().exists();
+        } catch (CoreException | IllegalArgumentException e) {
+            return true;
+        }
+    }
+
+    private void forgetResolvedCommand(String resolved) {
+        resolvedCommands.values().remove(resolved);
+    }
+
+    /**
+     * Clears the cache of the full command paths, so that they are resolved
+     * again with 'which'. Called when the 'Linux Tools Path' changes.
+     *
+     * @since 3.3
+     */
+    public void clearCommandCache() {
+        resolvedCommands.clear();
+    }
+
+    /**
+     * @return The number of commands whose full path was found in the cache.
+     * @since 3.3
+     */
+    public long getCommandCacheHits() {
+        return resolvedCommandHits.get();
+    }
+
+    /**
+     * @return The number of commands whose full path had to be resolved with
+     * 'which'.
+     * @since 3.3
+     */
+    public long getCommandCacheMisses() {
+        return resolvedCommandMisses.get();
+    }
+
+    private String runWhichCommand(String command, IProject project, String[] envp) throws IOException {
         try {
             IRemoteFileProxy proxy = RemoteProxyManager.getInstance().getFileProxy(project);
             URI whichUri;
@@ -253,17 +353,18 @@ public class RuntimeProcessFactory extends LinuxtoolsProcessFactory {
             throws IOException {
 
         Process p = null;
+        String command = null;
         try {
-            cmdarray = fillPathCommand(cmdarray, project);
+            envp = updateEnvironment(envp, project);
+            cmdarray = fillPathCommand(cmdarray, envp, project);
 
-            String command = cmdarray[0];
+            command = cmdarray[0];
             URI uri = URI.create(command);
 
             IPath changeToDir = null;
             IPath path;
             IRemoteCommandLauncher launcher;
 
-            envp = updateEnvironment(envp, project);
             if (project != null) {
                 IRemoteFileProxy proxy = RemoteProxyManager.getInstance().getFileProxy(project);
                 path = new Path(proxy.toPath(uri));
@@ -293,6 +394,10 @@ public class RuntimeProcessFactory extends LinuxtoolsProcessFactory {
         } catch (CoreException e) {
             e.printStackTrace();
         }
+        if (p == null && command != null) {
+            // the cached path may be stale
+            forgetResolvedCommand(command);
+        }
 
         return p;
     }
@@ -26,6 +26,7 @@ import org.eclipse.jface.dialogs.Dialog;
 import org.eclipse.jface.dialogs.IDialogConstants;
 import org.eclipse.jface.preference.StringFieldEditor;
 import org.eclipse.linuxtools.tools.launch.core.LaunchCoreConstants;
+import org.eclipse.linuxtools.tools.launch.core.factory.RuntimeProcessFactory;
 import org.eclipse.linuxtools.tools.launch.core.properties.LinuxtoolsPathProperty;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.events.SelectionListener;
@@ -189,6 +190,7 @@ public class LinuxtoolsPathPropertyPage extends PropertyPage {
     		linuxtoolsPath.store();
     		linuxtoolsPathCombo.store();
     		getPreferenceStore().setValue(LaunchCoreConstants.LINUXTOOLS_PATH_SYSTEM_NAME, systemEnvButton.getSelection());
+    		RuntimeProcessFactory.getFactory().clearCommandCache();
     	}
         return super.performOk();
     }
@@ -199,6 +201,7 @@ public class LinuxtoolsPathPropertyPage extends PropertyPage {
     		linuxtoolsPath.store();
     		linuxtoolsPathCombo.store();
     		getPreferenceStore().setValue(LaunchCoreConstants.LINUXTOOLS_PATH_SYSTEM_NAME, systemEnvButton.getSelection());
+    		RuntimeProcessFactory.getFactory().clearCommandCache();
     	}
         super.performApply();
     }
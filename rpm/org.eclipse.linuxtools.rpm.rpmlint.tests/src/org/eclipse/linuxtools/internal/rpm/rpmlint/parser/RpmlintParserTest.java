@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.linuxtools.internal.rpm.rpmlint.parser;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class RpmlintParserTest {
+
+	private static final String BROKEN = "broken.spec"; //$NON-NLS-1$
+
+	private static List<String> resources(int count) {
+		List<String> resources = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			resources.add("file" + i + ".spec"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		return resources;
+	}
+
+	private static List<RpmlintItem> parse(List<String> batch) {
+		if (batch.contains(BROKEN)) {
+			throw new IllegalStateException(BROKEN);
+		}
+		List<RpmlintItem> items = new ArrayList<>();
+		for (String resource : batch) {
+			RpmlintItem item = new RpmlintItem();
+			item.setFileName(resource);
+			items.add(item);
+		}
+		return items;
+	}
+
+	private static List<String> fileNames(List<RpmlintItem> items) {
+		List<String> fileNames = new ArrayList<>();
+		for (RpmlintItem item : items) {
+			fileNames.add(item.getFileName());
+		}
+		return fileNames;
+	}
+
+	@Test
+	public void testParseBatchesKeepsOrder() {
+		List<String> resources = resources(RpmlintParser.BATCH_SIZE * 3 + 1);
+		assertEquals(resources, fileNames(RpmlintParser.parseBatches(resources, RpmlintParserTest::parse)));
+	}
+
+	@Test
+	public void testParseBatchesSkipsFailingBatch() {
+		List<String> resources = resources(RpmlintParser.BATCH_SIZE * 3);
+		// the second batch fails
+		resources.set(RpmlintParser.BATCH_SIZE, BROKEN);
+		List<String> expected = new ArrayList<>(resources.subList(0, RpmlintParser.BATCH_SIZE));
+		expected.addAll(resources.subList(RpmlintParser.BATCH_SIZE * 2, resources.size()));
+		assertEquals(expected, fileNames(RpmlintParser.parseBatches(resources, RpmlintParserTest::parse)));
+	}
+}
@@ -13,13 +13,21 @@
  *******************************************************************************/
 package org.eclipse.linuxtools.internal.rpm.rpmlint.builder;
 
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IResourceVisitor;
+import org.eclipse.core.resources.IWorkspace;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.Document;
@@ -35,15 +43,19 @@ import org.eclipse.linuxtools.rpm.ui.editor.parser.SpecfileParser;
 /**
  * Visitor that generates markers for rpmlint found warnings and errors.
  *
+ * The rpmlint items are grouped by file up front. Each spec file is read and
+ * parsed once, and the markers of a resource are replaced in a single workspace
+ * operation.
  */
 public class RpmlintMarkerVisitor implements IResourceVisitor {
 
+	private static final Pattern WHITESPACES = Pattern.compile("\t| "); //$NON-NLS-1$
+
 	private List<RpmlintItem> rpmlintItems;
 
-	private boolean firstWarningInResource;
+	private Map<String, List<RpmlintItem>> rpmlintItemsByFile = new HashMap<>();
+
 	private SpecfileParser parser;
-	private SpecfileErrorHandler errorHandler;
-	private SpecfileTaskHandler taskHandler;
 
 	/**
 	 * Creates a visitor for handling .rpm and .spec files and adding markers for
@@ -53,6 +65,9 @@ public class RpmlintMarkerVisitor implements IResourceVisitor {
 	 */
 	public RpmlintMarkerVisitor(List<RpmlintItem> rpmlintItems) {
 		this.rpmlintItems = rpmlintItems;
+		for (RpmlintItem item : rpmlintItems) {
+			rpmlintItemsByFile.computeIfAbsent(item.getFileName(), fileName -> new ArrayList<>()).add(item);
+		}
 		parser = new SpecfileParser();
 	}
 
@@ -60,92 +75,111 @@ public class RpmlintMarkerVisitor implements IResourceVisitor {
 	public boolean visit(IResource resource) throws CoreException {
 		if (resource.getType() == IResource.FILE) {
 			if (Activator.SPECFILE_EXTENSION.equals(resource.getFileExtension())) {
-				firstWarningInResource = true;
-				for (RpmlintItem item : rpmlintItems) {
-					if (item.getFileName().equals(resource.getLocation().toOSString())) {
-						IFile currentFile = ((IFile) resource);
-						if (firstWarningInResource) {
-							RpmlintParser.deleteMarkers(resource);
-							// remove internal marks on the current resource
-							currentFile.deleteMarkers(SpecfileErrorHandler.SPECFILE_ERROR_MARKER_ID, false,
-									IResource.DEPTH_ZERO);
-							firstWarningInResource = false;
-						}
-
-						String specContent = fileToString(currentFile);
-						int lineNumber;
-						// FIXME: workaround the wrong line number with
-						// configure-without-libdir-spec
-						if (item.getId().equals("configure-without-libdir-spec")) { //$NON-NLS-1$
-							item.setLineNbr(-1);
-							lineNumber = RpmlintParser.getRealLineNbr(specContent, "./configure"); //$NON-NLS-1$
-							if (lineNumber == -1) {
-								lineNumber = RpmlintParser.getRealLineNbr(specContent, "%configure"); //$NON-NLS-1$
-							}
-							item.setLineNbr(lineNumber);
-						}
-
-						lineNumber = item.getLineNbr();
-						if (lineNumber == -1) {
-							lineNumber = RpmlintParser.getRealLineNbr(specContent, item.getRefferedContent());
-							if (lineNumber == -1) {
-								lineNumber = 1;
-							}
-						}
-						lineNumber -= 1;
-						// end workaround
-
-						// BTW we mark specfile with the internal marker.
-						parser.setErrorHandler(getSpecfileErrorHandler(currentFile, specContent));
-						parser.setTaskHandler(getSpecfileTaskHandler(currentFile, specContent));
-						parser.parse(specContent);
-
-						IDocument document = new Document(specContent);
-						int charStart = getLineOffset(document, lineNumber);
-						int charEnd = charStart + getLineLength(document, lineNumber);
-						RpmlintParser.addMarker(currentFile, item.getId() + ": " //$NON-NLS-1$
-								+ item.getMessage(), lineNumber, charStart, charEnd, item.getSeverity(), item.getId(),
-								item.getRefferedContent());
-					}
+				List<RpmlintItem> items = resource.getLocation() == null ? null
+						: rpmlintItemsByFile.get(resource.getLocation().toOSString());
+				if (items != null) {
+					IFile currentFile = ((IFile) resource);
+					String specContent = fileToString(currentFile);
+					IDocument document = new Document(specContent);
+					resource.getWorkspace().run(monitor -> markSpecfile(currentFile, document, items), resource,
+							IWorkspace.AVOID_UPDATE, null);
 				}
 			} else if (Activator.RPMFILE_EXTENSION.equals(resource.getFileExtension())) {
-				firstWarningInResource = true;
-				for (RpmlintItem item : rpmlintItems) {
+				if (!rpmlintItems.isEmpty()) {
 					IFile currentFile = ((IFile) resource);
-					if (firstWarningInResource) {
-						RpmlintParser.deleteMarkers(resource);
-						// remove internal marks on the current resource
-						currentFile.deleteMarkers(SpecfileErrorHandler.SPECFILE_ERROR_MARKER_ID, false,
-								IResource.DEPTH_ZERO);
-						firstWarningInResource = false;
-					}
-
-					RpmlintParser.addMarker(currentFile, item.getId() + ": " //$NON-NLS-1$
-							+ item.getMessage(), item.getSeverity(), item.getId(), item.getRefferedContent());
+					resource.getWorkspace().run(monitor -> {
+						deleteMarkers(currentFile);
+						for (RpmlintItem item : rpmlintItems) {
+							RpmlintParser.addMarker(currentFile, item.getId() + ": " //$NON-NLS-1$
+									+ item.getMessage(), item.getSeverity(), item.getId(), item.getRefferedContent());
+						}
+					}, resource, IWorkspace.AVOID_UPDATE, null);
 				}
 			}
 		}
 		return true;
 	}
 
-	private SpecfileErrorHandler getSpecfileErrorHandler(IFile file, String specContent) {
-		if (errorHandler == null) {
-			errorHandler = new SpecfileErrorHandler(file, new Document(specContent));
-		} else {
-			errorHandler.setFile(file);
-			errorHandler.setDocument(new Document(specContent));
+	private void markSpecfile(IFile currentFile, IDocument document, List<RpmlintItem> items) throws CoreException {
+		deleteMarkers(currentFile);
+
+		// BTW we mark specfile with the internal marker.
+		parser.setErrorHandler(new SpecfileErrorHandler(currentFile, document));
+		parser.setTaskHandler(new SpecfileTaskHandler(currentFile, document));
+		parser.parse(document);
+
+		List<String> lines = null;
+		for (RpmlintItem item : items) {
+			int lineNumber;
+			// FIXME: workaround the wrong line number with
+			// configure-without-libdir-spec
+			if (item.getId().equals("configure-without-libdir-spec")) { //$NON-NLS-1$
+				item.setLineNbr(-1);
+				lines = lines != null ? lines : getLines(document);
+				lineNumber = getRealLineNbr(lines, "./configure"); //$NON-NLS-1$
+				if (lineNumber == -1) {
+					lineNumber = getRealLineNbr(lines, "%configure"); //$NON-NLS-1$
+				}
+				item.setLineNbr(lineNumber);
+			}
+
+			lineNumber = item.getLineNbr();
+			if (lineNumber == -1) {
+				lines = lines != null ? lines : getLines(document);
+				lineNumber = getRealLineNbr(lines, item.getRefferedContent());
+				if (lineNumber == -1) {
+					lineNumber = 1;
+				}
+			}
+			lineNumber -= 1;
+			// end workaround
+
+			int charStart = getLineOffset(document, lineNumber);
+			int charEnd = charStart + getLineLength(document, lineNumber);
+			RpmlintParser.addMarker(currentFile, item.getId() + ": " //$NON-NLS-1$
+					+ item.getMessage(), lineNumber, charStart, charEnd, item.getSeverity(), item.getId(),
+					item.getRefferedContent());
+		}
+	}
+
+	private static void deleteMarkers(IFile file) throws CoreException {
+		RpmlintParser.deleteMarkers(file);
+		// remove internal marks on the current resource
+		file.deleteMarkers(SpecfileErrorHandler.SPECFILE_ERROR_MARKER_ID, false, IResource.DEPTH_ZERO);
+	}
+
+	/**
+	 * Returns the lines of the document, without whitespaces, to look for the
+	 * content referred by rpmlint.
+	 */
+	private static List<String> getLines(IDocument document) {
+		List<String> lines = new ArrayList<>();
+		try (BufferedReader reader = new BufferedReader(new StringReader(document.get()))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				lines.add(WHITESPACES.matcher(line).replaceAll("")); //$NON-NLS-1$
+			}
+		} catch (IOException e) {
+			// cannot happen with a StringReader
 		}
-		return errorHandler;
+		return lines;
 	}
 
-	private SpecfileTaskHandler getSpecfileTaskHandler(IFile file, String specContent) {
-		if (taskHandler == null) {
-			taskHandler = new SpecfileTaskHandler(file, new Document(specContent));
-		} else {
-			taskHandler.setFile(file);
-			taskHandler.setDocument(new Document(specContent));
+	/**
+	 * Same as {@link RpmlintParser#getRealLineNbr(String, String)}, on the lines
+	 * returned by {@link #getLines(IDocument)}.
+	 */
+	private static int getRealLineNbr(List<String> lines, String strToFind) {
+		if (strToFind.isEmpty()) {
+			return -1;
 		}
-		return taskHandler;
+		String toFind = WHITESPACES.matcher(strToFind).replaceAll(""); //$NON-NLS-1$
+		for (int i = lines.size() - 1; i >= 0; i--) {
+			if (lines.get(i).indexOf(toFind) > -1) {
+				return i + 1;
+			}
+		}
+		return -1;
 	}
 
 	private static int getLineOffset(IDocument document, int lineNumber) {
@@ -169,10 +203,13 @@ public class RpmlintMarkerVisitor implements IResourceVisitor {
 	private static String fileToString(IFile file) {
 		String ret = ""; //$NON-NLS-1$
 		try (InputStream in = file.getContents()) {
-			int nbrOfByte = in.available();
-			byte[] bytes = new byte[nbrOfByte];
-			in.read(bytes);
-			ret = new String(bytes);
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			byte[] buffer = new byte[8192];
+			int read;
+			while ((read = in.read(buffer)) != -1) {
+				bytes.write(buffer, 0, read);
+			}
+			ret = new String(bytes.toByteArray(), file.getCharset());
 		} catch (CoreException | IOException e) {
 			RpmlintLog.logError(e);
 		}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2018 Alphonse Van Assche and others.
+ * Copyright (c) 2007, 2026 Alphonse Van Assche and others.
  *
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -21,6 +21,12 @@ import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IMarker;
@@ -44,10 +50,24 @@ public class RpmlintParser {
 	private static final String COLON = ":"; //$NON-NLS-1$
 	private static final String SPACE = " "; //$NON-NLS-1$
 	private static final String EMPTY_STRING = ""; //$NON-NLS-1$
+	/** Number of files checked by a single rpmlint run. */
+	static final int BATCH_SIZE = 8;
+
+	private static final String[] MARKER_ATTRIBUTES = { IMarker.LOCATION, IMarker.MESSAGE, IMarker.SEVERITY,
+			RpmlintMarkerResolutionGenerator.RPMLINT_ERROR_ID,
+			RpmlintMarkerResolutionGenerator.RPMLINT_REFFERED_CONTENT };
+
+	private static final String[] LINE_MARKER_ATTRIBUTES = { IMarker.LOCATION, IMarker.MESSAGE, IMarker.SEVERITY,
+			IMarker.LINE_NUMBER, IMarker.CHAR_START, IMarker.CHAR_END,
+			RpmlintMarkerResolutionGenerator.RPMLINT_ERROR_ID,
+			RpmlintMarkerResolutionGenerator.RPMLINT_REFFERED_CONTENT };
 
 	/**
 	 * Parse visited resources.
 	 *
+	 * When there are many resources, rpmlint is run in parallel on batches of
+	 * them and the items are returned in the order of the resources.
+	 *
 	 * @param visitedResources The list of resources to parse.
 	 *
 	 * @return a <code>RpmlintItem</code> ArrayList.
@@ -63,7 +83,54 @@ public class RpmlintParser {
 		if (visitedResources.isEmpty() || !Files.exists(Paths.get(rpmlintPath))) {
 			return new ArrayList<>();
 		}
-		return parseRpmlintOutput(runRpmlintCommand(visitedResources));
+		return parseBatches(visitedResources, RpmlintParser::parseBatch);
+	}
+
+	/**
+	 * Parse resources in batches of {@link #BATCH_SIZE}, in parallel when there is
+	 * more than one batch. A batch that fails is logged and the items of the other
+	 * batches are still returned.
+	 *
+	 * @param resources   The list of resources to parse.
+	 * @param batchParser The parser of a single batch.
+	 *
+	 * @return the items of all the batches, in the order of the resources.
+	 */
+	static List<RpmlintItem> parseBatches(List<String> resources,
+			Function<List<String>, List<RpmlintItem>> batchParser) {
+		if (resources.size() <= BATCH_SIZE) {
+			return batchParser.apply(resources);
+		}
+		List<Callable<List<RpmlintItem>>> batches = new ArrayList<>();
+		for (int i = 0; i < resources.size(); i += BATCH_SIZE) {
+			List<String> batch = resources.subList(i, Math.min(i + BATCH_SIZE, resources.size()));
+			batches.add(() -> batchParser.apply(batch));
+		}
+		ExecutorService executor = Executors
+				.newFixedThreadPool(Math.min(batches.size(), Runtime.getRuntime().availableProcessors()));
+		List<RpmlintItem> rpmlintItems = new ArrayList<>();
+		try {
+			for (Future<List<RpmlintItem>> result : executor.invokeAll(batches)) {
+				try {
+					rpmlintItems.addAll(result.get());
+				} catch (ExecutionException e) {
+					RpmlintLog.logError(e.getCause());
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			executor.shutdownNow();
+		}
+		return rpmlintItems;
+	}
+
+	private static List<RpmlintItem> parseBatch(List<String> resources) {
+		BufferedInputStream in = runRpmlintCommand(resources);
+		if (in == null) {
+			return new ArrayList<>();
+		}
+		return parseRpmlintOutput(in);
 	}
 
 	/**
@@ -82,15 +149,9 @@ public class RpmlintParser {
 			String rpmlintID, String rpmlintrefferedContent) {
 		try {
 			IMarker marker = file.createMarker(RpmlintBuilder.MARKER_ID);
-			marker.setAttribute(IMarker.LOCATION, file.getFullPath().toString());
-			marker.setAttribute(IMarker.MESSAGE, message);
-			marker.setAttribute(IMarker.SEVERITY, severity);
-			marker.setAttribute(IMarker.LINE_NUMBER, lineNumber);
-			marker.setAttribute(IMarker.CHAR_START, charStart);
-			marker.setAttribute(IMarker.CHAR_END, charEnd);
-			marker.setAttribute(RpmlintMarkerResolutionGenerator.RPMLINT_ERROR_ID, rpmlintID);
-			marker.setAttribute(RpmlintMarkerResolutionGenerator.RPMLINT_REFFERED_CONTENT, rpmlintrefferedContent);
-
+			marker.setAttributes(LINE_MARKER_ATTRIBUTES,
+					new Object[] { file.getFullPath().toString(), message, severity, lineNumber, charStart, charEnd,
+							rpmlintID, rpmlintrefferedContent });
 		} catch (CoreException e) {
 			RpmlintLog.logError(e);
 		}
@@ -109,12 +170,8 @@ public class RpmlintParser {
 			String rpmlintrefferedContent) {
 		try {
 			IMarker marker = file.createMarker(RpmlintBuilder.MARKER_ID);
-			marker.setAttribute(IMarker.LOCATION, file.getFullPath().toString());
-			marker.setAttribute(IMarker.MESSAGE, message);
-			marker.setAttribute(IMarker.SEVERITY, severity);
-			marker.setAttribute(RpmlintMarkerResolutionGenerator.RPMLINT_ERROR_ID, rpmlintID);
-			marker.setAttribute(RpmlintMarkerResolutionGenerator.RPMLINT_REFFERED_CONTENT, rpmlintrefferedContent);
-
+			marker.setAttributes(MARKER_ATTRIBUTES, new Object[] { file.getFullPath().toString(), message, severity,
+					rpmlintID, rpmlintrefferedContent });
 		} catch (CoreException e) {
 			RpmlintLog.logError(e);
 		}
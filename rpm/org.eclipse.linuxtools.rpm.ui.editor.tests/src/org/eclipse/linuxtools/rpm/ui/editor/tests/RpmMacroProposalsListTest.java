@@ -17,8 +17,10 @@ import static org.junit.Assert.fail;
 
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.Map;
 
+import org.eclipse.linuxtools.internal.rpm.ui.editor.RpmMacroEvaluator;
 import org.eclipse.linuxtools.internal.rpm.ui.editor.RpmMacroProposalsList;
 import org.junit.Before;
 import org.junit.Test;
@@ -97,4 +99,21 @@ public class RpmMacroProposalsListTest {
 		}
 	}
 
+	@Test
+	public final void testGetMacroEvals() {
+		Map<String, String> evals = RpmMacroEvaluator
+				.eval(Arrays.asList("%_unexistingmacro", "%{_unexistingmacro2}"));
+		if (!evals.get("%_unexistingmacro").equals("%_unexistingmacro")
+				|| !evals.get("%{_unexistingmacro2}").equals("%{_unexistingmacro2}")) {
+			fail("eval faild, batched evals don't contain the macro names");
+		}
+	}
+
+	@Test
+	public final void testHasProposals() {
+		if (!macroProposalsList.hasProposals("%_lib") || macroProposalsList.hasProposals("%_unexistingmacro")) {
+			fail("hasProposals faild");
+		}
+	}
+
 }
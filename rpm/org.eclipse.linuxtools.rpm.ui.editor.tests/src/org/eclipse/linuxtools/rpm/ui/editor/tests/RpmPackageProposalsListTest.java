@@ -18,6 +18,7 @@ import static org.junit.Assert.fail;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.List;
 
 import org.eclipse.linuxtools.internal.rpm.ui.editor.Activator;
@@ -45,6 +46,17 @@ public class RpmPackageProposalsListTest {
 		}
 	}
 
+	@Test
+	public final void testGetProposalsPrefix() {
+		List<String[]> proposals = packageProposalsList.getProposals("r");
+		if (proposals.size() != 1 || !proposals.get(0)[0].equals("rpm")) {
+			fail("getProposals failed, only rpm package should start with 'r'");
+		}
+		if (!packageProposalsList.getPackageNames().equals(Arrays.asList("rpm", "setup", "test"))) {
+			fail("getPackageNames failed, package names are not sorted");
+		}
+	}
+
 	@Test
 	public final void testGetValue() {
 		if (Files.exists(Paths.get("/bin/rpm"))) {
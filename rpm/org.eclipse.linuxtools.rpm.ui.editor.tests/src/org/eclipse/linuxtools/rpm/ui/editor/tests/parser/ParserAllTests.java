@@ -16,6 +16,7 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
 @RunWith(Suite.class)
-@Suite.SuiteClasses({ SourceComparatorTest.class, SpecfileDefineTest.class, SpecfileTest.class })
+@Suite.SuiteClasses({ SourceComparatorTest.class, SpecfileDefineTest.class, SpecfileModelManagerTest.class,
+		SpecfileTest.class })
 public class ParserAllTests {
 }
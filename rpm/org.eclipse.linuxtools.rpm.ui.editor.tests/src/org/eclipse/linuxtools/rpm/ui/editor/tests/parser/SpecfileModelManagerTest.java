@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.rpm.ui.editor.tests.parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.List;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.linuxtools.internal.rpm.ui.editor.parser.SpecfileModelManager;
+import org.eclipse.linuxtools.internal.rpm.ui.editor.parser.SpecfileSource;
+import org.eclipse.linuxtools.rpm.ui.editor.parser.Specfile;
+import org.eclipse.linuxtools.rpm.ui.editor.parser.SpecfileElement;
+import org.eclipse.linuxtools.rpm.ui.editor.parser.SpecfileParser;
+import org.eclipse.linuxtools.rpm.ui.editor.parser.SpecfileSection;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SpecfileModelManagerTest {
+
+	private static final String SPEC = "Name: foo\n" //$NON-NLS-1$
+			+ "Version: 1.0\n" //$NON-NLS-1$
+			+ "Source0: foo-%{version}.tar.gz\n" //$NON-NLS-1$
+			+ "Patch0: foo.patch\n" //$NON-NLS-1$
+			+ "%define bar baz\n" //$NON-NLS-1$
+			+ "\n" //$NON-NLS-1$
+			+ "%description\n" //$NON-NLS-1$
+			+ "some text\n" //$NON-NLS-1$
+			+ "\n" //$NON-NLS-1$
+			+ "%prep\n" //$NON-NLS-1$
+			+ "%setup -q\n" //$NON-NLS-1$
+			+ "%patch0 -p1\n" //$NON-NLS-1$
+			+ "\n" //$NON-NLS-1$
+			+ "%build\n" //$NON-NLS-1$
+			+ "make\n" //$NON-NLS-1$
+			+ "\n" //$NON-NLS-1$
+			+ "%files\n" //$NON-NLS-1$
+			+ "/usr/bin/foo\n"; //$NON-NLS-1$
+
+	private IDocument document;
+
+	@Before
+	public void setUp() {
+		document = new Document(SPEC);
+	}
+
+	@Test
+	public void testSharedModel() {
+		Specfile specfile = SpecfileModelManager.getSpecfile(document);
+		assertSame(specfile, SpecfileModelManager.getSpecfile(document));
+	}
+
+	@Test
+	public void testBodyEditShiftsModel() throws BadLocationException {
+		Specfile specfile = SpecfileModelManager.getSpecfile(document);
+		// insert lines in the %description body
+		document.replace(document.getLineOffset(7), 0, "more text\nand more\n"); //$NON-NLS-1$
+		// remove the "make" line
+		document.replace(document.getLineOffset(16), document.getLineLength(16), ""); //$NON-NLS-1$
+		Specfile shifted = SpecfileModelManager.getSpecfile(document);
+		assertSame(specfile, shifted);
+		assertModelEquals(new SpecfileParser().parse(document), shifted);
+	}
+
+	@Test
+	public void testStructuralEditParses() throws BadLocationException {
+		Specfile specfile = SpecfileModelManager.getSpecfile(document);
+		document.replace(document.getLineOffset(13), 0, "%install\nmake install\n"); //$NON-NLS-1$
+		Specfile parsed = SpecfileModelManager.getSpecfile(document);
+		assertNotSame(specfile, parsed);
+		assertModelEquals(new SpecfileParser().parse(document), parsed);
+	}
+
+	@Test
+	public void testParserUsedOnceAfterPlainParse() {
+		Specfile plain = SpecfileModelManager.getSpecfile(document);
+		SpecfileParser parser = new SpecfileParser();
+		// the model parsed without handlers does not update the markers
+		Specfile handled = SpecfileModelManager.getSpecfile(document, parser);
+		assertNotSame(plain, handled);
+		assertSame(handled, SpecfileModelManager.getSpecfile(document, parser));
+		assertSame(handled, SpecfileModelManager.getSpecfile(document));
+	}
+
+	@Test
+	public void testVersionChanges() throws BadLocationException {
+		long version = SpecfileModelManager.getVersion(document);
+		document.replace(0, 0, "\n"); //$NON-NLS-1$
+		assertEquals(version + 1, SpecfileModelManager.getVersion(document));
+	}
+
+	private static void assertModelEquals(Specfile expected, Specfile actual) {
+		assertElementsEqual(expected.getSections(), actual.getSections());
+		assertElementsEqual(expected.getComplexSections(), actual.getComplexSections());
+		assertElementsEqual(expected.getDefines(), actual.getDefines());
+		assertElementsEqual(expected.getSources(), actual.getSources());
+		assertElementsEqual(expected.getPatches(), actual.getPatches());
+		for (int i = 0; i < expected.getPatches().size(); i++) {
+			SpecfileSource patch = expected.getPatches().get(i);
+			assertEquals(patch.getLinesUsed(), actual.getPatches().get(i).getLinesUsed());
+		}
+	}
+
+	private static void assertElementsEqual(List<? extends SpecfileElement> expected,
+			List<? extends SpecfileElement> actual) {
+		assertEquals(expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); i++) {
+			SpecfileElement e = expected.get(i);
+			SpecfileElement a = actual.get(i);
+			assertEquals(e.getName(), a.getName());
+			assertEquals(e.getLineNumber(), a.getLineNumber());
+			assertEquals(e.getLineStartPosition(), a.getLineStartPosition());
+			assertEquals(e.getLineEndPosition(), a.getLineEndPosition());
+			if (e instanceof SpecfileSection) {
+				assertEquals(((SpecfileSection) e).getSectionEndLine(), ((SpecfileSection) a).getSectionEndLine());
+			}
+		}
+	}
+}
@@ -52,6 +52,10 @@ public class Activator extends AbstractUIPlugin {
 	// RPM package list
 	public static RpmPackageProposalsList packagesList;
 
+	// RPM macro list, rebuilt when the macro files change
+	private RpmMacroProposalsList macroList;
+	private String macroListSignature;
+
 	/**
 	 * The constructor
 	 */
@@ -98,12 +102,17 @@ public class Activator extends AbstractUIPlugin {
 		return fTemplateStore;
 	}
 
-	public RpmMacroProposalsList getRpmMacroList() {
-		return new RpmMacroProposalsList();
+	public synchronized RpmMacroProposalsList getRpmMacroList() {
+		String signature = RpmMacroEvaluator.getMacroFilesSignature();
+		if (macroList == null || !signature.equals(macroListSignature)) {
+			macroList = new RpmMacroProposalsList();
+			macroListSignature = signature;
+		}
+		return macroList;
 	}
 
 	public RpmPackageProposalsList getRpmPackageList() {
-		if (packagesList == null || packagesList.getProposals("").size() == 0) { //$NON-NLS-1$
+		if (packagesList == null || packagesList.isEmpty()) {
 			packagesList = new RpmPackageProposalsList();
 		}
 		return packagesList;
@@ -0,0 +1,329 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Red Hat - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.linuxtools.internal.rpm.ui.editor;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.linuxtools.internal.rpm.ui.editor.preferences.PreferenceConstants;
+import org.eclipse.linuxtools.rpm.core.utils.RPMQuery;
+import org.eclipse.linuxtools.rpm.ui.editor.parser.Specfile;
+
+/**
+ * Evaluates RPM macros with <code>rpm --eval</code> and caches the results.
+ *
+ * Several expressions are evaluated with a single rpm call. The results are
+ * kept, and persisted in the plug-in state location, as long as the macro files
+ * are not modified. Only the most recently used results are kept.
+ */
+public final class RpmMacroEvaluator {
+
+	private static final String CACHE_FILE = "macroEvals.properties"; //$NON-NLS-1$
+	private static final String SIGNATURE_KEY = "signature"; //$NON-NLS-1$
+	private static final String EVAL_KEY_PREFIX = "eval."; //$NON-NLS-1$
+	/** Separates the evaluated expressions, it is left untouched by rpm. */
+	private static final char SEPARATOR = '\u0001';
+	private static final String EMPTY_STRING = ""; //$NON-NLS-1$
+	/** Macro files read by rpm that may not be in the proposals paths. */
+	private static final List<String> RPM_MACRO_PATHS = Arrays.asList(PreferenceConstants.RPMMACRO_FILE,
+			"/usr/lib/rpm/macros", "/usr/lib/rpm/macros.d", "/etc/rpm"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	private static final Pattern MACRO_REFERENCE = Pattern.compile("%\\{?[?!]*([A-Za-z_]\\w*)"); //$NON-NLS-1$
+	/** Number of evaluations kept. */
+	private static final int MAX_EVALS = 1024;
+
+	/** The evaluations, in access order so that the least recently used is dropped. */
+	private static final Map<String, String> evals = new LinkedHashMap<String, String>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+			return size() > MAX_EVALS;
+		}
+	};
+	private static String signature;
+	/** Whether the evaluations changed since they were saved. */
+	private static boolean dirty;
+	/** Children of the macro directories, kept while a directory is not modified. */
+	private static final Map<File, DirectoryListing> listings = new ConcurrentHashMap<>();
+
+	private RpmMacroEvaluator() {
+		// static access only
+	}
+
+	/**
+	 * Return the ouput of the <code>rpm --eval</code> command for a given
+	 * expression.
+	 *
+	 * @param expression The expression to evaluate.
+	 * @return the trimmed evaluation, or an empty string if rpm could not be run.
+	 */
+	public static String eval(String expression) {
+		return eval(Collections.singletonList(expression)).get(expression);
+	}
+
+	/**
+	 * Return the ouput of the <code>rpm --eval</code> command for each of the
+	 * given expressions. The expressions that were not evaluated yet are
+	 * evaluated with a single rpm call.
+	 *
+	 * @param expressions The expressions to evaluate.
+	 * @return the trimmed evaluations by expression.
+	 */
+	public static Map<String, String> eval(Collection<String> expressions) {
+		Map<String, String> result = new HashMap<>();
+		Set<String> missing = new LinkedHashSet<>();
+		String currentSignature = getMacroFilesSignature();
+		synchronized (evals) {
+			validate(currentSignature);
+			for (String expression : expressions) {
+				String value = evals.get(expression);
+				if (value != null) {
+					result.put(expression, value);
+				} else {
+					missing.add(expression);
+				}
+			}
+		}
+		if (missing.isEmpty()) {
+			return result;
+		}
+		Map<String, String> evaluated = evalWithRpm(missing);
+		if (evaluated == null) {
+			for (String expression : missing) {
+				result.put(expression, EMPTY_STRING);
+			}
+			return result;
+		}
+		result.putAll(evaluated);
+		synchronized (evals) {
+			if (currentSignature.equals(signature)) {
+				for (Map.Entry<String, String> entry : evaluated.entrySet()) {
+					if (!entry.getValue().equals(evals.put(entry.getKey(), entry.getValue()))) {
+						dirty = true;
+					}
+				}
+				if (dirty) {
+					save();
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Evaluate at once the known RPM macros referenced by the given specfile, so
+	 * that hovering them does not run rpm. Nothing is done if the hovers show the
+	 * macro descriptions instead of their values.
+	 *
+	 * @param specfile The specfile.
+	 */
+	public static void prefetch(Specfile specfile) {
+		Activator activator = Activator.getDefault();
+		if (specfile == null || specfile.getDocument() == null || activator == null
+				|| PreferenceConstants.P_MACRO_HOVER_CONTENT_VIEWDESCRIPTION
+						.equals(activator.getPreferenceStore().getString(PreferenceConstants.P_MACRO_HOVER_CONTENT))) {
+			return;
+		}
+		RpmMacroProposalsList macroList = activator.getRpmMacroList();
+		Set<String> expressions = new LinkedHashSet<>();
+		Matcher matcher = MACRO_REFERENCE.matcher(specfile.getDocument().get());
+		while (matcher.find()) {
+			String expression = "%" + matcher.group(1); //$NON-NLS-1$
+			if (macroList.findKey(expression)) {
+				expressions.add(expression);
+			}
+		}
+		if (!expressions.isEmpty()) {
+			eval(expressions);
+		}
+	}
+
+	/**
+	 * Compute a signature of the macro files, which changes when one of them is
+	 * added, removed or modified.
+	 *
+	 * @return the signature.
+	 */
+	public static String getMacroFilesSignature() {
+		Set<String> paths = new LinkedHashSet<>(RPM_MACRO_PATHS);
+		Activator activator = Activator.getDefault();
+		if (activator != null) {
+			paths.addAll(Arrays.asList(
+					activator.getPreferenceStore().getString(PreferenceConstants.P_MACRO_PROPOSALS_FILESPATH).split(";"))); //$NON-NLS-1$
+		}
+		StringBuilder result = new StringBuilder();
+		for (String path : paths) {
+			if (!path.isEmpty()) {
+				appendSignature(result, new File(path));
+			}
+		}
+		return result.toString();
+	}
+
+	private static void appendSignature(StringBuilder result, File file) {
+		long lastModified = file.lastModified();
+		result.append(file.getPath()).append(':').append(lastModified).append(':').append(file.length())
+				.append(';');
+		if (file.isDirectory()) {
+			for (File child : listChildren(file, lastModified)) {
+				result.append(child.getName()).append(':').append(child.lastModified()).append(':')
+						.append(child.length()).append(';');
+			}
+		}
+	}
+
+	/**
+	 * List the children of a directory, the directory being scanned again only
+	 * when its modification time changes. The children themselves are still
+	 * checked by the caller, as modifying a file does not modify its directory.
+	 */
+	private static File[] listChildren(File directory, long lastModified) {
+		DirectoryListing listing = listings.get(directory);
+		if (listing == null || listing.lastModified != lastModified) {
+			File[] children = directory.listFiles();
+			if (children == null) {
+				children = new File[0];
+			}
+			Arrays.sort(children);
+			listing = new DirectoryListing(lastModified, children);
+			listings.put(directory, listing);
+		}
+		return listing.children;
+	}
+
+	private static Map<String, String> evalWithRpm(Collection<String> expressions) {
+		Map<String, String> result = new HashMap<>();
+		try {
+			if (expressions.size() > 1) {
+				String[] values = evalBatch(expressions);
+				if (values != null) {
+					int i = 1;
+					for (String expression : expressions) {
+						result.put(expression, values[i++].trim());
+					}
+					return result;
+				}
+			}
+			// a macro failing to expand aborts the whole batch, so the
+			// expressions are evaluated one by one
+			for (String expression : expressions) {
+				result.put(expression, RPMQuery.eval(expression).trim());
+			}
+		} catch (CoreException e) {
+			SpecfileLog.logError(e);
+			return null;
+		}
+		return result;
+	}
+
+	private static String[] evalBatch(Collection<String> expressions) throws CoreException {
+		// each expression is on its own line, as parametric macros take the rest
+		// of their line
+		StringBuilder command = new StringBuilder();
+		for (String expression : expressions) {
+			command.append(SEPARATOR).append('\n').append(expression).append('\n');
+		}
+		command.append(SEPARATOR);
+		String[] values = RPMQuery.eval(command.toString()).split(String.valueOf(SEPARATOR), -1);
+		return values.length == expressions.size() + 2 ? values : null;
+	}
+
+	private static void validate(String currentSignature) {
+		if (signature == null) {
+			load();
+		}
+		if (!currentSignature.equals(signature)) {
+			evals.clear();
+			signature = currentSignature;
+			dirty = true;
+		}
+	}
+
+	private static File getCacheFile() {
+		Activator activator = Activator.getDefault();
+		if (activator == null) {
+			return null;
+		}
+		try {
+			return activator.getStateLocation().append(CACHE_FILE).toFile();
+		} catch (IllegalStateException e) {
+			return null;
+		}
+	}
+
+	private static void load() {
+		File file = getCacheFile();
+		if (file == null || !file.exists()) {
+			return;
+		}
+		Properties properties = new Properties();
+		try (InputStream in = Files.newInputStream(file.toPath())) {
+			properties.load(in);
+		} catch (IOException e) {
+			SpecfileLog.logError(e);
+			return;
+		}
+		signature = properties.getProperty(SIGNATURE_KEY);
+		for (String key : properties.stringPropertyNames()) {
+			if (key.startsWith(EVAL_KEY_PREFIX)) {
+				evals.put(key.substring(EVAL_KEY_PREFIX.length()), properties.getProperty(key));
+			}
+		}
+	}
+
+	private static void save() {
+		File file = getCacheFile();
+		if (file == null) {
+			return;
+		}
+		Properties properties = new Properties();
+		properties.setProperty(SIGNATURE_KEY, signature);
+		for (Map.Entry<String, String> entry : evals.entrySet()) {
+			properties.setProperty(EVAL_KEY_PREFIX + entry.getKey(), entry.getValue());
+		}
+		try (OutputStream out = Files.newOutputStream(file.toPath())) {
+			properties.store(out, null);
+			dirty = false;
+		} catch (IOException e) {
+			SpecfileLog.logError(e);
+		}
+	}
+
+	private static final class DirectoryListing {
+		private final long lastModified;
+		private final File[] children;
+
+		private DirectoryListing(long lastModified, File[] children) {
+			this.lastModified = lastModified;
+			this.children = children;
+		}
+	}
+
+}
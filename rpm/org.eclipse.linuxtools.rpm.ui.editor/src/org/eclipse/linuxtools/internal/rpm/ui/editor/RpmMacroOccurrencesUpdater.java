@@ -27,6 +27,7 @@ import org.eclipse.jface.viewers.IPostSelectionProvider;
 import org.eclipse.jface.viewers.ISelection;
 import org.eclipse.jface.viewers.ISelectionChangedListener;
 import org.eclipse.jface.viewers.SelectionChangedEvent;
+import org.eclipse.linuxtools.internal.rpm.ui.editor.parser.SpecfileModelManager;
 import org.eclipse.linuxtools.rpm.ui.editor.parser.Specfile;
 import org.eclipse.linuxtools.rpm.ui.editor.parser.SpecfileDefine;
 
@@ -38,6 +39,10 @@ public class RpmMacroOccurrencesUpdater implements ISelectionChangedListener {
 
 	private final List<Annotation> fOldAnnotations = new LinkedList<>();
 
+	// word and document version of the current annotations
+	private String fAnnotatedWord;
+	private long fAnnotatedVersion = -1;
+
 	/**
 	 * Creates a new instance on editor <code>specfileEditor</code>.
 	 *
@@ -65,8 +70,15 @@ public class RpmMacroOccurrencesUpdater implements ISelectionChangedListener {
 			if (document == null || model == null) {
 				return;
 			}
-			removeOldAnnotations(model);
 			String currentSelectedWord = getWordAtSelection(fEditor.getSelectionProvider().getSelection(), document);
+			long version = SpecfileModelManager.getVersion(document);
+			if (currentSelectedWord.equals(fAnnotatedWord) && version == fAnnotatedVersion) {
+				// the caret moved within the same word of an unchanged document
+				return;
+			}
+			removeOldAnnotations(model);
+			fAnnotatedWord = currentSelectedWord;
+			fAnnotatedVersion = version;
 			if (isMacro(currentSelectedWord)) {
 				Specfile spec = fEditor.getSpecfile();
 				SpecfileDefine define = spec.getDefine(currentSelectedWord);
@@ -125,7 +137,7 @@ public class RpmMacroOccurrencesUpdater implements ISelectionChangedListener {
 					return true;
 				}
 			}
-			if (Activator.getDefault().getRpmMacroList().getProposals("%" + word).size() > 0) {//$NON-NLS-1$
+			if (Activator.getDefault().getRpmMacroList().hasProposals("%" + word)) {//$NON-NLS-1$
 				return true;
 			}
 		}
@@ -212,13 +224,14 @@ public class RpmMacroOccurrencesUpdater implements ISelectionChangedListener {
 	 */
 	private void createNewAnnotations(String macro, String hoverContent, IDocument document, IAnnotationModel model) {
 		String content = document.get().toLowerCase();
-		int idx = content.indexOf(macro.toLowerCase());
+		String word = macro.toLowerCase();
+		int idx = content.indexOf(word);
 		while (idx != -1) {
 			Annotation annotation = new Annotation(ANNOTATION_TYPE, false, hoverContent);
-			Position position = new Position(idx, macro.length());
+			Position position = new Position(idx, word.length());
 			model.addAnnotation(annotation, position);
 			fOldAnnotations.add(annotation);
-			idx = content.indexOf(macro, idx + 1);
+			idx = content.indexOf(word, idx + word.length());
 		}
 	}
 
@@ -18,13 +18,11 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.TreeMap;
 
 import org.eclipse.linuxtools.internal.rpm.ui.editor.preferences.PreferenceConstants;
 import org.eclipse.linuxtools.internal.rpm.ui.editor.scanners.SpecfileScanner;
-import org.eclipse.linuxtools.rpm.core.utils.Utils;
 
 /**
  * This class is used to retrieve and manage the RPM macro proposals list.
@@ -34,7 +32,7 @@ public class RpmMacroProposalsList {
 
 	private static final String EMPTY_STRING = ""; //$NON-NLS-1$
 
-	private Map<String, String> macroMap = new HashMap<>();
+	private TreeMap<String, String> macroMap = new TreeMap<>();
 
 	private String toStringStr;
 
@@ -154,15 +152,22 @@ public class RpmMacroProposalsList {
 	 * @return a <code>Map</code> of proposals.
 	 */
 	public Map<String, String> getProposals(String prefix) {
-		Map<String, String> proposalsMap = new HashMap<>(macroMap.size());
-		for (Map.Entry<String, String> entry : macroMap.entrySet()) {
-			// Get proposals for macro begin with { char too.
-			if (entry.getKey().startsWith(prefix.replaceFirst("\\{", EMPTY_STRING))) { //$NON-NLS-1$
-				proposalsMap.put(entry.getKey(), entry.getValue());
-			}
-		}
-		// Sort proposals
-		return new TreeMap<>(proposalsMap);
+		// Get proposals for macro begin with { char too.
+		String key = prefix.replaceFirst("\\{", EMPTY_STRING); //$NON-NLS-1$
+		// the sorted keys starting with the prefix are a range of the map
+		return new TreeMap<>(macroMap.subMap(key, key + Character.MAX_VALUE));
+	}
+
+	/**
+	 * Tell whether there are proposals for a given prefix
+	 *
+	 * @param prefix The prefix to search.
+	 * @return <code>true</code> if a macro starts with the prefix.
+	 */
+	public boolean hasProposals(String prefix) {
+		String key = prefix.replaceFirst("\\{", EMPTY_STRING); //$NON-NLS-1$
+		String ceilingKey = macroMap.ceilingKey(key);
+		return ceilingKey != null && ceilingKey.startsWith(key);
 	}
 
 	/**
@@ -192,18 +197,13 @@ public class RpmMacroProposalsList {
 
 	/**
 	 * Return the ouput of the <code>rpm --eval</code> command for a given macro.
+	 * The evaluations are cached by {@link RpmMacroEvaluator}.
 	 *
 	 * @param macroName The macro name to eval.
 	 * @return the resolved macro content.
 	 */
 	public static String getMacroEval(String macroName) {
-		String eval = EMPTY_STRING;
-		try {
-			eval = Utils.runCommandToString("rpm", "--eval", macroName); //$NON-NLS-1$//$NON-NLS-2$
-		} catch (IOException e) {
-			SpecfileLog.logError(e);
-		}
-		return eval.trim();
+		return RpmMacroEvaluator.eval(macroName);
 	}
 
 	@Override
@@ -13,16 +13,18 @@
 package org.eclipse.linuxtools.internal.rpm.ui.editor;
 
 import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
 import java.util.Date;
-import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.TreeSet;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
@@ -65,52 +67,45 @@ public final class RpmPackageBuildProposalsJob extends Job {
 	protected IStatus run(IProgressMonitor monitor) {
 		String rpmListCmd = STORE.getString(PreferenceConstants.P_CURRENT_RPMTOOLS);
 		String rpmListFilepath = STORE.getString(PreferenceConstants.P_RPM_LIST_FILEPATH);
-		Path bkupFile = Paths.get(rpmListFilepath + ".bkup"); //$NON-NLS-1$
 		try {
 			monitor.beginTask(Messages.RpmPackageBuildProposalsJob_1, IProgressMonitor.UNKNOWN);
 			if (Files.exists(Paths.get("/bin/sh"))) { //$NON-NLS-1$
 				BufferedProcessInputStream in = Utils.runCommandToInputStream("/bin/sh", "-c", rpmListCmd); //$NON-NLS-1$ //$NON-NLS-2$
-				// backup pkg list file
-				Path rpmListFile = Paths.get(rpmListFilepath);
-				if (Files.exists(rpmListFile)) {
-					Files.copy(Paths.get(rpmListFilepath), bkupFile);
-				}
-
-				try (BufferedWriter out = Files.newBufferedWriter(rpmListFile);
-						BufferedReader reader = new BufferedReader(new InputStreamReader(in))) {
+				// the list is stored sorted and without duplicates, so that it can
+				// be loaded as an index of the package names
+				Set<String> packages = new TreeSet<>();
+				try (BufferedReader reader = new BufferedReader(new InputStreamReader(in))) {
 					monitor.subTask(Messages.RpmPackageBuildProposalsJob_2 + rpmListCmd
 							+ Messages.RpmPackageBuildProposalsJob_3);
 					String line;
 					while ((line = reader.readLine()) != null) {
 						monitor.subTask(line);
-						out.write(line + "\n"); //$NON-NLS-1$
+						line = line.trim();
+						if (!line.isEmpty()) {
+							packages.add(line);
+						}
 						if (monitor.isCanceled()) {
 							in.destroyProcess();
-							in.close();
-							out.close();
-							// restore backup
-							if (Files.exists(rpmListFile) && Files.exists(bkupFile)) {
-								Files.copy(bkupFile, Paths.get(rpmListFilepath));
-								Files.delete(bkupFile);
-							}
-							Activator.packagesList = new RpmPackageProposalsList();
+							// the previous list is left untouched
 							return Status.CANCEL_STATUS;
 						}
 					}
-					in.close();
-					out.close();
-					Files.deleteIfExists(bkupFile);
-					int processExitValue = 0;
-					try {
-						processExitValue = in.getExitValue();
-					} catch (InterruptedException e) {
-						return Status.CANCEL_STATUS;
-					}
-					if (processExitValue != 0) {
-						SpecfileLog.log(IStatus.WARNING, processExitValue,
-								NLS.bind(Messages.RpmPackageBuildProposalsJob_NonZeroReturn, processExitValue), null);
-					}
 				}
+				int processExitValue = 0;
+				try {
+					processExitValue = in.getExitValue();
+				} catch (InterruptedException e) {
+					return Status.CANCEL_STATUS;
+				}
+				if (processExitValue != 0) {
+					SpecfileLog.log(IStatus.WARNING, processExitValue,
+							NLS.bind(Messages.RpmPackageBuildProposalsJob_NonZeroReturn, processExitValue), null);
+				}
+				// replace the previous list only once the new one is complete
+				Path rpmListFile = Paths.get(rpmListFilepath);
+				Path tmpFile = Paths.get(rpmListFilepath + ".tmp"); //$NON-NLS-1$
+				Files.write(tmpFile, packages);
+				Files.move(tmpFile, rpmListFile, StandardCopyOption.REPLACE_EXISTING);
 			}
 		} catch (IOException e) {
 			SpecfileLog.logError(e);
@@ -179,21 +174,39 @@ public final class RpmPackageBuildProposalsJob extends Job {
 		}
 	}
 
-	public static Set<String> getPackages() throws InterruptedException, IOException {
-		if (job.getThread() != Thread.currentThread()) {
+	/**
+	 * Read the package list file.
+	 *
+	 * @return The package names, sorted and without duplicates.
+	 * @throws InterruptedException If interrupted while waiting for the job.
+	 * @throws IOException          If the list file cannot be read.
+	 */
+	public static List<String> getPackages() throws InterruptedException, IOException {
+		if (job != null && job.getThread() != Thread.currentThread()) {
 			job.join();
 		}
-		final Set<String> list = new HashSet<>();
+		final List<String> list = new ArrayList<>();
 		String rpmpkgsFile = Activator.getDefault().getPreferenceStore()
 				.getString(PreferenceConstants.P_RPM_LIST_FILEPATH);
 
+		boolean sorted = true;
 		try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(rpmpkgsFile)))) {
 			String line = reader.readLine();
 			while (line != null) {
-				list.add(line.trim());
+				line = line.trim();
+				if (!line.isEmpty()) {
+					if (!list.isEmpty() && list.get(list.size() - 1).compareTo(line) >= 0) {
+						sorted = false;
+					}
+					list.add(line);
+				}
 				line = reader.readLine();
 			}
 		}
+		if (!sorted) {
+			// list written by a previous version or by hand
+			return new ArrayList<>(new TreeSet<>(list));
+		}
 		return list;
 	}
 
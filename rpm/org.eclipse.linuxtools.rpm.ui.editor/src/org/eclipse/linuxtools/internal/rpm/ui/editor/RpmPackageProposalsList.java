@@ -23,9 +23,12 @@ import java.nio.charset.CharsetEncoder;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
 
 import org.eclipse.core.runtime.preferences.InstanceScope;
 import org.eclipse.jface.preference.IPreferenceStore;
@@ -37,9 +40,31 @@ import org.osgi.framework.FrameworkUtil;
 /**
  * This class is used to retrieve and manage the RPM package proposals.
  *
+ * The package names are kept sorted so that the proposals for a prefix are
+ * found with a binary search, and the RPM information of the proposals is
+ * queried with a single <code>rpm -q</code> call and cached.
  */
 public class RpmPackageProposalsList {
-	private final Set<String> list = new HashSet<>();
+	/** Number of RPM informations kept in memory. */
+	private static final int RPM_INFO_CACHE_SIZE = 512;
+	/** Number of packages queried by a single rpm call. */
+	private static final int RPM_QUERY_BATCH_SIZE = 64;
+	private static final char RECORD_START = '\u0001';
+	private static final char RECORD_NAME_END = '\u0002';
+	private static final char RECORD_END = '\u0003';
+	private static final String NOT_INSTALLED_START = "package "; //$NON-NLS-1$
+	private static final String NOT_INSTALLED_END = " is not installed"; //$NON-NLS-1$
+
+	private List<String> list = Collections.emptyList();
+	private final Map<String, String> rpmInfoCache = new LinkedHashMap<String, String>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+			return size() > RPM_INFO_CACHE_SIZE;
+		}
+	};
+	private String rpmInfoCacheFormat;
 	private IPreferenceStore store = new ScopedPreferenceStore(InstanceScope.INSTANCE,
 			FrameworkUtil.getBundle(RpmPackageProposalsList.class).getSymbolicName());
 
@@ -47,9 +72,7 @@ public class RpmPackageProposalsList {
 		String rpmpkgsFile = store.getString(PreferenceConstants.P_RPM_LIST_FILEPATH);
 		if (Files.exists(Paths.get(rpmpkgsFile))) {
 			try {
-				Set<String> newList = RpmPackageBuildProposalsJob.getPackages();
-				list.clear();
-				list.addAll(newList);
+				list = Collections.unmodifiableList(RpmPackageBuildProposalsJob.getPackages());
 			} catch (IOException e) {
 				RpmPackageBuildProposalsJob.update(true);
 				SpecfileLog.logError(e);
@@ -61,53 +84,148 @@ public class RpmPackageProposalsList {
 		}
 	}
 
+	/**
+	 * @return <code>true</code> if there is no package in the list.
+	 */
+	public boolean isEmpty() {
+		return list.isEmpty();
+	}
+
+	/**
+	 * @return All the package names, sorted.
+	 */
+	public List<String> getPackageNames() {
+		return list;
+	}
+
 	public List<String[]> getProposals(String prefix) {
 		int rpmpkgsMaxProposals = store.getInt(PreferenceConstants.P_RPM_LIST_MAX_PROPOSALS);
-		List<String[]> proposalsList = new ArrayList<>(list.size());
-		for (String listValue : list) {
-			String item[] = new String[2];
-			item[0] = listValue;
-			String message = Messages.RpmPackageProposalsList_0 + rpmpkgsMaxProposals
-					+ Messages.RpmPackageProposalsList_1;
-			item[1] = message;
-			if (item[0].startsWith(prefix)) {
-				proposalsList.add(item);
-			}
+		String message = Messages.RpmPackageProposalsList_0 + rpmpkgsMaxProposals + Messages.RpmPackageProposalsList_1;
+		List<String[]> proposalsList = new ArrayList<>();
+		int index = Collections.binarySearch(list, prefix);
+		for (int i = index < 0 ? -index - 1 : index; i < list.size() && list.get(i).startsWith(prefix); i++) {
+			proposalsList.add(new String[] { list.get(i), message });
 		}
 		/*
 		 * Show RPM informations only if the proposal list is less than the limit set in
 		 * the RPM proposals preference page.
 		 */
 		if (proposalsList.size() < rpmpkgsMaxProposals) {
-			List<String[]> proposalsListWithInfo = new ArrayList<>(proposalsList.size());
+			List<String> names = new ArrayList<>(proposalsList.size());
 			for (String[] proposals : proposalsList) {
-				proposals[1] = getRpmInfo(proposals[0]);
-				proposalsListWithInfo.add(proposals);
+				names.add(proposals[0]);
+			}
+			Map<String, String> rpmInfos = getRpmInfo(names);
+			for (String[] proposals : proposalsList) {
+				proposals[1] = rpmInfos.get(proposals[0]);
 			}
-			return proposalsListWithInfo;
-		} else {
-			return proposalsList;
 		}
+		return proposalsList;
 	}
 
 	public String getValue(String key) {
-		for (String item : list) {
-			if (item.equals(key.trim())) {
-				return getRpmInfo(item);
-			}
+		String item = key.trim();
+		if (Collections.binarySearch(list, item) >= 0) {
+			return getRpmInfo(item);
 		}
 		return null;
 	}
 
 	public String getRpmInfo(String pkgName) {
-		String ret = ""; //$NON-NLS-1$
-		try {
-			ret = Utils.runCommandToString("rpm", "-q", pkgName, "--qf", //$NON-NLS-1$//$NON-NLS-2$ //$NON-NLS-3$
-					getformattedRpmInformations());
-		} catch (IOException e) {
-			SpecfileLog.logError(e);
-			return Messages.RpmPackageProposalsList_2 + Messages.RpmPackageProposalsList_3;
+		return getRpmInfo(Collections.singletonList(pkgName)).get(pkgName);
+	}
+
+	/**
+	 * Get the RPM informations of the given packages. The packages whose
+	 * informations are not cached are queried with a single rpm call.
+	 *
+	 * @param pkgNames The package names.
+	 * @return The RPM informations by package name.
+	 */
+	public Map<String, String> getRpmInfo(Collection<String> pkgNames) {
+		String format = getformattedRpmInformations();
+		Map<String, String> rpmInfos = new HashMap<>();
+		List<String> missing = new ArrayList<>();
+		synchronized (rpmInfoCache) {
+			if (!format.equals(rpmInfoCacheFormat)) {
+				// the displayed informations were changed in the preferences
+				rpmInfoCache.clear();
+				rpmInfoCacheFormat = format;
+			}
+			for (String pkgName : pkgNames) {
+				String rpmInfo = rpmInfoCache.get(pkgName);
+				if (rpmInfo != null) {
+					rpmInfos.put(pkgName, rpmInfo);
+				} else if (!missing.contains(pkgName)) {
+					missing.add(pkgName);
+				}
+			}
 		}
+		for (int i = 0; i < missing.size(); i += RPM_QUERY_BATCH_SIZE) {
+			List<String> batch = missing.subList(i, Math.min(missing.size(), i + RPM_QUERY_BATCH_SIZE));
+			Map<String, String> queried;
+			try {
+				queried = queryRpmInfo(batch, format);
+			} catch (IOException e) {
+				SpecfileLog.logError(e);
+				for (String pkgName : missing) {
+					rpmInfos.put(pkgName, Messages.RpmPackageProposalsList_2 + Messages.RpmPackageProposalsList_3);
+				}
+				return rpmInfos;
+			}
+			rpmInfos.putAll(queried);
+			synchronized (rpmInfoCache) {
+				if (format.equals(rpmInfoCacheFormat)) {
+					rpmInfoCache.putAll(queried);
+				}
+			}
+		}
+		return rpmInfos;
+	}
+
+	private static Map<String, String> queryRpmInfo(List<String> pkgNames, String format) throws IOException {
+		List<String> command = new ArrayList<>(pkgNames.size() + 4);
+		command.add("rpm"); //$NON-NLS-1$
+		command.add("-q"); //$NON-NLS-1$
+		command.addAll(pkgNames);
+		command.add("--qf"); //$NON-NLS-1$
+		// every package is delimited so that a single call can be split
+		command.add(RECORD_START + "%{NAME}" + RECORD_NAME_END + format + RECORD_END); //$NON-NLS-1$
+		String output = reencode(Utils.runCommandToString(command.toArray(new String[command.size()])));
+
+		Map<String, String> rpmInfos = new HashMap<>();
+		int index = 0;
+		while (index < output.length()) {
+			int start = output.indexOf(RECORD_START, index);
+			// text outside of the records tells which packages are not installed
+			String outside = output.substring(index, start < 0 ? output.length() : start);
+			for (String line : outside.split("\n")) { //$NON-NLS-1$
+				if (line.startsWith(NOT_INSTALLED_START) && line.endsWith(NOT_INSTALLED_END)) {
+					String pkgName = line.substring(NOT_INSTALLED_START.length(),
+							line.length() - NOT_INSTALLED_END.length());
+					rpmInfos.put(pkgName, line + '\n');
+				}
+			}
+			if (start < 0) {
+				break;
+			}
+			int nameEnd = output.indexOf(RECORD_NAME_END, start);
+			int end = output.indexOf(RECORD_END, start);
+			if (nameEnd < 0 || end < nameEnd) {
+				break;
+			}
+			String pkgName = output.substring(start + 1, nameEnd);
+			// several versions of a package may be installed
+			rpmInfos.merge(pkgName, output.substring(nameEnd + 1, end), String::concat);
+			index = end + 1;
+		}
+		for (String pkgName : pkgNames) {
+			rpmInfos.putIfAbsent(pkgName, ""); //$NON-NLS-1$
+		}
+		return rpmInfos;
+	}
+
+	private static String reencode(String output) {
 		// Create encoder and decoder
 		CharsetDecoder decoder = Charset.forName(System.getProperty("file.encoding")).newDecoder(); //$NON-NLS-1$
 		/*
@@ -116,14 +234,14 @@ public class RpmPackageProposalsList {
 		 */
 		CharsetEncoder encoder = Charset.forName("ISO-8859-1").newEncoder(); //$NON-NLS-1$
 		try {
-			ByteBuffer bbuf = encoder.encode(CharBuffer.wrap(ret));
+			ByteBuffer bbuf = encoder.encode(CharBuffer.wrap(output));
 			CharBuffer cbuf = decoder.decode(bbuf);
-			ret = cbuf.toString();
+			return cbuf.toString();
 		} catch (CharacterCodingException e) {
 			// If an error occurs when re-encoding the output, the original
 			// output is returned.
+			return output;
 		}
-		return ret;
 	}
 
 	private String getformattedRpmInformations() {
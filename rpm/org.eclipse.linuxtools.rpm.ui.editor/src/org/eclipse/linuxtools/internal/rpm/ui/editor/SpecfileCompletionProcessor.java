@@ -37,11 +37,11 @@ import org.eclipse.jface.text.templates.TemplateContext;
 import org.eclipse.jface.text.templates.TemplateContextType;
 import org.eclipse.jface.text.templates.TemplateException;
 import org.eclipse.jface.text.templates.TemplateProposal;
+import org.eclipse.linuxtools.internal.rpm.ui.editor.parser.SpecfileModelManager;
 import org.eclipse.linuxtools.internal.rpm.ui.editor.parser.SpecfileSource;
 import org.eclipse.linuxtools.internal.rpm.ui.editor.scanners.SpecfilePartitionScanner;
 import org.eclipse.linuxtools.rpm.ui.editor.parser.Specfile;
 import org.eclipse.linuxtools.rpm.ui.editor.parser.SpecfileDefine;
-import org.eclipse.linuxtools.rpm.ui.editor.parser.SpecfileParser;
 import org.eclipse.linuxtools.rpm.ui.editor.parser.SpecfileSection;
 
 /**
@@ -80,7 +80,7 @@ public class SpecfileCompletionProcessor implements IContentAssistProcessor {
 	public ICompletionProposal[] computeCompletionProposals(ITextViewer viewer, int offset) {
 		List<ICompletionProposal> result = new ArrayList<>();
 
-		Specfile specfile = new SpecfileParser().parse(viewer.getDocument());
+		Specfile specfile = SpecfileModelManager.getSpecfile(viewer.getDocument());
 		String prefix = completionWord(viewer.getDocument(), offset);
 		Region region = new Region(offset - prefix.length(), prefix.length());
 		// RPM macro's are useful in the whole specfile.
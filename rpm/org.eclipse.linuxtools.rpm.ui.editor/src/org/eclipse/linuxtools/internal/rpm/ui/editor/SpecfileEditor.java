@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2018 Red Hat Inc.
+ * Copyright (c) 2007, 2026 Red Hat Inc.
  *
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -24,6 +24,7 @@ import org.eclipse.jface.text.source.SourceViewer;
 import org.eclipse.jface.text.source.projection.ProjectionSupport;
 import org.eclipse.jface.text.source.projection.ProjectionViewer;
 import org.eclipse.linuxtools.internal.rpm.ui.editor.outline.SpecfileContentOutlinePage;
+import org.eclipse.linuxtools.internal.rpm.ui.editor.parser.SpecfileModelManager;
 import org.eclipse.linuxtools.rpm.ui.editor.markers.SpecfileErrorHandler;
 import org.eclipse.linuxtools.rpm.ui.editor.markers.SpecfileTaskHandler;
 import org.eclipse.linuxtools.rpm.ui.editor.parser.Specfile;
@@ -95,9 +96,13 @@ public class SpecfileEditor extends TextEditor {
 			specfileErrorHandler.removeExistingMarkers();
 			SpecfileTaskHandler specfileTaskHandler = new SpecfileTaskHandler(getInputFile(), document);
 			specfileTaskHandler.removeExistingMarkers();
-			this.parser.setErrorHandler(specfileErrorHandler);
-			this.parser.setTaskHandler(specfileTaskHandler);
-			specfile = parser.parse(document);
+			// the model manager parses with the lock of the parser held, so
+			// the handlers are not changed during a reconcile
+			synchronized (parser) {
+				this.parser.setErrorHandler(specfileErrorHandler);
+				this.parser.setTaskHandler(specfileTaskHandler);
+				specfile = SpecfileModelManager.parse(document, parser);
+			}
 		} catch (Exception e) {
 			SpecfileLog.logError(e);
 		}
@@ -23,9 +23,9 @@ import org.eclipse.jface.text.ITextHover;
 import org.eclipse.jface.text.ITextHoverExtension;
 import org.eclipse.jface.text.ITextViewer;
 import org.eclipse.jface.text.Region;
+import org.eclipse.linuxtools.internal.rpm.ui.editor.parser.SpecfileModelManager;
 import org.eclipse.linuxtools.rpm.ui.editor.parser.Specfile;
 import org.eclipse.linuxtools.rpm.ui.editor.parser.SpecfileDefine;
-import org.eclipse.linuxtools.rpm.ui.editor.parser.SpecfileParser;
 import org.eclipse.swt.graphics.Point;
 
 public class SpecfileHover implements ITextHover, ITextHoverExtension {
@@ -36,7 +36,7 @@ public class SpecfileHover implements ITextHover, ITextHoverExtension {
 			return null;
 		}
 
-		Specfile spec = new SpecfileParser().parse(textViewer.getDocument());
+		Specfile spec = SpecfileModelManager.getSpecfile(textViewer.getDocument());
 		String currentSelection;
 		try {
 			currentSelection = textViewer.getDocument().get(hoverRegion.getOffset() + 1, hoverRegion.getLength() - 1);
@@ -21,6 +21,7 @@ import org.eclipse.jface.text.reconciler.DirtyRegion;
 import org.eclipse.jface.text.reconciler.IReconcilingStrategy;
 import org.eclipse.jface.text.reconciler.IReconcilingStrategyExtension;
 import org.eclipse.linuxtools.internal.rpm.ui.editor.outline.SpecfileContentOutlinePage;
+import org.eclipse.linuxtools.internal.rpm.ui.editor.parser.SpecfileModelManager;
 import org.eclipse.linuxtools.rpm.ui.editor.parser.Specfile;
 import org.eclipse.swt.widgets.Shell;
 import org.eclipse.ui.texteditor.IDocumentProvider;
@@ -64,10 +65,13 @@ public class SpecfileReconcilingStrategy implements IReconcilingStrategy, IRecon
 	private void reconcile() {
 		Specfile specfile = editor.getSpecfile();
 		if (specfile != null) {
-			editor.setSpecfile(editor.getParser().parse(documentProvider.getDocument(editor.getEditorInput())));
+			editor.setSpecfile(SpecfileModelManager.getSpecfile(documentProvider.getDocument(editor.getEditorInput()),
+					editor.getParser()));
 			outline.update();
 			updateFolding();
 			updateEditor();
+			// evaluate the macros of the specfile at once for the hovers
+			RpmMacroEvaluator.prefetch(editor.getSpecfile());
 		}
 	}
 
@@ -81,8 +85,8 @@ public class SpecfileReconcilingStrategy implements IReconcilingStrategy, IRecon
 		if (!(shell == null || shell.isDisposed())) {
 			// Bug 538050
 			if (documentProvider != null && documentProvider.getDocument(editor.getEditorInput()) != null) {
-				shell.getDisplay().asyncExec(() -> editor
-						.setSpecfile(editor.getParser().parse(documentProvider.getDocument(editor.getEditorInput()))));
+				shell.getDisplay().asyncExec(() -> editor.setSpecfile(SpecfileModelManager
+						.getSpecfile(documentProvider.getDocument(editor.getEditorInput()), editor.getParser())));
 			}
 		}
 	}
@@ -26,11 +26,11 @@ import org.eclipse.jface.text.hyperlink.AbstractHyperlinkDetector;
 import org.eclipse.jface.text.hyperlink.IHyperlink;
 import org.eclipse.linuxtools.internal.rpm.ui.editor.ISpecfileSpecialSymbols;
 import org.eclipse.linuxtools.internal.rpm.ui.editor.SpecfileEditor;
+import org.eclipse.linuxtools.internal.rpm.ui.editor.parser.SpecfileModelManager;
 import org.eclipse.linuxtools.internal.rpm.ui.editor.parser.SpecfileSource;
 import org.eclipse.linuxtools.rpm.ui.editor.parser.Specfile;
 import org.eclipse.linuxtools.rpm.ui.editor.parser.SpecfileDefine;
 import org.eclipse.linuxtools.rpm.ui.editor.parser.SpecfileElement;
-import org.eclipse.linuxtools.rpm.ui.editor.parser.SpecfileParser;
 import org.eclipse.ui.IEditorPart;
 import org.eclipse.ui.IWorkbench;
 import org.eclipse.ui.IWorkbenchPage;
@@ -62,17 +62,13 @@ public class SpecfileElementHyperlinkDetector extends AbstractHyperlinkDetector
 			return null;
 		}
 
-		// Keeps the errorHandler on the initial opening of the .spec file
-		// otherwise, a new SpecfileParser does not initialize errorHandler
-		// until a SpecfileEditor#editorSaved is called
-		if (specfile == null) {
+		// Use the model shared with the editor, which follows the changes of
+		// the document. The editor parser keeps the errorHandler if the
+		// document has to be parsed again.
+		Specfile currentSpecfile = specfile;
+		if (currentSpecfile == null || currentSpecfile.getDocument() != document) {
 			SpecfileEditor a = this.getAdapter(SpecfileEditor.class);
-			if (a != null && a.getSpecfile() != null) {
-				specfile = a.getSpecfile();
-			} else {
-				SpecfileParser parser = new SpecfileParser();
-				specfile = parser.parse(document);
-			}
+			currentSpecfile = SpecfileModelManager.getSpecfile(document, a != null ? a.getParser() : null);
 		}
 
 		int offset = region.getOffset();
@@ -113,20 +109,20 @@ public class SpecfileElementHyperlinkDetector extends AbstractHyperlinkDetector
 		if (word.startsWith(SOURCE_IDENTIFIER)) {
 			int sourceNumber = Integer.valueOf(word.substring(SOURCE_IDENTIFIER.length(), word.length() - 1))
 					.intValue();
-			SpecfileSource source = specfile.getSource(sourceNumber);
+			SpecfileSource source = currentSpecfile.getSource(sourceNumber);
 			if (source != null) {
 				return prepareHyperlink(lineInfo, line, word, source);
 			}
 		} else if (word.startsWith(PATCH_IDENTIFIER)) {
 
 			int sourceNumber = Integer.valueOf(word.substring(PATCH_IDENTIFIER.length(), word.length())).intValue();
-			SpecfileSource source = specfile.getPatch(sourceNumber);
+			SpecfileSource source = currentSpecfile.getPatch(sourceNumber);
 			if (source != null) {
 				return prepareHyperlink(lineInfo, line, word, source);
 			}
 		} else {
 			String defineName = getDefineName(word);
-			SpecfileDefine define = specfile.getDefine(defineName);
+			SpecfileDefine define = currentSpecfile.getDefine(defineName);
 			if (define != null) {
 				return prepareHyperlink(lineInfo, line, defineName, define, wordOffsetInLine);
 			}
@@ -19,10 +19,10 @@ import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IPositionUpdater;
 import org.eclipse.jface.viewers.ITreeContentProvider;
 import org.eclipse.jface.viewers.Viewer;
+import org.eclipse.linuxtools.internal.rpm.ui.editor.parser.SpecfileModelManager;
 import org.eclipse.linuxtools.rpm.ui.editor.parser.Specfile;
 import org.eclipse.linuxtools.rpm.ui.editor.parser.SpecfilePackage;
 import org.eclipse.linuxtools.rpm.ui.editor.parser.SpecfilePackageContainer;
-import org.eclipse.linuxtools.rpm.ui.editor.parser.SpecfileParser;
 import org.eclipse.ui.texteditor.IDocumentProvider;
 import org.eclipse.ui.texteditor.ITextEditor;
 
@@ -34,7 +34,7 @@ public class SpecfileContentProvider implements ITreeContentProvider {
 	protected IPositionUpdater positionUpdater = new DefaultPositionUpdater(SECTION_POSITIONS);
 
 	public SpecfileContentProvider(ITextEditor editor) {
-		specfile = new SpecfileParser().parse(editor.getDocumentProvider().getDocument(editor.getEditorInput()));
+		specfile = SpecfileModelManager.getSpecfile(editor.getDocumentProvider().getDocument(editor.getEditorInput()));
 		this.documentProvider = editor.getDocumentProvider();
 	}
 
@@ -60,7 +60,7 @@ public class SpecfileContentProvider implements ITreeContentProvider {
 			if (document != null) {
 				document.addPositionCategory(SECTION_POSITIONS);
 				document.addPositionUpdater(positionUpdater);
-				specfile = new SpecfileParser().parse(document);
+				specfile = SpecfileModelManager.getSpecfile(document);
 			}
 		}
 	}
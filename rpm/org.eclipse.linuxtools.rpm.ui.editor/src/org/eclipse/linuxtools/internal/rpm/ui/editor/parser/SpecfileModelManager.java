@@ -0,0 +1,329 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.internal.rpm.ui.editor.parser;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
+import org.eclipse.linuxtools.internal.rpm.ui.editor.ISpecfileSpecialSymbols;
+import org.eclipse.linuxtools.rpm.ui.editor.parser.Specfile;
+import org.eclipse.linuxtools.rpm.ui.editor.parser.SpecfileElement;
+import org.eclipse.linuxtools.rpm.ui.editor.parser.SpecfilePackage;
+import org.eclipse.linuxtools.rpm.ui.editor.parser.SpecfileParser;
+import org.eclipse.linuxtools.rpm.ui.editor.parser.SpecfileSection;
+
+/**
+ * Keeps a single {@link Specfile} model per {@link IDocument}, shared by the
+ * reconciler, the outline, completion, hovers and hyperlinks so that the
+ * document is not parsed again by each of them.
+ * <p>
+ * The model is versioned by the changes made to its document. Edits that only
+ * touch lines the parser ignores (see
+ * {@link SpecfileParser#isStructuralLine(String)}), which covers typing in
+ * section bodies, are applied to the existing model by shifting the line
+ * numbers and positions of the elements that follow the edited lines. Any
+ * other edit causes the document to be parsed again the next time the model
+ * is requested.
+ */
+public final class SpecfileModelManager {
+
+	/** edits spanning more lines than this are not applied incrementally. */
+	private static final int MAX_INCREMENTAL_LINES = 64;
+
+	private static final Map<IDocument, WeakReference<DocumentModel>> models = new WeakHashMap<>();
+
+	private SpecfileModelManager() {
+		// static access only
+	}
+
+	/**
+	 * Returns the up-to-date model of the given document, parsing it only if
+	 * it changed in a way that could not be applied to the existing model.
+	 *
+	 * @param document The document.
+	 * @return The model or <code>null</code> if there is no document.
+	 */
+	public static Specfile getSpecfile(IDocument document) {
+		return getSpecfile(document, null);
+	}
+
+	/**
+	 * Returns the up-to-date model of the given document. If the document
+	 * needs to be parsed, or if the model was parsed without handlers, the
+	 * given parser is used so that its error and task handlers update the
+	 * markers.
+	 *
+	 * @param document The document.
+	 * @param parser   The parser to use if the document has to be parsed, or
+	 *                 <code>null</code> to use a parser without handlers. Parses
+	 *                 are done while holding the lock of the parser.
+	 * @return The model or <code>null</code> if there is no document.
+	 */
+	public static Specfile getSpecfile(IDocument document, SpecfileParser parser) {
+		if (document == null) {
+			return null;
+		}
+		return getModel(document).getSpecfile(document, parser, false);
+	}
+
+	/**
+	 * Parses the given document with the given parser, and shares the result
+	 * as the up-to-date model of the document.
+	 *
+	 * @param document The document.
+	 * @param parser   The parser to use.
+	 * @return The new model.
+	 */
+	public static Specfile parse(IDocument document, SpecfileParser parser) {
+		return getModel(document).getSpecfile(document, parser, true);
+	}
+
+	/**
+	 * Returns the version of the model of the given document, which changes
+	 * each time the document is modified.
+	 *
+	 * @param document The document.
+	 * @return The version.
+	 */
+	public static long getVersion(IDocument document) {
+		return getModel(document).getVersion();
+	}
+
+	private static DocumentModel getModel(IDocument document) {
+		synchronized (models) {
+			WeakReference<DocumentModel> reference = models.get(document);
+			DocumentModel model = reference != null ? reference.get() : null;
+			if (model == null) {
+				// the document keeps the model alive through its listener
+				model = new DocumentModel();
+				document.addDocumentListener(model);
+				models.put(document, new WeakReference<>(model));
+			}
+			return model;
+		}
+	}
+
+	/**
+	 * A change of lines that the parser ignores.
+	 */
+	private static class LineShift {
+		/** last line of the replaced range, in the previous document. */
+		final int lastLine;
+		final int lineDelta;
+		final int positionDelta;
+		final int previousNumberOfLines;
+		final int numberOfLines;
+
+		LineShift(int lastLine, int lineDelta, int positionDelta, int previousNumberOfLines, int numberOfLines) {
+			this.lastLine = lastLine;
+			this.lineDelta = lineDelta;
+			this.positionDelta = positionDelta;
+			this.previousNumberOfLines = previousNumberOfLines;
+			this.numberOfLines = numberOfLines;
+		}
+	}
+
+	/**
+	 * The model of a document, updated from the events of the document.
+	 */
+	private static class DocumentModel implements IDocumentListener {
+
+		private Specfile specfile;
+		/** whether the model was parsed with the error and task handlers. */
+		private boolean parsedWithHandlers;
+		private boolean parseNeeded = true;
+		private final List<LineShift> pendingShifts = new ArrayList<>();
+		private long version;
+
+		// state of the replaced lines, between the two document events
+		private int firstLine;
+		private int lastLine;
+		private int replacedLength;
+		private int previousNumberOfLines;
+
+		synchronized long getVersion() {
+			return version;
+		}
+
+		Specfile getSpecfile(IDocument document, SpecfileParser parser, boolean forceParse) {
+			long parsedVersion;
+			synchronized (this) {
+				if (!forceParse && !parseNeeded && specfile != null && (parser == null || parsedWithHandlers)) {
+					if (!pendingShifts.isEmpty()) {
+						Set<SpecfileElement> elements = collectElements(specfile);
+						for (LineShift shift : pendingShifts) {
+							apply(shift, elements);
+						}
+						pendingShifts.clear();
+					}
+					return specfile;
+				}
+				parsedVersion = version;
+			}
+			// parse without holding the lock so that the document events of
+			// the UI thread are not blocked by a background parse
+			Specfile parsed;
+			if (parser != null) {
+				// the parser of an editor keeps state while it parses and is
+				// shared by the reconciler and the UI thread
+				synchronized (parser) {
+					parsed = parser.parse(document);
+				}
+			} else {
+				parsed = new SpecfileParser().parse(document);
+			}
+			synchronized (this) {
+				if (version == parsedVersion) {
+					specfile = parsed;
+					parsedWithHandlers = parser != null;
+					parseNeeded = false;
+					pendingShifts.clear();
+				}
+			}
+			return parsed;
+		}
+
+		@Override
+		public synchronized void documentAboutToBeChanged(DocumentEvent event) {
+			if (parseNeeded) {
+				return;
+			}
+			IDocument document = event.getDocument();
+			try {
+				firstLine = document.getLineOfOffset(event.getOffset());
+				lastLine = document.getLineOfOffset(event.getOffset() + event.getLength());
+				previousNumberOfLines = document.getNumberOfLines();
+				replacedLength = measureIgnoredLines(document, firstLine, lastLine);
+			} catch (BadLocationException e) {
+				replacedLength = -1;
+			}
+			if (replacedLength < 0) {
+				parseNeeded = true;
+			}
+		}
+
+		@Override
+		public synchronized void documentChanged(DocumentEvent event) {
+			version++;
+			if (parseNeeded) {
+				return;
+			}
+			IDocument document = event.getDocument();
+			String text = event.getText() != null ? event.getText() : ""; //$NON-NLS-1$
+			int length = -1;
+			int newLastLine = lastLine;
+			try {
+				newLastLine = document.getLineOfOffset(event.getOffset() + text.length());
+				length = measureIgnoredLines(document, firstLine, newLastLine);
+			} catch (BadLocationException e) {
+				length = -1;
+			}
+			if (length < 0) {
+				parseNeeded = true;
+				pendingShifts.clear();
+				return;
+			}
+			pendingShifts.add(new LineShift(lastLine, newLastLine - lastLine, length - replacedLength,
+					previousNumberOfLines, document.getNumberOfLines()));
+		}
+
+		/**
+		 * Measures the given lines the way the parser computes positions (one
+		 * character per delimiter).
+		 *
+		 * @return the length of the lines, or <code>-1</code> if one of them
+		 *         may contribute to the model and the document must be parsed
+		 *         again
+		 */
+		private static int measureIgnoredLines(IDocument document, int first, int last)
+				throws BadLocationException {
+			if (last - first >= MAX_INCREMENTAL_LINES) {
+				return -1;
+			}
+			int length = 0;
+			for (int line = first; line <= last; line++) {
+				int lineLength = document.getLineLength(line);
+				String delimiter = document.getLineDelimiter(line);
+				if (delimiter != null) {
+					lineLength -= delimiter.length();
+				}
+				String text = document.get(document.getLineOffset(line), lineLength);
+				// comments may hold task tags, which are only generated while
+				// parsing
+				if (SpecfileParser.isStructuralLine(text)
+						|| text.contains(ISpecfileSpecialSymbols.COMMENT_START)) {
+					return -1;
+				}
+				length += lineLength + 1;
+			}
+			return length;
+		}
+
+		private static Set<SpecfileElement> collectElements(Specfile specfile) {
+			Set<SpecfileElement> elements = Collections.newSetFromMap(new IdentityHashMap<>());
+			elements.addAll(specfile.getSections());
+			elements.addAll(specfile.getComplexSections());
+			elements.addAll(specfile.getDefines());
+			elements.addAll(specfile.getSources());
+			elements.addAll(specfile.getPatches());
+			elements.addAll(specfile.getBuildRequires());
+			elements.addAll(specfile.getRequires());
+			for (SpecfilePackage rpmPackage : specfile.getPackages().getPackages()) {
+				elements.add(rpmPackage);
+				Collections.addAll(elements, rpmPackage.getSections());
+				elements.addAll(rpmPackage.getRequires());
+			}
+			return elements;
+		}
+
+		private static void apply(LineShift shift, Set<SpecfileElement> elements) {
+			for (SpecfileElement element : elements) {
+				if (element.getLineNumber() > shift.lastLine) {
+					element.setLineNumber(element.getLineNumber() + shift.lineDelta);
+					element.setLineStartPosition(element.getLineStartPosition() + shift.positionDelta);
+					element.setLineEndPosition(element.getLineEndPosition() + shift.positionDelta);
+				}
+				if (element instanceof SpecfileSection) {
+					SpecfileSection section = (SpecfileSection) element;
+					int end = section.getSectionEndLine();
+					if (end == shift.previousNumberOfLines - 1) {
+						// the last section ends with the document
+						section.setSectionEndLine(shift.numberOfLines - 1);
+					} else if (end > shift.lastLine) {
+						section.setSectionEndLine(end + shift.lineDelta);
+					}
+				}
+				if (element instanceof SpecfileSource) {
+					List<Integer> linesUsed = ((SpecfileSource) element).getLinesUsed();
+					for (int i = 0; i < linesUsed.size(); i++) {
+						if (linesUsed.get(i) > shift.lastLine) {
+							linesUsed.set(i, linesUsed.get(i) + shift.lineDelta);
+						}
+					}
+				}
+			}
+		}
+	}
+
+}
@@ -66,12 +66,12 @@ public class SpecfilePackagesScanner extends RuleBasedScanner {
 
 		// RPM packages
 		wordRule = new WordRule(new PackageWordDetector(), Token.UNDEFINED);
-		List<String[]> rpmPackages = Activator.getDefault().getRpmPackageList().getProposals(""); //$NON-NLS-1$
+		List<String> rpmPackages = Activator.getDefault().getRpmPackageList().getPackageNames();
 		char[] startWith = { ' ', '\t', ',', ':' };
-		for (String[] item : rpmPackages) {
+		for (String item : rpmPackages) {
 			// FIXME Perhaps, that can slow down the scanning?
 			for (char startChar : startWith) {
-				wordRule.addWord(startChar + item[0], packageToken);
+				wordRule.addWord(startChar + item, packageToken);
 			}
 		}
 		rules.add(wordRule);
@@ -37,6 +37,7 @@ import java.io.StringReader;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.regex.Pattern;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IMarker;
@@ -61,7 +62,7 @@ public class SpecfileParser {
 
 	private static final String DEFINE_SEPARATOR = ":"; //$NON-NLS-1$
 
-	private static final String SPACE_REGEX = "\\s+"; //$NON-NLS-1$
+	private static final Pattern SPACE_PATTERN = Pattern.compile("\\s+"); //$NON-NLS-1$
 
 	/**
 	 * These are SRPM-wide sections, and they also cannot have any flags like -n or
@@ -91,12 +92,23 @@ public class SpecfileParser {
 	private static String[] packageLevelDefinitions = { RpmTags.SUMMARY, RpmTags.GROUP, RpmTags.OBSOLETES,
 			RpmTags.PROVIDES, RpmTags.REQUIRES, RpmTags.REQUIRES_PRE, RpmTags.REQUIRES_POST, RpmTags.REQUIRES_POSTUN };
 
+	private static final String[] sections = new String[simpleSections.length + complexSections.length];
+
+	static {
+		System.arraycopy(simpleSections, 0, sections, 0, simpleSections.length);
+		System.arraycopy(complexSections, 0, sections, simpleSections.length, complexSections.length);
+	}
+
 	private SpecfileErrorHandler errorHandler;
 	private SpecfileTaskHandler taskHandler;
 	private SpecfileSection lastSection;
 	private SpecfilePackage activePackage;
+	private String[] taskTags;
 
 	public Specfile parse(IDocument specfileDocument) {
+		// state left by a previous parse must not leak into the new model
+		lastSection = null;
+		activePackage = null;
 
 		// remove all existing markers, if a SpecfileErrorHandler is
 		// instantiated.
@@ -105,6 +117,8 @@ public class SpecfileParser {
 		}
 		if (taskHandler != null) {
 			taskHandler.removeExistingMarkers();
+			taskTags = Activator.getDefault().getPreferenceStore().getString(PreferenceConstants.P_TASK_TAGS)
+					.split(";"); //$NON-NLS-1$
 		}
 		LineNumberReader reader = new LineNumberReader(new StringReader(specfileDocument.get()));
 		String line = ""; //$NON-NLS-1$
@@ -195,8 +209,6 @@ public class SpecfileParser {
 	}
 
 	private void generateTaskMarker(int lineNumber, String line) {
-		String[] taskTags = Activator.getDefault().getPreferenceStore().getString(PreferenceConstants.P_TASK_TAGS)
-				.split(";"); //$NON-NLS-1$
 		int commentCharIndex = line.indexOf(ISpecfileSpecialSymbols.COMMENT_START);
 		if (commentCharIndex > -1) {
 			for (String item : taskTags) {
@@ -212,11 +224,57 @@ public class SpecfileParser {
 		return parse(new Document(specfileContent));
 	}
 
+	/**
+	 * Tells whether the given line can contribute to the {@link Specfile} model
+	 * built by this parser, i.e. whether it may declare a section, a package, a
+	 * define, a tag, a source or a patch. All other lines (most of the lines in
+	 * section bodies) are ignored by {@link #parseLine(String, Specfile, int)}.
+	 *
+	 * @param lineText The line, without its delimiter.
+	 * @return <code>true</code> if the line may contribute to the model.
+	 */
+	public static boolean isStructuralLine(String lineText) {
+		if (lineText.isEmpty()) {
+			return false;
+		}
+		char first = lineText.charAt(0);
+		if (first == '%') {
+			if (lineText.startsWith("%define") || lineText.startsWith("%global") //$NON-NLS-1$ //$NON-NLS-2$
+					|| lineText.startsWith("%patch")) { //$NON-NLS-1$
+				return true;
+			}
+			for (String section : sections) {
+				if (lineText.startsWith(section)) {
+					return true;
+				}
+			}
+			return false;
+		}
+		// all the tags recognized by the parser start with an upper-case letter
+		if (first < 'A' || first > 'Z') {
+			return false;
+		}
+		for (String[] definitions : new String[][] { simpleDefinitions, directValuesDefinitions,
+				packageLevelDefinitions }) {
+			for (String definition : definitions) {
+				if (lineText.startsWith(definition + DEFINE_SEPARATOR)) {
+					return true;
+				}
+			}
+		}
+		return ((lineText.startsWith(complexDefinitions[0]) || lineText.startsWith(complexDefinitions[1]))
+				&& lineText.contains(DEFINE_SEPARATOR)) || lineText.startsWith("BuildRequires"); //$NON-NLS-1$
+	}
+
 	public SpecfileElement parseLine(String lineText, Specfile specfile, int lineNumber) {
 
 		if (lineText.startsWith("%")) {//$NON-NLS-1$
 			return parseMacro(lineText, specfile, lineNumber);
 		}
+		// cheap rejection of the lines that cannot start a tag
+		if (lineText.isEmpty() || lineText.charAt(0) < 'A' || lineText.charAt(0) > 'Z') {
+			return null;
+		}
 
 		for (String simpleDefinition : simpleDefinitions) {
 			if (lineText.startsWith(simpleDefinition + DEFINE_SEPARATOR)) {
@@ -262,7 +320,7 @@ public class SpecfileParser {
 	}
 
 	private SpecfileSection parseSection(String lineText, Specfile specfile, int lineNumber) {
-		List<String> tokens = Arrays.asList(lineText.split(SPACE_REGEX));
+		List<String> tokens = Arrays.asList(SPACE_PATTERN.split(lineText));
 		SpecfileSection toReturn = null;
 		boolean isSimpleSection = false;
 		for (Iterator<String> iter = tokens.iterator(); iter.hasNext();) {
@@ -291,7 +349,7 @@ public class SpecfileParser {
 						String nextToken = iter.next();
 						if (nextToken.equals("-n")) { //$NON-NLS-1$
 							if (!iter.hasNext()) {
-								errorHandler.handleError(new SpecfileParseException(
+								handleError(new SpecfileParseException(
 										Messages.getString("SpecfileParser.1") //$NON-NLS-1$
 												+ name + Messages.getString("SpecfileParser.2"), //$NON-NLS-1$
 										lineNumber, 0, lineText.length(), IMarker.SEVERITY_ERROR));
@@ -300,7 +358,7 @@ public class SpecfileParser {
 
 							nextToken = iter.next();
 							if (nextToken.startsWith("-")) { //$NON-NLS-1$
-								errorHandler.handleError(new SpecfileParseException(
+								handleError(new SpecfileParseException(
 										Messages.getString("SpecfileParser.3") //$NON-NLS-1$
 												+ nextToken + Messages.getString("SpecfileParser.4"), //$NON-NLS-1$
 										lineNumber, 0, lineText.length(), IMarker.SEVERITY_ERROR));
@@ -365,9 +423,6 @@ public class SpecfileParser {
 			return parsePatch(lineText, lineNumber);
 		}
 
-		String[] sections = new String[simpleSections.length + complexSections.length];
-		System.arraycopy(simpleSections, 0, sections, 0, simpleSections.length);
-		System.arraycopy(complexSections, 0, sections, simpleSections.length, complexSections.length);
 		for (String section : sections) {
 			if (lineText.startsWith(section)) {
 				lastSection = parseSection(lineText, specfile, lineNumber);
@@ -385,7 +440,7 @@ public class SpecfileParser {
 
 		SpecfilePatchMacro toReturn = null;
 
-		List<String> tokens = Arrays.asList(lineText.split(SPACE_REGEX));
+		List<String> tokens = Arrays.asList(SPACE_PATTERN.split(lineText));
 
 		for (String token : tokens) {
 			// %patchN+
@@ -398,7 +453,7 @@ public class SpecfileParser {
 					toReturn = new SpecfilePatchMacro(patchNumber);
 				}
 			} catch (NumberFormatException e) {
-				errorHandler.handleError(new SpecfileParseException(Messages.getString("SpecfileParser.5"), //$NON-NLS-1$
+				handleError(new SpecfileParseException(Messages.getString("SpecfileParser.5"), //$NON-NLS-1$
 						lineNumber, 0, lineText.length(), IMarker.SEVERITY_ERROR));
 				return null;
 			}
@@ -408,7 +463,7 @@ public class SpecfileParser {
 	}
 
 	private SpecfileDefine parseDefine(String lineText, Specfile specfile, int lineNumber) {
-		List<String> tokens = Arrays.asList(lineText.split(SPACE_REGEX));
+		List<String> tokens = Arrays.asList(SPACE_PATTERN.split(lineText));
 		SpecfileDefine toReturn = null;
 		for (Iterator<String> iter = tokens.iterator(); iter.hasNext();) {
 			// Eat the actual "%define" or "%global" token
@@ -418,7 +473,7 @@ public class SpecfileParser {
 				// FIXME: is this true? investigate in rpmbuild source
 				// Definitions must being with a letter
 				if (!Character.isLetter(defineName.charAt(0)) && (defineName.charAt(0) != '_')) {
-					errorHandler.handleError(new SpecfileParseException(Messages.getString("SpecfileParser.6"), //$NON-NLS-1$
+					handleError(new SpecfileParseException(Messages.getString("SpecfileParser.6"), //$NON-NLS-1$
 							lineNumber, 0, lineText.length(), IMarker.SEVERITY_ERROR));
 					return null;
 				} else {
@@ -442,7 +497,7 @@ public class SpecfileParser {
 							toReturn = new SpecfileDefine(defineName, defineIntValue, specfile, null);
 						}
 					} else {
-						errorHandler.handleError(
+						handleError(
 								new SpecfileParseException(defineName + Messages.getString("SpecfileParser.14"), //$NON-NLS-1$
 										lineNumber, 0, lineText.length(), IMarker.SEVERITY_ERROR));
 					}
@@ -454,7 +509,7 @@ public class SpecfileParser {
 
 	private SpecfileElement parseComplexDefinition(String lineText, int lineNumber, SourceType sourceType) {
 		SpecfileSource toReturn = null;
-		List<String> tokens = Arrays.asList(lineText.split(SPACE_REGEX));
+		List<String> tokens = Arrays.asList(SPACE_PATTERN.split(lineText));
 		int number = -1;
 		boolean firstToken = true;
 
@@ -468,7 +523,7 @@ public class SpecfileParser {
 						// FIXME: come up with a better error message here
 						// FIXME: what about descriptions that begin a line with
 						// the word "Source" or "Patch"?
-						errorHandler.handleError(new SpecfileParseException(Messages.getString("SpecfileParser.8"), //$NON-NLS-1$
+						handleError(new SpecfileParseException(Messages.getString("SpecfileParser.8"), //$NON-NLS-1$
 								lineNumber, 0, lineText.length(), IMarker.SEVERITY_WARNING));
 						return null;
 					}
@@ -506,7 +561,7 @@ public class SpecfileParser {
 						toReturn.setFileName(token);
 					}
 					if (iter.hasNext()) {
-						errorHandler.handleError(new SpecfileParseException(Messages.getString("SpecfileParser.12"), //$NON-NLS-1$
+						handleError(new SpecfileParseException(Messages.getString("SpecfileParser.12"), //$NON-NLS-1$
 								lineNumber, 0, lineText.length(), IMarker.SEVERITY_ERROR));
 					}
 				}
@@ -518,7 +573,7 @@ public class SpecfileParser {
 
 	private SpecfileElement parseSimpleDefinition(String lineText, Specfile specfile, int lineNumber,
 			boolean warnMultipleValues) {
-		List<String> tokens = Arrays.asList(lineText.split(SPACE_REGEX));
+		List<String> tokens = Arrays.asList(SPACE_PATTERN.split(lineText));
 		SpecfileTag toReturn = null;
 
 		for (Iterator<String> iter = tokens.iterator(); iter.hasNext();) {
@@ -536,13 +591,13 @@ public class SpecfileParser {
 				toReturn = new SpecfileTag(token.substring(0, token.length() - 1).toLowerCase(), possValue, specfile,
 						null);
 				if (iter.hasNext() && !warnMultipleValues) {
-					errorHandler.handleError(new SpecfileParseException(
+					handleError(new SpecfileParseException(
 							token.substring(0, token.length() - 1) + Messages.getString("SpecfileParser.13"), //$NON-NLS-1$
 							lineNumber, 0, lineText.length(), IMarker.SEVERITY_ERROR));
 					return null;
 				}
 			} else {
-				errorHandler.handleError(new SpecfileParseException(
+				handleError(new SpecfileParseException(
 						token.substring(0, token.length() - 1) + Messages.getString("SpecfileParser.14"), lineNumber, //$NON-NLS-1$
 						0, lineText.length(), IMarker.SEVERITY_ERROR));
 				toReturn = null;
@@ -556,7 +611,7 @@ public class SpecfileParser {
 					toReturn.setValue(intValue);
 				} catch (NumberFormatException e) {
 					if (toReturn.getName().equalsIgnoreCase(RpmTags.EPOCH)) {
-						errorHandler.handleError(
+						handleError(
 								new SpecfileParseException(Messages.getString("SpecfileParser.16"), lineNumber, //$NON-NLS-1$
 										0, lineText.length(), IMarker.SEVERITY_ERROR));
 						toReturn = null;
@@ -574,7 +629,7 @@ public class SpecfileParser {
 			directDefinition = new SpecfileTag(parts[0], parts[1].trim(), specfile, activePackage);
 			directDefinition.setLineNumber(lineNumber);
 		} else {
-			errorHandler.handleError(
+			handleError(
 					new SpecfileParseException(parts[0] + Messages.getString("SpecfileParser.14"), lineNumber, //$NON-NLS-1$
 							0, lineText.length(), IMarker.SEVERITY_ERROR));
 			directDefinition = null;
@@ -582,6 +637,13 @@ public class SpecfileParser {
 		return directDefinition;
 	}
 
+	private void handleError(SpecfileParseException exception) {
+		// parsers without an error handler only build the model
+		if (errorHandler != null) {
+			errorHandler.handleError(exception);
+		}
+	}
+
 	public void setErrorHandler(SpecfileErrorHandler specfileErrorHandler) {
 		errorHandler = specfileErrorHandler;
 	}
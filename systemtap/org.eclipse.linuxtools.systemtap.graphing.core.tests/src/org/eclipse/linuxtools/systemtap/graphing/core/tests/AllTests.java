@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2017 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  * 
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -13,6 +13,7 @@
 
 package org.eclipse.linuxtools.systemtap.graphing.core.tests;
 
+import org.eclipse.linuxtools.systemtap.graphing.core.tests.adapters.BlockAdapterTest;
 import org.eclipse.linuxtools.systemtap.graphing.core.tests.aggregates.AverageAggregateTest;
 import org.eclipse.linuxtools.systemtap.graphing.core.tests.aggregates.CountAggregateTest;
 import org.eclipse.linuxtools.systemtap.graphing.core.tests.aggregates.MaxAggregateTest;
@@ -37,7 +38,10 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
 @RunWith(Suite.class)
-@Suite.SuiteClasses({// Aggregates
+@Suite.SuiteClasses({// Adapters
+        BlockAdapterTest.class,
+
+        // Aggregates
         AverageAggregateTest.class,
         CountAggregateTest.class,
         MaxAggregateTest.class,
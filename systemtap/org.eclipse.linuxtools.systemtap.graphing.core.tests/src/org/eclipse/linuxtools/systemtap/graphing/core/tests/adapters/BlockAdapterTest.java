@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.systemtap.graphing.core.tests.adapters;
+
+import static org.junit.Assert.assertEquals;
+
+import org.eclipse.linuxtools.systemtap.graphing.core.adapters.BlockAdapter;
+import org.eclipse.linuxtools.systemtap.graphing.core.datasets.IDataSet;
+import org.eclipse.linuxtools.systemtap.graphing.core.datasets.table.TableDataSet;
+import org.eclipse.linuxtools.systemtap.graphing.core.datasets.table.TableEntry;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BlockAdapterTest {
+
+    @Before
+    public void setUp() {
+        data = new TableDataSet(new String[] {"a", "b", "c"});
+        TableEntry entry = new TableEntry();
+        for (int i = 0; i < 5; i++) {
+            entry.add(new String[] {"a" + i, "b" + i, "c" + i});
+        }
+        data.setData(entry);
+    }
+
+    @Test
+    public void testGetData() {
+        BlockAdapter adapter = new BlockAdapter(data, 0, new int[] {2});
+        Object[][] rows = adapter.getData();
+        assertEquals(5, rows.length);
+        assertEquals("a0", rows[0][0]);
+        assertEquals("c4", rows[4][1]);
+    }
+
+    @Test
+    public void testGetDataRange() {
+        BlockAdapter adapter = new BlockAdapter(data, 0, new int[] {1, 2});
+        Object[][] rows = adapter.getData(3, 5);
+        assertEquals(2, rows.length);
+        assertEquals("a3", rows[0][0]);
+        assertEquals("b3", rows[0][1]);
+        assertEquals("c4", rows[1][2]);
+    }
+
+    @Test
+    public void testGetDataRangeRowNumbers() {
+        BlockAdapter adapter = new BlockAdapter(data, IDataSet.COL_ROW_NUM, new int[] {1});
+        Object[][] rows = adapter.getData(3, 5);
+        assertEquals(2, rows.length);
+        assertEquals(Integer.valueOf(3), rows[0][0]);
+        assertEquals(Integer.valueOf(4), rows[1][0]);
+        assertEquals("b4", rows[1][1]);
+    }
+
+    private TableDataSet data;
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2018 IBM Corporation.
+ * Copyright (c) 2006, 2026 IBM Corporation.
  *
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -86,7 +86,7 @@ public class BlockAdapter implements IAdapter {
         Object[] row;
         for(int j,i=0; i<o.length; i++) {
             row = data.getRow(i+start);
-            o[i][0] = (IDataSet.COL_ROW_NUM == xSeries) ? Integer.valueOf(i) : row[xSeries];
+            o[i][0] = (IDataSet.COL_ROW_NUM == xSeries) ? Integer.valueOf(i+start) : row[xSeries];
 
             for(j=0; j<ySeries.length; j++)
                 o[i][j+1] = row[ySeries[j]];
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2018 IBM Corporation.
+ * Copyright (c) 2006, 2026 IBM Corporation.
  *
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -85,7 +85,7 @@ public class ScrollAdapter implements IAdapter {
         Object[][] o = new Object[Math.min(end-start,getRecordCount())][ySeries.length+1];
 
         Object[] x = data.getHistoricalData(key, xSeries, start, end);
-        Object[][] y = new Object[ySeries.length][data.getEntryCount()];
+        Object[][] y = new Object[ySeries.length][];
 
         for(int i=0; i<ySeries.length; i++)
             y[i] = data.getHistoricalData(key, ySeries[i], start, end);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2018 IBM Corporation and others.
+ * Copyright (c) 2010, 2026 IBM Corporation and others.
  * 
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,8 @@
 
 package org.eclipse.linuxtools.internal.systemtap.graphing.ui.charts;
 
+import java.util.Arrays;
+
 import org.eclipse.jface.util.PropertyChangeEvent;
 import org.eclipse.linuxtools.internal.systemtap.graphing.ui.charts.listeners.ChartWithAxisMouseMoveListener;
 import org.eclipse.linuxtools.internal.systemtap.graphing.ui.preferences.GraphingPreferenceConstants;
@@ -39,6 +41,10 @@ public abstract class AbstractChartWithAxisBuilder extends AbstractChartBuilder
 
     private PaintListener titleBoundsPaintListener;
     private double defaultMargin = 0.04;
+    // Buffers of the values of the rows shown, reused between updates
+    private double[] xValues = new double[0];
+    private double[] xSeriesBuffer = xValues;
+    private double[] ySeriesBuffer = xValues;
     /**
      * @return The size of the chart's left margin.
      * @since 3.0
@@ -223,46 +229,40 @@ public abstract class AbstractChartWithAxisBuilder extends AbstractChartBuilder
      */
     @Override
     protected void buildXSeries() {
-        Object data[][] = adapter.getData();
+        // Only read the rows that are shown, not the whole history of the data set.
+        int count = adapter.getRecordCount();
+        int start = Math.max(count - this.maxItems, 0);
+        Object data[][] = adapter.getData(start, count);
         if (data == null || data.length == 0) {
             return;
         }
 
-        int start = 0, len = Math.min(this.maxItems, data.length), leny = data[0].length-1;
-        if (this.maxItems < data.length) {
-            start = data.length - this.maxItems;
+        int len = data.length, leny = data[0].length-1;
+        if (xValues.length != len) {
+            xValues = new double[len];
+            xSeriesBuffer = new double[len];
+            ySeriesBuffer = new double[len];
         }
-
-        Double[] all_valx = new Double[len];
-        Double[][] all_valy = new Double[leny][len];
         // Will want to centre view around points, so be as accurate with max/min as possible.
         double maxX = Double.NEGATIVE_INFINITY;
         double maxY = maxX;
         double minX = Double.POSITIVE_INFINITY;
         double minY = minX;
 
-        // Read in from the data array all x/y points to plot.
+        // Read in from the data array all x points to plot.
         // In the case of an empty (null) value in either axis, ignore both x & y axis data for that point.
         for (int i = 0; i < len; i++) {
-            for (int j = 0; j < leny + 1; j++) {
-                Double val = getDoubleOrNullValue(data[start + i][j]);
-                if (j == 0) {
-                    if (val != null) {
-                        all_valx[i] = val;
-                        maxX = Math.max(val, maxX);
-                        minX = Math.min(val, minX);
-                    } else {
-                        break;
-                    }
-                } else if (val != null) {
-                    all_valy[j-1][i] = val;
-                    maxY = Math.max(val, maxY);
-                    minY = Math.min(val, minY);
-                }
+            Double val = getDoubleOrNullValue(data[i][0]);
+            if (val != null) {
+                xValues[i] = val;
+                maxX = Math.max(val, maxX);
+                minX = Math.min(val, minX);
+            } else {
+                xValues[i] = Double.NaN;
             }
         }
 
-        // Now create dense arrays of x/y values that exclude null values,
+        // Now fill dense arrays of x/y values that exclude null values,
         // and plot those values to the chart.
 
         ISeries allSeries[] = chart.getSeriesSet().getSeries();
@@ -271,27 +271,31 @@ public abstract class AbstractChartWithAxisBuilder extends AbstractChartBuilder
             if (i >= allSeries.length) {
                 series = createChartISeries(i);
             } else {
-                series = chart.getSeriesSet().getSeries()[i];
+                series = allSeries[i];
             }
 
-            double[] valx = new double[len];
-            double[] valy = new double[len];
             int len_trim = 0;
             for (int j = 0; j < len; j++) {
-                if (all_valx[j] != null && all_valy[i][j] != null) {
-                    valx[len_trim] = all_valx[j].doubleValue();
-                    valy[len_trim] = all_valy[i][j].doubleValue();
+                if (Double.isNaN(xValues[j])) {
+                    continue;
+                }
+                Double val = getDoubleOrNullValue(data[j][i+1]);
+                if (val != null) {
+                    xSeriesBuffer[len_trim] = xValues[j];
+                    ySeriesBuffer[len_trim] = val.doubleValue();
+                    maxY = Math.max(val, maxY);
+                    minY = Math.min(val, minY);
                     len_trim++;
                 }
             }
-            double[] valx_trim = new double[len_trim];
-            double[] valy_trim = new double[len_trim];
-            for (int j = 0; j < len_trim; j++) {
-                valx_trim[j] = valx[j];
-                valy_trim[j] = valy[j];
+            // The series copy the arrays they are given, so the buffers can be reused.
+            if (len_trim == len) {
+                series.setXSeries(xSeriesBuffer);
+                series.setYSeries(ySeriesBuffer);
+            } else {
+                series.setXSeries(Arrays.copyOf(xSeriesBuffer, len_trim));
+                series.setYSeries(Arrays.copyOf(ySeriesBuffer, len_trim));
             }
-            series.setXSeries(valx_trim);
-            series.setYSeries(valy_trim);
         }
 
         if (series != null && series.getXSeries().length > 0) {
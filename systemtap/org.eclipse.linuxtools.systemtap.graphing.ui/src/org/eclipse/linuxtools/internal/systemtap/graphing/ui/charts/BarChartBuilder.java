@@ -1,5 +1,5 @@
 /****************************************************************
- * Copyright (c) 2006, 2018 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  * 
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,8 @@
  */
 package org.eclipse.linuxtools.internal.systemtap.graphing.ui.charts;
 
+import java.util.Arrays;
+
 import org.eclipse.linuxtools.internal.systemtap.graphing.ui.charts.listeners.BarChartMouseMoveListener;
 import org.eclipse.linuxtools.systemtap.graphing.core.adapters.IAdapter;
 import org.eclipse.swt.widgets.Composite;
@@ -29,6 +31,9 @@ import org.swtchart.Range;
 public class BarChartBuilder extends AbstractChartWithAxisBuilder {
     public static final String ID = "org.eclipse.linuxtools.systemtap.graphing.ui.charts.barchartbuilder"; //$NON-NLS-1$
 
+    // Buffer of the y values of the categories shown, reused between updates
+    private double[] valyBuffer = new double[0];
+
     public BarChartBuilder(Composite parent, int style, String title, IAdapter adapter) {
         super(adapter, parent, style, title);
     }
@@ -55,75 +60,57 @@ public class BarChartBuilder extends AbstractChartWithAxisBuilder {
 
     @Override
     protected void buildXSeries() {
-        Object data[][] = adapter.getData();
+        // Only read the rows that are shown, not the whole history of the data set.
+        int count = adapter.getRecordCount();
+        int start = Math.max(count - this.maxItems, 0);
+        Object data[][] = adapter.getData(start, count);
         if (data == null || data.length == 0) {
             return;
         }
 
-        int start = 0, len = Math.min(this.maxItems, data.length), leny = data[0].length-1;
-        if (this.maxItems < data.length) {
-            start = data.length - this.maxItems;
-        }
-
-        String[] allValx = new String[len];
-        Double[][] allValy = new Double[leny][len];
+        int len = data.length, leny = data[0].length-1;
          // Want to show x-axis if possible, so default max/min is 0.
         double maxY = 0;
         double minY = 0;
 
-        // Read in from the data array all x/y points to plot.
-        // If a y-axis value is empty (null), set it to 0.
+        // Read in from the data array all x categories to plot.
         // If an x-axis category is empty, ignore the entire category.
-        for (int i = 0; i < len; i++) {
-            Object label = data[start + i][0];
-            if (label != null) {
-                allValx[i] = label.toString();
-                for (int j = 1; j < leny + 1; j++) {
-                    Double val = getDoubleOrNullValue(data[start + i][j]);
-                    if (val == null) {
-                        val = 0.0;
-                    }
-                    allValy[j-1][i] = val;
-                    maxY = Math.max(val, maxY);
-                    minY = Math.min(val, minY);
-                }
-            }
-        }
-
-        // Now create dense arrays of x/y values that exclude null values,
-        // and plot those values to the chart.
-
-        String valx[] = new String[len];
+        String[] valx = new String[len];
+        int[] rows = new int[len];
         int lenTrim = 0;
         for (int i = 0; i < len; i++) {
-            if (allValx[i] != null) {
-                valx[lenTrim] = allValx[i];
+            Object label = data[i][0];
+            if (label != null) {
+                valx[lenTrim] = label.toString();
+                rows[lenTrim] = i;
                 lenTrim++;
             }
         }
-        String[] valxTrim = new String[lenTrim];
-        System.arraycopy(valx, 0, valxTrim, 0, lenTrim);
+        String[] valxTrim = lenTrim == len ? valx : Arrays.copyOf(valx, lenTrim);
+        if (valyBuffer.length != lenTrim) {
+            valyBuffer = new double[lenTrim];
+        }
 
+        // Now plot the y values of those categories to the chart.
+        // If a y-axis value is empty (null), set it to 0.
         ISeries allSeries[] = chart.getSeriesSet().getSeries();
         for (int i = 0; i < leny; i++) {
             ISeries series;
             if (i >= allSeries.length) {
                 series = createChartISeries(i);
             } else {
-                series = chart.getSeriesSet().getSeries()[i];
+                series = allSeries[i];
             }
 
-            double[] valy = new double[len];
-            int lenyTrim = 0;
-            for (int j = 0; j < len; j++) {
-                if (allValy[i][j] != null) {
-                    valy[lenyTrim] = allValy[i][j].doubleValue();
-                    lenyTrim++;
-                }
+            for (int j = 0; j < lenTrim; j++) {
+                Double val = getDoubleOrNullValue(data[rows[j]][i+1]);
+                double valy = val != null ? val.doubleValue() : 0.0;
+                valyBuffer[j] = valy;
+                maxY = Math.max(valy, maxY);
+                minY = Math.min(valy, minY);
             }
-            double[] valyTrim = new double[lenyTrim];
-            System.arraycopy(valy, 0, valyTrim, 0, lenyTrim);
-            series.setYSeries(valyTrim);
+            // The series copies the array it is given, so the buffer can be reused.
+            series.setYSeries(valyBuffer);
         }
 
         ((BarChart) chart).suspendUpdate(true);
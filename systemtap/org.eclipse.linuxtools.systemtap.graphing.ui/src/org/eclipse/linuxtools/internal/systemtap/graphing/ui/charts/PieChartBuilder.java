@@ -1,5 +1,5 @@
 /****************************************************************
- * Copyright (c) 2006, 2018 IBM Corp. and others.
+ * Copyright (c) 2006, 2026 IBM Corp. and others.
  * 
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,8 @@
  */
 package org.eclipse.linuxtools.internal.systemtap.graphing.ui.charts;
 
+import java.util.Arrays;
+
 import org.eclipse.linuxtools.dataviewers.piechart.PieChart;
 import org.eclipse.linuxtools.internal.systemtap.graphing.ui.charts.listeners.PieChartMouseMoveListener;
 import org.eclipse.linuxtools.systemtap.graphing.core.adapters.IAdapter;
@@ -27,6 +29,9 @@ import org.swtchart.Range;
 public class PieChartBuilder extends AbstractChartWithoutAxisBuilder {
     public static final String ID = "org.eclipse.linuxtools.systemtap.graphing.ui.charts.piechartbuilder"; //$NON-NLS-1$
 
+    // Buffer of the values of the slices shown, reused between updates
+    private double[][] valuesBuffer = new double[0][];
+
     public PieChartBuilder(Composite parent, int style, String title, IAdapter adapter) {
         super(adapter, parent, style, title);
     }
@@ -52,58 +57,44 @@ public class PieChartBuilder extends AbstractChartWithoutAxisBuilder {
 
     @Override
     protected void buildXSeries() {
-        Object data[][] = adapter.getData();
+        // Only read the rows that are shown, not the whole history of the data set.
+        int count = adapter.getRecordCount();
+        int start = Math.max(count - this.maxItems, 0);
+        Object data[][] = adapter.getData(start, count);
         if (data == null || data.length == 0) {
             return;
         }
 
-        int start = 0, len = Math.min(this.maxItems, data.length), leny = data[0].length-1;
-        if (this.maxItems < data.length) {
-            start = data.length - this.maxItems;
+        int len = data.length, leny = data[0].length-1;
+        if (valuesBuffer.length < len || valuesBuffer[0].length != leny) {
+            valuesBuffer = new double[len][leny];
         }
 
-        Double[][] all_values = new Double[len][leny];
-        String[] all_labels = new String[len];
-
-        for (int i = 0; i < all_labels.length; i++) {
-            Object label = data[start + i][0];
+        // Only the first len_trim rows of the buffer are plotted, as the chart
+        // reads as many rows as there are labels.
+        String[] labels = new String[len];
+        int len_trim = 0;
+        for (int i = 0; i < len; i++) {
+            Object label = data[i][0];
             if (label != null) {
-                all_labels[i] = label.toString();
-                for (int j = 1; j < data[start + i].length; j++) {
+                labels[len_trim] = label.toString();
+                for (int j = 1; j < data[i].length; j++) {
                     // Ignore all null or negative slice values.
-                    Double val = getDoubleOrNullValue(data[start + i][j]);
+                    Double val = getDoubleOrNullValue(data[i][j]);
                     if (val != null && val >= 0) {
-                        all_values[i][j-1] = val;
+                        valuesBuffer[len_trim][j-1] = val;
                     } else {
-                        all_values[i][j-1] = 0.0;
+                        valuesBuffer[len_trim][j-1] = 0.0;
                     }
                 }
-            }
-        }
-
-        double[][] values = new double[len][leny];
-        String[] labels = new String[len];
-        int len_trim = 0;
-        for (int i = 0; i < len; i++) {
-            if (all_labels[i] != null) {
-                labels[len_trim] = all_labels[i];
-                for (int j = 0; j < leny; j++) {
-                    values[len_trim][j] = all_values[i][j].doubleValue();
-                }
                 len_trim++;
             }
         }
-        double[][] values_trim = new double[len_trim][leny];
-        String[] labels_trim = new String[len_trim];
-        for (int i = 0; i < len_trim; i++) {
-            labels_trim[i] = labels[i];
-            for (int j = 0; j < leny; j++) {
-                values_trim[i][j] = values[i][j];
-            }
-        }
+        String[] labels_trim = len_trim == len ? labels : Arrays.copyOf(labels, len_trim);
 
-        ((PieChart)this.chart).addPieChartSeries(getUniqueNames(labels_trim), values_trim);
-        applyCategoryRange(values_trim[0].length);
+        // The chart copies the values it is given, so the buffer can be reused.
+        ((PieChart)this.chart).addPieChartSeries(getUniqueNames(labels_trim), valuesBuffer);
+        applyCategoryRange(leny);
         chart.redraw();
     }
 
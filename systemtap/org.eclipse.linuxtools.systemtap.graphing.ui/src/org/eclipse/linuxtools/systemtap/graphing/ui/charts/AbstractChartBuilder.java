@@ -1,5 +1,5 @@
 /****************************************************************
- * Copyright (c) 2006, 2018 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  * 
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -18,6 +18,7 @@ import java.util.ArrayList;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.eclipse.jface.preference.IPreferenceStore;
 import org.eclipse.jface.util.IPropertyChangeListener;
@@ -92,6 +93,7 @@ public abstract class AbstractChartBuilder extends Composite implements IUpdateL
     protected String title = null;
 
     private List<IUpdateListener> listeners = new ArrayList<>();
+    private final AtomicBoolean repaintPending = new AtomicBoolean();
 
     /**
      * The mouse listener that watches for MouseMove events over a specified region.
@@ -377,7 +379,12 @@ public abstract class AbstractChartBuilder extends Composite implements IUpdateL
     }
 
     private void repaint() {
+        // Updates that arrive before the chart is repainted are handled by that repaint.
+        if (!repaintPending.compareAndSet(false, true)) {
+            return;
+        }
         getDisplay().asyncExec(() -> {
+		    repaintPending.set(false);
 		    if (!chart.isDisposed()) {
 		        updateDataSet();
 		        for (IUpdateListener l : listeners) {
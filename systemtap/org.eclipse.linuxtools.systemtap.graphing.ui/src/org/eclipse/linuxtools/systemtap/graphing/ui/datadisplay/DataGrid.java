@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2018 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  * 
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -15,6 +15,7 @@
 package org.eclipse.linuxtools.systemtap.graphing.ui.datadisplay;
 
 import java.text.MessageFormat;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.eclipse.jface.preference.IPreferenceStore;
 import org.eclipse.jface.util.IPropertyChangeListener;
@@ -25,6 +26,7 @@ import org.eclipse.linuxtools.internal.systemtap.graphing.ui.Localization;
 import org.eclipse.linuxtools.internal.systemtap.graphing.ui.preferences.GraphingPreferenceConstants;
 import org.eclipse.linuxtools.internal.systemtap.graphing.ui.wizards.filter.AvailableFilterTypes;
 import org.eclipse.linuxtools.internal.systemtap.graphing.ui.wizards.filter.SelectFilterWizard;
+import org.eclipse.linuxtools.systemtap.graphing.core.datasets.IBlockDataSet;
 import org.eclipse.linuxtools.systemtap.graphing.core.datasets.IFilteredDataSet;
 import org.eclipse.linuxtools.systemtap.graphing.core.filters.IDataSetFilter;
 import org.eclipse.linuxtools.systemtap.structures.IFormattingStyles;
@@ -66,6 +68,12 @@ public class DataGrid implements IUpdateListener {
     private MenuItem formatMenuItem;
     private IPropertyChangeListener propertyChangeListener;
 
+    /**
+     * The row of the data set shown by the first item of the table.
+     */
+    private int startLocation;
+    private final AtomicBoolean updatePending = new AtomicBoolean();
+
     /**
      * @param composite The {@link Composite} in which the grid will reside.
      * @param set The data set this grid is associated with.
@@ -89,7 +97,8 @@ public class DataGrid implements IUpdateListener {
     public Control getControl() { return table; }
 
     private void createPartControl(Composite parent) {
-        table = new Table(parent, SWT.SINGLE | SWT.FULL_SELECTION);
+        // Items are only filled in when they are shown, see fillItem.
+        table = new Table(parent, SWT.SINGLE | SWT.FULL_SELECTION | SWT.VIRTUAL);
         table.setHeaderVisible(true);
         table.setLinesVisible(true);
         table.getVerticalBar().setVisible(true);
@@ -117,6 +126,7 @@ public class DataGrid implements IUpdateListener {
 		    clickLocation.x = event.x;
 		    clickLocation.y = event.y;
 		});
+        table.addListener(SWT.SetData, event -> fillItem((TableItem) event.item, event.index));
         handleUpdateEvent();
     }
 
@@ -272,72 +282,92 @@ public class DataGrid implements IUpdateListener {
                 }
             }
 
-            Object[] data = filteredDataSet.getColumn(column-1);
             columnFormat[column-1].setFormat(format);
-            for (i = 0; i < table.getItemCount(); i++) {
-                table.getItem(i).setText(column, columnFormat[column-1].format(data[i].toString()));
+            // The items are filled in again with the new format when they are shown.
+            table.clearAll();
+        }
+    }
+
+    /**
+     * Fills in an item of the table from its row of the data set.
+     */
+    private void fillItem(TableItem item, int index) {
+        int row = startLocation + index;
+        // The data set may have shrunk since the item count was set.
+        if (row >= filteredDataSet.getRowCount()) {
+            return;
+        }
+        Object[] os = filteredDataSet.getRow(row);
+
+        //Add 1 to the index/row num since graphs start counting rows at 1, not 0.
+        item.setText(0, Integer.toString(row + 1));
+        for (int j = 0; j < os.length; j++) {
+            //Ignore null items
+            if (os[j] != null) {
+                item.setText(j+1, columnFormat[j].format(os[j].toString()));
             }
-            table.redraw();
         }
     }
 
+    /**
+     * Returns <code>true</code> if the rows already in the table are still the
+     * same rows of the data set, that is if the data set has only been appended to.
+     * Table data sets replace all of their rows, and filters may remove any row.
+     */
+    private boolean isAppendOnly(int newStartLocation, int newItemCount) {
+        IDataSetFilter[] filters = filteredDataSet.getFilters();
+        return !(filteredDataSet instanceof IBlockDataSet)
+                && (filters == null || filters.length == 0)
+                && newStartLocation == startLocation
+                && newItemCount >= table.getItemCount();
+    }
+
     @Override
     public void handleUpdateEvent() {
-        if (table.isDisposed()) {
+        if (table == null || table.isDisposed()) {
+            return;
+        }
+        // Updates that arrive before the table is refreshed are handled by that refresh.
+        if (!updatePending.compareAndSet(false, true)) {
             return;
         }
 
         table.getDisplay().asyncExec(() -> {
-		    if (table.isDisposed()) {
+		    updatePending.set(false);
+		    if (table == null || table.isDisposed()) {
 		        return;
 		    }
-		    TableItem item;
-		    int startLocation;
 		    int endLocation = filteredDataSet.getRowCount();
 		    int maxItems = prefs.getInt(GraphingPreferenceConstants.P_MAX_DATA_ITEMS);
-		    int oldSelection = table.getSelectionIndex();
-
-		    //Remove old items to refresh table, and only read in as many items as will fit.
-		    //Note that a full refresh is necessary in order for filtered data to appear correctly.
-		    table.removeAll();
-		    startLocation = Math.max(endLocation-maxItems, 0);
-
-		    //Add all the new items to the table
-		    Object[] os;
-		    for (int j, i1 = startLocation; i1 < endLocation; i1++) {
-		        item = new TableItem(table, SWT.NONE);
-		        os = filteredDataSet.getRow(i1);
-
-		        //Add 1 to the index/row num since graphs start counting rows at 1, not 0.
-		        item.setText(0, Integer.toString(i1 + 1));
-		        for (j = 0; j < os.length; j++) {
-		            //Ignore null items
-		            if (os[j] != null) {
-		                item.setText(j+1, columnFormat[j].format(os[j].toString()));
-		            }
-		        }
-		    }
-		    //Re-select the old table selection, if there was one
-		    if (oldSelection != -1) {
-		        table.select(oldSelection);
+		    int oldItemCount = table.getItemCount();
+
+		    //Only show as many items as will fit.
+		    int newStartLocation = Math.max(endLocation-maxItems, 0);
+		    int itemCount = endLocation - newStartLocation;
+		    if (!isAppendOnly(newStartLocation, itemCount)) {
+		        //The rows of the items have changed, so they are filled in again when shown.
+		        table.clearAll();
 		    }
+		    startLocation = newStartLocation;
+		    table.setItemCount(itemCount);
 
 		    //Resize the columns
-		    TableColumn col = table.getColumn(0);
-		    col.pack();
-		    if (autoResizeMenuItem.getSelection()) {
-		        TableColumn[] cols = table.getColumns();
-		        for (int i2 = 1; i2 < cols.length; i2++) {
-		            cols[i2].pack();
+		    if (itemCount != oldItemCount) {
+		        TableColumn col = table.getColumn(0);
+		        col.pack();
+		        if (autoResizeMenuItem.getSelection()) {
+		            TableColumn[] cols = table.getColumns();
+		            for (int i = 1; i < cols.length; i++) {
+		                cols[i].pack();
+		            }
 		        }
 		    }
 
 		    //Use if we want to set focus to newly added item.
-		    //Run async so the table can be fully constructed before jumping to an entry.
-		    if (jumpToEntryMenuItem.getSelection() && table.getItemCount() > 0) {
-		        table.getDisplay().asyncExec(() -> table.showItem(table.getItem(table.getItemCount()-1)));
+		    if (jumpToEntryMenuItem.getSelection() && itemCount > 0) {
+		        table.showItem(table.getItem(itemCount-1));
 		    }
-		    formatMenuItem.setEnabled(table.getItemCount() > 0);
+		    formatMenuItem.setEnabled(itemCount > 0);
 		});
     }
 
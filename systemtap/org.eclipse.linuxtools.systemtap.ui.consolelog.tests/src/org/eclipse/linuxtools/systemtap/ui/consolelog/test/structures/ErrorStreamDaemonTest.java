@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2018 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  * 
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -13,10 +13,14 @@
 
 package org.eclipse.linuxtools.systemtap.ui.consolelog.test.structures;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
+import java.util.List;
+
+import org.eclipse.linuxtools.internal.systemtap.ui.consolelog.structures.ErrorLog;
 import org.eclipse.linuxtools.internal.systemtap.ui.consolelog.structures.ErrorStreamDaemon;
 import org.eclipse.linuxtools.systemtap.structures.runnable.StreamGobbler;
 import org.eclipse.linuxtools.systemtap.ui.consolelog.structures.ConsoleStreamDaemon;
@@ -62,5 +66,45 @@ public class ErrorStreamDaemonTest {
         assertNotNull(daemon);
     }
 
+    @Test
+    public void testErrors() {
+        ErrorStreamDaemon parsingDaemon = new ErrorStreamDaemon(null, data -> new String[][] {{data.trim()}});
+        parsingDaemon.handleDataEvent("a\n");
+        parsingDaemon.handleDataEvent("b\n");
+        parsingDaemon.handleDataEvent("a\n");
+        List<ErrorLog.Entry> entries = parsingDaemon.getErrors().getEntries();
+        assertEquals(2, entries.size());
+        assertEquals("a", entries.get(0).getError()[0]);
+        assertEquals(2, entries.get(0).getCount());
+        assertEquals("b", entries.get(1).getError()[0]);
+        assertEquals(1, entries.get(1).getCount());
+    }
+
+    @Test
+    public void testErrorLogCapacity() {
+        ErrorLog log = new ErrorLog(2);
+        log.add("a", new String[] {"a"});
+        log.add("b", new String[] {"b"});
+        log.add("c", new String[] {"c"});
+        List<ErrorLog.Entry> entries = log.getEntries();
+        assertEquals(2, entries.size());
+        assertEquals("b", entries.get(0).getError()[0]);
+        assertEquals("c", entries.get(1).getError()[0]);
+        // the dropped error is counted again from one
+        log.add("a", new String[] {"a"});
+        entries = log.getEntries();
+        assertEquals("a", entries.get(1).getError()[0]);
+        assertEquals(1, entries.get(1).getCount());
+
+        // errors without a key are never counted with others
+        log.add(null, new String[] {"d"});
+        log.add(null, new String[] {"d"});
+        entries = log.getEntries();
+        assertEquals("d", entries.get(0).getError()[0]);
+        assertEquals(1, entries.get(0).getCount());
+        assertEquals("d", entries.get(1).getError()[0]);
+        assertEquals(1, entries.get(1).getCount());
+    }
+
     private ErrorStreamDaemon daemon;
 }
@@ -0,0 +1,127 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.internal.systemtap.ui.consolelog.structures;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The errors parsed from the error stream of a script, keeping only the most
+ * recent ones. Errors with the same key are kept once, with a count of their
+ * occurrences.
+ */
+public class ErrorLog {
+
+    public static final int DEFAULT_CAPACITY = 1000;
+
+    /**
+     * An error and the number of times it occurred.
+     */
+    public static final class Entry {
+        private final String key;
+        private final String[] error;
+        private int count = 1;
+
+        private Entry(String key, String[] error) {
+            this.key = key;
+            this.error = error;
+        }
+
+        /**
+         * @return The error, in the format of the error parser.
+         */
+        public String[] getError() {
+            return error;
+        }
+
+        /**
+         * @return The number of times the error occurred.
+         */
+        public synchronized int getCount() {
+            return count;
+        }
+    }
+
+    private final Entry[] entries;
+    private final Map<String, Entry> entriesByKey = new HashMap<>();
+    // Index of the oldest entry
+    private int first;
+    private int size;
+
+    public ErrorLog() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity The maximum number of distinct errors kept.
+     */
+    public ErrorLog(int capacity) {
+        entries = new Entry[capacity];
+    }
+
+    /**
+     * Adds an error, or counts it once more if an error with the same key
+     * is already kept. The oldest error is dropped if the log is full.
+     * @param key The key of the error, or <code>null</code> to always add it.
+     * @param error The error.
+     */
+    public synchronized void add(String key, String[] error) {
+        Entry entry = key != null ? entriesByKey.get(key) : null;
+        if (entry != null) {
+            synchronized (entry) {
+                entry.count++;
+            }
+            return;
+        }
+        entry = new Entry(key, error);
+        if (size == entries.length) {
+            if (entries[first].key != null) {
+                entriesByKey.remove(entries[first].key);
+            }
+            entries[first] = entry;
+            first = (first + 1) % entries.length;
+        } else {
+            entries[(first + size) % entries.length] = entry;
+            size++;
+        }
+        if (key != null) {
+            entriesByKey.put(key, entry);
+        }
+    }
+
+    /**
+     * @return The errors kept, oldest first.
+     */
+    public synchronized List<Entry> getEntries() {
+        List<Entry> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(entries[(first + i) % entries.length]);
+        }
+        return list;
+    }
+
+    /**
+     * Removes all the errors.
+     */
+    public synchronized void clear() {
+        for (int i = 0; i < size; i++) {
+            entries[(first + i) % entries.length] = null;
+        }
+        entriesByKey.clear();
+        first = 0;
+        size = 0;
+    }
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2018 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  * 
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -16,6 +16,7 @@ package org.eclipse.linuxtools.internal.systemtap.ui.consolelog.structures;
 
 import org.eclipse.linuxtools.systemtap.ui.consolelog.internal.Localization;
 import org.eclipse.linuxtools.systemtap.ui.consolelog.structures.ConsoleStreamDaemon;
+import org.eclipse.linuxtools.systemtap.ui.consolelog.structures.IErrorParser;
 import org.eclipse.linuxtools.systemtap.ui.consolelog.structures.ScriptConsole;
 
 /**
@@ -24,9 +25,16 @@ import org.eclipse.linuxtools.systemtap.ui.consolelog.structures.ScriptConsole;
  */
 public class ErrorStreamDaemon extends ConsoleStreamDaemon {
     public ErrorStreamDaemon(ScriptConsole console) {
-        super(console);
+        this(console, null);
+    }
 
-        outputData = new StringBuilder();
+    /**
+     * @param console The console to print the error stream to.
+     * @param parser The parser of the errors, or <code>null</code> to only print them.
+     */
+    public ErrorStreamDaemon(ScriptConsole console, IErrorParser parser) {
+        super(console);
+        this.parser = parser;
     }
 
     /**
@@ -41,8 +49,25 @@ public class ErrorStreamDaemon extends ConsoleStreamDaemon {
 
         super.pushData();
 
-        outputData.append(output);
+        // The data comes line by line, parse it as it arrives rather than
+        // keeping the whole stream
+        if (parser != null) {
+            addErrors(parser.parseLine(output));
+        }
+    }
+
+    private void addErrors(String[][] newErrors) {
+        for (String[] error : newErrors) {
+            errors.add(parser.getKey(error), error);
+        }
+    }
 
+    /**
+     * Returns the errors parsed so far, the most recent ones only.
+     * @return The errors.
+     */
+    public ErrorLog getErrors() {
+        return errors;
     }
 
     /**
@@ -52,10 +77,12 @@ public class ErrorStreamDaemon extends ConsoleStreamDaemon {
     public void dispose() {
         if(!isDisposed()) {
             super.dispose();
-            outputData.delete(0, outputData.length());
-            outputData = null;
+            if (parser != null) {
+                addErrors(parser.flush());
+            }
         }
     }
 
-    private StringBuilder outputData;
+    private final IErrorParser parser;
+    private final ErrorLog errors = new ErrorLog();
 }
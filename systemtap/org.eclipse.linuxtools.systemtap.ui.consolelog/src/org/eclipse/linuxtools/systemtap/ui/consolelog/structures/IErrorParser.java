@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2017 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  * 
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -15,4 +15,36 @@ package org.eclipse.linuxtools.systemtap.ui.consolelog.structures;
 
 public interface IErrorParser {
     String[][] parseOutput(String data);
+
+    /**
+     * Parses one more line of the output as it is received. The parser keeps
+     * the error being parsed between calls, so that an error may span lines.
+     * @param line A line of the output.
+     * @return The errors completed by this line, possibly none.
+     * @since 4.1
+     */
+    default String[][] parseLine(String line) {
+        String[][] errors = parseOutput(line);
+        return errors != null ? errors : new String[0][];
+    }
+
+    /**
+     * Ends the output parsed by {@link #parseLine(String)}.
+     * @return The error that was still being parsed, if any.
+     * @since 4.1
+     */
+    default String[][] flush() {
+        return new String[0][];
+    }
+
+    /**
+     * Returns the key under which identical errors are counted only once.
+     * @param error An error returned by this parser.
+     * @return The key of the error, or <code>null</code> if the error is
+     * never counted with others.
+     * @since 4.1
+     */
+    default String getKey(String[] error) {
+        return String.join("\n", error); //$NON-NLS-1$
+    }
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2018 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  * 
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -229,7 +229,7 @@ public class ScriptConsole extends IOConsole {
             reset();
         }
         if (errorParser != null) {
-        	errorDaemon = new ErrorStreamDaemon(this);
+        	errorDaemon = new ErrorStreamDaemon(this, errorParser);
         }
         createConsoleDaemon();
         notifyConsoleObservers();
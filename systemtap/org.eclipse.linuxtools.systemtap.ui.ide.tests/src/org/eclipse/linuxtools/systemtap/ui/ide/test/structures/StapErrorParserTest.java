@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2018 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,7 @@
 package org.eclipse.linuxtools.systemtap.ui.ide.test.structures;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
@@ -58,4 +59,68 @@ public class StapErrorParserTest {
         assertTrue("semantic error:".equals(output[0][0]));
         assertTrue(output[0][3].startsWith("22:6"));
     }
+
+    @Test
+    public void testParseLine() {
+        StapErrorParser parser = new StapErrorParser();
+
+        assertEquals(0, parser.parseLine("parse error: expected identifier or '*' ").length);
+        // the error is complete once the next one starts
+        assertEquals(0, parser.parseLine("saw: operator '{' at /home/morser/test.stp:14:7 ").length);
+        String[][] output = parser.parseLine("WARNING: side-effect-free expression ignored: identifier 'x' at /home/morser/test.stp:3:2");
+        assertEquals(1, output.length);
+        assertEquals("parse error:", output[0][0]);
+        assertTrue(output[0][2].startsWith("operator"));
+        assertTrue(output[0][3].startsWith("14"));
+
+        output = parser.parseLine("Pass 2: analysis failed.");
+        assertEquals(1, output.length);
+        assertEquals("WARNING:", output[0][0]);
+        assertTrue(output[0][3].startsWith("3"));
+        assertEquals(0, parser.flush().length);
+
+        assertEquals(1, parser.parseLine("semantic error: x at /a.stp:4:1").length + parser.flush().length);
+    }
+
+    @Test
+    public void testGetKey() {
+        StapErrorParser parser = new StapErrorParser();
+
+        // warnings at the same location have the same key
+        String[] first = parser.parseOutput("WARNING: a at /a.stp:3:2 \n")[0];
+        parser.parseLine("WARNING: b at /a.stp:3:2");
+        String[] second = parser.flush()[0];
+        assertEquals(parser.getKey(first), parser.getKey(second));
+        // the key only depends on the fields of the record
+        assertEquals(parser.getKey(first), new StapErrorParser().getKey(first.clone()));
+
+        // but not at the same line of another file
+        String[] other = parser.parseOutput("WARNING: a at /b.stp:3:2 \n")[0];
+        assertEquals(first[3], other[3]);
+        assertNotEquals(parser.getKey(first), parser.getKey(other));
+
+        // errors are never counted together
+        String[][] errors = parser.parseOutput("semantic error: a at /a.stp:3:2 \n" +
+                        "semantic error: b at /a.stp:3:2 \n");
+        assertEquals(2, errors.length);
+        assertNull(parser.getKey(errors[0]));
+        assertNull(parser.getKey(errors[1]));
+    }
+
+    @Test
+    public void testParseOutputRecords() {
+        StapErrorParser parser = new StapErrorParser();
+
+        // a warning is a record of its own, and Pass ends the record before it
+        String[][] output = parser.parseOutput("semantic error: a at /a.stp:3:2 \n" +
+                        "WARNING: b at /a.stp:4:1 \n" +
+                        "Pass 2: analysis failed. at /c.stp:9:9");
+        assertEquals(2, output.length);
+        assertEquals("semantic error:", output[0][0]);
+        assertEquals("a ", output[0][1]);
+        assertTrue(output[0][3].startsWith("3"));
+        assertEquals("WARNING:", output[1][0]);
+        assertEquals("b ", output[1][1]);
+        assertTrue(output[1][3].startsWith("4"));
+    }
 }
\ No newline at end of file
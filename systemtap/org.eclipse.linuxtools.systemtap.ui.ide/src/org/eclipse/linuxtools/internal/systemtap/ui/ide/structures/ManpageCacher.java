@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2014, 2018 Red Hat, Inc. and others.
+ * Copyright (c) 2014, 2026 Red Hat, Inc. and others.
  *
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -13,8 +13,20 @@
 
 package org.eclipse.linuxtools.internal.systemtap.ui.ide.structures;
 
-import java.util.HashMap;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Iterator;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.eclipse.jface.preference.IPreferenceStore;
 import org.eclipse.linuxtools.internal.systemtap.ui.ide.IDEPlugin;
@@ -26,7 +38,14 @@ import org.eclipse.linuxtools.systemtap.ui.consolelog.preferences.ConsoleLogPref
 public class ManpageCacher {
     private static final String SPLITTER = "::"; //$NON-NLS-1$
     private static final String NO_MAN_ENTRY = "No manual entry for "; //$NON-NLS-1$
-    private static HashMap<String, String> pages = new HashMap<>();
+    private static final String VALUES = "VALUES"; //$NON-NLS-1$
+    private static final Pattern NEXT_SECTION = Pattern.compile("CONTEXT|DESCRIPTION|SystemTap Tapset Reference"); //$NON-NLS-1$
+    // Key of the version in the stored documentation, which has no SPLITTER
+    private static final String VERSION_KEY = "version"; //$NON-NLS-1$
+    private static Map<String, String> pages = new ConcurrentHashMap<>();
+    // One lock per element being fetched, so that a slow (e.g. remote) fetch
+    // of a page does not delay the lookups of other elements
+    private static Map<String, Object> locks = new ConcurrentHashMap<>();
 
     public static boolean isEmptyDocumentation(String documentation) {
         return documentation != null && documentation.startsWith(NO_MAN_ENTRY);
@@ -36,15 +55,16 @@ public class ManpageCacher {
         return NO_MAN_ENTRY + element;
     }
 
-    public static synchronized void clear() {
+    public static void clear() {
         clear(TapsetItemType.values());
     }
 
-    public static synchronized void clear(TapsetItemType ...types) {
+    public static void clear(TapsetItemType ...types) {
         Iterator<String> keys = pages.keySet().iterator();
         while (keys.hasNext()) {
+            String key = keys.next();
             for (TapsetItemType type : types) {
-                if (keys.next().startsWith(type.toString())) {
+                if (key.startsWith(type.toString())) {
                     keys.remove();
                     break;
                 }
@@ -55,55 +75,161 @@ public class ManpageCacher {
     /**
      * Returns the documentation for the given probe, function, or tapset. Will never be <code>null</code>.
      */
-    public static synchronized String getDocumentation(TapsetItemType prefix, String ...elements) {
+    public static String getDocumentation(TapsetItemType prefix, String ...elements) {
         String fullElement = createFullElement(prefix, elements);
         String documentation = pages.get(fullElement);
-        if (documentation == null) {
-            // If the requested element is a probe variable,
-            // fetch the documentation for the parent probe then check the map
-            if (prefix == TapsetItemType.PROBEVAR) {
-                getDocumentation(TapsetItemType.PROBE, elements[0]);
-                documentation = pages.get(fullElement);
-                if (documentation == null) {
-                    documentation = makeEmptyDocumentation(fullElement);
-                    pages.put(fullElement, documentation);
+        if (documentation != null) {
+            return documentation;
+        }
+        // If the requested element is a probe variable,
+        // fetch the documentation for the parent probe then check the map
+        if (prefix == TapsetItemType.PROBEVAR) {
+            getDocumentation(TapsetItemType.PROBE, elements[0]);
+            documentation = pages.get(fullElement);
+            if (documentation == null) {
+                documentation = makeEmptyDocumentation(fullElement);
+                String previous = pages.putIfAbsent(fullElement, documentation);
+                if (previous != null) {
+                    documentation = previous;
                 }
-                return documentation;
             }
+            return documentation;
+        }
 
-            // Otherwise, get the documentation for the requested element.
-            IPreferenceStore p = IDEPlugin.getDefault().getPreferenceStore();
-            ManPage manpage = null;
-            if (!p.getBoolean(IDEPreferenceConstants.P_REMOTE_PROBES)) {
-                manpage = new ManPage(fullElement);
-            } else {
-                p = ConsoleLogPlugin.getDefault().getPreferenceStore();
-                String user = p.getString(ConsoleLogPreferenceConstants.SCP_USER);
-                String host = p.getString(ConsoleLogPreferenceConstants.HOST_NAME);
-                String password = p.getString(ConsoleLogPreferenceConstants.SCP_PASSWORD);
-                manpage = new ManPage(fullElement, user, host, password);
+        Object lock = locks.computeIfAbsent(fullElement, k -> new Object());
+        try {
+            synchronized (lock) {
+                return fetchDocumentation(prefix, fullElement, elements);
             }
-            documentation = manpage.getStrippedTextPage().toString();
-            pages.put(fullElement, documentation);
+        } finally {
+            // The lock is only kept while the page is fetched. A thread still
+            // waiting for it finds the page cached, or fetches it again.
+            locks.remove(fullElement, lock);
+        }
+    }
 
-            // If the requested element is a probe and a documentation page was
-            // found for it, parse the documentation for the variables if present.
-            if (!isEmptyDocumentation(documentation) && prefix == TapsetItemType.PROBE) {
-                getProbeVariableDocumentation(documentation, elements[0]);
-            }
+    private static String fetchDocumentation(TapsetItemType prefix, String fullElement, String ...elements) {
+        // The page may have been fetched while waiting for the lock
+        String documentation = pages.get(fullElement);
+        if (documentation != null) {
+            return documentation;
+        }
+
+        // Otherwise, get the documentation for the requested element.
+        IPreferenceStore p = IDEPlugin.getDefault().getPreferenceStore();
+        ManPage manpage = null;
+        if (!p.getBoolean(IDEPreferenceConstants.P_REMOTE_PROBES)) {
+            manpage = new ManPage(fullElement);
+        } else {
+            p = ConsoleLogPlugin.getDefault().getPreferenceStore();
+            String user = p.getString(ConsoleLogPreferenceConstants.SCP_USER);
+            String host = p.getString(ConsoleLogPreferenceConstants.HOST_NAME);
+            String password = p.getString(ConsoleLogPreferenceConstants.SCP_PASSWORD);
+            manpage = new ManPage(fullElement, user, host, password);
+        }
+        documentation = manpage.getStrippedTextPage().toString();
+
+        // A page that could not be fetched, or was cut short by a cancelled
+        // prefetch, is not kept so that it is fetched again next time.
+        if (manpage.isFetchFailed() || Thread.currentThread().isInterrupted()
+                || documentation.trim().isEmpty()) {
+            return documentation;
         }
+
+        // If the requested element is a probe and a documentation page was
+        // found for it, parse the documentation for the variables if present.
+        // The variables are added first, so that they are found as soon as
+        // the probe is.
+        if (!isEmptyDocumentation(documentation) && prefix == TapsetItemType.PROBE) {
+            getProbeVariableDocumentation(documentation, elements[0]);
+        }
+        pages.put(fullElement, documentation);
         return documentation;
     }
 
+    /**
+     * Returns <code>true</code> if the documentation of the given element was
+     * already fetched.
+     */
+    public static boolean isCached(TapsetItemType prefix, String ...elements) {
+        return pages.containsKey(createFullElement(prefix, elements));
+    }
+
+    /**
+     * Adds the documentation stored in the given file by {@link #store(File, String)},
+     * if it was stored with the same version.
+     * @param file The file the documentation was stored in.
+     * @param version The version of the tapsets the documentation must come from.
+     */
+    public static void load(File file, String version) {
+        if (!file.isFile()) {
+            return;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+            properties.load(in);
+        } catch (IOException e) {
+            return;
+        }
+        if (!version.equals(properties.getProperty(VERSION_KEY))) {
+            return;
+        }
+        properties.remove(VERSION_KEY);
+        for (String key : properties.stringPropertyNames()) {
+            String documentation = properties.getProperty(key);
+            if (!isMissing(key, documentation)) {
+                pages.putIfAbsent(key, documentation);
+            }
+        }
+    }
+
+    /**
+     * Stores all the documentation fetched so far in the given file.
+     * @param file The file to store the documentation in.
+     * @param version The version of the tapsets the documentation comes from.
+     */
+    public static void store(File file, String version) {
+        Properties properties = new Properties();
+        for (Map.Entry<String, String> page : pages.entrySet()) {
+            if (!isMissing(page.getKey(), page.getValue())) {
+                properties.setProperty(page.getKey(), page.getValue());
+            }
+        }
+        properties.setProperty(VERSION_KEY, version);
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+            properties.store(out, null);
+        } catch (IOException e) {
+            // The documentation will be fetched again next time
+            file.delete();
+        }
+    }
+
+    /**
+     * Returns <code>true</code> if the given documentation of a probe or function
+     * is empty, as probe variables may have no documentation.
+     */
+    private static boolean isMissing(String fullElement, String documentation) {
+        return documentation.trim().isEmpty()
+                && !fullElement.startsWith(TapsetItemType.PROBEVAR.toString() + SPLITTER);
+    }
+
     private static void getProbeVariableDocumentation(String documentation, String probe) {
         // Parse out the variables
-        String[] sections = documentation.split("VALUES"); //$NON-NLS-1$
-        if (sections.length > 1) {
+        int start = documentation.indexOf(VALUES);
+        if (start != -1) {
+            start += VALUES.length();
+            int end = documentation.indexOf(VALUES, start);
             // Discard any other sections
-            String variablesString = sections[1].split("CONTEXT|DESCRIPTION|SystemTap Tapset Reference")[0].trim(); //$NON-NLS-1$
+            Matcher matcher = NEXT_SECTION.matcher(documentation);
+            matcher.region(start, end != -1 ? end : documentation.length());
+            if (matcher.find()) {
+                end = matcher.start();
+            }
+            String variablesString = documentation.substring(start,
+                    end != -1 ? end : documentation.length()).trim();
             String[] variables = variablesString.split("\n"); //$NON-NLS-1$
             int i = 0;
-            if (!variables[0].equals("None")) { //$NON-NLS-1$
+            if (!variablesString.isEmpty() && !variables[0].equals("None")) { //$NON-NLS-1$
                 while (i < variables.length) {
                     String variableName = variables[i].trim();
                     StringBuilder variableDocumentation = new StringBuilder();
@@ -22,6 +22,7 @@ public class Messages extends NLS {
     public static String SharedParser_name;
     public static String FunctionParser_name;
     public static String ProbeParser_name;
+    public static String ManpagePrefetcher_name;
     public static String ProbeParser_errorInitializingStaticProbes;
     public static String ProbeParser_staticProbes;
     public static String ProbeParser_aliasProbes;
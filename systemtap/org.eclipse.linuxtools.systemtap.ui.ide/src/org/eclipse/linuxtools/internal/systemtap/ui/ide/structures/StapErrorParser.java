@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2018 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,7 @@
 package org.eclipse.linuxtools.internal.systemtap.ui.ide.structures;
 
 import java.util.ArrayList;
+import java.util.regex.Pattern;
 
 import org.eclipse.linuxtools.systemtap.ui.consolelog.structures.IErrorParser;
 
@@ -31,45 +32,44 @@ public final class StapErrorParser implements IErrorParser {
      */
     @Override
     public String[][] parseOutput(String output) {
-        String[][] sErrors = null;
-        ArrayList<String[]> errors = new ArrayList<>();
-        int errorType = TYPE;
-
-        if(null != output) {
-            String[] tokens = output.split("\\s"); //$NON-NLS-1$
-            String[] row = null;
-
-            for(int i=0; i<tokens.length; i++) {
-                if(tokens[i].equals("error:")) { //$NON-NLS-1$
-                    row = new String[] {"", "", "", ""};  //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$//$NON-NLS-4$
-                    errors.add(row);
-                    row[TYPE] = tokens[i-1] + " " + tokens[i]; //$NON-NLS-1$
-                    errorType = ERROR;
-                    i++;
-                } else if(tokens[i].equals("saw:")) { //$NON-NLS-1$
-                    errorType = SAW;
-                    i++;
-                } else if(tokens[i].equals("at")) { //$NON-NLS-1$
-                    errorType = LOCATION;
-                    i++;
-                } else if(tokens[i].equals("Pass")) { //$NON-NLS-1$
-                    errorType = PASS;
-
-                }
+        if(null == output) {
+            return null;
+        }
+        State state = new State();
+        state.parse(output);
+        state.flush();
+        return state.takeErrors();
+    }
 
-                if (null != row && errorType != PASS) {
-                    row[errorType] += tokens[i] + " "; //$NON-NLS-1$
-                }
-            }
+    /**
+     * Parses a line of the output, the error being parsed being kept until
+     * the next one starts.
+     */
+    @Override
+    public String[][] parseLine(String line) {
+        if (null != line) {
+            lineState.parse(line);
+        }
+        return lineState.takeErrors();
+    }
 
-            sErrors = new String[errors.size()][4];
-            System.arraycopy(errors.toArray(), 0, sErrors, 0, errors.size());
+    @Override
+    public String[][] flush() {
+        lineState.flush();
+        return lineState.takeErrors();
+    }
 
-            for(int i=0; i<sErrors.length; i++)
-                sErrors[i][LOCATION] = fixLocation(sErrors[i][LOCATION]);
+    /**
+     * Warnings at the same file, line and column are counted once. Errors
+     * are never merged.
+     */
+    @Override
+    public String getKey(String[] error) {
+        if (error.length <= RAW_LOCATION || !WARNING.equals(error[TYPE])) {
+            return null;
         }
-
-        return sErrors;
+        String location = error[RAW_LOCATION];
+        return WARNING + '\n' + (location.isEmpty() ? error[ERROR] : location);
     }
 
     private static String fixLocation(String loc) {
@@ -81,9 +81,93 @@ public final class StapErrorParser implements IErrorParser {
         }
     }
 
+    /**
+     * The error being parsed, and the errors completed since they were last taken.
+     */
+    private static class State {
+        private final ArrayList<String[]> errors = new ArrayList<>();
+        private String[] row = null;
+        private int errorType = TYPE;
+        private String previousToken = ""; //$NON-NLS-1$
+        // The token following a keyword is part of the field the keyword starts
+        private boolean afterKeyword = false;
+
+        private void parse(String output) {
+            for (String token : WHITESPACE.split(output)) {
+                if (afterKeyword) {
+                    afterKeyword = false;
+                } else if(token.equals("error:")) { //$NON-NLS-1$
+                    complete();
+                    row = new String[] {"", "", "", "", ""};  //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$//$NON-NLS-4$//$NON-NLS-5$
+                    row[TYPE] = previousToken + " " + token; //$NON-NLS-1$
+                    errorType = ERROR;
+                    afterKeyword = true;
+                } else if(token.equals(WARNING)) {
+                    complete();
+                    row = new String[] {"", "", "", "", ""};  //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$//$NON-NLS-4$//$NON-NLS-5$
+                    row[TYPE] = token;
+                    errorType = ERROR;
+                    // The type is not repeated in the message
+                    previousToken = token;
+                    continue;
+                } else if(token.equals("saw:")) { //$NON-NLS-1$
+                    errorType = SAW;
+                    afterKeyword = true;
+                } else if(token.equals("at")) { //$NON-NLS-1$
+                    errorType = LOCATION;
+                    afterKeyword = true;
+                } else if(token.equals("Pass")) { //$NON-NLS-1$
+                    errorType = PASS;
+                    complete();
+                }
+                previousToken = token;
+                if (afterKeyword) {
+                    continue;
+                }
+
+                if (null != row && errorType != PASS
+                        && row[errorType].length() < MAX_FIELD_LENGTH) {
+                    row[errorType] += token + " "; //$NON-NLS-1$
+                }
+            }
+        }
+
+        private void complete() {
+            if (null != row) {
+                // The key uses the location before only its line is kept
+                row[RAW_LOCATION] = row[LOCATION].trim();
+                row[LOCATION] = fixLocation(row[LOCATION]);
+                errors.add(row);
+                row = null;
+            }
+        }
+
+        private void flush() {
+            complete();
+            afterKeyword = false;
+            errorType = TYPE;
+            previousToken = ""; //$NON-NLS-1$
+        }
+
+        private String[][] takeErrors() {
+            String[][] sErrors = errors.toArray(new String[errors.size()][]);
+            errors.clear();
+            return sErrors;
+        }
+    }
+
+    private final State lineState = new State();
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s"); //$NON-NLS-1$
+    private static final String WARNING = "WARNING:"; //$NON-NLS-1$
+    /** Fields are not extended past this length, verbose output being appended to the location */
+    private static final int MAX_FIELD_LENGTH = 4096;
+
     private static final int TYPE        = 0;
     private static final int ERROR        = 1;
     private static final int SAW        = 2;
     private static final int LOCATION    = 3;
-    private static final int PASS        = 4;
+    /** The whole location, which is not displayed */
+    private static final int RAW_LOCATION = 4;
+    private static final int PASS        = 5;
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2018 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -29,6 +29,7 @@ import org.eclipse.linuxtools.internal.systemtap.ui.ide.Localization;
 import org.eclipse.linuxtools.internal.systemtap.ui.ide.preferences.IDEPreferenceConstants;
 import org.eclipse.linuxtools.internal.systemtap.ui.ide.preferences.PreferenceConstants;
 import org.eclipse.linuxtools.internal.systemtap.ui.ide.structures.tparsers.FunctionParser;
+import org.eclipse.linuxtools.internal.systemtap.ui.ide.structures.tparsers.ManpagePrefetcher;
 import org.eclipse.linuxtools.internal.systemtap.ui.ide.structures.tparsers.ProbeParser;
 import org.eclipse.linuxtools.internal.systemtap.ui.ide.structures.tparsers.SharedParser;
 import org.eclipse.linuxtools.systemtap.structures.TreeNode;
@@ -128,6 +129,9 @@ public final class TapsetLibrary {
                 } else {
                     ManpageCacher.clear(TapsetItemType.FUNCTION);
                 }
+                if (isReady()) {
+                    prefetchDocumentation();
+                }
             }
         }
     };
@@ -173,6 +177,16 @@ public final class TapsetLibrary {
     public static void readTreeFile() {
         functionParser.setTree(TreeSettings.getFunctionTree());
         probeParser.setTree(TreeSettings.getProbeTree());
+        prefetchDocumentation();
+    }
+
+    /**
+     * Fetches the documentation of all the probes and functions in the background,
+     * restarting the fetch if it is already in progress.
+     */
+    private static void prefetchDocumentation() {
+        ManpagePrefetcher.getInstance().cancel();
+        ManpagePrefetcher.getInstance().schedule();
     }
 
     /**
@@ -285,6 +299,7 @@ public final class TapsetLibrary {
      * the calling thread until they have terminated.
      */
     public static void stop() {
+        ManpagePrefetcher.getInstance().cancel();
         functionParser.cancel();
         try {
             functionParser.join();
@@ -0,0 +1,156 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.internal.systemtap.ui.ide.structures.tparsers;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.jface.preference.IPreferenceStore;
+import org.eclipse.linuxtools.internal.systemtap.ui.ide.IDEPlugin;
+import org.eclipse.linuxtools.internal.systemtap.ui.ide.preferences.IDEPreferenceConstants;
+import org.eclipse.linuxtools.internal.systemtap.ui.ide.structures.ManpageCacher;
+import org.eclipse.linuxtools.internal.systemtap.ui.ide.structures.Messages;
+import org.eclipse.linuxtools.internal.systemtap.ui.ide.structures.TapsetItemType;
+import org.eclipse.linuxtools.internal.systemtap.ui.ide.structures.TapsetLibrary;
+import org.eclipse.linuxtools.internal.systemtap.ui.ide.structures.nodedata.FunctionNodeData;
+import org.eclipse.linuxtools.internal.systemtap.ui.ide.structures.nodedata.ProbeNodeData;
+import org.eclipse.linuxtools.systemtap.structures.TreeNode;
+import org.eclipse.linuxtools.systemtap.ui.consolelog.internal.ConsoleLogPlugin;
+import org.eclipse.linuxtools.systemtap.ui.consolelog.preferences.ConsoleLogPreferenceConstants;
+
+/**
+ * Fetches the documentation of all the probes and functions of the tapsets
+ * in the background once they are loaded, so that hovers and content assist
+ * do not each wait for man. The documentation is stored in the state location
+ * of the plug-in along with the version of stap, and is loaded from there
+ * instead of being fetched again as long as the version does not change.
+ */
+public final class ManpagePrefetcher extends TapsetParser {
+
+    private static final String[] STAP_OPTIONS = new String[] {"-V"}; //$NON-NLS-1$
+    private static final String CACHE_FILE = "tapsetDocumentation.properties"; //$NON-NLS-1$
+    private static final int MAX_THREADS = 4;
+
+    private static ManpagePrefetcher prefetcher = null;
+    public static synchronized ManpagePrefetcher getInstance() {
+        if (prefetcher == null) {
+            prefetcher = new ManpagePrefetcher();
+        }
+        return prefetcher;
+    }
+
+    private ManpagePrefetcher() {
+        super(Messages.ManpagePrefetcher_name);
+        setSystem(true);
+        setPriority(DECORATE);
+    }
+
+    @Override
+    protected IStatus run(IProgressMonitor monitor) {
+        List<String> probes = new ArrayList<>();
+        List<String> functions = new ArrayList<>();
+        collectNames(TapsetLibrary.getProbes(), ProbeNodeData.class, probes);
+        collectNames(TapsetLibrary.getFunctions(), FunctionNodeData.class, functions);
+        if (probes.isEmpty() && functions.isEmpty()) {
+            return Status.OK_STATUS;
+        }
+
+        File cacheFile = IDEPlugin.getDefault().getStateLocation().append(CACHE_FILE).toFile();
+        String version = getVersion();
+        if (version != null) {
+            ManpageCacher.load(cacheFile, version);
+        }
+
+        SubMonitor progress = SubMonitor.convert(monitor, probes.size() + functions.size());
+        ExecutorService executor = Executors.newFixedThreadPool(MAX_THREADS);
+        boolean fetched = false;
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            fetched |= submit(executor, futures, TapsetItemType.PROBE, probes);
+            fetched |= submit(executor, futures, TapsetItemType.FUNCTION, functions);
+            for (Future<?> future : futures) {
+                if (progress.isCanceled()) {
+                    return Status.CANCEL_STATUS;
+                }
+                future.get();
+                progress.worked(1);
+            }
+        } catch (InterruptedException e) {
+            return Status.CANCEL_STATUS;
+        } catch (ExecutionException e) {
+            return new Status(IStatus.WARNING, IDEPlugin.PLUGIN_ID, e.getCause().getMessage(), e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        if (fetched && version != null) {
+            ManpageCacher.store(cacheFile, version);
+        }
+        return Status.OK_STATUS;
+    }
+
+    private static boolean submit(ExecutorService executor, List<Future<?>> futures,
+            TapsetItemType type, List<String> names) {
+        boolean submitted = false;
+        for (String name : names) {
+            if (!ManpageCacher.isCached(type, name)) {
+                futures.add(executor.submit(() -> ManpageCacher.getDocumentation(type, name)));
+                submitted = true;
+            }
+        }
+        return submitted;
+    }
+
+    private static void collectNames(TreeNode node, Class<?> dataClass, List<String> names) {
+        if (node == null) {
+            return;
+        }
+        for (int i = 0, n = node.getChildCount(); i < n; i++) {
+            TreeNode child = node.getChildAt(i);
+            if (dataClass.isInstance(child.getData())) {
+                names.add(child.toString());
+            } else {
+                collectNames(child, dataClass, names);
+            }
+        }
+    }
+
+    /**
+     * Returns the version of stap the documentation comes from, along with the
+     * remote host if the probes are remote.
+     */
+    private String getVersion() {
+        String output = runStap(STAP_OPTIONS, null, true);
+        if (verifyRunResult(output) != IStatus.OK) {
+            return null;
+        }
+        String version = output.trim().split("\n", 2)[0]; //$NON-NLS-1$
+        IPreferenceStore ps = IDEPlugin.getDefault().getPreferenceStore();
+        if (ps.getBoolean(IDEPreferenceConstants.P_REMOTE_PROBES)) {
+            IPreferenceStore p = ConsoleLogPlugin.getDefault().getPreferenceStore();
+            version += ' ' + p.getString(ConsoleLogPreferenceConstants.SCP_USER)
+                    + '@' + p.getString(ConsoleLogPreferenceConstants.HOST_NAME);
+        }
+        return version;
+    }
+}
@@ -12,9 +12,9 @@
  *******************************************************************************/
 package org.eclipse.linuxtools.internal.vagrant.core;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 import org.eclipse.core.runtime.Platform;
@@ -26,11 +26,18 @@ public class VagrantBoxRefreshManager implements IVagrantBoxListener {
 
 	private static VagrantBoxRefreshManager instance;
 	private final long DEFAULT_REFRESH_TIME = 15;
+	/**
+	 * the refresh period is multiplied by this factor when the files of
+	 * Vagrant are watched, the lists being then only polled as a fallback.
+	 */
+	private static final long FALLBACK_FACTOR = 20;
+	/** time (in ms) without changes to the watched files before a refresh. */
+	private static final long DEBOUNCE_TIME = 500;
 
 	private Map<IVagrantConnection, ContainerRefreshThread> refreshThreadMap;
 
 	private VagrantBoxRefreshManager() {
-		refreshThreadMap = new HashMap<>();
+		refreshThreadMap = new ConcurrentHashMap<>();
 	}
 
 	public static VagrantBoxRefreshManager getInstance() {
@@ -56,6 +63,16 @@ public class VagrantBoxRefreshManager implements IVagrantBoxListener {
 		}
 	}
 
+	/**
+	 * Asks for a refresh of the boxes of all the connections, once the
+	 * watched files stop changing.
+	 */
+	public void refreshRequested() {
+		for (ContainerRefreshThread t : refreshThreadMap.values()) {
+			t.requestRefresh();
+		}
+	}
+
 	/**
 	 * Method to reset the refresh rate for updating container lists
 	 * 
@@ -81,7 +98,9 @@ public class VagrantBoxRefreshManager implements IVagrantBoxListener {
 
 		private IVagrantConnection connection;
 		private long sleepTime;
-		private boolean kill;
+		private volatile boolean kill;
+		private boolean refreshRequested;
+		private long lastRequest;
 
 		public ContainerRefreshThread(IVagrantConnection connection,
 				long sleepTime) {
@@ -107,12 +126,49 @@ public class VagrantBoxRefreshManager implements IVagrantBoxListener {
 			this.interrupt();
 		}
 
+		public synchronized void requestRefresh() {
+			refreshRequested = true;
+			lastRequest = System.currentTimeMillis();
+			notifyAll();
+		}
+
+		/**
+		 * Waits until the watched files stopped changing after a refresh was
+		 * requested, or until the refresh period expired.
+		 *
+		 * @return <code>true</code> if the refresh period expired.
+		 */
+		private synchronized boolean waitForRefresh(boolean watching)
+				throws InterruptedException {
+			long period = getSleepTime();
+			if (watching) {
+				period *= FALLBACK_FACTOR;
+			}
+			long deadline = System.currentTimeMillis() + period;
+			for (;;) {
+				long now = System.currentTimeMillis();
+				if (refreshRequested) {
+					long delay = lastRequest + DEBOUNCE_TIME - now;
+					if (delay <= 0) {
+						refreshRequested = false;
+						return false;
+					}
+					wait(delay);
+				} else if (now < deadline) {
+					wait(deadline - now);
+				} else {
+					return true;
+				}
+			}
+		}
+
 		@Override
 		public void run() {
-			for (;;) {
+			VagrantFileWatcher watcher = VagrantFileWatcher.getInstance();
+			while (!kill) {
 				try {
-					Thread.sleep(getSleepTime());
-					// After sleep period, update the containers list, but make
+					waitForRefresh(watcher.isWatchingBoxes());
+					// Update the containers list, but make
 					// sure the refreshManager isn't notified since that
 					// is what triggered this to begin with.
 					synchronized (instance) {
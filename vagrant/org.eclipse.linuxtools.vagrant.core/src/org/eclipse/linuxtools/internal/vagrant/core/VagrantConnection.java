@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2015, 2018 Red Hat.
+ * Copyright (c) 2015, 2026 Red Hat.
  * 
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -22,12 +22,25 @@ import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import org.eclipse.core.runtime.CoreException;
@@ -53,6 +66,45 @@ public class VagrantConnection implements IVagrantConnection, Closeable {
 	private static final String JSCH_ID = "org.eclipse.jsch.core"; //$NON-NLS-1$
 	private static final String KEY = "PRIVATEKEY"; //$NON-NLS-1$
 	private static final String VG = "vagrant"; //$NON-NLS-1$
+	private static final String VAGRANT_DOTFILE_PATH = "VAGRANT_DOTFILE_PATH"; //$NON-NLS-1$
+	/** maximum number of Vagrantfile directories refreshed at the same time. */
+	private static final int MAX_REFRESH_THREADS = 4;
+	/** time (in seconds) given to a refresh of the VMs. */
+	private static final long REFRESH_TIMEOUT = 120;
+
+	private static final ExecutorService refreshExecutor;
+
+	/**
+	 * reads the output of the vagrant commands, so that the callers can wait
+	 * for them with a timeout and stop them when interrupted.
+	 */
+	private static final ExecutorService outputExecutor = new ThreadPoolExecutor(
+			0, Integer.MAX_VALUE, 30, TimeUnit.SECONDS,
+			new SynchronousQueue<>(),
+			daemonThreadFactory("Vagrant Output Reader")); //$NON-NLS-1$
+
+	static {
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(
+				MAX_REFRESH_THREADS, MAX_REFRESH_THREADS, 30, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<>(),
+				daemonThreadFactory("Vagrant VM Refresh")); //$NON-NLS-1$
+		executor.allowCoreThreadTimeOut(true);
+		refreshExecutor = executor;
+	}
+
+	private static ThreadFactory daemonThreadFactory(final String name) {
+		return new ThreadFactory() {
+			private final AtomicInteger count = new AtomicInteger();
+
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread t = new Thread(r, name + " " + count.incrementAndGet()); //$NON-NLS-1$
+				t.setDaemon(true);
+				return t;
+			}
+		};
+	}
+
 	private final Object imageLock = new Object();
 	private final Object containerLock = new Object();
 
@@ -61,6 +113,8 @@ public class VagrantConnection implements IVagrantConnection, Closeable {
 	private List<IVagrantBox> boxes;
 	private boolean boxesLoaded = false;
 	private Set<String> trackedKeys = new HashSet<>();
+	/** the VMs last read from each Vagrantfile directory. */
+	private final Map<File, VagrantVMs> vmsByDir = new ConcurrentHashMap<>();
 
 	ListenerList<IVagrantVMListener> vmListeners;
 	ListenerList<IVagrantBoxListener> boxListeners;
@@ -98,6 +152,16 @@ public class VagrantConnection implements IVagrantConnection, Closeable {
 		}
 	}
 
+	public void notifyContainerListeners(List<IVagrantVM> list,
+			List<IVagrantVM> added, List<IVagrantVM> removed,
+			List<IVagrantVM> changed) {
+		if (vmListeners != null) {
+			for (IVagrantVMListener listener : vmListeners) {
+				listener.vmsChanged(this, list, added, removed, changed);
+			}
+		}
+	}
+
 	@Override
 	public void addBoxListener(IVagrantBoxListener listener) {
 		if (boxListeners == null)
@@ -119,6 +183,15 @@ public class VagrantConnection implements IVagrantConnection, Closeable {
 		}
 	}
 
+	public void notifyBoxListeners(List<IVagrantBox> list,
+			List<IVagrantBox> added, List<IVagrantBox> removed) {
+		if (boxListeners != null) {
+			for (IVagrantBoxListener listener : boxListeners) {
+				listener.boxesChanged(this, list, added, removed);
+			}
+		}
+	}
+
 	@Override
 	public List<IVagrantVM> getVMs(boolean force) {
 		if (force || !isVMsLoaded()) {
@@ -128,120 +201,256 @@ public class VagrantConnection implements IVagrantConnection, Closeable {
 	}
 
 	protected void refreshVMs() {
-		String[] res = call(new String[] { "global-status" }); //$NON-NLS-1$
-		List<String> vmIDs = new LinkedList<>();
-		List<String> vmDirs = new LinkedList<>();
-		final List<IVagrantVM> containers = new LinkedList<>();
+		String[] res = call(new String[] { "global-status" }, null, null, //$NON-NLS-1$
+				REFRESH_TIMEOUT);
+		// vagrant reports on all the VMs of a Vagrantfile directory at once, so
+		// the VMs are refreshed by directory
+		final Map<File, List<String[]>> entriesByDir = new LinkedHashMap<>();
 		for (int i = 0; i < res.length; i++) {
 			String[] items = res[i].split("\\s+"); //$NON-NLS-1$
 			if (items.length == 5 && i >= 2) {
-				vmIDs.add(items[0]);
-				vmDirs.add(items[items.length - 1]);
-			}
-		}
-
-		List<String> completed = new ArrayList<>();
-		if (!vmIDs.isEmpty()) {
-			Iterator<String> vmIterator = vmIDs.iterator();
-			Iterator<String> vmDirIterator = vmDirs.iterator();
-			while (vmIterator.hasNext()) {
-				final String vmid = vmIterator.next();
-				final String vmDir = vmDirIterator.next();
-				new Thread("Checking ssh-config for vm " + vmid) { //$NON-NLS-1$
-					@Override
-					public void run() {
-						try {
-							VagrantVM ret = createVagrantVM(vmid, vmDir);
-							if (ret != null) {
-								containers.add(ret);
-							}
-						} finally {
-							// Ensure this gets called no matter what
-							completed.add(vmid);
-						}
-					}
-				}.start();
+				entriesByDir.computeIfAbsent(new File(items[items.length - 1]),
+						k -> new ArrayList<>()).add(items);
 			}
 		}
 
-		// Should set a max timeout?
+		Map<File, Future<List<IVagrantVM>>> futures = new LinkedHashMap<>();
+		for (Map.Entry<File, List<String[]>> entry : entriesByDir.entrySet()) {
+			futures.put(entry.getKey(), refreshExecutor.submit(
+					() -> getVagrantVMs(entry.getKey(), entry.getValue())));
+		}
 
-		// Wait for completed to have same count as vmIDs
-		while (completed.size() < vmIDs.size()) {
+		final List<IVagrantVM> containers = new ArrayList<>();
+		long deadline = System.nanoTime()
+				+ TimeUnit.SECONDS.toNanos(REFRESH_TIMEOUT);
+		boolean interrupted = false;
+		for (Map.Entry<File, Future<List<IVagrantVM>>> entry : futures
+				.entrySet()) {
+			Future<List<IVagrantVM>> future = entry.getValue();
 			try {
-				Thread.sleep(100);
-			} catch (InterruptedException ie) {
-				// Ignore
+				if (interrupted) {
+					throw new InterruptedException();
+				}
+				containers.addAll(future.get(deadline - System.nanoTime(),
+						TimeUnit.NANOSECONDS));
+			} catch (InterruptedException | ExecutionException
+					| TimeoutException e) {
+				interrupted |= e instanceof InterruptedException;
+				future.cancel(true);
+				// keep the VMs last read from this directory, if any
+				VagrantVMs previous = vmsByDir.get(entry.getKey());
+				if (previous != null) {
+					containers.addAll(previous.vms);
+				}
 			}
 		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+		vmsByDir.keySet().retainAll(entriesByDir.keySet());
 
 		Collections.sort(containers,
 				(o1, o2) -> o1.name().compareTo(o2.name()));
 
+		List<IVagrantVM> added = new ArrayList<>();
+		List<IVagrantVM> removed = new ArrayList<>();
+		List<IVagrantVM> changed = new ArrayList<>();
+		boolean wasLoaded = this.containersLoaded;
+		compareVMs(wasLoaded ? this.vms : Collections.emptyList(), containers,
+				added, removed, changed);
+
 		this.containersLoaded = true;
 		synchronized (containerLock) {
 			this.vms = containers;
 		}
 		removeKeysFromInnactiveVMs();
-		notifyContainerListeners(this.vms);
+		if (!wasLoaded || !added.isEmpty() || !removed.isEmpty()
+				|| !changed.isEmpty()) {
+			notifyContainerListeners(this.vms, added, removed, changed);
+		}
 	}
 
-	private VagrantVM createVagrantVM(String vmid, String vmDir) {
+	private static void compareVMs(List<IVagrantVM> oldVMs,
+			List<IVagrantVM> newVMs, List<IVagrantVM> added,
+			List<IVagrantVM> removed, List<IVagrantVM> changed) {
+		Map<String, IVagrantVM> oldById = new HashMap<>();
+		for (IVagrantVM vm : oldVMs) {
+			oldById.put(vm.id(), vm);
+		}
+		for (IVagrantVM vm : newVMs) {
+			IVagrantVM old = oldById.remove(vm.id());
+			if (old == null) {
+				added.add(vm);
+			} else if (!Objects.equals(old.name(), vm.name())
+					|| !Objects.equals(old.state(), vm.state())
+					|| !Objects.equals(old.state_desc(), vm.state_desc())
+					|| !Objects.equals(old.ip(), vm.ip())
+					|| !Objects.equals(old.user(), vm.user())
+					|| old.port() != vm.port()
+					|| !Objects.equals(old.identityFile(), vm.identityFile())) {
+				changed.add(vm);
+			}
+		}
+		removed.addAll(oldById.values());
+	}
 
+	/**
+	 * Returns the VMs of a Vagrantfile directory, which are only read again
+	 * when the state of the directory changed since they were last read.
+	 *
+	 * @param vmDir
+	 *            The Vagrantfile directory.
+	 * @param entries
+	 *            The <code>global-status</code> entries of the directory.
+	 * @return The VMs of the directory.
+	 */
+	private List<IVagrantVM> getVagrantVMs(File vmDir,
+			List<String[]> entries) {
 		Map<String, String> env = EnvironmentsManager.getSingleton()
-				.getEnvironment(new File(vmDir));
+				.getEnvironment(vmDir);
+		String signature = getStateSignature(vmDir, env, entries);
+		VagrantVMs cached = vmsByDir.get(vmDir);
+		if (cached != null && cached.signature.equals(signature)) {
+			return cached.vms;
+		}
+		List<IVagrantVM> result = createVagrantVMs(vmDir, env, entries);
+		// the output of interrupted calls is incomplete
+		if (!Thread.currentThread().isInterrupted()) {
+			vmsByDir.put(vmDir, new VagrantVMs(signature, result));
+		}
+		return result;
+	}
 
-		List<String> args = new LinkedList<>(
-				Arrays.asList(new String[] { "ssh-config" })); //$NON-NLS-1$
-		args.add(vmid);
+	/**
+	 * Computes a signature of the state of a Vagrantfile directory, which
+	 * changes when a machine is created, started, stopped or destroyed.
+	 */
+	private String getStateSignature(File vmDir, Map<String, String> env,
+			List<String[]> entries) {
+		StringBuilder result = new StringBuilder();
+		for (String[] items : entries) {
+			result.append(items[0]).append(':').append(items[3]).append(';');
+		}
+		appendSignature(result, getMachinesDir(vmDir, env));
+		return result.toString();
+	}
 
-		List<String> sshConfig = null;
+	/**
+	 * Returns the directory where Vagrant keeps the state of the machines of
+	 * a Vagrantfile directory.
+	 *
+	 * @param vmDir
+	 *            The Vagrantfile directory.
+	 * @param env
+	 *            The environment of the directory, or <code>null</code>.
+	 * @return The machines directory, which may not exist.
+	 */
+	static File getMachinesDir(File vmDir, Map<String, String> env) {
+		String dotFile = env != null ? env.get(VAGRANT_DOTFILE_PATH) : null;
+		File dotDir = dotFile != null ? new File(dotFile) : new File(".vagrant"); //$NON-NLS-1$
+		if (!dotDir.isAbsolute()) {
+			dotDir = new File(vmDir, dotDir.getPath());
+		}
+		return new File(dotDir, "machines"); //$NON-NLS-1$
+	}
 
-		// Run and handle ssh-config for this vm
-		String[] res = call(args.toArray(new String[0]), new File(vmDir), env);
-		for (int i = 0; i < res.length; i++) {
-			String[] items = res[i].trim().split(" "); //$NON-NLS-1$
-			if (items[0].equals("HostName")) { //$NON-NLS-1$
-				List<String> tmp = new ArrayList<>();
-				tmp.add(items[1]);
-				sshConfig = tmp;
-			} else if (items[0].equals("User") || items[0].equals("Port")) { //$NON-NLS-1$ //$NON-NLS-2$
-				sshConfig.add(items[1]);
-			} else if (items[0].equals("IdentityFile")) {
-				sshConfig.add(items[1].replace("\"", "")); //$NON-NLS-1$ //$NON-NLS-2$
-			}
-		}
-
-		// Run and handle status for this vm
-		VagrantVM vm = null;
-		args = new LinkedList<>(
-				Arrays.asList(new String[] { "--machine-readable", "status" })); //$NON-NLS-1$ //$NON-NLS-2$
-		args.add(vmid);
-		res = call(args.toArray(new String[0]), new File(vmDir), env);
-		String name, provider, state, state_desc;
-		name = provider = state = state_desc = ""; //$NON-NLS-1$
+	private static void appendSignature(StringBuilder result, File file) {
+		result.append(file.getPath()).append(':').append(file.lastModified())
+				.append(':').append(file.length()).append(';');
+		File[] children = file.listFiles();
+		if (children != null) {
+			Arrays.sort(children);
+			for (File child : children) {
+				appendSignature(result, child);
+			}
+		}
+	}
+
+	private List<IVagrantVM> createVagrantVMs(File vmDir,
+			Map<String, String> env, List<String[]> entries) {
+		// Run and handle status for all the vms of the directory
+		Map<String, String[]> statuses = new HashMap<>();
+		String[] res = call(new String[] { "--machine-readable", "status" }, //$NON-NLS-1$ //$NON-NLS-2$
+				vmDir, env, REFRESH_TIMEOUT);
 		for (int i = 0; i < res.length; i++) {
 			String[] items = res[i].split(","); //$NON-NLS-1$
+			if (items.length < 4 || items[1].isEmpty()) {
+				continue;
+			}
+			// provider, state, state description
+			String[] status = statuses.computeIfAbsent(items[1],
+					k -> new String[] { "", "", "" }); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 			if (items[2].equals("provider-name")) { //$NON-NLS-1$
-				name = items[1];
-				provider = items[3];
+				status[0] = items[3];
 			} else if (items[2].equals("state")) { //$NON-NLS-1$
-				state = items[3];
+				status[1] = items[3];
 			} else if (items[2].equals("state-human-long")) { //$NON-NLS-1$
-				state_desc = items[3];
-				if (sshConfig == null || sshConfig.isEmpty()) {
-					// VM exists but ssh is not configured
-					vm = new VagrantVM(vmid, name, provider, state, state_desc,
-							new File(vmDir), null, null, 0, null);
-				} else {
-					vm = new VagrantVM(vmid, name, provider, state, state_desc,
-							new File(vmDir), sshConfig.get(0), sshConfig.get(1),
-							Integer.parseInt(sshConfig.get(2)),
-							sshConfig.get(3));
-				}
+				status[2] = items[3];
+			}
+		}
+
+		// Run and handle ssh-config for the running vms
+		List<String> running = new ArrayList<>();
+		for (Map.Entry<String, String[]> status : statuses.entrySet()) {
+			if (EnumVMStatus.RUNNING.equals(
+					EnumVMStatus.fromStatusMessage(status.getValue()[1]))) {
+				running.add(status.getKey());
+			}
+		}
+		Map<String, Map<String, String>> sshConfigs = new HashMap<>();
+		if (running.size() == statuses.size()) {
+			parseSshConfig(call(new String[] { "ssh-config" }, vmDir, env, //$NON-NLS-1$
+					REFRESH_TIMEOUT), sshConfigs);
+		}
+		for (String name : running) {
+			// ssh-config fails for all the vms when one of them is not
+			// running, they are then asked for one by one
+			if (!sshConfigs.containsKey(name)) {
+				parseSshConfig(call(new String[] { "ssh-config", name }, //$NON-NLS-1$
+						vmDir, env, REFRESH_TIMEOUT), sshConfigs);
+			}
+		}
+
+		List<IVagrantVM> result = new ArrayList<>();
+		for (String[] items : entries) {
+			String name = items[1];
+			String[] status = statuses.get(name);
+			if (status == null) {
+				continue;
+			}
+			Map<String, String> sshConfig = sshConfigs.get(name);
+			if (sshConfig == null || !sshConfig.containsKey("HostName") //$NON-NLS-1$
+					|| !sshConfig.containsKey("Port")) { //$NON-NLS-1$
+				// VM exists but ssh is not configured
+				result.add(new VagrantVM(items[0], name, status[0], status[1],
+						status[2], vmDir, null, null, 0, null));
+			} else {
+				result.add(new VagrantVM(items[0], name, status[0], status[1],
+						status[2], vmDir, sshConfig.get("HostName"), //$NON-NLS-1$
+						sshConfig.get("User"), //$NON-NLS-1$
+						Integer.parseInt(sshConfig.get("Port")), //$NON-NLS-1$
+						sshConfig.get("IdentityFile"))); //$NON-NLS-1$
+			}
+		}
+		return result;
+	}
+
+	private static void parseSshConfig(String[] res,
+			Map<String, Map<String, String>> sshConfigs) {
+		Map<String, String> sshConfig = null;
+		for (int i = 0; i < res.length; i++) {
+			String[] items = res[i].trim().split(" ", 2); //$NON-NLS-1$
+			if (items.length < 2) {
+				continue;
+			}
+			if (items[0].equals("Host")) { //$NON-NLS-1$
+				sshConfig = new HashMap<>();
+				sshConfigs.put(items[1], sshConfig);
+			} else if (sshConfig != null) {
+				// only the first identity file is kept
+				sshConfig.putIfAbsent(items[0], items[1].replace("\"", "")); //$NON-NLS-1$ //$NON-NLS-2$
 			}
 		}
-		return vm;
 	}
 
 	/**
@@ -344,11 +553,21 @@ public class VagrantConnection implements IVagrantConnection, Closeable {
 					version = "0"; //$NON-NLS-1$
 				}
 			}
+			boolean wasLoaded = this.boxesLoaded;
+			List<IVagrantBox> added = new ArrayList<>(images);
+			List<IVagrantBox> removed = new ArrayList<>();
+			if (wasLoaded) {
+				added.removeAll(this.boxes);
+				removed.addAll(this.boxes);
+				removed.removeAll(images);
+			}
 			this.boxesLoaded = true;
 			synchronized (imageLock) {
 				this.boxes = images;
 			}
-			notifyBoxListeners(this.boxes);
+			if (!wasLoaded || !added.isEmpty() || !removed.isEmpty()) {
+				notifyBoxListeners(this.boxes, added, removed);
+			}
 		}
 		return this.boxes;
 	}
@@ -429,29 +648,81 @@ public class VagrantConnection implements IVagrantConnection, Closeable {
 
 	private static String[] call(String[] args, File vagrantDir,
 			Map<String, String> env) {
+		return call(args, vagrantDir, env, 0);
+	}
+
+	/**
+	 * Runs vagrant and returns its output. The command is killed if the
+	 * calling thread is interrupted (e.g. its task is cancelled) or the
+	 * timeout elapses.
+	 *
+	 * @param timeout
+	 *            time (in seconds) given to the command, <code>0</code> for
+	 *            no limit
+	 * @return the lines of the output, none if the command failed
+	 */
+	private static String[] call(String[] args, File vagrantDir,
+			Map<String, String> env, long timeout) {
 		final String[] envp = EnvironmentsManager.convertEnvironment(env);
 
-		List<String> result = new ArrayList<>();
+		Process p = null;
+		Future<List<String>> output = null;
 		try {
 			List<String> cmd = new ArrayList<>();
 			cmd.add(VG);
 			cmd.addAll(Arrays.asList(args));
-			Process p = Runtime.getRuntime().exec(cmd.toArray(new String[0]),
+			p = Runtime.getRuntime().exec(cmd.toArray(new String[0]),
 					envp, vagrantDir);
-			BufferedReader buff = new BufferedReader(
-					new InputStreamReader(p.getInputStream()));
-			if (p.waitFor() == 0) {
-				String line;
-				while ((line = buff.readLine()) != null) {
-					result.add(line);
+			// the output is read by another thread, as a blocked read cannot
+			// be interrupted, and so that a large output does not block the
+			// process
+			final Process process = p;
+			output = outputExecutor.submit(() -> readLines(process));
+			List<String> result;
+			if (timeout > 0) {
+				long deadline = System.nanoTime()
+						+ TimeUnit.SECONDS.toNanos(timeout);
+				if (!p.waitFor(timeout, TimeUnit.SECONDS)) {
+					throw new TimeoutException();
 				}
+				result = output.get(deadline - System.nanoTime(),
+						TimeUnit.NANOSECONDS);
 			} else {
+				p.waitFor();
+				result = output.get();
+			}
+			if (p.exitValue() != 0) {
 				return new String[0];
 			}
-		} catch (IOException e) {
-		} catch (InterruptedException e) {
+			return result.toArray(new String[0]);
+		} catch (IOException | ExecutionException e) {
+			return new String[0];
+		} catch (InterruptedException | TimeoutException e) {
+			if (e instanceof InterruptedException) {
+				Thread.currentThread().interrupt();
+			}
+			return new String[0];
+		} finally {
+			if (p != null && p.isAlive()) {
+				// also closes the output, ending the read
+				p.destroyForcibly();
+			}
+			if (output != null) {
+				output.cancel(true);
+			}
 		}
-		return result.toArray(new String[0]);
+	}
+
+	private static List<String> readLines(Process p) throws IOException {
+		List<String> result = new ArrayList<>();
+		try (BufferedReader buff = new BufferedReader(
+				new InputStreamReader(p.getInputStream()))) {
+			String line;
+			while ((line = buff.readLine()) != null) {
+				result.add(line);
+			}
+		}
+		return result;
 	}
 
 	private static void rtCall(String[] args, File vagrantDir,
@@ -533,4 +804,19 @@ public class VagrantConnection implements IVagrantConnection, Closeable {
 				: defaultDefinedVagrantPath;
 	}
 
+	/**
+	 * The VMs read from a Vagrantfile directory, and the state of the
+	 * directory at that time.
+	 */
+	private static class VagrantVMs {
+
+		private final String signature;
+		private final List<IVagrantVM> vms;
+
+		public VagrantVMs(String signature, List<IVagrantVM> vms) {
+			this.signature = signature;
+			this.vms = vms;
+		}
+	}
+
 }
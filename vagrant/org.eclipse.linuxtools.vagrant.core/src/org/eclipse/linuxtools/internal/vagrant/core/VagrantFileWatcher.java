@@ -0,0 +1,255 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat - Initial Contribution
+ *******************************************************************************/
+package org.eclipse.linuxtools.internal.vagrant.core;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Watches the files that Vagrant updates when VMs or boxes change, and asks
+ * the refresh managers to refresh their lists when they are modified:
+ * <ul>
+ * <li>the machine index, <code>~/.vagrant.d/data/machine-index/index</code></li>
+ * <li>the boxes, under <code>~/.vagrant.d/boxes</code></li>
+ * <li>the state of the machines of each Vagrantfile directory, under
+ * <code>.vagrant/machines/*&#47;*</code></li>
+ * </ul>
+ */
+public class VagrantFileWatcher extends Thread {
+
+	/** depth of the directories watched under a watched tree. */
+	private static final int WATCH_DEPTH = 2;
+	private static final String INDEX = "index"; //$NON-NLS-1$
+
+	private static VagrantFileWatcher instance;
+
+	private final WatchService watchService;
+	private final Path machineIndexDir;
+	private final Path boxesDir;
+	private final Map<WatchKey, WatchedDir> keys = new ConcurrentHashMap<>();
+	private boolean watchingIndex;
+	private boolean watchingBoxes;
+	private byte[] indexContent;
+
+	private VagrantFileWatcher() {
+		super("Vagrant File Watcher"); //$NON-NLS-1$
+		setDaemon(true);
+		String home = System.getenv("VAGRANT_HOME"); //$NON-NLS-1$
+		Path vagrantHome = home != null ? Paths.get(home)
+				: Paths.get(System.getProperty("user.home"), ".vagrant.d"); //$NON-NLS-1$ //$NON-NLS-2$
+		machineIndexDir = vagrantHome.resolve("data").resolve("machine-index"); //$NON-NLS-1$ //$NON-NLS-2$
+		boxesDir = vagrantHome.resolve("boxes"); //$NON-NLS-1$
+		WatchService service = null;
+		try {
+			service = FileSystems.getDefault().newWatchService();
+		} catch (IOException | UnsupportedOperationException e) {
+			Activator.log(e);
+		}
+		watchService = service;
+		if (watchService != null) {
+			// only the index file is of interest in the machine index directory
+			watchingIndex = register(machineIndexDir, machineIndexDir,
+					WATCH_DEPTH);
+			watchingBoxes = registerTree(boxesDir, boxesDir, 0);
+		}
+		updateIndexSnapshot();
+	}
+
+	public static synchronized VagrantFileWatcher getInstance() {
+		if (instance == null) {
+			instance = new VagrantFileWatcher();
+			if (instance.watchService != null) {
+				instance.start();
+			}
+		}
+		return instance;
+	}
+
+	/**
+	 * @return <code>true</code> if changes to the VMs are notified,
+	 *         <code>false</code> if they must be polled.
+	 */
+	public boolean isWatchingVMs() {
+		return watchingIndex;
+	}
+
+	/**
+	 * @return <code>true</code> if changes to the boxes are notified,
+	 *         <code>false</code> if they must be polled.
+	 */
+	public boolean isWatchingBoxes() {
+		return watchingBoxes;
+	}
+
+	/**
+	 * Watches the given machines directories, and stops watching the ones
+	 * that are not given anymore.
+	 *
+	 * @param machinesDirs
+	 *            the <code>.vagrant/machines</code> directories of the known
+	 *            VMs
+	 */
+	public synchronized void watchMachines(Collection<File> machinesDirs) {
+		if (watchService == null) {
+			return;
+		}
+		Set<Path> roots = new HashSet<>();
+		for (File dir : machinesDirs) {
+			roots.add(dir.toPath());
+		}
+		Set<Path> watched = new HashSet<>();
+		Iterator<Map.Entry<WatchKey, WatchedDir>> it = keys.entrySet()
+				.iterator();
+		while (it.hasNext()) {
+			Map.Entry<WatchKey, WatchedDir> entry = it.next();
+			Path root = entry.getValue().root;
+			if (root.equals(machineIndexDir) || root.equals(boxesDir)) {
+				continue;
+			}
+			if (roots.contains(root)) {
+				watched.add(root);
+			} else {
+				entry.getKey().cancel();
+				it.remove();
+			}
+		}
+		for (Path root : roots) {
+			if (!watched.contains(root)) {
+				registerTree(root, root, 0);
+			}
+		}
+	}
+
+	/**
+	 * @return <code>true</code> if the machine index was modified since the
+	 *         last call to {@link #updateIndexSnapshot()}.
+	 */
+	public synchronized boolean isIndexModified() {
+		return !Arrays.equals(indexContent, readIndex());
+	}
+
+	/**
+	 * Remembers the content of the machine index. Vagrant rewrites it each
+	 * time the status of a VM is asked for, so that the refreshes themselves
+	 * modify the index.
+	 */
+	public synchronized void updateIndexSnapshot() {
+		indexContent = readIndex();
+	}
+
+	private byte[] readIndex() {
+		try {
+			return Files.readAllBytes(machineIndexDir.resolve(INDEX));
+		} catch (IOException e) {
+			return null;
+		}
+	}
+
+	private boolean registerTree(Path dir, Path root, int depth) {
+		if (!register(dir, root, depth)) {
+			return false;
+		}
+		if (depth < WATCH_DEPTH) {
+			try (DirectoryStream<Path> children = Files
+					.newDirectoryStream(dir, Files::isDirectory)) {
+				for (Path child : children) {
+					registerTree(child, root, depth + 1);
+				}
+			} catch (IOException e) {
+				// the directory was removed in the meantime
+			}
+		}
+		return true;
+	}
+
+	private boolean register(Path dir, Path root, int depth) {
+		if (!Files.isDirectory(dir)) {
+			return false;
+		}
+		try {
+			WatchKey key = dir.register(watchService, ENTRY_CREATE,
+					ENTRY_DELETE, ENTRY_MODIFY);
+			keys.put(key, new WatchedDir(dir, root, depth));
+			return true;
+		} catch (IOException | ClosedWatchServiceException e) {
+			return false;
+		}
+	}
+
+	@Override
+	public void run() {
+		for (;;) {
+			WatchKey key;
+			try {
+				key = watchService.take();
+			} catch (InterruptedException | ClosedWatchServiceException e) {
+				return;
+			}
+			WatchedDir dir = keys.get(key);
+			if (dir != null) {
+				for (WatchEvent<?> event : key.pollEvents()) {
+					if (event.kind() == ENTRY_CREATE
+							&& dir.depth < WATCH_DEPTH) {
+						registerTree(dir.path.resolve((Path) event.context()),
+								dir.root, dir.depth + 1);
+					}
+				}
+				if (dir.root.equals(boxesDir)) {
+					VagrantBoxRefreshManager.getInstance().refreshRequested();
+				} else {
+					VagrantVMRefreshManager.getInstance().refreshRequested(
+							dir.root.equals(machineIndexDir));
+				}
+			} else {
+				key.pollEvents();
+			}
+			if (!key.reset()) {
+				keys.remove(key);
+			}
+		}
+	}
+
+	private static class WatchedDir {
+
+		private final Path path;
+		private final Path root;
+		private final int depth;
+
+		public WatchedDir(Path path, Path root, int depth) {
+			this.path = path;
+			this.root = root;
+			this.depth = depth;
+		}
+	}
+
+}
@@ -12,9 +12,11 @@
  *******************************************************************************/
 package org.eclipse.linuxtools.internal.vagrant.core;
 
-import java.util.HashMap;
+import java.io.File;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 import org.eclipse.core.runtime.Platform;
@@ -26,11 +28,18 @@ public class VagrantVMRefreshManager implements IVagrantVMListener {
 
 	private static VagrantVMRefreshManager instance;
 	private final long DEFAULT_REFRESH_TIME = 15;
+	/**
+	 * the refresh period is multiplied by this factor when the files of
+	 * Vagrant are watched, the lists being then only polled as a fallback.
+	 */
+	private static final long FALLBACK_FACTOR = 20;
+	/** time (in ms) without changes to the watched files before a refresh. */
+	private static final long DEBOUNCE_TIME = 500;
 
 	private Map<IVagrantConnection, ContainerRefreshThread> refreshThreadMap;
 
 	private VagrantVMRefreshManager() {
-		refreshThreadMap = new HashMap<>();
+		refreshThreadMap = new ConcurrentHashMap<>();
 	}
 
 	public static VagrantVMRefreshManager getInstance() {
@@ -56,6 +65,20 @@ public class VagrantVMRefreshManager implements IVagrantVMListener {
 		}
 	}
 
+	/**
+	 * Asks for a refresh of the VMs of all the connections, once the watched
+	 * files stop changing.
+	 *
+	 * @param indexOnly
+	 *            <code>true</code> if only the machine index changed, which
+	 *            Vagrant also rewrites when a status is read
+	 */
+	public void refreshRequested(boolean indexOnly) {
+		for (ContainerRefreshThread t : refreshThreadMap.values()) {
+			t.requestRefresh(indexOnly);
+		}
+	}
+
 	/**
 	 * Method to reset the refresh rate for updating container lists
 	 * 
@@ -81,7 +104,10 @@ public class VagrantVMRefreshManager implements IVagrantVMListener {
 
 		private IVagrantConnection connection;
 		private long sleepTime;
-		private boolean kill;
+		private volatile boolean kill;
+		private boolean refreshRequested;
+		private long lastRequest;
+		private boolean filesChanged;
 
 		public ContainerRefreshThread(IVagrantConnection connection,
 				long sleepTime) {
@@ -107,12 +133,75 @@ public class VagrantVMRefreshManager implements IVagrantVMListener {
 			this.interrupt();
 		}
 
+		public synchronized void requestRefresh(boolean indexOnly) {
+			refreshRequested = true;
+			filesChanged |= !indexOnly;
+			lastRequest = System.currentTimeMillis();
+			notifyAll();
+		}
+
+		/**
+		 * Waits until the watched files stopped changing after a refresh was
+		 * requested, or until the refresh period expired.
+		 *
+		 * @return <code>true</code> if the refresh period expired.
+		 */
+		private synchronized boolean waitForRefresh(boolean watching)
+				throws InterruptedException {
+			long period = getSleepTime();
+			if (watching) {
+				period *= FALLBACK_FACTOR;
+			}
+			long deadline = System.currentTimeMillis() + period;
+			for (;;) {
+				long now = System.currentTimeMillis();
+				if (refreshRequested) {
+					long delay = lastRequest + DEBOUNCE_TIME - now;
+					if (delay <= 0) {
+						refreshRequested = false;
+						return false;
+					}
+					wait(delay);
+				} else if (now < deadline) {
+					wait(deadline - now);
+				} else {
+					return true;
+				}
+			}
+		}
+
+		private synchronized boolean consumeFilesChanged() {
+			boolean result = filesChanged;
+			filesChanged = false;
+			return result;
+		}
+
+		private void watchMachines(VagrantFileWatcher watcher) {
+			watcher.updateIndexSnapshot();
+			List<File> machinesDirs = new ArrayList<>();
+			List<IVagrantVM> vms = connection.getVMs();
+			if (vms != null) {
+				for (IVagrantVM vm : vms) {
+					machinesDirs.add(VagrantConnection.getMachinesDir(
+							vm.directory(), vm.getEnvironment()));
+				}
+			}
+			watcher.watchMachines(machinesDirs);
+		}
+
 		@Override
 		public void run() {
-			for (;;) {
+			VagrantFileWatcher watcher = VagrantFileWatcher.getInstance();
+			watchMachines(watcher);
+			while (!kill) {
 				try {
-					Thread.sleep(getSleepTime());
-					// After sleep period, update the containers list, but make
+					boolean expired = waitForRefresh(watcher.isWatchingVMs());
+					// the refreshes themselves rewrite the machine index
+					if (!consumeFilesChanged() && !expired
+							&& !watcher.isIndexModified()) {
+						continue;
+					}
+					// Update the containers list, but make
 					// sure the refreshManager isn't notified since that
 					// is what triggered this to begin with.
 					synchronized (instance) {
@@ -120,6 +209,7 @@ public class VagrantVMRefreshManager implements IVagrantVMListener {
 						((VagrantConnection) connection).getVMs(true);
 						connection.addVMListener(instance);
 					}
+					watchMachines(watcher);
 				} catch (InterruptedException e) {
 					if (kill)
 						break;
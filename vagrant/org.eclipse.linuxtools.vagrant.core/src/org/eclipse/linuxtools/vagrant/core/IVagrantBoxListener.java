@@ -18,4 +18,24 @@ public interface IVagrantBoxListener {
 
 	void listChanged(IVagrantConnection connection, List<IVagrantBox> images);
 
+	/**
+	 * Notifies that boxes were added or removed. The default
+	 * implementation calls {@link #listChanged(IVagrantConnection, List)}.
+	 *
+	 * @param connection
+	 *            the connection
+	 * @param images
+	 *            all the boxes of the connection
+	 * @param added
+	 *            the boxes that were added
+	 * @param removed
+	 *            the boxes that were removed
+	 * @since 2.1
+	 */
+	default void boxesChanged(IVagrantConnection connection,
+			List<IVagrantBox> images, List<IVagrantBox> added,
+			List<IVagrantBox> removed) {
+		listChanged(connection, images);
+	}
+
 }
@@ -18,4 +18,26 @@ public interface IVagrantVMListener {
 
 	void listChanged(IVagrantConnection connection, List<IVagrantVM> list);
 
+	/**
+	 * Notifies that VMs were added, removed or changed. The default
+	 * implementation calls {@link #listChanged(IVagrantConnection, List)}.
+	 *
+	 * @param connection
+	 *            the connection
+	 * @param list
+	 *            all the VMs of the connection
+	 * @param added
+	 *            the VMs that were added
+	 * @param removed
+	 *            the VMs that were removed
+	 * @param changed
+	 *            the VMs whose state or ssh configuration changed
+	 * @since 2.1
+	 */
+	default void vmsChanged(IVagrantConnection connection,
+			List<IVagrantVM> list, List<IVagrantVM> added,
+			List<IVagrantVM> removed, List<IVagrantVM> changed) {
+		listChanged(connection, list);
+	}
+
 }